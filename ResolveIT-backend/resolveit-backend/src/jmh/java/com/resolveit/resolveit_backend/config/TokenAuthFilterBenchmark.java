@@ -0,0 +1,76 @@
+package com.resolveit.resolveit_backend.config;
+
+import com.resolveit.resolveit_backend.model.User;
+import com.resolveit.resolveit_backend.service.AuthTokens;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What TokenAuthFilter adds to a request: passing one through without a token, with
+ * a valid token (decode + HMAC + parse), and AuthTokens.verify on its own. The mock
+ * request / response are built per call in every variant, so the differences are the
+ * filter's own work.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenAuthFilterBenchmark {
+
+	private AuthTokens tokens;
+	private TokenAuthFilter filter;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		tokens = new AuthTokens("", Duration.ofHours(12));
+		filter = new TokenAuthFilter(tokens, false);
+
+		User user = new User();
+		user.setId(7);
+		user.setUsername("meena.k");
+		user.setName("Meena K");
+		user.setRole("CITIZEN");
+		token = tokens.issue(user).token();
+	}
+
+	@Benchmark
+	public MockHttpServletResponse noToken() throws ServletException, IOException {
+		return run(request());
+	}
+
+	@Benchmark
+	public MockHttpServletResponse validToken() throws ServletException, IOException {
+		MockHttpServletRequest request = request();
+		request.addHeader("Authorization", "Bearer " + token);
+		return run(request);
+	}
+
+	@Benchmark
+	public Optional<AuthTokens.Principal> verifyOnly() {
+		return tokens.verify(token);
+	}
+
+	private static MockHttpServletRequest request() {
+		return new MockHttpServletRequest("GET", "/api/complaints/42");
+	}
+
+	private MockHttpServletResponse run(MockHttpServletRequest request) throws ServletException, IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+}
@@ -0,0 +1,74 @@
+package com.resolveit.resolveit_backend.controller;
+
+import com.resolveit.resolveit_backend.model.Complaint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The partial merge of PUT /api/complaints/{id} (ComplaintController.merge) for the two
+ * bodies the UI sends: the admin panel's few fields and the officer page's full copy.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ComplaintMergeBenchmark {
+
+	private Complaint existing;
+	private Complaint adminUpdate;
+	private Complaint officerUpdate;
+
+	@Setup
+	public void setUp() {
+		existing = new Complaint();
+		existing.setId(48_213);
+		existing.setSubject("Streetlight not working near the bus stop");
+		existing.setStatus("Under Review");
+		existing.setPriority("Medium");
+		existing.setCategory("Electricity");
+		existing.setAssignedStaff("Not assigned");
+		existing.setCreatedAt(LocalDateTime.of(2025, 3, 14, 9, 26, 53));
+
+		adminUpdate = new Complaint();
+		adminUpdate.setAssignedStaff("officer12");
+		adminUpdate.setDeadlineIso(LocalDate.of(2025, 3, 21));
+		adminUpdate.setDeadline("Fri Mar 21 2025");
+		adminUpdate.setAdminComments("Forwarded to the electricity board.");
+		adminUpdate.setStatus("In Progress");
+
+		officerUpdate = new Complaint();
+		officerUpdate.setStatus("Resolved");
+		officerUpdate.setPriority("High");
+		officerUpdate.setCategory("Electricity");
+		officerUpdate.setAdminComments("Forwarded to the electricity board.");
+		officerUpdate.setInternalNotes("Citizen informed by phone.");
+		officerUpdate.setDeadline("Fri Mar 21 2025");
+		officerUpdate.setDeadlineIso(LocalDate.of(2025, 3, 21));
+		officerUpdate.setAlertMessage("Please close this before Friday.");
+		officerUpdate.setLastAlertAt(Instant.parse("2025-03-18T08:00:00Z"));
+		officerUpdate.setIsEscalated(Boolean.FALSE);
+		officerUpdate.setOfficerNotes("Lamp replaced, kerb reported to roads.");
+		officerUpdate.setAssignedStaff("officer12");
+	}
+
+	@Benchmark
+	public Complaint adminPanelBody() {
+		ComplaintController.merge(existing, adminUpdate);
+		return existing;
+	}
+
+	@Benchmark
+	public Complaint officerFullBody() {
+		ComplaintController.merge(existing, officerUpdate);
+		return existing;
+	}
+}
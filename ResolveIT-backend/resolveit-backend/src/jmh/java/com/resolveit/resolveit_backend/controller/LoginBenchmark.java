@@ -0,0 +1,85 @@
+package com.resolveit.resolveit_backend.controller;
+
+import com.resolveit.resolveit_backend.model.User;
+import com.resolveit.resolveit_backend.repository.UserRepository;
+import com.resolveit.resolveit_backend.service.AssignmentPolicy;
+import com.resolveit.resolveit_backend.service.AuthTokens;
+import com.resolveit.resolveit_backend.service.OfficerWorkloadIndex;
+import com.resolveit.resolveit_backend.service.PasswordHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * POST /api/users/login minus HTTP and the database: UserController.login against a
+ * repository stub that returns the stored user, i.e. the credential check itself
+ * (one PBKDF2 at the given iteration count) plus issuing the session token.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoginBenchmark {
+
+	@Param({"210000"})
+	public int iterations;
+
+	private UserController controller;
+	private User goodPassword;
+	private User wrongPassword;
+
+	@Setup
+	public void setUp() {
+		User stored = new User();
+		stored.setId(7);
+		stored.setUsername("meena.k");
+		stored.setName("Meena K");
+		stored.setEmail("meena.k@resolveit.local");
+		stored.setRole("CITIZEN");
+		PasswordHasher hasher = new PasswordHasher(iterations);
+		stored.setPassword(hasher.hash("correct horse battery staple"));
+
+		// the workload index is only touched on sign-up
+		controller = new UserController(stub(stored), new OfficerWorkloadIndex(null, null, AssignmentPolicy.leastOpen(), false),
+				hasher, new AuthTokens("", Duration.ofHours(12)));
+		goodPassword = request("meena.k", "correct horse battery staple");
+		wrongPassword = request("meena.k", "correct horse battery stapler");
+	}
+
+	@Benchmark
+	public ResponseEntity<?> validPassword() {
+		return controller.login(goodPassword);
+	}
+
+	@Benchmark
+	public ResponseEntity<?> invalidPassword() {
+		return controller.login(wrongPassword);
+	}
+
+	private static User request(String username, String password) {
+		User u = new User();
+		u.setUsername(username);
+		u.setPassword(password);
+		return u;
+	}
+
+	// only findByUsername is called on the login path
+	private static UserRepository stub(User stored) {
+		return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+				new Class<?>[] {UserRepository.class}, (proxy, method, args) -> {
+					if (method.getName().equals("findByUsername")) {
+						return stored.getUsername().equals(args[0]) ? stored : null;
+					}
+					throw new UnsupportedOperationException(method.getName());
+				});
+	}
+}
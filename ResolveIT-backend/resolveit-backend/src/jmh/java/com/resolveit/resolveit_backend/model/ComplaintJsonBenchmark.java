@@ -0,0 +1,90 @@
+package com.resolveit.resolveit_backend.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of a Complaint response body, as GET /api/complaints/{id} writes it.
+ *
+ * imageKb = 0 is a complaint whose image lives in the image store (only the key is
+ * serialised); larger values carry base64 in the legacy image_data / resolution_image_data
+ * LONGTEXT columns, which go out inline with the rest of the entity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ComplaintJsonBenchmark {
+
+	@Param({"0", "64", "512"})
+	public int imageKb;
+
+	private ObjectWriter writer;
+	private ObjectMapper mapper;
+	private Complaint complaint;
+	private byte[] json;
+
+	@Setup
+	public void setUp() throws Exception {
+		// the same defaults Spring Boot gives its ObjectMapper (java.time module, no timestamps)
+		mapper = Jackson2ObjectMapperBuilder.json().build();
+		writer = mapper.writerFor(Complaint.class);
+
+		complaint = new Complaint();
+		complaint.setId(48_213);
+		complaint.setSubject("Streetlight not working near the bus stop");
+		complaint.setDescription("The streetlight at the corner of 5th and Main has been out for a week. "
+				+ "It is very dark in the evening and two people have tripped on the broken kerb.");
+		complaint.setCategory("Electricity");
+		complaint.setPriority("High");
+		complaint.setCitizenName("meena.k");
+		complaint.setStatus("In Progress");
+		complaint.setAssignedStaff("officer12");
+		complaint.setCreatedAt(LocalDateTime.of(2025, 3, 14, 9, 26, 53));
+		complaint.setUpdatedAt(LocalDateTime.of(2025, 3, 14, 14, 2, 11));
+		complaint.setDeadline("Fri Mar 21 2025");
+		complaint.setDeadlineIso(LocalDate.of(2025, 3, 21));
+		complaint.setAdminComments("Forwarded to the electricity board.");
+		complaint.setOfficerNotes("Crew scheduled for Tuesday.");
+		complaint.setLastAlertAt(Instant.parse("2025-03-18T08:00:00Z"));
+		complaint.setIsEscalated(Boolean.FALSE);
+		complaint.setVersion(3L);
+		complaint.setImagePath("3f/3fa85f6457174562b3fc2c963f66afa6.jpg");
+		complaint.setImageContentType("image/jpeg");
+
+		if (imageKb > 0) {
+			byte[] raw = new byte[imageKb * 1024];
+			new Random(42).nextBytes(raw);
+			String base64 = Base64.getEncoder().encodeToString(raw);
+			complaint.setImageData(base64);
+			complaint.setResolutionImageData(base64);
+		}
+		json = writer.writeValueAsBytes(complaint);
+	}
+
+	@Benchmark
+	public byte[] serialize() throws Exception {
+		return writer.writeValueAsBytes(complaint);
+	}
+
+	// PUT bodies are read into a Complaint too
+	@Benchmark
+	public Complaint deserialize() throws Exception {
+		return mapper.readValue(json, Complaint.class);
+	}
+}
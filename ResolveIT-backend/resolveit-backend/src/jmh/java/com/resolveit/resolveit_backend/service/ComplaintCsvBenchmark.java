@@ -0,0 +1,66 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.dto.ComplaintSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV export cost per value and per row (ComplaintCsvWriter), written into a
+ * reused in-memory Writer so only formatting is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ComplaintCsvBenchmark {
+
+	private ComplaintSummary row;
+	private ComplaintCsvWriter allColumns;
+	private StringWriter out;
+
+	private final String plain = "Streetlight not working near the bus stop";
+	private final String quoted = "Resident says \"urgent\", two \"near misses\" this week";
+
+	@Setup
+	public void setUp() {
+		LocalDateTime created = LocalDateTime.of(2025, 3, 14, 9, 26, 53);
+		row = new ComplaintSummary(48_213, plain, "Electricity", "High", "In Progress", "meena.k",
+				"officer12", created, created.plusHours(5), "Fri Mar 21 2025", LocalDate.of(2025, 3, 21),
+				Boolean.FALSE, "3f/3fa85f6457174562b3fc2c963f66afa6.jpg");
+		allColumns = new ComplaintCsvWriter(Arrays.asList(ComplaintCsvWriter.Column.values()));
+		out = new StringWriter(512);
+	}
+
+	@Benchmark
+	public String safeCsvPlain() {
+		return ComplaintCsvWriter.safeCsv(plain);
+	}
+
+	@Benchmark
+	public String safeCsvWithQuotes() {
+		return ComplaintCsvWriter.safeCsv(quoted);
+	}
+
+	@Benchmark
+	public String safeCsvTimestamp() {
+		return ComplaintCsvWriter.safeCsv(row.getCreatedAt());
+	}
+
+	@Benchmark
+	public int writeRow() throws IOException {
+		out.getBuffer().setLength(0);
+		allColumns.writeRow(out, row);
+		return out.getBuffer().length();
+	}
+}
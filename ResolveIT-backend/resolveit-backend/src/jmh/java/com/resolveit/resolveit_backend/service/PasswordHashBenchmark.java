@@ -0,0 +1,46 @@
+package com.resolveit.resolveit_backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What one password check costs per resolveit.auth.hash-iterations value – the
+ * number to pick the setting by (a login should stay well under the request budget,
+ * while an offline guess should be as expensive as that allows).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordHashBenchmark {
+
+	@Param({"10000", "100000", "210000", "600000"})
+	public int iterations;
+
+	private PasswordHasher hasher;
+	private String stored;
+
+	@Setup
+	public void setUp() {
+		hasher = new PasswordHasher(iterations);
+		stored = hasher.hash("correct horse battery staple");
+	}
+
+	@Benchmark
+	public boolean verify() {
+		return hasher.matches("correct horse battery staple", stored);
+	}
+
+	// a login that has to rehash: the check plus a new hash
+	@Benchmark
+	public String hash() {
+		return hasher.hash("correct horse battery staple");
+	}
+}
@@ -0,0 +1,27 @@
+package com.resolveit.resolveit_backend.config;
+
+import com.resolveit.resolveit_backend.service.AssignmentPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Policy of the auto-assignment (resolveit.assign.policy = weighted | least-open).
+ * Any other ranking: declare a @Primary AssignmentPolicy bean.
+ */
+@Configuration
+public class AssignmentConfig {
+
+    @Bean
+    public AssignmentPolicy assignmentPolicy(@Value("${resolveit.assign.policy:weighted}") String policy,
+                                             @Value("${resolveit.assign.weight.high:3}") int high,
+                                             @Value("${resolveit.assign.weight.medium:2}") int medium,
+                                             @Value("${resolveit.assign.weight.low:1}") int low,
+                                             @Value("${resolveit.assign.weight.overdue:4}") int overdue) {
+        return switch (policy) {
+            case "weighted" -> AssignmentPolicy.weighted(high, medium, low, overdue);
+            case "least-open" -> AssignmentPolicy.leastOpen();
+            default -> throw new IllegalArgumentException("Unknown resolveit.assign.policy: " + policy);
+        };
+    }
+}
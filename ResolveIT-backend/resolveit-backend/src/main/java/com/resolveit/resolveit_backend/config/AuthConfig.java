@@ -0,0 +1,31 @@
+package com.resolveit.resolveit_backend.config;
+
+import com.resolveit.resolveit_backend.service.AuthTokens;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Session tokens on the API: TokenAuthFilter in front of every /api/* request.
+ *
+ * resolveit.auth.required=false (default) only identifies callers that send a token,
+ * so pages that do not send one yet (anonymous complaints) keep working; true
+ * answers 401 to everything else but sign-up and login.
+ */
+@Configuration
+public class AuthConfig {
+
+    @Bean
+    public FilterRegistrationBean<TokenAuthFilter> tokenAuthFilter(
+            AuthTokens tokens,
+            @Value("${resolveit.auth.required:false}") boolean required) {
+        FilterRegistrationBean<TokenAuthFilter> registration =
+                new FilterRegistrationBean<>(new TokenAuthFilter(tokens, required));
+        registration.addUrlPatterns("/api/*");
+        // after the request metrics filter, so rejected requests are still measured
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
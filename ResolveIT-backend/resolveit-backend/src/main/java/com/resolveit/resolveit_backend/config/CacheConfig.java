@@ -0,0 +1,89 @@
+package com.resolveit.resolveit_backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.model.Feedback;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * In-process read caches (Caffeine: W-TinyLFU eviction, bounded by approximate
+ * bytes, expire-after-write as a safety net). Writers evict precisely – see
+ * ComplaintCache and the @Cacheable / @CacheEvict repository methods.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // complaint id -> full Complaint (detail pages)
+    public static final String COMPLAINTS = "complaints";
+
+    // citizenName / assignedStaff -> List<ComplaintSummary> (dashboards)
+    public static final String COMPLAINTS_BY_CITIZEN = "complaintsByCitizen";
+    public static final String COMPLAINTS_BY_OFFICER = "complaintsByOfficer";
+
+    // username -> User (login, notification streams)
+    public static final String USERS = "usersByUsername";
+
+    // complaint id -> List<Feedback>
+    public static final String FEEDBACK = "feedbackByComplaint";
+
+    // complaint id -> StoredImage (original / resolution proof)
+    public static final String IMAGES = "complaintImages";
+    public static final String RESOLUTION_IMAGES = "resolutionImages";
+
+    private static final long MB = 1024 * 1024;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.registerCustomCache(COMPLAINTS, bounded(64 * MB, Duration.ofMinutes(10)));
+        manager.registerCustomCache(COMPLAINTS_BY_CITIZEN, bounded(32 * MB, Duration.ofMinutes(5)));
+        manager.registerCustomCache(COMPLAINTS_BY_OFFICER, bounded(32 * MB, Duration.ofMinutes(5)));
+        manager.registerCustomCache(USERS, bounded(4 * MB, Duration.ofMinutes(15)));
+        manager.registerCustomCache(FEEDBACK, bounded(8 * MB, Duration.ofMinutes(10)));
+        manager.registerCustomCache(IMAGES, bounded(4 * MB, Duration.ofHours(1)));
+        manager.registerCustomCache(RESOLUTION_IMAGES, bounded(4 * MB, Duration.ofHours(1)));
+        return manager;
+    }
+
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> bounded(long maxBytes, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Object key, Object value) -> approximateBytes(value))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    // rough heap cost; only has to rank entries against each other, not be exact
+    static int approximateBytes(Object value) {
+        if (value instanceof Complaint c) {
+            return 1024 + length(c.getDescription()) + length(c.getImageData())
+                    + length(c.getResolutionImageData()) + length(c.getAdminComments())
+                    + length(c.getInternalNotes()) + length(c.getOfficerNotes()) + length(c.getAlertMessage());
+        }
+        if (value instanceof Feedback f) {
+            return 256 + length(f.getComments());
+        }
+        if (value instanceof Collection<?> list) {
+            long total = 64;
+            for (Object item : list) {
+                total += approximateBytes(item);
+            }
+            return (int) Math.min(Integer.MAX_VALUE, total);
+        }
+        // summaries, users, image descriptors, cached nulls
+        return 512;
+    }
+
+    private static int length(String s) {
+        return s == null ? 0 : 2 * s.length();
+    }
+}
@@ -0,0 +1,146 @@
+package com.resolveit.resolveit_backend.config;
+
+import com.resolveit.resolveit_backend.service.ComplaintIngestService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application metrics on top of what Actuator binds by itself (http.server.requests,
+ * Hikari pool, Hibernate statistics, caches, JVM), all scraped from /actuator/prometheus.
+ *
+ * The DataSource is wrapped in a datasource-proxy: every JDBC statement is timed
+ * (resolveit.jdbc.statements, by type), counted against the current request, and
+ * logged with its bind parameters on "resolveit.slow-query" when it runs longer than
+ * resolveit.db.slow-query-ms. Setting "resolveit.sql" to DEBUG logs every statement,
+ * which is what spring.jpa.show-sql used to be for.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // both loggers are meant to be switched on and off from logging.level.*
+    static final String SLOW_QUERY_LOG = "resolveit.slow-query";
+    static final String SQL_LOG = "resolveit.sql";
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxy(@Value("${resolveit.db.slow-query-ms:500}") long slowQueryMs,
+                                                    ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .logSlowQueryBySlf4j(slowQueryMs, TimeUnit.MILLISECONDS, SLF4JLogLevel.WARN, SLOW_QUERY_LOG)
+                        .logQueryBySlf4j(SLF4JLogLevel.DEBUG, SQL_LOG)
+                        .afterQuery((execution, queries) -> {
+                            RequestDbStats.onStatement();
+                            QueryType type = queries.isEmpty() ? QueryType.OTHER
+                                    : QueryUtils.getQueryType(queries.get(0).getQuery());
+                            Timer.builder("resolveit.jdbc.statements")
+                                    .description("JDBC statement execution time")
+                                    .tag("type", type.name().toLowerCase(Locale.ROOT))
+                                    .tag("success", String.valueOf(execution.isSuccess()))
+                                    .register(registry.getObject())
+                                    .record(execution.getElapsedTime(), TimeUnit.MILLISECONDS);
+                        })
+                        .build();
+            }
+        };
+    }
+
+    // entity loads per request: Hibernate only keeps a global count
+    @Bean
+    public SmartInitializingSingleton entityLoadCounter(EntityManagerFactory entityManagerFactory) {
+        return () -> entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, (PostLoadEventListener) event -> RequestDbStats.onEntityLoaded());
+    }
+
+    // statements and entity loads per request, by route (same uri tag as http.server.requests)
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> requestDbMetricsFilter(MeterRegistry registry) {
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                RequestDbStats stats = RequestDbStats.open();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    RequestDbStats.close();
+                    Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    if (route != null) {
+                        summary(registry, "resolveit.db.statements.per.request", request, route)
+                                .record(stats.statements());
+                        summary(registry, "resolveit.db.entities.per.request", request, route)
+                                .record(stats.entitiesLoaded());
+                    }
+                }
+            }
+        };
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static DistributionSummary summary(MeterRegistry registry, String name,
+                                               HttpServletRequest request, Object route) {
+        return DistributionSummary.builder(name)
+                .tag("method", request.getMethod())
+                .tag("uri", route.toString())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1_000.0)
+                .register(registry);
+    }
+
+    // queued ingestion (POST /api/complaints/ingest): the same numbers as /api/complaints/ingest/stats
+    @Bean
+    public MeterBinder ingestMetrics(ComplaintIngestService ingest) {
+        return registry -> {
+            FunctionCounter.builder("resolveit.ingest.accepted", ingest, s -> s.stats().getAccepted()).register(registry);
+            FunctionCounter.builder("resolveit.ingest.rejected", ingest, s -> s.stats().getRejected()).register(registry);
+            FunctionCounter.builder("resolveit.ingest.completed", ingest, s -> s.stats().getCompleted()).register(registry);
+            FunctionCounter.builder("resolveit.ingest.failed", ingest, s -> s.stats().getFailed()).register(registry);
+            FunctionCounter.builder("resolveit.ingest.retries", ingest, s -> s.stats().getRetries()).register(registry);
+            Gauge.builder("resolveit.ingest.queued", ingest, s -> s.stats().getQueued()).register(registry);
+            Gauge.builder("resolveit.ingest.processing", ingest, s -> s.stats().getProcessing()).register(registry);
+            Gauge.builder("resolveit.ingest.capacity", ingest, s -> s.stats().getCapacity()).register(registry);
+        };
+    }
+}
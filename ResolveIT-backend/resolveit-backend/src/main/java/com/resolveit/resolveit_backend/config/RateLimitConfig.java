@@ -0,0 +1,60 @@
+package com.resolveit.resolveit_backend.config;
+
+import com.resolveit.resolveit_backend.service.RateLimiter;
+import com.resolveit.resolveit_backend.service.RateLimiter.Budget;
+import com.resolveit.resolveit_backend.service.RateLimiter.Endpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Rate limits per caller: resolveit.rate-limit.<class>.capacity (burst) and
+ * .per-second (sustained) for the endpoint classes of RateLimiter.Endpoint.
+ * resolveit.rate-limit.enabled=false leaves the filter out altogether.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(@Value("${resolveit.rate-limit.export.capacity:5}") int exportCapacity,
+                                   @Value("${resolveit.rate-limit.export.per-second:0.2}") double exportRate,
+                                   @Value("${resolveit.rate-limit.list.capacity:60}") int listCapacity,
+                                   @Value("${resolveit.rate-limit.list.per-second:10}") double listRate,
+                                   @Value("${resolveit.rate-limit.upload.capacity:20}") int uploadCapacity,
+                                   @Value("${resolveit.rate-limit.upload.per-second:2}") double uploadRate,
+                                   @Value("${resolveit.rate-limit.login.capacity:10}") int loginCapacity,
+                                   @Value("${resolveit.rate-limit.login.per-second:1}") double loginRate,
+                                   @Value("${resolveit.rate-limit.default.capacity:200}") int defaultCapacity,
+                                   @Value("${resolveit.rate-limit.default.per-second:50}") double defaultRate,
+                                   @Value("${resolveit.rate-limit.max-keys:100000}") long maxKeys,
+                                   @Value("${resolveit.rate-limit.idle:10m}") Duration idle,
+                                   MeterRegistry registry) {
+        Map<Endpoint, Budget> budgets = new EnumMap<>(Endpoint.class);
+        budgets.put(Endpoint.EXPORT, new Budget(exportCapacity, exportRate));
+        budgets.put(Endpoint.LIST, new Budget(listCapacity, listRate));
+        budgets.put(Endpoint.UPLOAD, new Budget(uploadCapacity, uploadRate));
+        budgets.put(Endpoint.LOGIN, new Budget(loginCapacity, loginRate));
+        budgets.put(Endpoint.DEFAULT, new Budget(defaultCapacity, defaultRate));
+        return new RateLimiter(budgets, maxKeys, idle, registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            RateLimiter limiter,
+            @Value("${resolveit.rate-limit.enabled:true}") boolean enabled) {
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(limiter));
+        registration.addUrlPatterns("/api/*");
+        // after TokenAuthFilter, so token holders are limited per user rather than per IP
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 30);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+}
@@ -0,0 +1,94 @@
+package com.resolveit.resolveit_backend.config;
+
+import com.resolveit.resolveit_backend.service.RateLimiter;
+import com.resolveit.resolveit_backend.service.RateLimiter.Endpoint;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies RateLimiter to /api/*: sorts the request into an endpoint class by method
+ * and path, and answers 429 with Retry-After (whole seconds) once the caller's bucket
+ * for that class is empty. The caller is the user of a valid session token (so runs
+ * after TokenAuthFilter), else the client IP.
+ *
+ * The IP is request.getRemoteAddr(): behind a reverse proxy that is the proxy, unless
+ * server.forward-headers-strategy makes Tomcat take it from X-Forwarded-For.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String COMPLAINTS = "/api/complaints";
+
+    private final RateLimiter limiter;
+
+    public RateLimitFilter(RateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        if ("OPTIONS".equals(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long wait = limiter.tryAcquire(classify(request), caller(request));
+        if (wait > 0) {
+            reject(request, response, wait);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    static Endpoint classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+
+        if (path.startsWith(COMPLAINTS)) {
+            String rest = path.substring(COMPLAINTS.length());
+            if (rest.equals("/export/csv") || rest.startsWith("/bulk") || rest.equals("/search/reindex")) {
+                return Endpoint.EXPORT;
+            }
+            if ("GET".equals(method) && (rest.isEmpty() || rest.equals("/") || rest.equals("/search"))) {
+                return Endpoint.LIST;
+            }
+            // new complaint (multipart), queued ingestion, resolution proof
+            if ("POST".equals(method) && (rest.isEmpty() || rest.equals("/ingest") || rest.endsWith("/resolution-image"))) {
+                return Endpoint.UPLOAD;
+            }
+            return Endpoint.DEFAULT;
+        }
+        if ("POST".equals(method) && (path.equals("/api/users") || path.equals("/api/users/login"))) {
+            return Endpoint.LOGIN;
+        }
+        return Endpoint.DEFAULT;
+    }
+
+    static String caller(HttpServletRequest request) {
+        return TokenAuthFilter.principal(request)
+                .map(p -> "user:" + p.userId())
+                .orElseGet(() -> "ip:" + request.getRemoteAddr());
+    }
+
+    private static void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos)
+            throws IOException {
+        long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        // answered before Spring MVC's CORS handling: let browser pages read the 429
+        if (request.getHeader(HttpHeaders.ORIGIN) != null) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.RETRY_AFTER);
+        }
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write("Too many requests, retry in " + seconds + " s");
+    }
+}
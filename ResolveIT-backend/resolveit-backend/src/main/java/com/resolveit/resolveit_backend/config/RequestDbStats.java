@@ -0,0 +1,51 @@
+package com.resolveit.resolveit_backend.config;
+
+/**
+ * JDBC statements and entity loads of the current request thread.
+ *
+ * Opened and closed by the request filter in MetricsConfig; the JDBC proxy and the
+ * Hibernate post-load listener count into it. Threads outside a request (schedulers,
+ * ingest workers, streamed exports) have no scope and are not counted.
+ */
+final class RequestDbStats {
+
+    private static final ThreadLocal<RequestDbStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private int entitiesLoaded;
+
+    private RequestDbStats() {
+    }
+
+    static RequestDbStats open() {
+        RequestDbStats stats = new RequestDbStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    static void onStatement() {
+        RequestDbStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    static void onEntityLoaded() {
+        RequestDbStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.entitiesLoaded++;
+        }
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    int entitiesLoaded() {
+        return entitiesLoaded;
+    }
+}
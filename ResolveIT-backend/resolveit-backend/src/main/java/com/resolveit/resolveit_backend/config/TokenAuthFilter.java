@@ -0,0 +1,98 @@
+package com.resolveit.resolveit_backend.config;
+
+import com.resolveit.resolveit_backend.service.AuthTokens;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Identifies the caller from the session token issued by POST /api/users/login:
+ * "Authorization: Bearer <token>", or ?access_token=<token> on GET /api/notifications/stream
+ * only (EventSource cannot set headers; anywhere else a token in the URL would just end
+ * up in access logs, proxies and the Referer header). Checking a token is one HMAC over ~60 bytes –
+ * nothing is looked up. A valid token puts its AuthTokens.Principal into the
+ * request attribute {@link #PRINCIPAL}; a bad or expired one is answered with 401.
+ *
+ * Requests without a token pass through unless resolveit.auth.required is on; then
+ * only sign-up, login and CORS preflights do.
+ */
+public class TokenAuthFilter extends OncePerRequestFilter {
+
+    public static final String PRINCIPAL = TokenAuthFilter.class.getName() + ".principal";
+
+    private static final String BEARER = "Bearer ";
+    private static final String QUERY_PARAM = "access_token";
+    private static final String QUERY_TOKEN_PATH = "/api/notifications/stream";
+
+    private final AuthTokens tokens;
+    private final boolean required;
+
+    public TokenAuthFilter(AuthTokens tokens, boolean required) {
+        this.tokens = tokens;
+        this.required = required;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        String token = token(request);
+        if (token == null) {
+            if (required && !isPublic(request)) {
+                reject(response, null);
+                return;
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Optional<AuthTokens.Principal> principal = tokens.verify(token);
+        if (principal.isEmpty()) {
+            reject(response, "invalid_token");
+            return;
+        }
+        request.setAttribute(PRINCIPAL, principal.get());
+        chain.doFilter(request, response);
+    }
+
+    // the caller of the current request, when it carried a valid token
+    public static Optional<AuthTokens.Principal> principal(HttpServletRequest request) {
+        return Optional.ofNullable((AuthTokens.Principal) request.getAttribute(PRINCIPAL));
+    }
+
+    private static String token(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            return header.substring(BEARER.length()).trim();
+        }
+        // only look at the query string: getParameter would read (and consume) form bodies
+        String query = request.getQueryString();
+        if ("GET".equals(request.getMethod()) && QUERY_TOKEN_PATH.equals(path(request))
+                && query != null && query.contains(QUERY_PARAM + "=")) {
+            return request.getParameter(QUERY_PARAM);
+        }
+        return null;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static boolean isPublic(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = path(request);
+        return "OPTIONS".equals(method)
+                || ("POST".equals(method) && (path.equals("/api/users") || path.equals("/api/users/login")));
+    }
+
+    private static void reject(HttpServletResponse response, String error) {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE,
+                error == null ? "Bearer" : "Bearer error=\"" + error + "\"");
+    }
+}
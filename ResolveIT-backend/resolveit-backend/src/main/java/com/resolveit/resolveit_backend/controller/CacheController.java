@@ -0,0 +1,42 @@
+package com.resolveit.resolveit_backend.controller;
+
+import com.resolveit.resolveit_backend.dto.CacheStats;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    private final CacheManager cacheManager;
+
+    public CacheController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    // HIT / MISS / EVICTION COUNTERS PER CACHE (ADMIN) -> GET /api/cache/stats
+    @GetMapping("/stats")
+    public List<CacheStats> stats() {
+        List<CacheStats> result = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (!(cacheManager.getCache(name) instanceof CaffeineCache cache)) {
+                continue;
+            }
+
+            var nativeCache = cache.getNativeCache();
+            var counters = nativeCache.stats();
+            long weight = nativeCache.policy().eviction()
+                    .map(eviction -> eviction.weightedSize().orElse(0L))
+                    .orElse(0L);
+
+            result.add(new CacheStats(name, nativeCache.estimatedSize(), weight,
+                    counters.hitCount(), counters.missCount(), counters.hitRate(), counters.evictionCount()));
+        }
+        return result;
+    }
+}
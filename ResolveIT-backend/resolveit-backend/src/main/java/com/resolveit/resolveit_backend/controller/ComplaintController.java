@@ -1,15 +1,52 @@
 package com.resolveit.resolveit_backend.controller;
 
+import com.resolveit.resolveit_backend.config.TokenAuthFilter;
+import com.resolveit.resolveit_backend.dto.BulkRequest;
+import com.resolveit.resolveit_backend.dto.BulkResult;
+import com.resolveit.resolveit_backend.dto.ComplaintEvent;
+import com.resolveit.resolveit_backend.dto.ComplaintPage;
+import com.resolveit.resolveit_backend.dto.ComplaintStats;
+import com.resolveit.resolveit_backend.dto.ComplaintSummary;
+import com.resolveit.resolveit_backend.dto.IngestStats;
+import com.resolveit.resolveit_backend.dto.IngestStatus;
+import com.resolveit.resolveit_backend.dto.LifecycleEvent;
+import com.resolveit.resolveit_backend.dto.OfficerLoad;
+import com.resolveit.resolveit_backend.dto.SearchPage;
 import com.resolveit.resolveit_backend.model.Complaint;
 import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import com.resolveit.resolveit_backend.service.AuthTokens;
+import com.resolveit.resolveit_backend.service.ComplaintBulkService;
+import com.resolveit.resolveit_backend.service.ComplaintCache;
+import com.resolveit.resolveit_backend.service.ComplaintCsvWriter;
+import com.resolveit.resolveit_backend.service.ComplaintExportService;
+import com.resolveit.resolveit_backend.service.ComplaintHistory;
+import com.resolveit.resolveit_backend.service.ComplaintImageService;
+import com.resolveit.resolveit_backend.service.ComplaintIngestService;
+import com.resolveit.resolveit_backend.service.ComplaintNotifier;
+import com.resolveit.resolveit_backend.service.ComplaintOutbox;
+import com.resolveit.resolveit_backend.service.ComplaintSearchIndex;
+import com.resolveit.resolveit_backend.service.ComplaintStatsService;
+import com.resolveit.resolveit_backend.service.EscalationScheduler;
+import com.resolveit.resolveit_backend.service.OfficerWorkloadIndex;
+import com.resolveit.resolveit_backend.service.ThumbnailService;
+import com.resolveit.resolveit_backend.storage.StoredImage;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Limit;
 
+import org.springframework.format.annotation.DateTimeFormat;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
@@ -20,31 +57,85 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.net.URI;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/complaints")
 @CrossOrigin(origins = "*")
 public class ComplaintController {
 
-    private final ComplaintRepository complaintRepository;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int INGEST_RETRY_AFTER_SECONDS = 5;
+    // a PUT without If-Match that keeps losing the race to concurrent writers gives up with 409
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintController.class);
+
+    // a complaint's original image never changes; the resolution proof can be re-uploaded.
+    // private: these are citizens' photos, for the browser only – never a shared proxy / CDN
+    private static final CacheControl ORIGINAL_IMAGE_CACHE = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate();
+    private static final CacheControl RESOLUTION_IMAGE_CACHE = CacheControl.noCache().cachePrivate();
+    // the original standing in for a rendition that is not there yet: revalidated every time
+    private static final CacheControl STAND_IN_IMAGE_CACHE = CacheControl.noCache().cachePrivate();
 
-    public ComplaintController(ComplaintRepository complaintRepository) {
+    private final ComplaintRepository complaintRepository;
+    private final ComplaintStatsService statsService;
+    private final ComplaintExportService exportService;
+    private final EscalationScheduler escalationScheduler;
+    private final ComplaintNotifier notifier;
+    private final ComplaintImageService imageService;
+    private final ComplaintCache complaintCache;
+    private final ComplaintBulkService bulkService;
+    private final ComplaintSearchIndex searchIndex;
+    private final ComplaintIngestService ingestService;
+    private final OfficerWorkloadIndex workloadIndex;
+    private final ComplaintHistory history;
+    private final ComplaintOutbox outbox;
+
+    public ComplaintController(ComplaintRepository complaintRepository,
+                               ComplaintStatsService statsService,
+                               ComplaintExportService exportService,
+                               EscalationScheduler escalationScheduler,
+                               ComplaintNotifier notifier,
+                               ComplaintImageService imageService,
+                               ComplaintCache complaintCache,
+                               ComplaintBulkService bulkService,
+                               ComplaintSearchIndex searchIndex,
+                               ComplaintIngestService ingestService,
+                               OfficerWorkloadIndex workloadIndex,
+                               ComplaintHistory history,
+                               ComplaintOutbox outbox) {
         this.complaintRepository = complaintRepository;
+        this.complaintCache = complaintCache;
+        this.bulkService = bulkService;
+        this.searchIndex = searchIndex;
+        this.ingestService = ingestService;
+        this.workloadIndex = workloadIndex;
+        this.history = history;
+        this.outbox = outbox;
+        this.statsService = statsService;
+        this.exportService = exportService;
+        this.escalationScheduler = escalationScheduler;
+        this.notifier = notifier;
+        this.imageService = imageService;
     }
 
     // CREATE COMPLAINT (with optional image)
@@ -55,92 +146,127 @@ public class ComplaintController {
             @RequestParam("category") String category,
             @RequestParam("priority") String priority,
             @RequestParam("citizenName") String citizenName,
-            @RequestPart(value = "image", required = false) MultipartFile image
+            @RequestPart(value = "image", required = false) MultipartFile image,
+            HttpServletRequest request
     ) {
 
-        Complaint c = new Complaint();
-        c.setSubject(subject);
-        c.setDescription(description);
-        c.setCategory(category);
-        c.setPriority(priority);
-        c.setCitizenName(citizenName);
-
-        // defaults
-        c.setStatus("Under Review");
-        String now = LocalDateTime.now().toString();
-        c.setCreatedAt(now);
-        c.setUpdatedAt(now);
-        c.setAssignedStaff("Not assigned");
-
-        // image upload
-        if (image != null && !image.isEmpty()) {
-            try {
-                Path uploadDir = Paths.get("uploads");
-                if (!Files.exists(uploadDir)) {
-                    Files.createDirectories(uploadDir);
-                }
-
-                String original = image.getOriginalFilename();
-                String safe = (original == null ? "img" : original.replaceAll("\\s+", "_"));
-                String fileName = System.currentTimeMillis() + "_" + safe;
-
-                Path filePath = uploadDir.resolve(fileName);
-                Files.copy(image.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-                c.setImagePath(fileName);
-
-            } catch (IOException ex) {
-                ex.printStackTrace();
-            }
+        var submission = submission(subject, description, category, priority, citizenName, request);
+        try {
+            return ResponseEntity.ok(ingestService.create(submission, image));
+        } catch (IOException ex) {
+            // no complaint without the image the citizen attached
+            log.error("Could not store the image of a new complaint", ex);
+            return ResponseEntity.internalServerError().build();
         }
+    }
 
-        Complaint saved = complaintRepository.save(c);
-        return ResponseEntity.ok(saved);
+    // CREATE COMPLAINT, QUEUED: same form, answers 202 + ticket once the upload is spooled
+    // -> 503 + Retry-After when the ingest queue is full
+    @PostMapping(value = "/ingest", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<IngestStatus> ingestComplaint(
+            @RequestParam("subject") String subject,
+            @RequestParam("description") String description,
+            @RequestParam("category") String category,
+            @RequestParam("priority") String priority,
+            @RequestParam("citizenName") String citizenName,
+            @RequestPart(value = "image", required = false) MultipartFile image,
+            HttpServletRequest request
+    ) {
+        var submission = submission(subject, description, category, priority, citizenName, request);
+        try {
+            return ingestService.submit(submission, image)
+                    .map(status -> ResponseEntity.accepted()
+                            .location(URI.create("/api/complaints/ingest/" + status.getTicket()))
+                            .body(status))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, String.valueOf(INGEST_RETRY_AFTER_SECONDS))
+                            .build());
+        } catch (IOException ex) {
+            log.error("Could not spool a complaint submission", ex);
+            return ResponseEntity.internalServerError().build();
+        }
     }
 
-    // READ ONE
-    @GetMapping("/{id}")
-    public ResponseEntity<Complaint> getComplaintById(@PathVariable Integer id) {
-        return complaintRepository.findById(id)
+    // QUEUED SUBMISSION STATUS (QUEUED / PROCESSING / DONE + complaintId / FAILED)
+    @GetMapping("/ingest/{ticket}")
+    public ResponseEntity<IngestStatus> getIngestStatus(@PathVariable String ticket) {
+        return ingestService.status(ticket)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    // SERVE ORIGINAL IMAGE
-    @GetMapping("/{id}/image")
-    public ResponseEntity<Resource> getComplaintImage(@PathVariable Integer id) {
-        var optional = complaintRepository.findById(id);
-        if (optional.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
+    // INGEST QUEUE COUNTERS (ADMIN)
+    @GetMapping("/ingest/stats")
+    public IngestStats getIngestStats() {
+        return ingestService.stats();
+    }
 
-        Complaint c = optional.get();
-        String imagePath = c.getImagePath();
+    // READ ONE (full entity – the only read that pulls the image LONGTEXT columns; cached)
+    // ETag = version; If-None-Match with the current one -> 304 without a body
+    @GetMapping("/{id}")
+    public ResponseEntity<Complaint> getComplaintById(
+            @PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return complaintCache.findById(id)
+                .map(c -> ComplaintTags.notModified(ifNoneMatch, c)
+                        ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ComplaintTags.etag(c)).<Complaint>build()
+                        : ResponseEntity.ok().eTag(ComplaintTags.etag(c)).body(c))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 
-        if (imagePath == null || imagePath.isBlank()) {
-            return ResponseEntity.notFound().build();
+    // HISTORY – every recorded change, oldest first (append-only log)
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<ComplaintEvent>> getHistory(@PathVariable Integer id) {
+        try {
+            List<ComplaintEvent> events = history.events(id);
+            return events.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(events);
+        } catch (IOException ex) {
+            log.error("Could not read the history of complaint {}", id, ex);
+            return ResponseEntity.internalServerError().build();
         }
+    }
 
+    // POINT-IN-TIME STATE rebuilt from the history -> GET /{id}/history/state?at=2026-03-01T09:00:00
+    // 404 when the complaint did not exist at that moment
+    @GetMapping("/{id}/history/state")
+    public ResponseEntity<Complaint> getStateAt(
+            @PathVariable Integer id,
+            @RequestParam("at") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
         try {
-            Path uploadDir = Paths.get("uploads");
-            Path filePath = uploadDir.resolve(imagePath);
+            return history.stateAt(id, at)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IOException ex) {
+            log.error("Could not rebuild complaint {} as of {}", id, at, ex);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
 
-            if (!Files.exists(filePath)) {
-                return ResponseEntity.notFound().build();
-            }
+    // SERVE ORIGINAL IMAGE (ETag / 304, long-lived cache, sendfile or range)
+    // ?size=thumb (240px) | medium (800px) | original
+    @GetMapping("/{id}/image")
+    public ResponseEntity<Resource> getComplaintImage(
+            @PathVariable Integer id,
+            @RequestParam(value = "size", required = false) String size,
+            HttpServletRequest request) {
+        ThumbnailService.Size rendition;
+        try {
+            rendition = ThumbnailService.Size.parse(size);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
 
-            Resource resource = new UrlResource(filePath.toUri());
-            String contentType = Files.probeContentType(filePath);
-            if (contentType == null) {
-                contentType = "application/octet-stream";
+        try {
+            Optional<StoredImage> image = imageService.original(id);
+            if (image.isEmpty()) {
+                return ResponseEntity.notFound().build();
             }
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .body(resource);
+            ThumbnailService.Rendition served = imageService.sized(image.get(), rendition);
+            return ImageResponses.serve(served.image(),
+                    served.temporary() ? STAND_IN_IMAGE_CACHE : ORIGINAL_IMAGE_CACHE, request);
 
         } catch (IOException ex) {
-            ex.printStackTrace();
+            log.error("Could not serve the image of complaint {}", id, ex);
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -159,188 +285,373 @@ public class ComplaintController {
         }
 
         try {
-            Path uploadDir = Paths.get("uploads", "resolution");
-            if (!Files.exists(uploadDir)) {
-                Files.createDirectories(uploadDir);
+            if (!imageService.saveResolution(id, file)) {
+                return ResponseEntity.notFound().build();
             }
-
-            String fileName = "resolution_" + id;
-            Path filePath = uploadDir.resolve(fileName);
-
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
             return ResponseEntity.ok().build();
 
         } catch (IOException ex) {
-            ex.printStackTrace();
+            log.error("Could not store the resolution image of complaint {}", id, ex);
             return ResponseEntity.internalServerError().build();
         }
     }
 
-    // RESOLUTION IMAGE – GET
+    // RESOLUTION IMAGE – GET (revalidated on every use, 304 while unchanged), same ?size= as above
     @GetMapping("/{id}/resolution-image")
-    public ResponseEntity<Resource> getResolutionImage(@PathVariable Integer id) {
+    public ResponseEntity<Resource> getResolutionImage(
+            @PathVariable Integer id,
+            @RequestParam(value = "size", required = false) String size,
+            HttpServletRequest request) {
+        ThumbnailService.Size rendition;
         try {
-            Path uploadDir = Paths.get("uploads", "resolution");
-            Path filePath = uploadDir.resolve("resolution_" + id);
+            rendition = ThumbnailService.Size.parse(size);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
 
-            if (!Files.exists(filePath)) {
+        try {
+            Optional<StoredImage> image = imageService.resolution(id);
+            if (image.isEmpty()) {
                 return ResponseEntity.notFound().build();
             }
-
-            Resource resource = new UrlResource(filePath.toUri());
-
-            String contentType = Files.probeContentType(filePath);
-            if (contentType == null) {
-                contentType = "image/jpeg";
-            }
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .body(resource);
+            return ImageResponses.serve(imageService.sized(image.get(), rendition).image(), RESOLUTION_IMAGE_CACHE, request);
 
         } catch (IOException ex) {
-            ex.printStackTrace();
+            log.error("Could not serve the resolution image of complaint {}", id, ex);
             return ResponseEntity.internalServerError().build();
         }
     }
 
-    // UPDATE COMPLAINT
+    // UPDATE COMPLAINT – If-Match: "<version>" makes it conditional (412 when stale)
     @PutMapping("/{id}")
     public ResponseEntity<Complaint> updateComplaint(
             @PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody Complaint updates) {
 
-        return complaintRepository.findById(id)
-                .map(existing -> {
-
-                    if (updates.getStatus() != null)        existing.setStatus(updates.getStatus());
-                    if (updates.getPriority() != null)      existing.setPriority(updates.getPriority());
-                    if (updates.getCategory() != null)      existing.setCategory(updates.getCategory());
-                    if (updates.getAssignedStaff() != null) existing.setAssignedStaff(updates.getAssignedStaff());
-                    if (updates.getDeadline() != null)      existing.setDeadline(updates.getDeadline());
-                    if (updates.getDeadlineIso() != null)   existing.setDeadlineIso(updates.getDeadlineIso());
-                    if (updates.getAdminComments() != null) existing.setAdminComments(updates.getAdminComments());
-                    if (updates.getInternalNotes() != null) existing.setInternalNotes(updates.getInternalNotes());
-                    if (updates.getAlertMessage() != null)  existing.setAlertMessage(updates.getAlertMessage());
-                    if (updates.getLastAlertAt() != null)   existing.setLastAlertAt(updates.getLastAlertAt());
-                    if (updates.getIsEscalated() != null)   existing.setIsEscalated(updates.getIsEscalated());
-                    if (updates.getOfficerNotes() != null)  existing.setOfficerNotes(updates.getOfficerNotes());
+        return writeIfMatch(id, ifMatch, existing -> {
 
-                    existing.setUpdatedAt(LocalDateTime.now().toString());
+            var before = ComplaintStatsService.Key.of(existing);
+            var beforeFields = ComplaintHistory.capture(existing);
+            // the detail pages echo lastAlertAt back on every save: only a new one is an alert
+            boolean alertSent = updates.getLastAlertAt() != null
+                    && !updates.getLastAlertAt().equals(existing.getLastAlertAt());
 
-                    Complaint saved = complaintRepository.save(existing);
-                    return ResponseEntity.ok(saved);
+            merge(existing, updates);
+            existing.setUpdatedAt(LocalDateTime.now());
 
-                })
-                .orElseGet(() -> ResponseEntity.notFound().build());
+            Complaint saved = saveIfUnchanged(existing, beforeFields,
+                    ComplaintOutbox.typesOf(LifecycleEvent.Type.UPDATED, before.status(), existing));
+            if (saved == null) {
+                return null;
+            }
+            statsService.onChanged(before, saved);
+            workloadIndex.onChanged(before, saved);
+            complaintCache.onChanged(before.assignee(), saved);
+            searchIndex.onSaved(saved);
+            escalationScheduler.reschedule(saved);
+            notifier.onUpdated(before, saved, alertSent);
+            return saved;
+        });
     }
 
     // READ CITIZEN COMPLAINTS
     @GetMapping("/citizen/{name}")
-    public List<Complaint> getByCitizen(@PathVariable("name") String name) {
+    public List<ComplaintSummary> getByCitizen(@PathVariable("name") String name) {
         return complaintRepository.findByCitizenName(name);
     }
 
     // READ OFFICER COMPLAINTS
     @GetMapping("/officer/{name}")
-    public List<Complaint> getByOfficer(@PathVariable("name") String name) {
+    public List<ComplaintSummary> getByOfficer(@PathVariable("name") String name) {
         return complaintRepository.findByAssignedStaff(name);
     }
 
-    // READ ALL (ADMIN) – sorted by ID ascending
+    // READ ALL (ADMIN) – keyset pages sorted by ID ascending
+    // GET /api/complaints?afterId=0&limit=100&status=..&category=..&priority=..&assignee=..&from=..&to=..
     @GetMapping
-    public List<Complaint> getAll() {
-        return complaintRepository.findAll(Sort.by(Sort.Direction.ASC, "id"));
+    public ComplaintPage getAll(
+            @RequestParam(value = "afterId", defaultValue = "0") Integer afterId,
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "priority", required = false) String priority,
+            @RequestParam(value = "assignee", required = false) String assignee,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // fetch one extra row to know whether another page exists
+        List<ComplaintSummary> rows = complaintRepository.findPageAfter(
+                afterId, status, category, priority, assignee,
+                createdFrom(from), createdTo(to), Limit.of(pageSize + 1));
+
+        Integer nextAfterId = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextAfterId = rows.get(pageSize - 1).getId();
+        }
+
+        return new ComplaintPage(rows, nextAfterId);
+    }
+
+    // FULL-TEXT SEARCH (ADMIN) – subject, description, admin comments, officer notes; best match first
+    // GET /api/complaints/search?q=..&status=..&category=..&priority=..&assignee=..&from=..&to=..&page=0&size=20
+    // q: words all have to match ("quoted phrase", -exclude, prefix*, a | b)
+    @GetMapping("/search")
+    public ResponseEntity<SearchPage> search(
+            @RequestParam("q") String q,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "priority", required = false) String priority,
+            @RequestParam(value = "assignee", required = false) String assignee,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size
+    ) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        var filter = new ComplaintSearchIndex.Filter(status, category, priority, assignee,
+                createdFrom(from), createdTo(to));
+        try {
+            return ResponseEntity.ok(searchIndex.search(q, filter, page, size));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        } catch (IOException ex) {
+            log.error("Search for \"{}\" failed", q, ex);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // REBUILD SEARCH INDEX (ADMIN) – after changes made outside the API; runs in the background
+    @PostMapping("/search/reindex")
+    public ResponseEntity<Void> reindex() {
+        searchIndex.rebuildAsync();
+        return ResponseEntity.accepted().build();
+    }
+
+    // OFFICER WORKLOADS (ADMIN) – in auto-assignment order, least loaded first
+    @GetMapping("/workload")
+    public List<OfficerLoad> getWorkload() {
+        return workloadIndex.snapshot();
     }
 
-    // EXPORT ALL COMPLAINTS AS CSV (ADMIN)
+    // DASHBOARD STATS (ADMIN) – served from the in-memory aggregate
+    @GetMapping("/stats")
+    public ComplaintStats getStats() {
+        return statsService.snapshot();
+    }
+
+    // OVERDUE (ADMIN) – deadline reached and not resolved, oldest deadline first
+    @GetMapping("/overdue")
+    public List<ComplaintSummary> getOverdue(
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return complaintRepository.findOverdue(LocalDate.now(), Limit.of(pageSize));
+    }
+
+    // EXPORT COMPLAINTS AS CSV (ADMIN) – streamed straight to the response
+    // GET /api/complaints/export/csv?status=..&from=..&to=..&columns=id,subject,..&gzip=true
     @GetMapping("/export/csv")
-    public ResponseEntity<Resource> exportComplaintsCsv() {
-
-        List<Complaint> complaints =
-                complaintRepository.findAll(Sort.by(Sort.Direction.ASC, "id"));
-
-        StringBuilder sb = new StringBuilder();
-
-        sb.append("ID,Subject,Category,Priority,Status,Citizen,AssignedStaff,CreatedAt,UpdatedAt,Deadline\n");
-
-        for (Complaint c : complaints) {
-            sb.append(safeCsv(c.getId()))
-              .append(',')
-              .append(safeCsv(c.getSubject()))
-              .append(',')
-              .append(safeCsv(c.getCategory()))
-              .append(',')
-              .append(safeCsv(c.getPriority()))
-              .append(',')
-              .append(safeCsv(c.getStatus()))
-              .append(',')
-              .append(safeCsv(c.getCitizenName()))
-              .append(',')
-              .append(safeCsv(c.getAssignedStaff()))
-              .append(',')
-              .append(safeCsv(c.getCreatedAt()))
-              .append(',')
-              .append(safeCsv(c.getUpdatedAt()))
-              .append(',')
-              .append(safeCsv(c.getDeadline()))
-              .append('\n');
+    public ResponseEntity<StreamingResponseBody> exportComplaintsCsv(
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "columns", required = false) String columns,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip
+    ) {
+        List<ComplaintCsvWriter.Column> selected;
+        try {
+            selected = ComplaintCsvWriter.parseColumns(columns);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
         }
 
-        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
-        ByteArrayResource resource = new ByteArrayResource(bytes);
+        LocalDateTime createdFrom = createdFrom(from);
+        LocalDateTime createdTo   = createdTo(to);
+
+        StreamingResponseBody body = out ->
+                exportService.writeCsv(out, status, createdFrom, createdTo, selected, gzip);
+
+        String fileName = gzip ? "complaints_export.csv.gz" : "complaints_export.csv";
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"complaints_export.csv\"")
-                .contentType(MediaType.parseMediaType("text/csv"))
-                .contentLength(bytes.length)
-                .body(resource);
+                        "attachment; filename=\"" + fileName + "\"")
+                .contentType(gzip
+                        ? MediaType.parseMediaType("application/gzip")
+                        : MediaType.parseMediaType("text/csv"))
+                .body(body);
     }
 
-    private String safeCsv(Object value) {
-        if (value == null) return "";
-        String s = value.toString();
-        s = s.replace("\"", "\"\"");
-        return "\"" + s + "\"";
+    // "from" starts at midnight; "to" is inclusive for the caller, so compare against the next midnight
+    private static LocalDateTime createdFrom(LocalDate from) {
+        return from != null ? from.atStartOfDay() : null;
+    }
+
+    private static LocalDateTime createdTo(LocalDate to) {
+        return to != null ? to.plusDays(1).atStartOfDay() : null;
     }
 
     // DELETE COMPLAINT
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteComplaint(@PathVariable Integer id) {
-        if (!complaintRepository.existsById(id)) {
+        var optional = complaintRepository.findById(id);
+        if (optional.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        complaintRepository.deleteById(id);
+
+        Complaint existing = optional.get();
+        var before = ComplaintStatsService.Key.of(existing);
+
+        outbox.delete(existing);
+        statsService.onDeleted(before);
+        workloadIndex.onDeleted(before);
+        complaintCache.onDeleted(existing);
+        searchIndex.onDeleted(id);
+        escalationScheduler.cancel(id);
+        imageService.evict(id);
         return ResponseEntity.noContent().build();
     }
 
-    // ASSIGN ENDPOINT
+    // ASSIGN ENDPOINT – same If-Match rule as UPDATE
     @PutMapping("/{id}/assign")
     public ResponseEntity<Complaint> assignOfficer(
             @PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody Complaint updated) {
 
-        return complaintRepository.findById(id)
-                .map(existing -> {
+        return writeIfMatch(id, ifMatch, existing -> {
 
-                    if (updated.getAssignedStaff() != null) {
-                        existing.setAssignedStaff(updated.getAssignedStaff());
-                    }
-                    if (updated.getDeadline() != null) {
-                        existing.setDeadline(updated.getDeadline());
-                    }
-                    if (updated.getDeadlineIso() != null) {
-                        existing.setDeadlineIso(updated.getDeadlineIso());
-                    }
+            var before = ComplaintStatsService.Key.of(existing);
+            var beforeFields = ComplaintHistory.capture(existing);
 
-                    existing.setUpdatedAt(LocalDateTime.now().toString());
+            if (updated.getAssignedStaff() != null) {
+                existing.setAssignedStaff(updated.getAssignedStaff());
+            }
+            if (updated.getDeadline() != null) {
+                existing.setDeadline(updated.getDeadline());
+            }
+            if (updated.getDeadlineIso() != null) {
+                existing.setDeadlineIso(updated.getDeadlineIso());
+            }
 
-                    Complaint saved = complaintRepository.save(existing);
-                    return ResponseEntity.ok(saved);
+            existing.setUpdatedAt(LocalDateTime.now());
 
-                })
-                .orElseGet(() -> ResponseEntity.notFound().build());
+            Complaint saved = saveIfUnchanged(existing, beforeFields, List.of(LifecycleEvent.Type.ASSIGNED));
+            if (saved == null) {
+                return null;
+            }
+            statsService.onChanged(before, saved);
+            workloadIndex.onChanged(before, saved);
+            complaintCache.onChanged(before.assignee(), saved);
+            searchIndex.onSaved(saved);
+            escalationScheduler.reschedule(saved);
+            notifier.onAssigned(saved);
+            return saved;
+        });
+    }
+
+    // The If-Match rule of UPDATE / ASSIGN around one write (null = lost the race to another writer).
+    // With If-Match a lost race is a 412 like a stale tag. Without, the write is applied again to
+    // the newer row (last writer wins, field by field) – each retry means another writer committed,
+    // so MAX_WRITE_ATTEMPTS only runs out under heavy contention, and that is a 409.
+    private ResponseEntity<Complaint> writeIfMatch(Integer id, String ifMatch, Function<Complaint, Complaint> write) {
+        for (int attempt = 1; ; attempt++) {
+            Optional<Complaint> found = complaintRepository.findById(id);
+            if (found.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (!ComplaintTags.ifMatch(ifMatch, found.get())) {
+                return preconditionFailed(found.get());
+            }
+
+            Complaint saved = write.apply(found.get());
+            if (saved != null) {
+                return ResponseEntity.ok().eTag(ComplaintTags.etag(saved)).body(saved);
+            }
+            if (ifMatch != null) {
+                return preconditionFailed(null);
+            }
+            if (attempt == MAX_WRITE_ATTEMPTS) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            }
+        }
+    }
+
+    // citizenName is whatever the form says; the username (for notifications) only comes from a session token
+    private static ComplaintIngestService.Submission submission(String subject, String description, String category,
+                                                                String priority, String citizenName,
+                                                                HttpServletRequest request) {
+        String username = TokenAuthFilter.principal(request).map(AuthTokens.Principal::username).orElse(null);
+        return new ComplaintIngestService.Submission(subject, description, category, priority, citizenName, username);
+    }
+
+    // partial update: only the fields present (non-null) in the PUT body are copied
+    static void merge(Complaint existing, Complaint updates) {
+        if (updates.getStatus() != null)        existing.setStatus(updates.getStatus());
+        if (updates.getPriority() != null)      existing.setPriority(updates.getPriority());
+        if (updates.getCategory() != null)      existing.setCategory(updates.getCategory());
+        if (updates.getAssignedStaff() != null) existing.setAssignedStaff(updates.getAssignedStaff());
+        if (updates.getDeadline() != null)      existing.setDeadline(updates.getDeadline());
+        if (updates.getDeadlineIso() != null)   existing.setDeadlineIso(updates.getDeadlineIso());
+        if (updates.getAdminComments() != null) existing.setAdminComments(updates.getAdminComments());
+        if (updates.getInternalNotes() != null) existing.setInternalNotes(updates.getInternalNotes());
+        if (updates.getAlertMessage() != null)  existing.setAlertMessage(updates.getAlertMessage());
+        if (updates.getLastAlertAt() != null)   existing.setLastAlertAt(updates.getLastAlertAt());
+        if (updates.getIsEscalated() != null)   existing.setIsEscalated(updates.getIsEscalated());
+        if (updates.getOfficerNotes() != null)  existing.setOfficerNotes(updates.getOfficerNotes());
+    }
+
+    // null when another write got in between our read and this UPDATE (version moved on);
+    // the lifecycle events (and the history entry) are written in the same transaction
+    private Complaint saveIfUnchanged(Complaint existing, Map<String, Object> beforeFields,
+                                      List<LifecycleEvent.Type> events) {
+        try {
+            return outbox.save(existing, beforeFields, events);
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            return null;
+        }
+    }
+
+    // 412 carrying the current ETag when we know it, so the client can tell it is behind
+    private static ResponseEntity<Complaint> preconditionFailed(Complaint current) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.PRECONDITION_FAILED);
+        if (current != null) {
+            response.eTag(ComplaintTags.etag(current));
+        }
+        return response.build();
+    }
+
+    // BULK UPDATE (ADMIN) – assign / status / priority / deadline on many complaints at once
+    // PUT /api/complaints/bulk  {"ids":[..]} or {"filter":{"status":..,"category":..,"priority":..,"assignee":..}}
+    //                           plus any of assignedStaff, status, priority, deadline, deadlineIso
+    @PutMapping("/bulk")
+    public ResponseEntity<BulkResult> bulkUpdate(@RequestBody BulkRequest request) {
+        try {
+            return ResponseEntity.ok(bulkService.update(request));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // BULK DELETE (ADMIN) – same ids / filter body, change fields are ignored
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<BulkResult> bulkDelete(@RequestBody BulkRequest request) {
+        try {
+            return ResponseEntity.ok(bulkService.delete(request));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 }
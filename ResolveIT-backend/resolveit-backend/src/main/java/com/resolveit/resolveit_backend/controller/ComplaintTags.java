@@ -0,0 +1,44 @@
+package com.resolveit.resolveit_backend.controller;
+
+import com.resolveit.resolveit_backend.model.Complaint;
+
+/**
+ * ETags for complaint resources, taken from {@link Complaint#getVersion()}.
+ *
+ *  - GET with If-None-Match holding the current tag -> 304, no body.
+ *  - PUT with If-Match holding an older tag -> 412, nothing is written. A
+ *    concurrent write between the read and the UPDATE is caught by the version
+ *    check -> 412 as well.
+ *  - PUT without If-Match stays unconditional: a write that loses that race is
+ *    applied again to the newer row, up to MAX_WRITE_ATTEMPTS times in all, then
+ *    409 (see ComplaintController.writeIfMatch).
+ */
+final class ComplaintTags {
+
+    private ComplaintTags() {
+    }
+
+    static String etag(Complaint c) {
+        return "\"" + c.getVersion() + "\"";
+    }
+
+    // If-None-Match: weak comparison, same rule as for images
+    static boolean notModified(String ifNoneMatch, Complaint current) {
+        return ImageResponses.matches(ifNoneMatch, etag(current));
+    }
+
+    // If-Match: strong comparison (a W/ tag never matches), "*" = any current version
+    static boolean ifMatch(String ifMatch, Complaint current) {
+        if (ifMatch == null) {
+            return true;
+        }
+        String etag = etag(current);
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
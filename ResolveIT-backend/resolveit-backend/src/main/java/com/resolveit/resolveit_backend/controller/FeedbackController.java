@@ -1,7 +1,10 @@
 package com.resolveit.resolveit_backend.controller;
 
 import com.resolveit.resolveit_backend.model.Feedback;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
 import com.resolveit.resolveit_backend.repository.FeedbackRepository;
+import com.resolveit.resolveit_backend.service.ComplaintNotifier;
+import com.resolveit.resolveit_backend.service.ComplaintOutbox;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,9 +17,18 @@ import java.util.List;
 public class FeedbackController {
 
     private final FeedbackRepository feedbackRepo;
-
-    public FeedbackController(FeedbackRepository feedbackRepo) {
+    private final ComplaintRepository complaintRepo;
+    private final ComplaintNotifier notifier;
+    private final ComplaintOutbox outbox;
+
+    public FeedbackController(FeedbackRepository feedbackRepo,
+                              ComplaintRepository complaintRepo,
+                              ComplaintNotifier notifier,
+                              ComplaintOutbox outbox) {
         this.feedbackRepo = feedbackRepo;
+        this.complaintRepo = complaintRepo;
+        this.notifier = notifier;
+        this.outbox = outbox;
     }
 
     // Citizen submits feedback for a complaint
@@ -34,9 +46,11 @@ public class FeedbackController {
         f.setCitizenName(req.getCitizenName());
         f.setRating(req.getRating());
         f.setComments(req.getComments());
-        f.setCreatedAt(LocalDateTime.now().toString());
+        f.setCreatedAt(LocalDateTime.now());
 
-        Feedback saved = feedbackRepo.save(f);
+        // with its FEEDBACK_ADDED event, in one transaction
+        Feedback saved = outbox.saveFeedback(f);
+        notifier.onFeedback(saved, complaintRepo.findAssignedStaffById(complaintId).orElse(null));
         return ResponseEntity.ok(saved);
     }
 
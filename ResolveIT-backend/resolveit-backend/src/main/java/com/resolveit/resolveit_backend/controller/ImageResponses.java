@@ -0,0 +1,86 @@
+package com.resolveit.resolveit_backend.controller;
+
+import com.resolveit.resolveit_backend.storage.StoredImage;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+
+/**
+ * HTTP side of serving a {@link StoredImage}.
+ *
+ *  - If-None-Match with the current ETag -> 304 from memory, nothing is opened.
+ *  - Plain GET on Tomcat NIO -> the file is handed to the connector's sendfile
+ *    (FileChannel.transferTo), the bytes never pass through the JVM heap.
+ *  - Range requests and other containers -> Spring writes the Resource (206 for ranges).
+ */
+final class ImageResponses {
+
+    // Tomcat request attributes (org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private ImageResponses() {
+    }
+
+    static ResponseEntity<Resource> serve(StoredImage image, CacheControl cacheControl,
+                                          HttpServletRequest request) throws IOException {
+        String etag = "\"" + image.etag() + "\"";
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(MediaType.parseMediaType(image.contentType()));
+
+        Resource resource = image.resource();
+        boolean sendfile = Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))
+                && "GET".equals(request.getMethod())
+                && request.getHeader(HttpHeaders.RANGE) == null
+                && resource.isFile();
+
+        if (sendfile) {
+            // empty body: the connector streams the file after the handler returns
+            request.setAttribute(SENDFILE_FILENAME, resource.getFile().getAbsolutePath());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, image.size());
+            return ok.contentLength(image.size()).build();
+        }
+
+        return ok.body(resource);
+    }
+
+    // If-None-Match uses weak comparison: W/"x" matches "x"
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
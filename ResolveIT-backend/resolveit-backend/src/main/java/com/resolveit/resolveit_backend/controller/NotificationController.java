@@ -0,0 +1,33 @@
+package com.resolveit.resolveit_backend.controller;
+
+import com.resolveit.resolveit_backend.config.TokenAuthFilter;
+import com.resolveit.resolveit_backend.service.NotificationHub;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/notifications")
+@CrossOrigin(origins = "*")
+public class NotificationController {
+
+    private final NotificationHub notificationHub;
+
+    public NotificationController(NotificationHub notificationHub) {
+        this.notificationHub = notificationHub;
+    }
+
+    // LIVE NOTIFICATIONS (Server-Sent Events) -> GET /api/notifications/stream?access_token=..
+    // topics come from the session token's user: its role plus its username / name.
+    // No token, no stream – even while resolveit.auth.required is off: a username alone
+    // would let anybody read the admin's or an officer's feed.
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(HttpServletRequest request) {
+        return TokenAuthFilter.principal(request)
+                .map(principal -> ResponseEntity.ok(notificationHub.subscribe(principal.toUser())))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+    }
+}
@@ -1,7 +1,13 @@
 package com.resolveit.resolveit_backend.controller;
 
+import com.resolveit.resolveit_backend.config.TokenAuthFilter;
+import com.resolveit.resolveit_backend.dto.LoginResponse;
 import com.resolveit.resolveit_backend.model.User;
 import com.resolveit.resolveit_backend.repository.UserRepository;
+import com.resolveit.resolveit_backend.service.AuthTokens;
+import com.resolveit.resolveit_backend.service.OfficerWorkloadIndex;
+import com.resolveit.resolveit_backend.service.PasswordHasher;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -11,9 +17,16 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserRepository userRepository;
+    private final OfficerWorkloadIndex workloadIndex;
+    private final PasswordHasher passwordHasher;
+    private final AuthTokens authTokens;
 
-    public UserController(UserRepository userRepository) {
+    public UserController(UserRepository userRepository, OfficerWorkloadIndex workloadIndex,
+                          PasswordHasher passwordHasher, AuthTokens authTokens) {
         this.userRepository = userRepository;
+        this.workloadIndex = workloadIndex;
+        this.passwordHasher = passwordHasher;
+        this.authTokens = authTokens;
     }
 
     // CREATE ACCOUNT (SIGN UP)  -> POST /api/users
@@ -37,7 +50,7 @@ public class UserController {
 
         // normalise fields
         user.setUsername(username);
-        user.setPassword(password);
+        user.setPassword(passwordHasher.hash(password));
 
         // default role (from UI we send CITIZEN / OFFICER / ADMIN, but keep fallback)
         if (user.getRole() == null || user.getRole().isBlank()) {
@@ -56,10 +69,13 @@ public class UserController {
         }
 
         User saved = userRepository.save(user);
+        // new officers take complaints from now on
+        workloadIndex.onUserSaved(saved);
         return ResponseEntity.ok(saved);
     }
 
     // LOGIN -> POST /api/users/login
+    // answers the account plus a session token; hashes made with a lower cost (or none) are upgraded here
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody User req) {
 
@@ -74,10 +90,28 @@ public class UserController {
 
         User user = userRepository.findByUsername(username);
 
-        if (user == null || !user.getPassword().equals(password)) {
+        if (user == null) {
+            passwordHasher.matchDecoy(password);
             return ResponseEntity.status(401).body("Invalid credentials");
         }
+        if (!passwordHasher.matches(password, user.getPassword())) {
+            return ResponseEntity.status(401).body("Invalid credentials");
+        }
+
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            user.setPassword(passwordHasher.hash(password));
+            user = userRepository.save(user);
+        }
+
+        AuthTokens.Issued session = authTokens.issue(user);
+        return ResponseEntity.ok(new LoginResponse(user, session.token(), session.expiresAt()));
+    }
 
-        return ResponseEntity.ok(user);
+    // WHO AM I -> GET /api/users/me (Authorization: Bearer <token>), answered from the token alone
+    @GetMapping("/me")
+    public ResponseEntity<AuthTokens.Principal> me(HttpServletRequest request) {
+        return TokenAuthFilter.principal(request)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(401).build());
     }
 }
@@ -0,0 +1,128 @@
+package com.resolveit.resolveit_backend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Body of the bulk endpoints: which complaints (ids, or a filter) and what to set on them.
+// Fields left null are not changed; delete only reads ids / filter.
+public class BulkRequest {
+
+    private List<Integer> ids;
+    private Filter filter;
+
+    private String assignedStaff;
+    private String status;
+    private String priority;
+    private String deadline;
+    private LocalDate deadlineIso;
+
+    public BulkRequest() {}
+
+    // same filters as the admin listing; at least one must be set
+    public static class Filter {
+
+        private String status;
+        private String category;
+        private String priority;
+        private String assignee;
+
+        public Filter() {}
+
+        public boolean isEmpty() {
+            return status == null && category == null && priority == null && assignee == null;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public void setCategory(String category) {
+            this.category = category;
+        }
+
+        public String getPriority() {
+            return priority;
+        }
+
+        public void setPriority(String priority) {
+            this.priority = priority;
+        }
+
+        public String getAssignee() {
+            return assignee;
+        }
+
+        public void setAssignee(String assignee) {
+            this.assignee = assignee;
+        }
+    }
+
+    public boolean hasChanges() {
+        return assignedStaff != null || status != null || priority != null
+                || deadline != null || deadlineIso != null;
+    }
+
+    public List<Integer> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Integer> ids) {
+        this.ids = ids;
+    }
+
+    public Filter getFilter() {
+        return filter;
+    }
+
+    public void setFilter(Filter filter) {
+        this.filter = filter;
+    }
+
+    public String getAssignedStaff() {
+        return assignedStaff;
+    }
+
+    public void setAssignedStaff(String assignedStaff) {
+        this.assignedStaff = assignedStaff;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    public String getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(String deadline) {
+        this.deadline = deadline;
+    }
+
+    public LocalDate getDeadlineIso() {
+        return deadlineIso;
+    }
+
+    public void setDeadlineIso(LocalDate deadlineIso) {
+        this.deadlineIso = deadlineIso;
+    }
+}
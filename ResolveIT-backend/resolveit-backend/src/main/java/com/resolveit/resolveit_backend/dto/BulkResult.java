@@ -0,0 +1,78 @@
+package com.resolveit.resolveit_backend.dto;
+
+import java.util.List;
+
+// Outcome of a bulk operation: totals plus one entry per complaint id.
+public class BulkResult {
+
+    public enum Outcome { UPDATED, DELETED, NOT_FOUND, FAILED }
+
+    private final int requested;
+    private final int succeeded;
+    private final int notFound;
+    private final int failed;
+    private final List<Item> items;
+
+    public BulkResult(List<Item> items) {
+        int ok = 0, missing = 0, errors = 0;
+        for (Item item : items) {
+            switch (item.getOutcome()) {
+                case UPDATED, DELETED -> ok++;
+                case NOT_FOUND -> missing++;
+                case FAILED -> errors++;
+            }
+        }
+        this.requested = items.size();
+        this.succeeded = ok;
+        this.notFound = missing;
+        this.failed = errors;
+        this.items = items;
+    }
+
+    public static class Item {
+
+        private final Integer id;
+        private final Outcome outcome;
+
+        // only set for FAILED
+        private final String error;
+
+        public Item(Integer id, Outcome outcome, String error) {
+            this.id = id;
+            this.outcome = outcome;
+            this.error = error;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getNotFound() {
+        return notFound;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+}
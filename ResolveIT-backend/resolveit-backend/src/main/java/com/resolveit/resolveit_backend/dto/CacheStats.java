@@ -0,0 +1,51 @@
+package com.resolveit.resolveit_backend.dto;
+
+public class CacheStats {
+
+    private final String name;
+    private final long entries;
+    private final long weightBytes;   // approximate, see CacheConfig
+    private final long hits;
+    private final long misses;
+    private final double hitRate;
+    private final long evictions;
+
+    public CacheStats(String name, long entries, long weightBytes, long hits, long misses,
+                      double hitRate, long evictions) {
+        this.name = name;
+        this.entries = entries;
+        this.weightBytes = weightBytes;
+        this.hits = hits;
+        this.misses = misses;
+        this.hitRate = hitRate;
+        this.evictions = evictions;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getEntries() {
+        return entries;
+    }
+
+    public long getWeightBytes() {
+        return weightBytes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+}
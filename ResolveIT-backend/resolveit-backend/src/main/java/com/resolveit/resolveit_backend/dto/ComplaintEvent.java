@@ -0,0 +1,60 @@
+package com.resolveit.resolveit_backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// One entry of a complaint's history (GET /api/complaints/{id}/history)
+public class ComplaintEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        ASSIGNED,
+        ESCALATED,
+        RESOLUTION_IMAGE,
+        DELETED,
+        // full state written when the log was found behind the table (first start, crash)
+        SNAPSHOT
+    }
+
+    private final long seq;
+    private final Integer complaintId;
+    private final Long version;                 // complaint version after the change
+    private final Type type;
+    private final LocalDateTime at;
+    private final Map<String, Object> changes;  // new values of the fields that changed; all fields for CREATED / SNAPSHOT
+
+    public ComplaintEvent(long seq, Integer complaintId, Long version, Type type,
+                          LocalDateTime at, Map<String, Object> changes) {
+        this.seq = seq;
+        this.complaintId = complaintId;
+        this.version = version;
+        this.type = type;
+        this.at = at;
+        this.changes = changes;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public Integer getComplaintId() {
+        return complaintId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public LocalDateTime getAt() {
+        return at;
+    }
+
+    public Map<String, Object> getChanges() {
+        return changes;
+    }
+}
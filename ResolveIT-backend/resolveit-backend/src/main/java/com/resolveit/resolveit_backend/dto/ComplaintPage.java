@@ -0,0 +1,24 @@
+package com.resolveit.resolveit_backend.dto;
+
+import java.util.List;
+
+public class ComplaintPage {
+
+    private final List<ComplaintSummary> items;
+
+    // id to pass as afterId for the next page, null when this is the last page
+    private final Integer nextAfterId;
+
+    public ComplaintPage(List<ComplaintSummary> items, Integer nextAfterId) {
+        this.items = items;
+        this.nextAfterId = nextAfterId;
+    }
+
+    public List<ComplaintSummary> getItems() {
+        return items;
+    }
+
+    public Integer getNextAfterId() {
+        return nextAfterId;
+    }
+}
@@ -0,0 +1,61 @@
+package com.resolveit.resolveit_backend.dto;
+
+import java.util.Map;
+
+public class ComplaintStats {
+
+    private final long total;
+    private final long resolved;
+    private final long pending;     // "Under Review" + "In Progress"
+    private final long overdue;     // deadline passed and not resolved (escalated)
+
+    private final Map<String, Long> byStatus;
+    private final Map<String, Long> byCategory;
+    private final Map<String, Long> byPriority;
+    private final Map<String, Long> byAssignee;
+
+    public ComplaintStats(long total, long resolved, long pending, long overdue,
+                          Map<String, Long> byStatus, Map<String, Long> byCategory,
+                          Map<String, Long> byPriority, Map<String, Long> byAssignee) {
+        this.total = total;
+        this.resolved = resolved;
+        this.pending = pending;
+        this.overdue = overdue;
+        this.byStatus = byStatus;
+        this.byCategory = byCategory;
+        this.byPriority = byPriority;
+        this.byAssignee = byAssignee;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getResolved() {
+        return resolved;
+    }
+
+    public long getPending() {
+        return pending;
+    }
+
+    public long getOverdue() {
+        return overdue;
+    }
+
+    public Map<String, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public Map<String, Long> getByCategory() {
+        return byCategory;
+    }
+
+    public Map<String, Long> getByPriority() {
+        return byPriority;
+    }
+
+    public Map<String, Long> getByAssignee() {
+        return byAssignee;
+    }
+}
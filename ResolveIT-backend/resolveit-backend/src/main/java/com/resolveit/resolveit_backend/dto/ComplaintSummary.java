@@ -0,0 +1,95 @@
+package com.resolveit.resolveit_backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// List-view shape of a complaint: only the columns the dashboards render.
+// Never carries description or the LONGTEXT image columns.
+public class ComplaintSummary {
+
+    private final Integer id;
+    private final String subject;
+    private final String category;
+    private final String priority;
+    private final String status;
+    private final String citizenName;
+    private final String assignedStaff;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final String deadline;
+    private final LocalDate deadlineIso;
+    private final Boolean isEscalated;
+    private final String imagePath;
+
+    // used by the JPQL constructor expression in ComplaintRepository
+    public ComplaintSummary(Integer id, String subject, String category, String priority,
+                            String status, String citizenName, String assignedStaff,
+                            LocalDateTime createdAt, LocalDateTime updatedAt, String deadline,
+                            LocalDate deadlineIso, Boolean isEscalated, String imagePath) {
+        this.id = id;
+        this.subject = subject;
+        this.category = category;
+        this.priority = priority;
+        this.status = status;
+        this.citizenName = citizenName;
+        this.assignedStaff = assignedStaff;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.deadline = deadline;
+        this.deadlineIso = deadlineIso;
+        this.isEscalated = isEscalated;
+        this.imagePath = imagePath;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getCitizenName() {
+        return citizenName;
+    }
+
+    public String getAssignedStaff() {
+        return assignedStaff;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public String getDeadline() {
+        return deadline;
+    }
+
+    public LocalDate getDeadlineIso() {
+        return deadlineIso;
+    }
+
+    public Boolean getIsEscalated() {
+        return isEscalated;
+    }
+
+    public String getImagePath() {
+        return imagePath;
+    }
+}
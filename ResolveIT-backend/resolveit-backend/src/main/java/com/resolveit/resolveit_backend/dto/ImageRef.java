@@ -0,0 +1,21 @@
+package com.resolveit.resolveit_backend.dto;
+
+// ImageStore key + content type of one complaint image, as stored on the row
+public class ImageRef {
+
+    private final String key;
+    private final String contentType;
+
+    public ImageRef(String key, String contentType) {
+        this.key = key;
+        this.contentType = contentType;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
@@ -0,0 +1,64 @@
+package com.resolveit.resolveit_backend.dto;
+
+// Counters since startup plus the current queue; throughput = delta(completed) / interval
+public class IngestStats {
+
+    private final long accepted;
+    private final long rejected;      // refused with 503, every slot was taken
+    private final long completed;
+    private final long failed;
+    private final long retries;
+    private final int queued;
+    private final int processing;
+    private final int capacity;       // workers + queue slots
+    private final long avgProcessingMs;
+
+    public IngestStats(long accepted, long rejected, long completed, long failed, long retries,
+                       int queued, int processing, int capacity, long avgProcessingMs) {
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.completed = completed;
+        this.failed = failed;
+        this.retries = retries;
+        this.queued = queued;
+        this.processing = processing;
+        this.capacity = capacity;
+        this.avgProcessingMs = avgProcessingMs;
+    }
+
+    public long getAccepted() {
+        return accepted;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getRetries() {
+        return retries;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public int getProcessing() {
+        return processing;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getAvgProcessingMs() {
+        return avgProcessingMs;
+    }
+}
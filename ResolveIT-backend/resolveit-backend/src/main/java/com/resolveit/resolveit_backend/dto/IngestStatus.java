@@ -0,0 +1,59 @@
+package com.resolveit.resolveit_backend.dto;
+
+import java.time.LocalDateTime;
+
+// Where a queued complaint submission is; complaintId is set once it is DONE
+public class IngestStatus {
+
+    public enum State { QUEUED, PROCESSING, DONE, FAILED }
+
+    private final String ticket;
+    private final State state;
+    private final LocalDateTime acceptedAt;
+    private final Integer complaintId;
+    private final String error;
+
+    public IngestStatus(String ticket, State state, LocalDateTime acceptedAt, Integer complaintId, String error) {
+        this.ticket = ticket;
+        this.state = state;
+        this.acceptedAt = acceptedAt;
+        this.complaintId = complaintId;
+        this.error = error;
+    }
+
+    public static IngestStatus queued(String ticket, LocalDateTime acceptedAt) {
+        return new IngestStatus(ticket, State.QUEUED, acceptedAt, null, null);
+    }
+
+    public IngestStatus processing() {
+        return new IngestStatus(ticket, State.PROCESSING, acceptedAt, null, null);
+    }
+
+    public IngestStatus done(Integer complaintId) {
+        return new IngestStatus(ticket, State.DONE, acceptedAt, complaintId, null);
+    }
+
+    public IngestStatus failed(String error) {
+        return new IngestStatus(ticket, State.FAILED, acceptedAt, null, error);
+    }
+
+    public String getTicket() {
+        return ticket;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public LocalDateTime getAcceptedAt() {
+        return acceptedAt;
+    }
+
+    public Integer getComplaintId() {
+        return complaintId;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,61 @@
+package com.resolveit.resolveit_backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// A complaint lifecycle event as delivered to ComplaintLifecycleListener beans
+public class LifecycleEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        ASSIGNED,
+        RESOLVED,
+        // JPQL updates: the payload has the version and the changed fields only
+        ESCALATED,
+        RESOLUTION_IMAGE_ADDED,
+        DELETED,
+        FEEDBACK_ADDED
+    }
+
+    private final long id;                      // outbox id: assigned on insert; increasing per complaint
+    private final Integer complaintId;
+    private final Type type;
+    private final LocalDateTime occurredAt;
+    private final int attempt;                  // 1 on first delivery
+    private final Map<String, Object> payload;  // complaint fields after the change; the feedback for FEEDBACK_ADDED
+
+    public LifecycleEvent(long id, Integer complaintId, Type type, LocalDateTime occurredAt,
+                          int attempt, Map<String, Object> payload) {
+        this.id = id;
+        this.complaintId = complaintId;
+        this.type = type;
+        this.occurredAt = occurredAt;
+        this.attempt = attempt;
+        this.payload = payload;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Integer getComplaintId() {
+        return complaintId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public int getAttempt() {
+        return attempt;
+    }
+
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+}
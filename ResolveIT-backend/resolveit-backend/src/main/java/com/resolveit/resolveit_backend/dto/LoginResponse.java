@@ -0,0 +1,55 @@
+package com.resolveit.resolveit_backend.dto;
+
+import com.resolveit.resolveit_backend.model.User;
+
+import java.time.Instant;
+
+// POST /api/users/login: the account (never its password) plus the session token
+public class LoginResponse {
+
+    private final Integer id;
+    private final String name;
+    private final String username;
+    private final String email;
+    private final String role;
+    private final String token;        // "Authorization: Bearer <token>" on later requests
+    private final Instant expiresAt;
+
+    public LoginResponse(User user, String token, Instant expiresAt) {
+        this.id = user.getId();
+        this.name = user.getName();
+        this.username = user.getUsername();
+        this.email = user.getEmail();
+        this.role = user.getRole();
+        this.token = token;
+        this.expiresAt = expiresAt;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
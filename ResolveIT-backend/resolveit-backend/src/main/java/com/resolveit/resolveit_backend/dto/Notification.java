@@ -0,0 +1,44 @@
+package com.resolveit.resolveit_backend.dto;
+
+import java.time.LocalDateTime;
+
+public class Notification {
+
+    // increasing per server run, sent as the SSE event id
+    private final long id;
+
+    // CREATED / ASSIGNED / STATUS_CHANGED / UPDATED / ESCALATED / FEEDBACK
+    private final String type;
+
+    private final Integer complaintId;
+    private final String message;
+    private final LocalDateTime createdAt;
+
+    public Notification(long id, String type, Integer complaintId, String message, LocalDateTime createdAt) {
+        this.id = id;
+        this.type = type;
+        this.complaintId = complaintId;
+        this.message = message;
+        this.createdAt = createdAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Integer getComplaintId() {
+        return complaintId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,54 @@
+package com.resolveit.resolveit_backend.dto;
+
+import java.util.List;
+
+// One officer's current workload, as seen by the auto-assignment (open = not resolved)
+public class OfficerLoad {
+
+    private final String username;
+    private final List<String> categories;   // empty = takes any category
+    private final int open;
+    private final int openHigh;
+    private final int openMedium;
+    private final int openLow;
+    private final int overdue;               // open with the deadline day reached
+
+    public OfficerLoad(String username, List<String> categories, int open,
+                       int openHigh, int openMedium, int openLow, int overdue) {
+        this.username = username;
+        this.categories = categories;
+        this.open = open;
+        this.openHigh = openHigh;
+        this.openMedium = openMedium;
+        this.openLow = openLow;
+        this.overdue = overdue;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    public int getOpen() {
+        return open;
+    }
+
+    public int getOpenHigh() {
+        return openHigh;
+    }
+
+    public int getOpenMedium() {
+        return openMedium;
+    }
+
+    public int getOpenLow() {
+        return openLow;
+    }
+
+    public int getOverdue() {
+        return overdue;
+    }
+}
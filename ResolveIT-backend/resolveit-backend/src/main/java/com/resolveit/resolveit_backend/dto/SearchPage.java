@@ -0,0 +1,44 @@
+package com.resolveit.resolveit_backend.dto;
+
+import java.util.List;
+
+// One page of full-text search results, best match first.
+public class SearchPage {
+
+    private final List<ComplaintSummary> items;
+
+    // matching complaints; a lower bound when totalExact is false (counting stops early on broad queries)
+    private final long total;
+    private final boolean totalExact;
+
+    private final int page;
+    private final int size;
+
+    public SearchPage(List<ComplaintSummary> items, long total, boolean totalExact, int page, int size) {
+        this.items = items;
+        this.total = total;
+        this.totalExact = totalExact;
+        this.page = page;
+        this.size = size;
+    }
+
+    public List<ComplaintSummary> getItems() {
+        return items;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
@@ -2,8 +2,21 @@ package com.resolveit.resolveit_backend.model;
 
 import jakarta.persistence.*;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "complaints")
+@Table(name = "complaints", indexes = {
+        // citizen dashboard: WHERE citizen_name = ? (ordered by date)
+        @Index(name = "idx_complaints_citizen_created", columnList = "citizen_name, created_at"),
+        // officer dashboard: WHERE assigned_staff = ? [AND status = ?]
+        @Index(name = "idx_complaints_staff_status", columnList = "assigned_staff, status"),
+        // "created between" range scans
+        @Index(name = "idx_complaints_created", columnList = "created_at"),
+        // "overdue and not resolved" range scans
+        @Index(name = "idx_complaints_deadline_status", columnList = "deadline_iso, status")
+})
 public class Complaint {
 
     @Id
@@ -15,9 +28,14 @@ public class Complaint {
        Original complaint image (citizen upload)
     ========================================================== */
     @Column(name = "image_path")
-    private String imagePath;
+    private String imagePath;        // ImageStore key
+
+    @Column(name = "image_content_type", length = 100)
+    private String imageContentType;
 
     // Optional Base64 image storage (not used for now)
+    // Lazy (needs bytecode enhancement, see pom.xml) so list/update reads skip it
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "image_data", columnDefinition = "LONGTEXT")
     private String imageData;
 
@@ -27,6 +45,10 @@ public class Complaint {
     @Column(name = "resolution_image_path")
     private String resolutionImagePath;
 
+    @Column(name = "resolution_image_content_type", length = 100)
+    private String resolutionImageContentType;
+
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "resolution_image_data", columnDefinition = "LONGTEXT")
     private String resolutionImageData;
 
@@ -45,13 +67,17 @@ public class Complaint {
     @Column(name = "citizen_name")
     private String citizenName;
 
+    // username from the session token of the submitter; null when filed without one
+    @Column(name = "citizen_username")
+    private String citizenUsername;
+
     private String status;
 
     @Column(name = "created_at")
-    private String createdAt;
+    private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
-    private String updatedAt;
+    private LocalDateTime updatedAt;
 
     /* ==========================================================
        Admin + Officer Fields
@@ -60,11 +86,12 @@ public class Complaint {
     @Column(name = "assigned_staff")
     private String assignedStaff;
 
+    // human-readable label built by the admin UI (e.g. "Wed Dec 10 2025"); deadlineIso is the real date
     @Column(name = "deadline")
     private String deadline;
 
     @Column(name = "deadline_iso")
-    private String deadlineIso;
+    private LocalDate deadlineIso;
 
     @Column(name = "admin_comments", columnDefinition = "TEXT")
     private String adminComments;
@@ -76,7 +103,7 @@ public class Complaint {
     private String alertMessage;
 
     @Column(name = "last_alert_at")
-    private String lastAlertAt;
+    private Instant lastAlertAt;
 
     @Column(name = "is_escalated")
     private Boolean isEscalated;
@@ -84,6 +111,11 @@ public class Complaint {
     @Column(name = "officer_notes", columnDefinition = "TEXT")
     private String officerNotes;
 
+    // optimistic lock: bumped by every write (bulk UPDATEs bump it explicitly); exposed as the ETag
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     /* ==========================================================
        GETTERS + SETTERS
     ========================================================== */
@@ -104,6 +136,14 @@ public class Complaint {
         this.imagePath = imagePath;
     }
 
+    public String getImageContentType() {
+        return imageContentType;
+    }
+
+    public void setImageContentType(String imageContentType) {
+        this.imageContentType = imageContentType;
+    }
+
     public String getImageData() {
         return imageData;
     }
@@ -120,6 +160,14 @@ public class Complaint {
         this.resolutionImagePath = resolutionImagePath;
     }
 
+    public String getResolutionImageContentType() {
+        return resolutionImageContentType;
+    }
+
+    public void setResolutionImageContentType(String resolutionImageContentType) {
+        this.resolutionImageContentType = resolutionImageContentType;
+    }
+
     public String getResolutionImageData() {
         return resolutionImageData;
     }
@@ -168,6 +216,14 @@ public class Complaint {
         this.citizenName = citizenName;
     }
 
+    public String getCitizenUsername() {
+        return citizenUsername;
+    }
+
+    public void setCitizenUsername(String citizenUsername) {
+        this.citizenUsername = citizenUsername;
+    }
+
     public String getStatus() {
         return status;
     }
@@ -176,19 +232,19 @@ public class Complaint {
         this.status = status;
     }
 
-    public String getCreatedAt() {
+    public LocalDateTime getCreatedAt() {
         return createdAt;
     }
 
-    public void setCreatedAt(String createdAt) {
+    public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
 
-    public String getUpdatedAt() {
+    public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
 
-    public void setUpdatedAt(String updatedAt) {
+    public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
 
@@ -208,11 +264,11 @@ public class Complaint {
         this.deadline = deadline;
     }
 
-    public String getDeadlineIso() {
+    public LocalDate getDeadlineIso() {
         return deadlineIso;
     }
 
-    public void setDeadlineIso(String deadlineIso) {
+    public void setDeadlineIso(LocalDate deadlineIso) {
         this.deadlineIso = deadlineIso;
     }
 
@@ -240,11 +296,11 @@ public class Complaint {
         this.alertMessage = alertMessage;
     }
 
-    public String getLastAlertAt() {
+    public Instant getLastAlertAt() {
         return lastAlertAt;
     }
 
-    public void setLastAlertAt(String lastAlertAt) {
+    public void setLastAlertAt(Instant lastAlertAt) {
         this.lastAlertAt = lastAlertAt;
     }
 
@@ -263,4 +319,12 @@ public class Complaint {
     public void setOfficerNotes(String officerNotes) {
         this.officerNotes = officerNotes;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -2,8 +2,12 @@ package com.resolveit.resolveit_backend.model;
 
 import jakarta.persistence.*;
 
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "feedback")
+@Table(name = "feedback", indexes = {
+        @Index(name = "idx_feedback_complaint", columnList = "complaint_id")
+})
 public class Feedback {
 
     @Id
@@ -20,7 +24,7 @@ public class Feedback {
     @Column(columnDefinition = "TEXT")
     private String comments;
 
-    private String createdAt;
+    private LocalDateTime createdAt;
 
     // ===== getters + setters =====
     public Integer getId() { return id; }
@@ -38,6 +42,6 @@ public class Feedback {
     public String getComments() { return comments; }
     public void setComments(String comments) { this.comments = comments; }
 
-    public String getCreatedAt() { return createdAt; }
-    public void setCreatedAt(String createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
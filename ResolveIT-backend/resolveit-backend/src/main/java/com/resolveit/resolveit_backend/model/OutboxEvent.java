@@ -0,0 +1,73 @@
+package com.resolveit.resolveit_backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+// One undelivered complaint lifecycle event (see ComplaintOutbox / OutboxDispatcher)
+@Entity
+@Table(name = "complaint_outbox", indexes = {
+        // dispatcher: WHERE failed_at IS NULL ORDER BY id
+        @Index(name = "idx_outbox_pending", columnList = "failed_at, id")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "complaint_id", nullable = false)
+    private Integer complaintId;
+
+    @Column(name = "event_type", nullable = false, length = 32)
+    private String eventType;
+
+    // JSON object
+    @Column(nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    // set after a failed delivery: not retried before then
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // out of attempts: kept, no longer delivered
+    @Column(name = "failed_at")
+    private LocalDateTime failedAt;
+
+    // ===== getters + setters =====
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Integer getComplaintId() { return complaintId; }
+    public void setComplaintId(Integer complaintId) { this.complaintId = complaintId; }
+
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getFailedAt() { return failedAt; }
+    public void setFailedAt(LocalDateTime failedAt) { this.failedAt = failedAt; }
+}
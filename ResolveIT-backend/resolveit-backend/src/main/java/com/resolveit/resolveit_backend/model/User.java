@@ -1,9 +1,13 @@
 package com.resolveit.resolveit_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        // officer lists (role = 'OFFICER'); username lookups use the unique key
+        @Index(name = "idx_users_role", columnList = "role")
+})
 public class User {
 
     @Id
@@ -20,12 +24,16 @@ public class User {
     @Column(nullable = false, unique = true)
     private String email;
 
+    // PasswordHasher format; read from sign-up / login bodies, never written out
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(nullable = false)
-    private String password;   // plain text for now
+    private String password;
 
     @Column(nullable = false)
     private String role;       // "CITIZEN" / "ADMIN" / "OFFICER"
 
+    private String categories; // officers only: "Roads,Water"; null = any category
+
     // ---------- getters & setters ----------
 
     public Integer getId() {
@@ -75,4 +83,12 @@ public class User {
     public void setRole(String role) {
         this.role = role;
     }
+
+    public String getCategories() {
+        return categories;
+    }
+
+    public void setCategories(String categories) {
+        this.categories = categories;
+    }
 }
@@ -1,17 +1,251 @@
 package com.resolveit.resolveit_backend.repository;
 
+import com.resolveit.resolveit_backend.config.CacheConfig;
+import com.resolveit.resolveit_backend.dto.ComplaintSummary;
+import com.resolveit.resolveit_backend.dto.ImageRef;
 import com.resolveit.resolveit_backend.model.Complaint;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ComplaintRepository extends JpaRepository<Complaint, Integer> {
 
-    // Citizen-specific
-    List<Complaint> findByCitizenName(String citizenName);
+    // Column list for the lightweight list views (no description / image LONGTEXT)
+    String SUMMARY_SELECT = """
+            SELECT new com.resolveit.resolveit_backend.dto.ComplaintSummary(
+                c.id, c.subject, c.category, c.priority, c.status, c.citizenName,
+                c.assignedStaff, c.createdAt, c.updatedAt, c.deadline, c.deadlineIso,
+                c.isEscalated, c.imagePath)
+            FROM Complaint c
+            """;
 
-    // Officer-specific
-    List<Complaint> findByAssignedStaff(String assignedStaff);
+    // Citizen-specific (cached; ComplaintCache evicts the citizen's entry on every write)
+    @Cacheable(cacheNames = CacheConfig.COMPLAINTS_BY_CITIZEN, sync = true)
+    @Query(SUMMARY_SELECT + "WHERE c.citizenName = :citizenName ORDER BY c.id ASC")
+    List<ComplaintSummary> findByCitizenName(@Param("citizenName") String citizenName);
 
-    
+    // Officer-specific (cached; evicted for the old and new assignee on every write)
+    @Cacheable(cacheNames = CacheConfig.COMPLAINTS_BY_OFFICER, sync = true)
+    @Query(SUMMARY_SELECT + "WHERE c.assignedStaff = :assignedStaff ORDER BY c.id ASC")
+    List<ComplaintSummary> findByAssignedStaff(@Param("assignedStaff") String assignedStaff);
+
+    // Who to notify about a complaint without loading the entity
+    @Query("SELECT c.assignedStaff FROM Complaint c WHERE c.id = :id")
+    Optional<String> findAssignedStaffById(@Param("id") Integer id);
+
+    // Image keys only – serving an image never loads the entity
+    @Query("SELECT new com.resolveit.resolveit_backend.dto.ImageRef(c.imagePath, c.imageContentType) FROM Complaint c WHERE c.id = :id")
+    Optional<ImageRef> findImageRef(@Param("id") Integer id);
+
+    @Query("SELECT new com.resolveit.resolveit_backend.dto.ImageRef(c.resolutionImagePath, c.resolutionImageContentType) FROM Complaint c WHERE c.id = :id")
+    Optional<ImageRef> findResolutionImageRef(@Param("id") Integer id);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Complaint c SET c.resolutionImagePath = :key, c.resolutionImageContentType = :contentType,
+                                   c.version = c.version + 1
+            WHERE c.id = :id
+            """)
+    int setResolutionImage(@Param("id") Integer id,
+                           @Param("key") String key,
+                           @Param("contentType") String contentType);
+
+    // Admin listing – keyset page (id > afterId), every filter is optional.
+    @Query(SUMMARY_SELECT + """
+            WHERE c.id > :afterId
+              AND (:status IS NULL OR c.status = :status)
+              AND (:category IS NULL OR c.category = :category)
+              AND (:priority IS NULL OR c.priority = :priority)
+              AND (:assignee IS NULL OR c.assignedStaff = :assignee)
+              AND (:createdFrom IS NULL OR c.createdAt >= :createdFrom)
+              AND (:createdTo IS NULL OR c.createdAt < :createdTo)
+            ORDER BY c.id ASC
+            """)
+    List<ComplaintSummary> findPageAfter(@Param("afterId") Integer afterId,
+                                         @Param("status") String status,
+                                         @Param("category") String category,
+                                         @Param("priority") String priority,
+                                         @Param("assignee") String assignee,
+                                         @Param("createdFrom") LocalDateTime createdFrom,
+                                         @Param("createdTo") LocalDateTime createdTo,
+                                         Limit limit);
+
+    // Created in [from, to) – range scan on idx_complaints_created
+    @Query(SUMMARY_SELECT + """
+            WHERE c.createdAt >= :from AND c.createdAt < :to
+            ORDER BY c.createdAt ASC
+            """)
+    List<ComplaintSummary> findCreatedBetween(@Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to,
+                                              Limit limit);
+
+    // Overdue = deadline day reached and not resolved – range scan on idx_complaints_deadline_status
+    @Query(SUMMARY_SELECT + """
+            WHERE c.deadlineIso <= :today
+              AND (c.status IS NULL OR c.status <> 'Resolved')
+            ORDER BY c.deadlineIso ASC, c.id ASC
+            """)
+    List<ComplaintSummary> findOverdue(@Param("today") LocalDate today, Limit limit);
+
+    @Query("""
+            SELECT COUNT(c) FROM Complaint c
+            WHERE c.deadlineIso <= :today
+              AND (c.status IS NULL OR c.status <> 'Resolved')
+            """)
+    long countOverdue(@Param("today") LocalDate today);
+
+    // Escalation seed – open, not yet escalated complaints that have a deadline
+    // row = [id, deadlineIso]
+    @Query("""
+            SELECT c.id, c.deadlineIso FROM Complaint c
+            WHERE c.deadlineIso IS NOT NULL
+              AND (c.status IS NULL OR c.status <> 'Resolved')
+              AND (c.isEscalated IS NULL OR c.isEscalated = false)
+            """)
+    List<Object[]> findEscalationCandidates();
+
+    // Escalate a batch in one statement; the WHERE re-checks the rule so a stale
+    // timer entry can never escalate a complaint that was resolved or extended meanwhile.
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Complaint c SET c.isEscalated = true, c.version = c.version + 1
+            WHERE c.id IN :ids
+              AND c.deadlineIso <= :today
+              AND (c.status IS NULL OR c.status <> 'Resolved')
+              AND (c.isEscalated IS NULL OR c.isEscalated = false)
+            """)
+    int markEscalated(@Param("ids") Collection<Integer> ids, @Param("today") LocalDate today);
+
+    // The rows of a batch that markEscalated will change, locked until the transaction
+    // ends (ComplaintOutbox writes one ESCALATED event each) – row = [id, version before]
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT c.id, c.version FROM Complaint c
+            WHERE c.id IN :ids
+              AND c.deadlineIso <= :today
+              AND (c.status IS NULL OR c.status <> 'Resolved')
+              AND (c.isEscalated IS NULL OR c.isEscalated = false)
+            ORDER BY c.id ASC
+            """)
+    List<Object[]> findEscalatableForUpdate(@Param("ids") Collection<Integer> ids, @Param("today") LocalDate today);
+
+    /* ==========================================================
+       Bulk operations (ComplaintBulkService) – one statement per chunk of ids
+    ========================================================== */
+
+    // State before a bulk change; ids that are not returned do not exist.
+    // Locked (in id order) until the chunk commits, so no single-id write can change a row
+    // between this read and the UPDATE – the counters, caches and history diff start from it.
+    // Needs the caller's transaction; plain reads (search hits) use findSummariesByIdIn.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(SUMMARY_SELECT + "WHERE c.id IN :ids ORDER BY c.id ASC")
+    List<ComplaintSummary> findSummariesForUpdate(@Param("ids") Collection<Integer> ids);
+
+    @Query(SUMMARY_SELECT + "WHERE c.id IN :ids ORDER BY c.id ASC")
+    List<ComplaintSummary> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // A null parameter leaves that column as it is (same rule as PUT /{id})
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Complaint c SET
+                c.assignedStaff = COALESCE(:assignedStaff, c.assignedStaff),
+                c.status        = COALESCE(:status, c.status),
+                c.priority      = COALESCE(:priority, c.priority),
+                c.deadline      = COALESCE(:deadline, c.deadline),
+                c.deadlineIso   = COALESCE(:deadlineIso, c.deadlineIso),
+                c.updatedAt     = :now,
+                c.version       = c.version + 1
+            WHERE c.id IN :ids
+            """)
+    int bulkUpdate(@Param("ids") Collection<Integer> ids,
+                   @Param("assignedStaff") String assignedStaff,
+                   @Param("status") String status,
+                   @Param("priority") String priority,
+                   @Param("deadline") String deadline,
+                   @Param("deadlineIso") LocalDate deadlineIso,
+                   @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Complaint c WHERE c.id IN :ids")
+    int bulkDelete(@Param("ids") Collection<Integer> ids);
+
+    // CSV export – cursor-backed stream (needs useCursorFetch=true on MySQL to honour the
+    // fetch size); callers must consume it inside a transaction and close it.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SUMMARY_SELECT + """
+            WHERE (:status IS NULL OR c.status = :status)
+              AND (:createdFrom IS NULL OR c.createdAt >= :createdFrom)
+              AND (:createdTo IS NULL OR c.createdAt < :createdTo)
+            ORDER BY c.id ASC
+            """)
+    Stream<ComplaintSummary> streamForExport(@Param("status") String status,
+                                             @Param("createdFrom") LocalDateTime createdFrom,
+                                             @Param("createdTo") LocalDateTime createdTo);
+
+    // Search index feed – indexed text plus the filter columns, never the image LONGTEXT
+    // row = [id, subject, description, adminComments, officerNotes, status, category, priority, assignedStaff, createdAt]
+    String SEARCH_SELECT = """
+            SELECT c.id, c.subject, c.description, c.adminComments, c.officerNotes,
+                   c.status, c.category, c.priority, c.assignedStaff, c.createdAt, c.updatedAt
+            FROM Complaint c
+            """;
+
+    // Full rebuild – cursor-backed like the export; consume inside a transaction and close it
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SEARCH_SELECT + "ORDER BY c.id ASC")
+    Stream<Object[]> streamForSearchIndex();
+
+    @Query(SEARCH_SELECT + "WHERE c.id IN :ids")
+    List<Object[]> findForSearchIndex(@Param("ids") Collection<Integer> ids);
+
+    // Startup catch-up – rows written after the index's last commit; same cursor rules as the rebuild
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SEARCH_SELECT + "WHERE COALESCE(c.updatedAt, c.createdAt) > :since ORDER BY c.id ASC")
+    Stream<Object[]> streamForSearchIndexChangedAfter(@Param("since") LocalDateTime since);
+
+    // History reconciliation (ComplaintHistory) – row = [id, version]
+    @Query("SELECT c.id, c.version FROM Complaint c")
+    List<Object[]> findAllVersions();
+
+    // Versions after a JPQL change, for its outbox events – row = [id, version]
+    @Query("SELECT c.id, c.version FROM Complaint c WHERE c.id IN :ids")
+    List<Object[]> findVersionsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Dashboard stats seed – one row per distinct (status, category, priority, assignee, deadline)
+    // row = [status, category, priority, assignedStaff, deadlineIso, count]
+    @Query("""
+            SELECT c.status, c.category, c.priority, c.assignedStaff, c.deadlineIso, COUNT(c)
+            FROM Complaint c
+            GROUP BY c.status, c.category, c.priority, c.assignedStaff, c.deadlineIso
+            """)
+    List<Object[]> countByStatsKey();
 }
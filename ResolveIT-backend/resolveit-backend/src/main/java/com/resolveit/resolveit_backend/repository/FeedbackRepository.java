@@ -1,6 +1,9 @@
 package com.resolveit.resolveit_backend.repository;
 
+import com.resolveit.resolveit_backend.config.CacheConfig;
 import com.resolveit.resolveit_backend.model.Feedback;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,5 +13,10 @@ import java.util.List;
 public interface FeedbackRepository extends JpaRepository<Feedback, Integer> {
 
     // Normally only one feedback per complaint, but we keep list for flexibility
+    @Cacheable(cacheNames = CacheConfig.FEEDBACK, sync = true)
     List<Feedback> findByComplaintId(Integer complaintId);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.FEEDBACK, key = "#p0.complaintId")
+    <S extends Feedback> S save(S feedback);
 }
@@ -0,0 +1,40 @@
+package com.resolveit.resolveit_backend.repository;
+
+import com.resolveit.resolveit_backend.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // next batch to deliver, in id order. Ids are assigned on insert, not on commit, so
+    // only the events of one complaint are in commit order (its row lock serialises them).
+    // Complaints with an event waiting for its retry are left out entirely: their later
+    // events must wait, and must not fill the batch and starve everybody else.
+    @Query("""
+            SELECT e FROM OutboxEvent e
+            WHERE e.failedAt IS NULL
+              AND e.complaintId NOT IN (
+                  SELECT h.complaintId FROM OutboxEvent h
+                  WHERE h.failedAt IS NULL AND h.nextAttemptAt > :now)
+            ORDER BY e.id ASC
+            """)
+    List<OutboxEvent> findDue(@Param("now") LocalDateTime now, Limit limit);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.failedAt IS NULL")
+    LocalDateTime findOldestPendingCreatedAt();
+
+    long countByFailedAtIsNull();
+
+    // complaints with events still to be delivered (or retried)
+    @Query("SELECT DISTINCT e.complaintId FROM OutboxEvent e WHERE e.failedAt IS NULL")
+    List<Integer> findPendingComplaintIds();
+
+    long countByFailedAtIsNotNull();
+}
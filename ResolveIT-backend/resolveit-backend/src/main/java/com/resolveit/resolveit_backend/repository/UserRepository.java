@@ -1,13 +1,27 @@
 package com.resolveit.resolveit_backend.repository;
 
+import com.resolveit.resolveit_backend.config.CacheConfig;
 import com.resolveit.resolveit_backend.model.User;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
 
     boolean existsByUsername(String username);
 
+    // officer roster for the auto-assignment (idx_users_role)
+    List<User> findByRole(String role);
+
+    // unknown usernames are not cached, so a sign-up is visible immediately
+    @Cacheable(cacheNames = CacheConfig.USERS, unless = "#result == null")
     User findByUsername(String username);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#p0.username")
+    <S extends User> S save(S user);
 }
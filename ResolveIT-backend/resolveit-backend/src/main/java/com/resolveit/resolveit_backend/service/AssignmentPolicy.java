@@ -0,0 +1,30 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.dto.OfficerLoad;
+
+/**
+ * Ranks officers for the auto-assignment: a new complaint goes to the eligible
+ * officer with the lowest score (ties by username).
+ *
+ * The score must depend on the load alone: OfficerWorkloadIndex keeps officers
+ * sorted by it and only re-scores an officer when their load changes (and all of
+ * them once a day, when deadlines turn overdue).
+ */
+@FunctionalInterface
+public interface AssignmentPolicy {
+
+    long score(OfficerLoad load);
+
+    // open complaints weighted by priority, plus a penalty per overdue one
+    static AssignmentPolicy weighted(int high, int medium, int low, int overdue) {
+        return load -> (long) load.getOpenHigh() * high
+                + (long) load.getOpenMedium() * medium
+                + (long) load.getOpenLow() * low
+                + (long) load.getOverdue() * overdue;
+    }
+
+    // plain open count
+    static AssignmentPolicy leastOpen() {
+        return OfficerLoad::getOpen;
+    }
+}
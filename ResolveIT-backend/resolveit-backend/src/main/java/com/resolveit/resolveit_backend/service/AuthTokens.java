@@ -0,0 +1,174 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Stateless session tokens: who the caller is, signed with HMAC-SHA256, so a request
+ * carrying one is identified from the token alone – no session table, no user lookup.
+ *
+ *   base64url(payload) "." base64url(HMAC-SHA256(secret, payload))
+ *
+ * The payload holds the user id, role, username, display name and expiry. Tokens
+ * cannot be revoked before they expire; keep resolveit.auth.token-ttl short enough for
+ * that. Without resolveit.auth.secret a random key is made at startup, which logs
+ * everybody out on restart and does not work across several instances.
+ */
+@Service
+public class AuthTokens {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthTokens.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte VERSION = 1;
+
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64_DECODER = Base64.getUrlDecoder();
+
+    // the caller of a request with a valid token
+    public record Principal(Integer userId, String username, String name, String role, Instant expiresAt) {
+
+        // enough of a User for the notification topics
+        public User toUser() {
+            User u = new User();
+            u.setId(userId);
+            u.setUsername(username);
+            u.setName(name);
+            u.setRole(role);
+            return u;
+        }
+    }
+
+    public record Issued(String token, Instant expiresAt) {
+    }
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Clock clock;
+    // Mac instances are not thread-safe; one per thread, cloned from a prototype
+    private final ThreadLocal<Mac> macs;
+
+    @Autowired
+    public AuthTokens(@Value("${resolveit.auth.secret:}") String secret,
+                      @Value("${resolveit.auth.token-ttl:12h}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    AuthTokens(String secret, Duration ttl, Clock clock) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            log.warn("resolveit.auth.secret is not set: tokens are signed with a random key and end with this process");
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret.trim());
+            if (keyBytes.length < 32) {
+                throw new IllegalArgumentException("resolveit.auth.secret must be at least 32 bytes (base64)");
+            }
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+
+        Mac prototype = newMac();
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                return (Mac) prototype.clone();
+            } catch (CloneNotSupportedException ex) {
+                return newMac();
+            }
+        });
+    }
+
+    public Issued issue(User user) {
+        Instant expiresAt = clock.instant().plus(ttl);
+        byte[] payload = encode(user, expiresAt);
+        return new Issued(B64.encodeToString(payload) + "." + B64.encodeToString(sign(payload)), expiresAt);
+    }
+
+    // empty for anything malformed, forged or expired
+    public Optional<Principal> verify(String token) {
+        int dot = token != null ? token.indexOf('.') : -1;
+        if (dot <= 0 || dot == token.length() - 1) {
+            return Optional.empty();
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = B64_DECODER.decode(token.substring(0, dot));
+            signature = B64_DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(signature, sign(payload))) {
+            return Optional.empty();
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            if (in.readByte() != VERSION) {
+                return Optional.empty();
+            }
+            int userId = in.readInt();
+            Instant expiresAt = Instant.ofEpochSecond(in.readLong());
+            String role = in.readUTF();
+            String username = in.readUTF();
+            String name = in.readUTF();
+            if (!clock.instant().isBefore(expiresAt)) {
+                return Optional.empty();
+            }
+            return Optional.of(new Principal(userId, username, name.isEmpty() ? username : name, role, expiresAt));
+        } catch (IOException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private static byte[] encode(User user, Instant expiresAt) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeInt(user.getId() != null ? user.getId() : 0);
+            out.writeLong(expiresAt.getEpochSecond());
+            out.writeUTF(user.getRole() != null ? user.getRole() : "");
+            out.writeUTF(user.getUsername());
+            out.writeUTF(user.getName() != null ? user.getName() : "");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ALGORITHM + " is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.dto.BulkRequest;
+import com.resolveit.resolveit_backend.dto.BulkResult;
+import com.resolveit.resolveit_backend.dto.ComplaintEvent;
+import com.resolveit.resolveit_backend.dto.ComplaintSummary;
+import com.resolveit.resolveit_backend.dto.LifecycleEvent;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bulk assign / status / priority / deadline changes and bulk delete.
+ *
+ * The target complaints (explicit ids, or everything matching a filter) are
+ * processed in chunks of CHUNK_SIZE; each chunk is one transaction holding one
+ * SELECT ... FOR UPDATE of the previous state, one set-based UPDATE / DELETE and the
+ * lifecycle events of its complaints (ComplaintOutbox). A chunk that
+ * fails is rolled back on its own and reported as FAILED, the others still apply.
+ *
+ * After each chunk commits, the stats counters, officer workloads, caches, search index,
+ * escalation timers and notifications are updated per complaint exactly as the single-id endpoints do.
+ */
+@Service
+public class ComplaintBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintBulkService.class);
+
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_IDS = 10_000;
+
+    private final ComplaintRepository complaintRepository;
+    private final ComplaintStatsService statsService;
+    private final OfficerWorkloadIndex workloadIndex;
+    private final ComplaintCache complaintCache;
+    private final EscalationScheduler escalationScheduler;
+    private final ComplaintNotifier notifier;
+    private final ComplaintImageService imageService;
+    private final ComplaintSearchIndex searchIndex;
+    private final ComplaintOutbox outbox;
+    private final TransactionTemplate tx;
+
+    public ComplaintBulkService(ComplaintRepository complaintRepository,
+                                ComplaintStatsService statsService,
+                                OfficerWorkloadIndex workloadIndex,
+                                ComplaintCache complaintCache,
+                                EscalationScheduler escalationScheduler,
+                                ComplaintNotifier notifier,
+                                ComplaintImageService imageService,
+                                ComplaintSearchIndex searchIndex,
+                                ComplaintOutbox outbox,
+                                PlatformTransactionManager transactionManager) {
+        this.complaintRepository = complaintRepository;
+        this.statsService = statsService;
+        this.workloadIndex = workloadIndex;
+        this.complaintCache = complaintCache;
+        this.escalationScheduler = escalationScheduler;
+        this.notifier = notifier;
+        this.imageService = imageService;
+        this.searchIndex = searchIndex;
+        this.outbox = outbox;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    // IllegalArgumentException for a request without targets or without changes
+    public BulkResult update(BulkRequest request) {
+        checkTargets(request);
+        if (!request.hasChanges()) {
+            throw new IllegalArgumentException("Nothing to change");
+        }
+        return run(request, false);
+    }
+
+    public BulkResult delete(BulkRequest request) {
+        checkTargets(request);
+        return run(request, true);
+    }
+
+    private static void checkTargets(BulkRequest request) {
+        if (request.getIds() != null) {
+            if (request.getIds().size() > MAX_IDS) {
+                throw new IllegalArgumentException("At most " + MAX_IDS + " ids per request");
+            }
+            return;
+        }
+        // an empty filter would mean "every complaint": never by accident
+        if (request.getFilter() == null || request.getFilter().isEmpty()) {
+            throw new IllegalArgumentException("Either ids or a non-empty filter is required");
+        }
+    }
+
+    private BulkResult run(BulkRequest request, boolean delete) {
+        List<BulkResult.Item> items = new ArrayList<>();
+
+        if (request.getIds() != null) {
+            List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+            ids.removeIf(Objects::isNull);
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                applyChunk(ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE)), request, delete, items);
+            }
+            return new BulkResult(items);
+        }
+
+        // filter: walk the matches by id (keyset), so rows the change moves out of
+        // the filter – or deletes – cannot shift the next chunk
+        BulkRequest.Filter filter = request.getFilter();
+        Integer afterId = 0;
+        while (true) {
+            List<Integer> ids = complaintRepository.findPageAfter(afterId,
+                            filter.getStatus(), filter.getCategory(), filter.getPriority(), filter.getAssignee(),
+                            null, null, Limit.of(CHUNK_SIZE))
+                    .stream().map(ComplaintSummary::getId).toList();
+            if (ids.isEmpty()) {
+                break;
+            }
+            applyChunk(ids, request, delete, items);
+            if (ids.size() < CHUNK_SIZE) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+        return new BulkResult(items);
+    }
+
+    private void applyChunk(List<Integer> ids, BulkRequest request, boolean delete, List<BulkResult.Item> items) {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<ComplaintSummary> previous;
+        try {
+            previous = tx.execute(status -> {
+                List<ComplaintSummary> found = complaintRepository.findSummariesForUpdate(ids);
+                List<Integer> foundIds = found.stream().map(ComplaintSummary::getId).toList();
+                if (foundIds.isEmpty()) {
+                    return found;
+                }
+                // versions after the UPDATE, for the events (and history entries)
+                Map<Integer, Long> versions = new HashMap<>();
+                if (delete) {
+                    complaintRepository.bulkDelete(foundIds);
+                } else {
+                    complaintRepository.bulkUpdate(foundIds, request.getAssignedStaff(), request.getStatus(),
+                            request.getPriority(), request.getDeadline(), request.getDeadlineIso(), now);
+                    for (Object[] row : complaintRepository.findVersionsByIdIn(foundIds)) {
+                        versions.put((Integer) row[0], (Long) row[1]);
+                    }
+                }
+                for (ComplaintSummary s : found) {
+                    recordEvents(s, request, delete, versions.get(s.getId()));
+                }
+                return found;
+            });
+        } catch (DataAccessException | TransactionException ex) {
+            log.warn("Bulk {} of {} complaint(s) rolled back: {}",
+                    delete ? "delete" : "update", ids.size(), ex.getMessage());
+            for (Integer id : ids) {
+                items.add(new BulkResult.Item(id, BulkResult.Outcome.FAILED, "Rolled back with its batch"));
+            }
+            return;
+        }
+
+        Map<Integer, ComplaintSummary> byId = new HashMap<>();
+        for (ComplaintSummary s : previous) {
+            byId.put(s.getId(), s);
+        }
+
+        for (Integer id : ids) {
+            ComplaintSummary s = byId.get(id);
+            if (s == null) {
+                items.add(new BulkResult.Item(id, BulkResult.Outcome.NOT_FOUND, null));
+                continue;
+            }
+
+            Complaint before = snapshot(s, null);
+            var beforeKey = ComplaintStatsService.Key.of(before);
+
+            if (delete) {
+                statsService.onDeleted(beforeKey);
+                workloadIndex.onDeleted(beforeKey);
+                complaintCache.onDeleted(before);
+                escalationScheduler.cancel(id);
+                imageService.evict(id);
+                searchIndex.onDeleted(id);
+                items.add(new BulkResult.Item(id, BulkResult.Outcome.DELETED, null));
+            } else {
+                Complaint after = snapshot(s, request);
+                statsService.onChanged(beforeKey, after);
+                workloadIndex.onChanged(beforeKey, after);
+                complaintCache.onChanged(beforeKey.assignee(), after);
+                escalationScheduler.reschedule(after);
+                notifier.onUpdated(beforeKey, after, false);
+                items.add(new BulkResult.Item(id, BulkResult.Outcome.UPDATED, null));
+            }
+        }
+
+        if (!delete) {
+            searchIndex.onChanged(byId.keySet());
+        }
+    }
+
+    // same events as the single-id endpoints; an assignment counts as ASSIGNED, anything else as UPDATED
+    private void recordEvents(ComplaintSummary s, BulkRequest request, boolean delete, Long version) {
+        Complaint before = snapshot(s, null);
+        if (delete) {
+            outbox.record(LifecycleEvent.Type.DELETED, before, ComplaintHistory.deleted());
+            return;
+        }
+        Complaint after = snapshot(s, request);
+        after.setVersion(version);
+        LifecycleEvent.Type type = request.getAssignedStaff() != null
+                ? LifecycleEvent.Type.ASSIGNED : LifecycleEvent.Type.UPDATED;
+        List<LifecycleEvent.Type> types = ComplaintOutbox.typesOf(type, s.getStatus(), after);
+        for (int i = 0; i < types.size(); i++) {
+            outbox.record(types.get(i), after, i == 0 ? ComplaintHistory.updated(ComplaintHistory.capture(before),
+                    after, ComplaintEvent.Type.valueOf(type.name())) : null);
+        }
+    }
+
+    // detached Complaint with the fields the counters / caches / timers / notifier read,
+    // as they are after applying the request (changes = null: as they were)
+    private static Complaint snapshot(ComplaintSummary s, BulkRequest changes) {
+        Complaint c = new Complaint();
+        c.setId(s.getId());
+        c.setSubject(s.getSubject());
+        c.setCategory(s.getCategory());
+        c.setCitizenName(s.getCitizenName());
+        c.setIsEscalated(s.getIsEscalated());
+        c.setAssignedStaff(s.getAssignedStaff());
+        c.setStatus(s.getStatus());
+        c.setPriority(s.getPriority());
+        c.setDeadline(s.getDeadline());
+        c.setDeadlineIso(s.getDeadlineIso());
+
+        if (changes != null) {
+            if (changes.getAssignedStaff() != null) c.setAssignedStaff(changes.getAssignedStaff());
+            if (changes.getStatus() != null)        c.setStatus(changes.getStatus());
+            if (changes.getPriority() != null)      c.setPriority(changes.getPriority());
+            if (changes.getDeadline() != null)      c.setDeadline(changes.getDeadline());
+            if (changes.getDeadlineIso() != null)   c.setDeadlineIso(changes.getDeadlineIso());
+        }
+        return c;
+    }
+}
@@ -0,0 +1,100 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.config.CacheConfig;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Complaint detail cache plus the precise evictions for every complaint write.
+ *
+ * The citizen / officer lists are cached by @Cacheable on ComplaintRepository;
+ * a write evicts exactly the lists the complaint appears in (its citizen, and the
+ * officer before and after the change). Cached entities are read-only snapshots –
+ * write paths always load their own copy from the repository.
+ */
+@Service
+public class ComplaintCache {
+
+    private final ComplaintRepository complaintRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    private final Cache complaints;
+    private final Cache byCitizen;
+    private final Cache byOfficer;
+
+    public ComplaintCache(ComplaintRepository complaintRepository,
+                          CacheManager cacheManager,
+                          PlatformTransactionManager transactionManager) {
+        this.complaintRepository = complaintRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+
+        this.complaints = cacheManager.getCache(CacheConfig.COMPLAINTS);
+        this.byCitizen = cacheManager.getCache(CacheConfig.COMPLAINTS_BY_CITIZEN);
+        this.byOfficer = cacheManager.getCache(CacheConfig.COMPLAINTS_BY_OFFICER);
+    }
+
+    // detail view; a hit touches neither the pool nor the database
+    public Optional<Complaint> findById(Integer id) {
+        return Optional.ofNullable(complaints.get(id, () -> load(id)));
+    }
+
+    private Complaint load(Integer id) {
+        return readOnlyTx.execute(status -> complaintRepository.findById(id)
+                .map(c -> {
+                    // pull the lazy LONGTEXT columns now, the cached copy outlives the session
+                    c.getImageData();
+                    c.getResolutionImageData();
+                    return c;
+                })
+                .orElse(null));
+    }
+
+    public void onCreated(Complaint c) {
+        complaints.evict(c.getId());        // a probe for this id may have cached "not found"
+        evictLists(c.getCitizenName(), c.getAssignedStaff());
+    }
+
+    // previousAssignee = assignedStaff before the change
+    public void onChanged(String previousAssignee, Complaint after) {
+        complaints.evict(after.getId());
+        evictLists(after.getCitizenName(), after.getAssignedStaff());
+        if (previousAssignee != null) {
+            byOfficer.evict(previousAssignee);
+        }
+    }
+
+    public void onDeleted(Complaint before) {
+        complaints.evict(before.getId());
+        evictLists(before.getCitizenName(), before.getAssignedStaff());
+    }
+
+    // row changed by a bulk UPDATE that did not tell us whose lists it was in
+    public void onUpdatedInBulk(Collection<Integer> ids) {
+        ids.forEach(complaints::evict);
+        byCitizen.clear();
+        byOfficer.clear();
+    }
+
+    // single-column change that no list shows (resolution image path)
+    public void evictDetail(Integer id) {
+        complaints.evict(id);
+    }
+
+    private void evictLists(String citizenName, String assignee) {
+        if (citizenName != null) {
+            byCitizen.evict(citizenName);
+        }
+        if (assignee != null) {
+            byOfficer.evict(assignee);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.dto.ComplaintSummary;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * CSV formatting for the admin export, one row at a time.
+ * Writes straight into the caller's Writer so nothing is buffered per export.
+ */
+public final class ComplaintCsvWriter {
+
+    public enum Column {
+        ID("id", "ID", ComplaintSummary::getId),
+        SUBJECT("subject", "Subject", ComplaintSummary::getSubject),
+        CATEGORY("category", "Category", ComplaintSummary::getCategory),
+        PRIORITY("priority", "Priority", ComplaintSummary::getPriority),
+        STATUS("status", "Status", ComplaintSummary::getStatus),
+        CITIZEN("citizen", "Citizen", ComplaintSummary::getCitizenName),
+        ASSIGNED_STAFF("assignedStaff", "AssignedStaff", ComplaintSummary::getAssignedStaff),
+        CREATED_AT("createdAt", "CreatedAt", ComplaintSummary::getCreatedAt),
+        UPDATED_AT("updatedAt", "UpdatedAt", ComplaintSummary::getUpdatedAt),
+        DEADLINE("deadline", "Deadline", ComplaintSummary::getDeadline);
+
+        private final String key;
+        private final String header;
+        private final Function<ComplaintSummary, Object> value;
+
+        Column(String key, String header, Function<ComplaintSummary, Object> value) {
+            this.key = key;
+            this.header = header;
+            this.value = value;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+
+    private final List<Column> columns;
+
+    public ComplaintCsvWriter(List<Column> columns) {
+        this.columns = List.copyOf(columns);
+    }
+
+    // ?columns=id,subject,status  ->  [ID, SUBJECT, STATUS]; null/blank means every column
+    public static List<Column> parseColumns(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return Arrays.asList(Column.values());
+        }
+
+        List<Column> selected = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String key = part.trim();
+            Column match = Arrays.stream(Column.values())
+                    .filter(col -> col.key.equalsIgnoreCase(key))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown CSV column: " + key));
+            selected.add(match);
+        }
+        return selected;
+    }
+
+    public void writeHeader(Writer out) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) out.write(',');
+            out.write(columns.get(i).header);
+        }
+        out.write('\n');
+    }
+
+    public void writeRow(Writer out, ComplaintSummary c) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) out.write(',');
+            out.write(safeCsv(columns.get(i).value.apply(c)));
+        }
+        out.write('\n');
+    }
+
+    public static String safeCsv(Object value) {
+        if (value == null) return "";
+        String s = value.toString();
+        s = s.replace("\"", "\"\"");
+        return "\"" + s + "\"";
+    }
+}
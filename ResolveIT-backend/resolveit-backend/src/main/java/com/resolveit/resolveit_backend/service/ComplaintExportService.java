@@ -0,0 +1,59 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.dto.ComplaintSummary;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class ComplaintExportService {
+
+    private static final int WRITE_BUFFER = 64 * 1024;
+
+    private final ComplaintRepository complaintRepository;
+
+    public ComplaintExportService(ComplaintRepository complaintRepository) {
+        this.complaintRepository = complaintRepository;
+    }
+
+    /**
+     * Streams matching complaints as CSV into {@code out}, row by row from a DB cursor.
+     * Heap use is one fetch batch plus the write buffer, whatever the row count.
+     * The stream must be consumed inside this (read-only) transaction.
+     */
+    @Transactional(readOnly = true)
+    public void writeCsv(OutputStream out, String status, LocalDateTime createdFrom, LocalDateTime createdTo,
+                         List<ComplaintCsvWriter.Column> columns, boolean gzip) throws IOException {
+
+        ComplaintCsvWriter csv = new ComplaintCsvWriter(columns);
+        OutputStream target = gzip ? new GZIPOutputStream(out, WRITE_BUFFER) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), WRITE_BUFFER);
+
+        csv.writeHeader(writer);
+
+        try (Stream<ComplaintSummary> rows =
+                     complaintRepository.streamForExport(status, createdFrom, createdTo)) {
+            Iterator<ComplaintSummary> it = rows.iterator();
+            while (it.hasNext()) {
+                csv.writeRow(writer, it.next());
+            }
+        }
+
+        writer.flush();
+        if (target instanceof GZIPOutputStream gz) {
+            gz.finish();
+        }
+    }
+}
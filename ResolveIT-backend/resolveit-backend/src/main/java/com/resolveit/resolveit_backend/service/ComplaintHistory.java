@@ -0,0 +1,406 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.resolveit.resolveit_backend.dto.ComplaintEvent;
+import com.resolveit.resolveit_backend.dto.LifecycleEvent;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import com.resolveit.resolveit_backend.repository.OutboxRepository;
+import com.resolveit.resolveit_backend.storage.SegmentLog;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Append-only history of every complaint: one JSON line per change in the segment
+ * files under ${resolveit.history.dir}, never rewritten.
+ *
+ * Fed by the outbox: ComplaintOutbox puts the history entry of a change (see
+ * created / updated / changed / deleted) into the payload of its lifecycle event, in
+ * the transaction of the change, and OutboxDispatcher hands it to onEvent. So an
+ * entry exists if and only if the change committed, and the entries of a complaint
+ * arrive in commit (= version) order, one buffered append each and one fsync per
+ * flush interval for all of them (group commit). Redelivered events are recognised
+ * by their version and written once.
+ *
+ * What is still missing at startup – the first start, or events the dispatcher gave
+ * up on – is caught by reconcile: a complaint whose version in the table is ahead of
+ * the log gets a SNAPSHOT event with its current state, one that is gone from the
+ * table a DELETED event. Complaints with events still waiting in the outbox are left
+ * to those: a SNAPSHOT would get ahead of them and they would be dropped as recorded. Only the dispatching instance (resolveit.outbox.dispatch)
+ * keeps a complete log.
+ *
+ * Events of a complaint are found through an in-memory index of file positions
+ * (rebuilt by scanning the segments at startup), so reading one history or
+ * rebuilding a past state never scans the log.
+ */
+@Service
+public class ComplaintHistory implements ComplaintLifecycleListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintHistory.class);
+
+    private static final int RECONCILE_CHUNK = 500;
+
+    // key of the history entry in a lifecycle event's payload: {"type": .., "changes": {..}}
+    public static final String PAYLOAD_KEY = "history";
+
+    // the fields that make up a complaint's state, by their JSON name (image LONGTEXT columns excluded)
+    private static final Map<String, Function<Complaint, Object>> TRACKED = new LinkedHashMap<>();
+
+    static {
+        TRACKED.put("subject", Complaint::getSubject);
+        TRACKED.put("description", Complaint::getDescription);
+        TRACKED.put("category", Complaint::getCategory);
+        TRACKED.put("priority", Complaint::getPriority);
+        TRACKED.put("citizenName", Complaint::getCitizenName);
+        TRACKED.put("citizenUsername", Complaint::getCitizenUsername);
+        TRACKED.put("status", Complaint::getStatus);
+        TRACKED.put("createdAt", Complaint::getCreatedAt);
+        TRACKED.put("assignedStaff", Complaint::getAssignedStaff);
+        TRACKED.put("deadline", Complaint::getDeadline);
+        TRACKED.put("deadlineIso", Complaint::getDeadlineIso);
+        TRACKED.put("adminComments", Complaint::getAdminComments);
+        TRACKED.put("internalNotes", Complaint::getInternalNotes);
+        TRACKED.put("alertMessage", Complaint::getAlertMessage);
+        TRACKED.put("lastAlertAt", Complaint::getLastAlertAt);
+        TRACKED.put("isEscalated", Complaint::getIsEscalated);
+        TRACKED.put("officerNotes", Complaint::getOfficerNotes);
+        TRACKED.put("imagePath", Complaint::getImagePath);
+        TRACKED.put("imageContentType", Complaint::getImageContentType);
+        TRACKED.put("resolutionImagePath", Complaint::getResolutionImagePath);
+        TRACKED.put("resolutionImageContentType", Complaint::getResolutionImageContentType);
+    }
+
+    private final ObjectMapper mapper;
+    private final ComplaintRepository complaintRepository;
+    private final OutboxRepository outboxRepository;
+    private final SegmentLog segments;
+    private final ScheduledExecutorService flusher;
+
+    // complaint id -> positions of its events, oldest first
+    private final Map<Integer, Entries> index = new HashMap<>();
+    private long lastSeq;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private static final class Entries {
+        long[] positions = new long[0];
+        Long version;
+        boolean deleted;
+
+        void add(long position) {
+            positions = Arrays.copyOf(positions, positions.length + 1);
+            positions[positions.length - 1] = position;
+        }
+    }
+
+    public ComplaintHistory(ObjectMapper mapper,
+                            ComplaintRepository complaintRepository,
+                            OutboxRepository outboxRepository,
+                            @Value("${resolveit.history.dir:history}") String dir,
+                            @Value("${resolveit.history.segment-mb:64}") long segmentMb,
+                            @Value("${resolveit.history.flush-ms:200}") long flushMs) throws IOException {
+        this.mapper = mapper;
+        this.complaintRepository = complaintRepository;
+        this.outboxRepository = outboxRepository;
+        this.segments = new SegmentLog(Path.of(dir).toAbsolutePath().normalize(), "complaint-events",
+                segmentMb * 1024 * 1024);
+        load();
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "history-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushMs, flushMs, TimeUnit.MILLISECONDS);
+    }
+
+    /* ==========================================================
+       History entries (written to the outbox with the change)
+    ========================================================== */
+
+    // state of the tracked fields; take it BEFORE mutating an entity
+    public static Map<String, Object> capture(Complaint c) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        TRACKED.forEach((name, getter) -> fields.put(name, getter.apply(c)));
+        return fields;
+    }
+
+    public static Map<String, Object> created(Complaint c) {
+        return entry(ComplaintEvent.Type.CREATED, fullState(c));
+    }
+
+    // full-state events leave out what is not set (absent and null read back the same)
+    private static Map<String, Object> fullState(Complaint c) {
+        Map<String, Object> fields = capture(c);
+        fields.values().removeIf(Objects::isNull);
+        return fields;
+    }
+
+    // only the fields that differ; null (no entry at all) when none do
+    public static Map<String, Object> updated(Map<String, Object> before, Complaint after, ComplaintEvent.Type type) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        capture(after).forEach((name, value) -> {
+            if (!Objects.equals(before.get(name), value)) {
+                changes.put(name, value);
+            }
+        });
+        return changes.isEmpty() ? null : entry(type, changes);
+    }
+
+    // changes made with a JPQL UPDATE
+    public static Map<String, Object> changed(Map<String, Object> changes, ComplaintEvent.Type type) {
+        return entry(type, changes);
+    }
+
+    public static Map<String, Object> deleted() {
+        return entry(ComplaintEvent.Type.DELETED, Map.of());
+    }
+
+    private static Map<String, Object> entry(ComplaintEvent.Type type, Map<String, Object> changes) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("type", type.name());
+        entry.put("changes", changes);
+        return entry;
+    }
+
+    /* ==========================================================
+       Recording (OutboxDispatcher, in commit order per complaint)
+    ========================================================== */
+
+    // events without a history entry (RESOLVED, FEEDBACK_ADDED, ...) are not ours;
+    // a failed append throws, so the dispatcher retries the event
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onEvent(LifecycleEvent event) throws IOException {
+        if (!(event.getPayload().get(PAYLOAD_KEY) instanceof Map<?, ?> entry)) {
+            return;
+        }
+        Long version = event.getPayload().get("version") instanceof Number n ? n.longValue() : null;
+        append(event.getComplaintId(), version, ComplaintEvent.Type.valueOf((String) entry.get("type")),
+                (Map<String, Object>) entry.get("changes"), event.getOccurredAt());
+    }
+
+    /* ==========================================================
+       Reading
+    ========================================================== */
+
+    // oldest first; empty for an unknown id
+    public List<ComplaintEvent> events(Integer id) throws IOException {
+        List<ComplaintEvent> events = new ArrayList<>();
+        for (long position : positions(id)) {
+            events.add(toEvent(mapper.readTree(segments.read(position))));
+        }
+        return events;
+    }
+
+    // the complaint as it was at that moment; empty if it did not exist (yet / any more)
+    public Optional<Complaint> stateAt(Integer id, LocalDateTime at) throws IOException {
+        ObjectNode state = null;
+        for (long position : positions(id)) {
+            JsonNode event = mapper.readTree(segments.read(position));
+            if (LocalDateTime.parse(event.get("at").asText()).isAfter(at)) {
+                break;
+            }
+            switch (ComplaintEvent.Type.valueOf(event.get("type").asText())) {
+                case CREATED, SNAPSHOT -> state = ((ObjectNode) event.get("changes")).deepCopy();
+                case DELETED -> state = null;
+                default -> {
+                    if (state != null) {
+                        state.setAll((ObjectNode) event.get("changes"));
+                    }
+                }
+            }
+            if (state != null) {
+                state.put("id", id);
+                state.set("updatedAt", event.get("at"));
+                if (event.hasNonNull("v")) {
+                    state.put("version", event.get("v").asLong());
+                }
+            }
+        }
+        return state == null ? Optional.empty() : Optional.of(mapper.treeToValue(state, Complaint.class));
+    }
+
+    /* ==========================================================
+       Durability
+    ========================================================== */
+
+    // close the gaps a crash (or the first start) left between the table and the log
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        try {
+            List<Object[]> rows = complaintRepository.findAllVersions();
+            // read after the versions: a write committed in between is either still pending
+            // here or already delivered, and then the log has its version
+            Set<Integer> pending = new HashSet<>(outboxRepository.findPendingComplaintIds());
+            Set<Integer> present = new HashSet<>(rows.size() * 2);
+            // id -> version in the table
+            Map<Integer, Long> behind = new LinkedHashMap<>();
+            Set<Integer> gone = new HashSet<>();
+            lock.lock();
+            try {
+                for (Object[] row : rows) {
+                    Integer id = (Integer) row[0];
+                    Long version = (Long) row[1];
+                    present.add(id);
+                    if (pending.contains(id)) {
+                        continue;
+                    }
+                    Entries e = index.get(id);
+                    if (e == null || e.deleted || e.version == null || e.version < version) {
+                        behind.put(id, version);
+                    }
+                }
+                index.forEach((id, e) -> {
+                    if (!e.deleted && !present.contains(id) && !pending.contains(id)) {
+                        gone.add(id);
+                    }
+                });
+            } finally {
+                lock.unlock();
+            }
+
+            for (Integer id : gone) {
+                append(id, null, ComplaintEvent.Type.DELETED, Map.of(), LocalDateTime.now());
+            }
+            List<Integer> ids = new ArrayList<>(behind.keySet());
+            for (int from = 0; from < ids.size(); from += RECONCILE_CHUNK) {
+                List<Integer> chunk = ids.subList(from, Math.min(from + RECONCILE_CHUNK, ids.size()));
+                for (Complaint c : complaintRepository.findAllById(chunk)) {
+                    // written to since: its event is in the outbox now, and would be dropped behind a SNAPSHOT
+                    if (c.getVersion().equals(behind.get(c.getId()))) {
+                        append(c.getId(), c.getVersion(), ComplaintEvent.Type.SNAPSHOT, fullState(c), LocalDateTime.now());
+                    }
+                }
+            }
+            if (!behind.isEmpty() || !gone.isEmpty()) {
+                log.info("Complaint history caught up: {} snapshot(s), {} deletion(s)", behind.size(), gone.size());
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Could not reconcile the complaint history: {}", ex.getMessage());
+        } catch (IOException ex) {
+            log.error("Could not reconcile the complaint history", ex);
+        }
+    }
+
+    // group commit; also called on the flush interval
+    public void flush() {
+        try {
+            segments.force();
+        } catch (IOException ex) {
+            log.error("Could not flush the complaint history", ex);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        flusher.shutdownNow();
+        segments.close();
+    }
+
+    /* ==========================================================
+       Internal
+    ========================================================== */
+
+    private void append(Integer id, Long version, ComplaintEvent.Type type,
+                          Map<String, Object> changes, LocalDateTime at) throws IOException {
+        lock.lock();
+        try {
+            Entries entries = index.computeIfAbsent(id, k -> new Entries());
+            if (recorded(entries, version, type)) {
+                return;
+            }
+
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("seq", lastSeq + 1);
+            event.put("id", id);
+            event.put("v", version);
+            event.put("type", type.name());
+            event.put("at", at);
+            event.put("changes", changes);
+            long position = segments.append(mapper.writeValueAsBytes(event));
+            lastSeq++;
+            track(entries, position, version, type);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // already in the log: a redelivered event, or one a SNAPSHOT got ahead of
+    private static boolean recorded(Entries entries, Long version, ComplaintEvent.Type type) {
+        if (type == ComplaintEvent.Type.DELETED || entries.deleted) {
+            return entries.deleted;
+        }
+        return version != null && entries.version != null && version <= entries.version;
+    }
+
+    private void track(Entries entries, long position, Long version, ComplaintEvent.Type type) {
+        entries.add(position);
+        if (version != null) {
+            entries.version = version;
+        }
+        entries.deleted = type == ComplaintEvent.Type.DELETED;
+    }
+
+    private long[] positions(Integer id) {
+        lock.lock();
+        try {
+            Entries e = index.get(id);
+            return e != null ? e.positions : new long[0];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void load() throws IOException {
+        segments.scan((position, record) -> {
+            JsonNode event = mapper.readTree(record);
+            lastSeq = Math.max(lastSeq, event.get("seq").asLong());
+            track(index.computeIfAbsent(event.get("id").asInt(), k -> new Entries()), position,
+                    event.hasNonNull("v") ? event.get("v").asLong() : null,
+                    ComplaintEvent.Type.valueOf(event.get("type").asText()));
+        });
+        log.info("Complaint history: {} event(s) for {} complaint(s) in {} segment(s)",
+                lastSeq, index.size(), segments.segmentCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ComplaintEvent toEvent(JsonNode event) {
+        try {
+            return new ComplaintEvent(event.get("seq").asLong(), event.get("id").asInt(),
+                    event.hasNonNull("v") ? event.get("v").asLong() : null,
+                    ComplaintEvent.Type.valueOf(event.get("type").asText()),
+                    LocalDateTime.parse(event.get("at").asText()),
+                    mapper.treeToValue(event.get("changes"), Map.class));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.config.CacheConfig;
+import com.resolveit.resolveit_backend.dto.ImageRef;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import com.resolveit.resolveit_backend.storage.ImageStore;
+import com.resolveit.resolveit_backend.storage.StoredImage;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Complaint id -> stored image.
+ *
+ * Resolved images are remembered in the complaintImages / resolutionImages caches,
+ * so repeat requests for the same card (and every If-None-Match revalidation) are
+ * answered without a query.
+ */
+@Service
+public class ComplaintImageService {
+
+    private final ComplaintRepository complaintRepository;
+    private final ImageStore imageStore;
+    private final ThumbnailService thumbnails;
+    private final ComplaintCache complaintCache;
+    private final ComplaintOutbox outbox;
+
+    private final Cache originals;
+    private final Cache resolutions;
+
+    public ComplaintImageService(ComplaintRepository complaintRepository, ImageStore imageStore,
+                                 ThumbnailService thumbnails, ComplaintCache complaintCache,
+                                 ComplaintOutbox outbox, CacheManager cacheManager) {
+        this.complaintRepository = complaintRepository;
+        this.imageStore = imageStore;
+        this.thumbnails = thumbnails;
+        this.complaintCache = complaintCache;
+        this.outbox = outbox;
+        this.originals = cacheManager.getCache(CacheConfig.IMAGES);
+        this.resolutions = cacheManager.getCache(CacheConfig.RESOLUTION_IMAGES);
+    }
+
+    // citizen upload; the key and content type go onto the new complaint row
+    public StoredImage saveOriginal(MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return saveOriginal(in, file.getContentType());
+        }
+    }
+
+    // same, from a spooled upload (queued ingestion)
+    public StoredImage saveOriginal(InputStream in, String contentType) throws IOException {
+        StoredImage image = imageStore.save(in, contentType);
+        thumbnails.generateAsync(image);
+        return image;
+    }
+
+    // officer proof; false when the complaint does not exist
+    public boolean saveResolution(Integer complaintId, MultipartFile file) throws IOException {
+        StoredImage image;
+        try (InputStream in = file.getInputStream()) {
+            image = imageStore.save(in, file.getContentType());
+        }
+        if (!outbox.setResolutionImage(complaintId, image.key(), image.contentType())) {
+            return false;
+        }
+        resolutions.put(complaintId, image);
+        complaintCache.evictDetail(complaintId);
+        thumbnails.generateAsync(image);
+        return true;
+    }
+
+    // size = null for the original; falls back to the original when no rendition can be made
+    public ThumbnailService.Rendition sized(StoredImage source, ThumbnailService.Size size) {
+        if (size == null) {
+            return new ThumbnailService.Rendition(source, false);
+        }
+        return thumbnails.rendition(source, size);
+    }
+
+    public Optional<StoredImage> original(Integer complaintId) throws IOException {
+        StoredImage cached = originals.get(complaintId, StoredImage.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<ImageRef> ref = complaintRepository.findImageRef(complaintId);
+        if (ref.isEmpty()) {
+            return Optional.empty();
+        }
+        return remember(originals, complaintId,
+                imageStore.find(ref.get().getKey(), ref.get().getContentType()));
+    }
+
+    public Optional<StoredImage> resolution(Integer complaintId) throws IOException {
+        StoredImage cached = resolutions.get(complaintId, StoredImage.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<ImageRef> ref = complaintRepository.findResolutionImageRef(complaintId);
+        if (ref.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // uploads made before the store existed were saved as resolution/resolution_<id>
+        String key = ref.get().getKey() != null ? ref.get().getKey() : "resolution/resolution_" + complaintId;
+        return remember(resolutions, complaintId, imageStore.find(key, ref.get().getContentType()));
+    }
+
+    public void evict(Integer complaintId) {
+        originals.evict(complaintId);
+        resolutions.evict(complaintId);
+    }
+
+    private static Optional<StoredImage> remember(Cache index, Integer id, Optional<StoredImage> image) {
+        image.ifPresent(i -> index.put(id, i));
+        return image;
+    }
+}
@@ -0,0 +1,415 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.resolveit.resolveit_backend.dto.IngestStats;
+import com.resolveit.resolveit_backend.dto.IngestStatus;
+import com.resolveit.resolveit_backend.dto.LifecycleEvent;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.storage.StoredImage;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Complaint creation, synchronous or queued.
+ *
+ * The queued path only spools the submission to ${resolveit.ingest.dir} on the request
+ * thread (the multipart temp file is moved, not copied, when Tomcat already put it on
+ * disk) and hands back a ticket. Storing the image and inserting the row run on a fixed
+ * pool of workers behind a bounded number of slots; when every slot is taken the
+ * submission is refused up front so the caller can back off. A spooled submission is
+ * only deleted once its complaint is saved, so whatever a restart interrupts is picked
+ * up again on the next start (at least once: a crash between the insert and the
+ * clean-up creates that complaint twice). Tickets are kept in memory for TICKET_TTL.
+ */
+@Service
+public class ComplaintIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintIngestService.class);
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MS = 500;
+    private static final Duration TICKET_TTL = Duration.ofHours(6);
+    private static final int MAX_FINISHED_TICKETS = 100_000;
+
+    private static final String FIELDS = ".properties";
+    private static final String UPLOAD = ".upload";
+
+    // the form fields of POST /api/complaints, plus the username of the caller's session token
+    public record Submission(String subject, String description, String category,
+                             String priority, String citizenName, String citizenUsername) {
+    }
+
+    private final ComplaintImageService imageService;
+    private final ComplaintStatsService statsService;
+    private final ComplaintCache complaintCache;
+    private final ComplaintSearchIndex searchIndex;
+    private final ComplaintNotifier notifier;
+    private final OfficerWorkloadIndex workloadIndex;
+    private final ComplaintOutbox outbox;
+
+    private final Path staging;
+    private final Path failedDir;
+
+    private final int capacity;
+    private final Semaphore slots;
+    private final ThreadPoolExecutor workers;
+
+    // in flight (bounded by the slots) vs finished (bounded and expiring)
+    private final Map<String, IngestStatus> pending = new ConcurrentHashMap<>();
+    private final Cache<String, IngestStatus> finished = Caffeine.newBuilder()
+            .maximumSize(MAX_FINISHED_TICKETS)
+            .expireAfterWrite(TICKET_TTL)
+            .build();
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final LongAdder processingNanos = new LongAdder();
+    private final AtomicInteger processing = new AtomicInteger();
+
+    private volatile Thread resumer;
+
+    public ComplaintIngestService(ComplaintImageService imageService,
+                                  ComplaintStatsService statsService,
+                                  ComplaintCache complaintCache,
+                                  ComplaintSearchIndex searchIndex,
+                                  ComplaintNotifier notifier,
+                                  OfficerWorkloadIndex workloadIndex,
+                                  ComplaintOutbox outbox,
+                                  @Value("${resolveit.ingest.dir:ingest-staging}") String dir,
+                                  @Value("${resolveit.ingest.workers:4}") int workerCount,
+                                  @Value("${resolveit.ingest.queue:256}") int queueSize) throws IOException {
+        this.imageService = imageService;
+        this.statsService = statsService;
+        this.complaintCache = complaintCache;
+        this.searchIndex = searchIndex;
+        this.notifier = notifier;
+        this.workloadIndex = workloadIndex;
+        this.outbox = outbox;
+
+        this.staging = Files.createDirectories(Path.of(dir).toAbsolutePath().normalize());
+        this.failedDir = Files.createDirectories(staging.resolve("failed"));
+
+        // the queue never fills: a job is only submitted while holding a slot
+        this.capacity = workerCount + queueSize;
+        this.slots = new Semaphore(capacity);
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "ingest-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /* ==========================================================
+       Synchronous path (POST /api/complaints)
+    ========================================================== */
+
+    public Complaint create(Submission s, MultipartFile image) throws IOException {
+        StoredImage stored = null;
+        if (image != null && !image.isEmpty()) {
+            stored = imageService.saveOriginal(image);
+        }
+        return persist(s, stored, LocalDateTime.now());
+    }
+
+    /* ==========================================================
+       Queued path (POST /api/complaints/ingest)
+    ========================================================== */
+
+    // empty when every slot is taken – the caller answers 503 and the client retries later
+    public Optional<IngestStatus> submit(Submission s, MultipartFile image) throws IOException {
+        if (!slots.tryAcquire()) {
+            rejected.incrementAndGet();
+            return Optional.empty();
+        }
+
+        String ticket = UUID.randomUUID().toString();
+        LocalDateTime acceptedAt = LocalDateTime.now();
+        try {
+            String contentType = null;
+            if (image != null && !image.isEmpty()) {
+                // File overload: lets the container rename its temp file instead of copying it
+                image.transferTo(staging.resolve(ticket + UPLOAD).toFile());
+                contentType = image.getContentType();
+            }
+            writeFields(ticket, s, contentType, acceptedAt);
+        } catch (IOException | RuntimeException ex) {
+            slots.release();
+            discard(ticket);
+            throw ex;
+        }
+
+        accepted.incrementAndGet();
+        IngestStatus queued = IngestStatus.queued(ticket, acceptedAt);
+        pending.put(ticket, queued);
+        workers.execute(() -> process(ticket));
+        return Optional.of(queued);
+    }
+
+    public Optional<IngestStatus> status(String ticket) {
+        IngestStatus status = pending.get(ticket);
+        return status != null ? Optional.of(status) : Optional.ofNullable(finished.getIfPresent(ticket));
+    }
+
+    public IngestStats stats() {
+        long done = completed.get();
+        long avgMs = done == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(processingNanos.sum() / done);
+        int inProgress = processing.get();
+        return new IngestStats(accepted.get(), rejected.get(), done, failed.get(), retried.get(),
+                pending.size() - inProgress, inProgress, capacity, avgMs);
+    }
+
+    // Submissions spooled before the last shutdown go back on the queue. They are known
+    // (QUEUED) right away, but each still needs a slot like a new submission: a thread of
+    // its own hands them to the workers as slots free up, so there can be more of them than
+    // the capacity without blocking startup. New submissions compete for the same slots
+    // and get 503 while the backlog holds them.
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        List<String> tickets = new ArrayList<>();
+        try (DirectoryStream<Path> spooled = Files.newDirectoryStream(staging, "*" + FIELDS)) {
+            for (Path fields : spooled) {
+                String name = fields.getFileName().toString();
+                String ticket = name.substring(0, name.length() - FIELDS.length());
+                accepted.incrementAndGet();
+                pending.put(ticket, IngestStatus.queued(ticket, LocalDateTime.now()));
+                tickets.add(ticket);
+            }
+        } catch (IOException ex) {
+            log.warn("Could not scan ingest staging area {}: {}", staging, ex.getMessage());
+        }
+        if (tickets.isEmpty()) {
+            return;
+        }
+        log.info("Resuming {} spooled complaint submission(s)", tickets.size());
+
+        Thread t = new Thread(() -> {
+            try {
+                for (String ticket : tickets) {
+                    slots.acquire();
+                    workers.execute(() -> process(ticket));
+                }
+            } catch (InterruptedException | RejectedExecutionException ex) {
+                // shutting down: the rest stay spooled for the next start
+            }
+        }, "ingest-resume");
+        t.setDaemon(true);
+        resumer = t;
+        t.start();
+    }
+
+    private void process(String ticket) {
+        long start = System.nanoTime();
+        processing.incrementAndGet();
+        IngestStatus queued = pending.get(ticket);
+        pending.put(ticket, queued.processing());
+        try {
+            Complaint saved = attempt(ticket);
+            processingNanos.add(System.nanoTime() - start);
+            completed.incrementAndGet();
+            finished.put(ticket, queued.done(saved.getId()));
+            discard(ticket);
+        } catch (InterruptedException ex) {
+            // shutting down: the spool files stay for the next start
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            failed.incrementAndGet();
+            log.error("Complaint submission {} failed after {} attempt(s), kept in {}",
+                    ticket, MAX_ATTEMPTS, failedDir, ex);
+            finished.put(ticket, queued.failed(ex.getClass().getSimpleName() + ": " + ex.getMessage()));
+            quarantine(ticket);
+        } finally {
+            pending.remove(ticket);
+            processing.decrementAndGet();
+            slots.release();
+        }
+    }
+
+    // storage and database hiccups are retried; a bad spool file is not
+    private Complaint attempt(String ticket) throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return ingest(ticket);
+            } catch (IOException | DataAccessException ex) {
+                if (attempt >= MAX_ATTEMPTS || !Files.exists(staging.resolve(ticket + FIELDS))) {
+                    throw ex;
+                }
+                retried.incrementAndGet();
+                log.warn("Complaint submission {} attempt {} failed, retrying: {}", ticket, attempt, ex.getMessage());
+                Thread.sleep(RETRY_BACKOFF_MS * attempt);
+            }
+        }
+    }
+
+    private Complaint ingest(String ticket) throws IOException {
+        Properties fields = readFields(ticket);
+        Submission s = new Submission(fields.getProperty("subject"), fields.getProperty("description"),
+                fields.getProperty("category"), fields.getProperty("priority"), fields.getProperty("citizenName"),
+                fields.getProperty("citizenUsername"));
+
+        StoredImage stored = null;
+        Path upload = staging.resolve(ticket + UPLOAD);
+        if (Files.exists(upload)) {
+            try (InputStream in = Files.newInputStream(upload)) {
+                stored = imageService.saveOriginal(in, fields.getProperty("contentType"));
+            }
+        }
+        return persist(s, stored, LocalDateTime.parse(fields.getProperty("acceptedAt")));
+    }
+
+    /* ==========================================================
+       Shared
+    ========================================================== */
+
+    private Complaint persist(Submission s, StoredImage image, LocalDateTime createdAt) {
+        Complaint c = new Complaint();
+        c.setSubject(s.subject());
+        c.setDescription(s.description());
+        c.setCategory(s.category());
+        c.setPriority(s.priority());
+        c.setCitizenName(s.citizenName());
+        c.setCitizenUsername(s.citizenUsername());
+
+        // defaults
+        c.setStatus("Under Review");
+        c.setCreatedAt(createdAt);
+        c.setUpdatedAt(createdAt);
+        c.setAssignedStaff(OfficerWorkloadIndex.UNASSIGNED);
+
+        // content-addressed, identical files are stored once
+        if (image != null) {
+            c.setImagePath(image.key());
+            c.setImageContentType(image.contentType());
+        }
+
+        // least loaded officer taking the category (resolveit.assign.auto)
+        boolean assigned = workloadIndex.assign(c);
+
+        Complaint saved;
+        try {
+            saved = outbox.save(c, null, assigned
+                    ? List.of(LifecycleEvent.Type.CREATED, LifecycleEvent.Type.ASSIGNED)
+                    : List.of(LifecycleEvent.Type.CREATED));
+        } catch (RuntimeException ex) {
+            if (assigned) {
+                workloadIndex.onDeleted(ComplaintStatsService.Key.of(c));
+            }
+            throw ex;
+        }
+        statsService.onCreated(saved);
+        complaintCache.onCreated(saved);
+        searchIndex.onSaved(saved);
+        notifier.onCreated(saved);
+        if (assigned) {
+            notifier.onAssigned(saved);
+        }
+        return saved;
+    }
+
+    // written last and renamed into place: a fields file on disk means a complete submission
+    private void writeFields(String ticket, Submission s, String contentType, LocalDateTime acceptedAt)
+            throws IOException {
+        Properties fields = new Properties();
+        put(fields, "subject", s.subject());
+        put(fields, "description", s.description());
+        put(fields, "category", s.category());
+        put(fields, "priority", s.priority());
+        put(fields, "citizenName", s.citizenName());
+        put(fields, "citizenUsername", s.citizenUsername());
+        put(fields, "contentType", contentType);
+        put(fields, "acceptedAt", acceptedAt.toString());
+
+        Path tmp = staging.resolve(ticket + FIELDS + ".tmp");
+        try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            fields.store(out, null);
+        }
+        Files.move(tmp, staging.resolve(ticket + FIELDS), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void put(Properties fields, String key, String value) {
+        if (value != null) {
+            fields.setProperty(key, value);
+        }
+    }
+
+    private Properties readFields(String ticket) throws IOException {
+        Properties fields = new Properties();
+        try (Reader in = Files.newBufferedReader(staging.resolve(ticket + FIELDS), StandardCharsets.UTF_8)) {
+            fields.load(in);
+        }
+        return fields;
+    }
+
+    private void discard(String ticket) {
+        try {
+            Files.deleteIfExists(staging.resolve(ticket + FIELDS));
+            Files.deleteIfExists(staging.resolve(ticket + FIELDS + ".tmp"));
+            Files.deleteIfExists(staging.resolve(ticket + UPLOAD));
+        } catch (IOException ex) {
+            log.warn("Could not clean up spooled submission {}: {}", ticket, ex.getMessage());
+        }
+    }
+
+    // out of the way of the startup scan, but still on disk for someone to look at
+    private void quarantine(String ticket) {
+        for (String suffix : new String[] {FIELDS, UPLOAD}) {
+            Path file = staging.resolve(ticket + suffix);
+            try {
+                if (Files.exists(file)) {
+                    Files.move(file, failedDir.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException ex) {
+                log.warn("Could not move failed submission file {}: {}", file, ex.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        // interrupted jobs keep their spool files and run again on the next start
+        Thread t = resumer;
+        if (t != null) {
+            t.interrupt();
+        }
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,17 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.dto.LifecycleEvent;
+
+/**
+ * Side effect of complaint changes, run off the request thread by OutboxDispatcher.
+ *
+ * Delivery is at least once and in order per complaint: an event that throws is
+ * retried (later events of the same complaint wait for it), and an event can arrive
+ * again after a crash or after another listener failed on it. Implementations must
+ * therefore be idempotent, e.g. keyed on {@link LifecycleEvent#getId()}.
+ */
+@FunctionalInterface
+public interface ComplaintLifecycleListener {
+
+    void onEvent(LifecycleEvent event) throws Exception;
+}
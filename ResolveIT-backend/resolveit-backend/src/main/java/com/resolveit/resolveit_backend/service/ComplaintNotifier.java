@@ -0,0 +1,82 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.model.Feedback;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+
+import static com.resolveit.resolveit_backend.service.NotificationHub.roleTopic;
+import static com.resolveit.resolveit_backend.service.NotificationHub.userTopic;
+
+/**
+ * Turns complaint changes into notifications for the people involved:
+ * the citizen who filed it (by the username of their session token, see
+ * Complaint.citizenUsername), the assigned officer and the ADMIN role.
+ * Replaces the messages the admin pages used to drop into localStorage.
+ */
+@Service
+public class ComplaintNotifier {
+
+    private static final String ADMINS = roleTopic("ADMIN");
+
+    private final NotificationHub hub;
+
+    public ComplaintNotifier(NotificationHub hub) {
+        this.hub = hub;
+    }
+
+    public void onCreated(Complaint c) {
+        hub.publish("CREATED", c.getId(),
+                "New complaint #" + c.getId() + " \"" + c.getSubject() + "\" submitted by " + c.getCitizenName() + ".",
+                ADMINS);
+        hub.publish("CREATED", c.getId(),
+                "Your complaint #" + c.getId() + " has been received and is under review.",
+                userTopic(c.getCitizenUsername()));
+    }
+
+    // before = state captured ahead of the change; alertSent = the request set a new lastAlertAt (admin alert)
+    public void onUpdated(ComplaintStatsService.Key before, Complaint after, boolean alertSent) {
+        Integer id = after.getId();
+        String citizen = userTopic(after.getCitizenUsername());
+        String officer = userTopic(after.getAssignedStaff());
+
+        if (alertSent) {
+            String note = after.getAlertMessage() != null ? " " + after.getAlertMessage() : "";
+            hub.publish("ESCALATED", id, "Your complaint #" + id + " has been escalated." + note, citizen);
+            hub.publish("ESCALATED", id, "Complaint #" + id + " has been escalated by admin." + note, officer);
+        }
+
+        if (!Objects.equals(before.assignee(), after.getAssignedStaff())) {
+            onAssigned(after);
+        }
+
+        if (!Objects.equals(before.status(), after.getStatus())) {
+            hub.publish("STATUS_CHANGED", id,
+                    "Your complaint #" + id + " is now " + after.getStatus() + ".", citizen);
+            hub.publish("STATUS_CHANGED", id,
+                    "Complaint #" + id + " status changed to " + after.getStatus() + ".", ADMINS, officer);
+        } else if (!alertSent && Objects.equals(before.assignee(), after.getAssignedStaff())) {
+            hub.publish("UPDATED", id, "Complaint #" + id + " has been updated.", citizen, officer);
+        }
+    }
+
+    public void onAssigned(Complaint c) {
+        Integer id = c.getId();
+        String officer = userTopic(c.getAssignedStaff());
+        if (officer == null) {
+            return;
+        }
+        hub.publish("ASSIGNED", id, "A new complaint #" + id + " has been assigned to you.", officer);
+        hub.publish("ASSIGNED", id,
+                "Your complaint #" + id + " has been assigned to " + c.getAssignedStaff() + ".",
+                userTopic(c.getCitizenUsername()));
+    }
+
+    public void onFeedback(Feedback f, String assignedStaff) {
+        Integer id = f.getComplaintId();
+        hub.publish("FEEDBACK", id,
+                "New " + f.getRating() + "-star feedback on complaint #" + id + " from " + f.getCitizenName() + ".",
+                ADMINS, userTopic(assignedStaff));
+    }
+}
@@ -0,0 +1,204 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resolveit.resolveit_backend.dto.ComplaintEvent;
+import com.resolveit.resolveit_backend.dto.LifecycleEvent;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.model.Feedback;
+import com.resolveit.resolveit_backend.model.OutboxEvent;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import com.resolveit.resolveit_backend.repository.FeedbackRepository;
+import com.resolveit.resolveit_backend.repository.OutboxRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes complaint lifecycle events to the complaint_outbox table in the same
+ * transaction as the change itself: the event exists if and only if the change
+ * committed. OutboxDispatcher delivers them to the ComplaintLifecycleListener beans
+ * afterwards, off the request thread.
+ *
+ * save / delete / saveFeedback / setResolutionImage / markEscalated wrap the usual
+ * repository call and its events in one transaction; record is for callers that
+ * already run one (bulk chunks). A change to the complaint's state also carries its
+ * ComplaintHistory entry (payload key "history"), so the history is written from the
+ * same events, in the same order.
+ */
+@Service
+public class ComplaintOutbox {
+
+    private static final String RESOLVED = "Resolved";
+
+    private final ComplaintRepository complaintRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final OutboxRepository outboxRepository;
+    private final OutboxDispatcher dispatcher;
+    private final ObjectMapper mapper;
+    private final TransactionTemplate tx;
+
+    public ComplaintOutbox(ComplaintRepository complaintRepository,
+                           FeedbackRepository feedbackRepository,
+                           OutboxRepository outboxRepository,
+                           OutboxDispatcher dispatcher,
+                           ObjectMapper mapper,
+                           PlatformTransactionManager transactionManager) {
+        this.complaintRepository = complaintRepository;
+        this.feedbackRepository = feedbackRepository;
+        this.outboxRepository = outboxRepository;
+        this.dispatcher = dispatcher;
+        this.mapper = mapper;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    // flushed inside the transaction so the events carry the new id / version;
+    // before = ComplaintHistory.capture of the complaint as loaded, null for a new one
+    public Complaint save(Complaint c, Map<String, Object> before, List<LifecycleEvent.Type> types) {
+        return tx.execute(status -> {
+            Complaint saved = complaintRepository.saveAndFlush(c);
+            Map<String, Object> history = before == null ? ComplaintHistory.created(saved)
+                    : ComplaintHistory.updated(before, saved, ComplaintEvent.Type.valueOf(types.get(0).name()));
+            for (int i = 0; i < types.size(); i++) {
+                // one history entry per change, on its first event
+                record(types.get(i), saved, i == 0 ? history : null);
+            }
+            return saved;
+        });
+    }
+
+    public void delete(Complaint c) {
+        tx.executeWithoutResult(status -> {
+            complaintRepository.delete(c);
+            record(LifecycleEvent.Type.DELETED, c, ComplaintHistory.deleted());
+        });
+    }
+
+    // false when the complaint does not exist
+    public boolean setResolutionImage(Integer id, String key, String contentType) {
+        return Boolean.TRUE.equals(tx.execute(status -> {
+            if (complaintRepository.setResolutionImage(id, key, contentType) == 0) {
+                return false;
+            }
+            Map<String, Object> changes = new LinkedHashMap<>();
+            changes.put("resolutionImagePath", key);
+            changes.put("resolutionImageContentType", contentType);
+            recordChanged(LifecycleEvent.Type.RESOLUTION_IMAGE_ADDED, complaintRepository.findVersionsByIdIn(List.of(id)),
+                    changes, ComplaintEvent.Type.RESOLUTION_IMAGE);
+            return true;
+        }));
+    }
+
+    // see ComplaintRepository.markEscalated; returns the ids that were escalated
+    public List<Integer> markEscalated(List<Integer> ids, LocalDate today) {
+        return tx.execute(status -> {
+            // the rows the UPDATE will change, locked so none can change in between; rows that
+            // were escalated already (another instance, an admin) get no second event
+            List<Object[]> escalated = new ArrayList<>();
+            for (Object[] row : complaintRepository.findEscalatableForUpdate(ids, today)) {
+                escalated.add(new Object[]{row[0], (Long) row[1] + 1});
+            }
+            if (escalated.isEmpty()) {
+                return List.of();
+            }
+            List<Integer> escalatedIds = escalated.stream().map(row -> (Integer) row[0]).toList();
+            complaintRepository.markEscalated(escalatedIds, today);
+            recordChanged(LifecycleEvent.Type.ESCALATED, escalated, Map.of("isEscalated", true),
+                    ComplaintEvent.Type.ESCALATED);
+            return escalatedIds;
+        });
+    }
+
+    public Feedback saveFeedback(Feedback f) {
+        return tx.execute(status -> {
+            Feedback saved = feedbackRepository.save(f);
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("feedbackId", saved.getId());
+            payload.put("citizenName", saved.getCitizenName());
+            payload.put("rating", saved.getRating());
+            payload.put("comments", saved.getComments());
+            insert(LifecycleEvent.Type.FEEDBACK_ADDED, saved.getComplaintId(), payload);
+            return saved;
+        });
+    }
+
+    // the caller's transaction; there has to be one. history: the ComplaintHistory entry, if any
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(LifecycleEvent.Type type, Complaint c, Map<String, Object> history) {
+        Map<String, Object> payload = payload(c);
+        if (history != null) {
+            payload.put(ComplaintHistory.PAYLOAD_KEY, history);
+        }
+        insert(type, c.getId(), payload);
+    }
+
+    // a JPQL change: the same changes for every row = [id, version after the change]
+    private void recordChanged(LifecycleEvent.Type type, List<Object[]> rows, Map<String, Object> changes,
+                               ComplaintEvent.Type historyType) {
+        for (Object[] row : rows) {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("version", row[1]);
+            payload.putAll(changes);
+            payload.put(ComplaintHistory.PAYLOAD_KEY, ComplaintHistory.changed(changes, historyType));
+            insert(type, (Integer) row[0], payload);
+        }
+    }
+
+    // the events of an update: the given type, plus RESOLVED when the status became "Resolved"
+    public static List<LifecycleEvent.Type> typesOf(LifecycleEvent.Type type, String statusBefore, Complaint after) {
+        List<LifecycleEvent.Type> types = new ArrayList<>(2);
+        types.add(type);
+        if (RESOLVED.equals(after.getStatus()) && !Objects.equals(statusBefore, after.getStatus())) {
+            types.add(LifecycleEvent.Type.RESOLVED);
+        }
+        return types;
+    }
+
+    // what listeners usually need without loading the complaint (no description / notes / images)
+    static Map<String, Object> payload(Complaint c) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("version", c.getVersion());
+        payload.put("subject", c.getSubject());
+        payload.put("category", c.getCategory());
+        payload.put("priority", c.getPriority());
+        payload.put("status", c.getStatus());
+        payload.put("citizenName", c.getCitizenName());
+        payload.put("assignedStaff", c.getAssignedStaff());
+        payload.put("deadlineIso", c.getDeadlineIso());
+        payload.put("isEscalated", c.getIsEscalated());
+        return payload;
+    }
+
+    private void insert(LifecycleEvent.Type type, Integer complaintId, Map<String, Object> payload) {
+        OutboxEvent e = new OutboxEvent();
+        e.setComplaintId(complaintId);
+        e.setEventType(type.name());
+        try {
+            e.setPayload(mapper.writeValueAsString(payload));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialise a " + type + " event", ex);
+        }
+        e.setCreatedAt(LocalDateTime.now());
+        outboxRepository.save(e);
+
+        // no need to wait for the next poll once the events are visible
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatcher.wake();
+            }
+        });
+    }
+}
@@ -0,0 +1,516 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.dto.ComplaintSummary;
+import com.resolveit.resolveit_backend.dto.SearchPage;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Full-text search over complaint subject, description, admin comments and officer notes.
+ *
+ * An embedded Lucene index (BM25 ranking, English stemming) lives next to the database
+ * under ${resolveit.search.dir}; an empty value keeps it in memory. Every complaint write
+ * updates its document; changes become searchable within MAX_STALE_SECONDS. Commits run
+ * in the background and store a watermark in the commit user data: the latest updatedAt
+ * of the complaints indexed so far. Whatever a crash lost is caught by the startup check,
+ * which re-indexes the rows written after the watermark (less CATCH_UP_SLACK), then
+ * rebuilds the index if its document count still disagrees with the table (deletions)
+ * or it has no watermark at all.
+ */
+@Service
+public class ComplaintSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintSearchIndex.class);
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // deepest result a page may reach; deeper pages cost heap for every hit above them
+    public static final int MAX_RESULT_WINDOW = 10_000;
+
+    private static final double MAX_STALE_SECONDS = 1.0;
+    private static final double MIN_STALE_SECONDS = 0.025;
+    private static final long COMMIT_INTERVAL_SECONDS = 30;
+
+    // commit user data key of the watermark (ISO LocalDateTime)
+    private static final String WATERMARK = "updatedAt";
+    // a document is written after its transaction: one stamped a little before the
+    // watermark can still have missed the commit that recorded it
+    private static final Duration CATCH_UP_SLACK = Duration.ofMinutes(1);
+
+    // Every text column goes into one "all" field: a query is a single conjunction there,
+    // which Lucene can skip through block by block. The subject is indexed once more on
+    // its own and only adds to the score, so a match in the subject ranks first.
+    private static final Map<String, Float> MATCH_FIELDS = Map.of("all", 1f);
+    private static final Map<String, Float> BOOST_FIELDS = Map.of("subject", 2f);
+
+    private final ComplaintRepository complaintRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searchers;
+    private final ControlledRealTimeReopenThread<IndexSearcher> reopener;
+    private final ScheduledExecutorService background;
+
+    // documents written while a rebuild streams the table; the rebuild must not overwrite them
+    private final Set<Integer> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+
+    // latest updatedAt indexed; null until known (new index, or one from before watermarks)
+    private final AtomicReference<LocalDateTime> watermark = new AtomicReference<>();
+
+    public ComplaintSearchIndex(ComplaintRepository complaintRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${resolveit.search.dir:search-index}") String dir) throws IOException {
+        this.complaintRepository = complaintRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+
+        this.directory = dir == null || dir.isBlank()
+                ? new ByteBuffersDirectory()
+                : FSDirectory.open(Path.of(dir));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searchers = new SearcherManager(writer, null);
+        this.watermark.set(committedWatermark(writer));
+
+        this.reopener = new ControlledRealTimeReopenThread<>(writer, searchers, MAX_STALE_SECONDS, MIN_STALE_SECONDS);
+        this.reopener.setName("search-reopen");
+        this.reopener.setDaemon(true);
+        this.reopener.start();
+
+        this.background = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "search-index");
+            t.setDaemon(true);
+            return t;
+        });
+        this.background.scheduleWithFixedDelay(this::commit,
+                COMMIT_INTERVAL_SECONDS, COMMIT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /* ==========================================================
+       Indexed view of a complaint
+    ========================================================== */
+    // updatedAt is not indexed, only tracked for the watermark
+    record Doc(Integer id, String subject, String description, String adminComments, String officerNotes,
+               String status, String category, String priority, String assignee, LocalDateTime createdAt,
+               LocalDateTime updatedAt) {
+
+        static Doc of(Complaint c) {
+            return new Doc(c.getId(), c.getSubject(), c.getDescription(), c.getAdminComments(), c.getOfficerNotes(),
+                    c.getStatus(), c.getCategory(), c.getPriority(), c.getAssignedStaff(), c.getCreatedAt(),
+                    c.getUpdatedAt());
+        }
+
+        // row of ComplaintRepository.SEARCH_SELECT
+        static Doc of(Object[] row) {
+            return new Doc((Integer) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4],
+                    (String) row[5], (String) row[6], (String) row[7], (String) row[8], (LocalDateTime) row[9],
+                    (LocalDateTime) row[10]);
+        }
+
+        // same rule as the catch-up query: rows from before updatedAt was kept count by createdAt
+        LocalDateTime stamp() {
+            return updatedAt != null ? updatedAt : createdAt;
+        }
+
+        Document toDocument() {
+            Document d = new Document();
+            d.add(new StringField("key", id.toString(), Field.Store.NO));
+            d.add(new StoredField("id", id));
+
+            text(d, "subject", subject);
+            text(d, "all", subject);
+            text(d, "all", description);
+            text(d, "all", adminComments);
+            text(d, "all", officerNotes);
+
+            keyword(d, "status", status);
+            keyword(d, "category", category);
+            keyword(d, "priority", priority);
+            keyword(d, "assignee", assignee);
+            if (createdAt != null) {
+                d.add(new LongPoint("createdAt", epochSecond(createdAt)));
+            }
+            return d;
+        }
+
+        private static void text(Document d, String field, String value) {
+            if (value != null && !value.isBlank()) {
+                d.add(new TextField(field, value, Field.Store.NO));
+            }
+        }
+
+        private static void keyword(Document d, String field, String value) {
+            if (value != null) {
+                d.add(new StringField(field, value, Field.Store.NO));
+            }
+        }
+    }
+
+    // same optional filters as the admin listing; createdTo is exclusive
+    public record Filter(String status, String category, String priority, String assignee,
+                         LocalDateTime createdFrom, LocalDateTime createdTo) {
+    }
+
+    /* ==========================================================
+       Writes (called after the database change is committed)
+    ========================================================== */
+
+    public void onSaved(Complaint c) {
+        index(Doc.of(c));
+    }
+
+    // rows changed by a bulk statement: re-read their indexed columns
+    public void onChanged(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = readOnlyTx.execute(status -> complaintRepository.findForSearchIndex(ids));
+        Set<Integer> missing = new HashSet<>(ids);
+        for (Object[] row : rows) {
+            Doc doc = Doc.of(row);
+            missing.remove(doc.id());
+            index(doc);
+        }
+        missing.forEach(this::onDeleted);
+    }
+
+    public void onDeleted(Integer id) {
+        touch(id);
+        try {
+            writer.deleteDocuments(new Term("key", id.toString()));
+        } catch (IOException ex) {
+            log.warn("Could not remove complaint {} from the search index: {}", id, ex.getMessage());
+        }
+    }
+
+    private void index(Doc doc) {
+        touch(doc.id());
+        try {
+            write(doc);
+        } catch (IOException ex) {
+            log.warn("Could not index complaint {}: {}", doc.id(), ex.getMessage());
+        }
+    }
+
+    private void write(Doc doc) throws IOException {
+        writer.updateDocument(new Term("key", doc.id().toString()), doc.toDocument());
+        LocalDateTime stamp = doc.stamp();
+        if (stamp != null) {
+            watermark.accumulateAndGet(stamp, (a, b) -> a == null || b.isAfter(a) ? b : a);
+        }
+    }
+
+    private void touch(Integer id) {
+        if (rebuilding) {
+            touchedDuringRebuild.add(id);
+        }
+    }
+
+    /* ==========================================================
+       Search
+    ========================================================== */
+
+    // IllegalArgumentException for a page beyond MAX_RESULT_WINDOW
+    public SearchPage search(String text, Filter filter, int page, int size) throws IOException {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int from = Math.max(0, page) * pageSize;
+        if (from + pageSize > MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("Results beyond " + MAX_RESULT_WINDOW + " are not available");
+        }
+
+        List<Integer> ids = new ArrayList<>(pageSize);
+        TotalHits totalHits;
+
+        IndexSearcher searcher = searchers.acquire();
+        try {
+            TopDocs top = searcher.search(query(text, filter), from + pageSize);
+            totalHits = top.totalHits;
+
+            StoredFields stored = searcher.storedFields();
+            ScoreDoc[] hits = top.scoreDocs;
+            for (int i = from; i < hits.length; i++) {
+                ids.add(stored.document(hits[i].doc).getField("id").numericValue().intValue());
+            }
+        } finally {
+            searchers.release(searcher);
+        }
+
+        return new SearchPage(summaries(ids), totalHits.value,
+                totalHits.relation == TotalHits.Relation.EQUAL_TO, Math.max(0, page), pageSize);
+    }
+
+    private Query query(String text, Filter filter) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, MATCH_FIELDS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);    // every word has to match somewhere
+        Query match = parser.parse(text);
+        if (match == null) {
+            return new MatchNoDocsQuery();   // nothing but stop words / operators
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(match, BooleanClause.Occur.MUST);
+        Query inSubject = new SimpleQueryParser(analyzer, BOOST_FIELDS).parse(text);
+        if (inSubject != null) {
+            query.add(inSubject, BooleanClause.Occur.SHOULD);
+        }
+        if (filter != null) {
+            keywordFilter(query, "status", filter.status());
+            keywordFilter(query, "category", filter.category());
+            keywordFilter(query, "priority", filter.priority());
+            keywordFilter(query, "assignee", filter.assignee());
+            if (filter.createdFrom() != null || filter.createdTo() != null) {
+                long lower = filter.createdFrom() != null ? epochSecond(filter.createdFrom()) : Long.MIN_VALUE;
+                long upper = filter.createdTo() != null ? epochSecond(filter.createdTo()) - 1 : Long.MAX_VALUE;
+                query.add(LongPoint.newRangeQuery("createdAt", lower, upper), BooleanClause.Occur.FILTER);
+            }
+        }
+        return query.build();
+    }
+
+    private static void keywordFilter(BooleanQuery.Builder query, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            query.add(new TermQuery(new Term(field, value)), BooleanClause.Occur.FILTER);
+        }
+    }
+
+    // summaries in rank order; ids deleted since the searcher was opened drop out
+    private List<ComplaintSummary> summaries(List<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, ComplaintSummary> byId = new HashMap<>();
+        for (ComplaintSummary s : complaintRepository.findSummariesByIdIn(ids)) {
+            byId.put(s.getId(), s);
+        }
+        List<ComplaintSummary> ranked = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            ComplaintSummary s = byId.get(id);
+            if (s != null) {
+                ranked.add(s);
+            }
+        }
+        return ranked;
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /* ==========================================================
+       Lifecycle
+    ========================================================== */
+
+    // in the background: the catch-up reads every row written since the last commit
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        background.execute(() -> {
+            try {
+                check();
+            } catch (IOException | RuntimeException ex) {
+                log.warn("Could not check the search index against the database: {}", ex.getMessage());
+            }
+        });
+    }
+
+    synchronized void check() throws IOException {
+        LocalDateTime since = watermark.get();
+        long docs = writer.getDocStats().numDocs;
+        if (since == null && docs > 0) {
+            log.info("Search index has no watermark, rebuilding");
+            rebuild();
+            return;
+        }
+        if (since != null) {
+            long caughtUp = catchUp(since.minus(CATCH_UP_SLACK));
+            if (caughtUp > 0) {
+                log.info("Search index caught up on {} complaint(s) written after {}", caughtUp, since);
+            }
+        }
+
+        long rows = complaintRepository.count();
+        docs = writer.getDocStats().numDocs;
+        if (rows != docs) {
+            log.info("Search index has {} documents for {} complaints, rebuilding", docs, rows);
+            rebuild();
+        }
+    }
+
+    private long catchUp(LocalDateTime since) throws IOException {
+        Long indexed = readOnlyTx.execute(status -> {
+            long n = 0;
+            try (Stream<Object[]> rows = complaintRepository.streamForSearchIndexChangedAfter(since)) {
+                for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                    write(Doc.of(row));
+                    n++;
+                }
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+            return n;
+        });
+        if (indexed > 0) {
+            commit();
+            searchers.maybeRefresh();
+        }
+        return indexed;
+    }
+
+    public void rebuildAsync() {
+        background.execute(() -> {
+            try {
+                rebuild();
+            } catch (IOException | DataAccessException ex) {
+                log.warn("Search index rebuild failed: {}", ex.getMessage());
+            }
+        });
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding;
+    }
+
+    // searches see a partial index until this returns
+    synchronized void rebuild() throws IOException {
+        long started = System.nanoTime();
+
+        // writes that land before the flag is raised are covered by the table scan below
+        writer.deleteAll();
+        touchedDuringRebuild.clear();
+        rebuilding = true;
+        try {
+            Long indexed = readOnlyTx.execute(status -> {
+                long n = 0;
+                try (Stream<Object[]> rows = complaintRepository.streamForSearchIndex()) {
+                    for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                        Doc doc = Doc.of(row);
+                        if (!touchedDuringRebuild.contains(doc.id())) {
+                            write(doc);
+                            n++;
+                        }
+                    }
+                } catch (IOException ex) {
+                    throw new IllegalStateException(ex);
+                }
+                return n;
+            });
+            stampWatermark();
+            writer.commit();
+            searchers.maybeRefresh();
+            log.info("Search index rebuilt: {} complaints in {} ms",
+                    indexed, (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            rebuilding = false;
+            touchedDuringRebuild.clear();
+        }
+    }
+
+    // make everything written so far visible to the next search (tests, admin tools)
+    void refresh() throws IOException {
+        searchers.maybeRefreshBlocking();
+    }
+
+    private void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                stampWatermark();
+                writer.commit();
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Search index commit failed: {}", ex.getMessage());
+        }
+    }
+
+    // goes into the next commit
+    private void stampWatermark() {
+        LocalDateTime stamp = watermark.get();
+        if (stamp != null) {
+            writer.setLiveCommitData(Map.of(WATERMARK, stamp.toString()).entrySet());
+        }
+    }
+
+    private static LocalDateTime committedWatermark(IndexWriter writer) {
+        Iterable<Map.Entry<String, String>> data = writer.getLiveCommitData();
+        if (data != null) {
+            for (Map.Entry<String, String> e : data) {
+                if (WATERMARK.equals(e.getKey())) {
+                    return LocalDateTime.parse(e.getValue());
+                }
+            }
+        }
+        return null;
+    }
+
+    @PreDestroy
+    public void stop() {
+        background.shutdownNow();
+        try {
+            reopener.close();
+            searchers.close();
+            if (writer.hasUncommittedChanges()) {
+                stampWatermark();
+            }
+            writer.close();     // commits pending changes
+            directory.close();
+        } catch (IOException ex) {
+            log.warn("Could not close the search index cleanly: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.dto.ComplaintStats;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory dashboard counters.
+ * Seeded once from a GROUP BY query, then kept current by ComplaintController
+ * (and ComplaintBulkService) on every create / update / assign / delete, so reading stats never touches the table.
+ */
+@Service
+public class ComplaintStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintStatsService.class);
+
+    private static final String UNKNOWN = "Unknown";
+
+    private final ComplaintRepository complaintRepository;
+
+    private final Map<String, Long> byStatus = new HashMap<>();
+    private final Map<String, Long> byCategory = new HashMap<>();
+    private final Map<String, Long> byPriority = new HashMap<>();
+    private final Map<String, Long> byAssignee = new HashMap<>();
+
+    // open (not resolved) complaints per deadline day, for the overdue count
+    private final TreeMap<LocalDate, Long> openByDeadline = new TreeMap<>();
+
+    private long total;
+    private boolean loaded;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public ComplaintStatsService(ComplaintRepository complaintRepository) {
+        this.complaintRepository = complaintRepository;
+    }
+
+    /* ==========================================================
+       Fields of a complaint that the counters depend on.
+       Capture it BEFORE mutating an entity so the old bucket can be decremented.
+    ========================================================== */
+    public record Key(String status, String category, String priority,
+                      String assignee, LocalDate deadlineIso) {
+
+        public static Key of(Complaint c) {
+            return new Key(c.getStatus(), c.getCategory(), c.getPriority(),
+                    c.getAssignedStaff(), c.getDeadlineIso());
+        }
+
+        boolean isOpen() {
+            return !"Resolved".equals(status);
+        }
+
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        try {
+            rebuild();
+        } catch (DataAccessException ex) {
+            // DB not reachable yet – snapshot() retries on first use
+            log.warn("Could not seed complaint stats at startup: {}", ex.getMessage());
+        }
+    }
+
+    public void rebuild() {
+        lock.lock();
+        try {
+            List<Object[]> rows = complaintRepository.countByStatsKey();
+
+            clear();
+            for (Object[] row : rows) {
+                Key key = new Key((String) row[0], (String) row[1], (String) row[2],
+                        (String) row[3], (LocalDate) row[4]);
+                apply(key, (Long) row[5]);
+            }
+            loaded = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onCreated(Complaint c) {
+        lock.lock();
+        try {
+            apply(Key.of(c), 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onChanged(Key before, Complaint after) {
+        lock.lock();
+        try {
+            Key now = Key.of(after);
+            if (!now.equals(before)) {
+                apply(before, -1);
+                apply(now, 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onDeleted(Key before) {
+        lock.lock();
+        try {
+            apply(before, -1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public ComplaintStats snapshot() {
+        lock.lock();
+        try {
+            if (!loaded) {
+                rebuild();
+            }
+
+            // deadline days up to and including today count as passed (same rule as the dashboards)
+            LocalDate today = LocalDate.now();
+            long overdue = 0;
+            for (long n : openByDeadline.headMap(today, true).values()) {
+                overdue += n;
+            }
+
+            long resolved = byStatus.getOrDefault("Resolved", 0L);
+            long pending = byStatus.getOrDefault("Under Review", 0L)
+                    + byStatus.getOrDefault("In Progress", 0L);
+
+            return new ComplaintStats(total, resolved, pending, overdue,
+                    new HashMap<>(byStatus), new HashMap<>(byCategory),
+                    new HashMap<>(byPriority), new HashMap<>(byAssignee));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* ==========================================================
+       Internal bookkeeping (callers hold the lock)
+    ========================================================== */
+
+    private void apply(Key key, long delta) {
+        total += delta;
+        add(byStatus, key.status(), delta);
+        add(byCategory, key.category(), delta);
+        add(byPriority, key.priority(), delta);
+        add(byAssignee, key.assignee(), delta);
+
+        if (key.isOpen() && key.deadlineIso() != null) {
+            openByDeadline.merge(key.deadlineIso(), delta, (a, b) -> {
+                long sum = a + b;
+                return sum == 0 ? null : sum;
+            });
+        }
+    }
+
+    private static void add(Map<String, Long> counts, String bucket, long delta) {
+        counts.merge(bucket != null ? bucket : UNKNOWN, delta, (a, b) -> {
+            long sum = a + b;
+            return sum == 0 ? null : sum;   // drop empty buckets
+        });
+    }
+
+    private void clear() {
+        total = 0;
+        byStatus.clear();
+        byCategory.clear();
+        byPriority.clear();
+        byAssignee.clear();
+        openByDeadline.clear();
+    }
+}
@@ -0,0 +1,185 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-side SLA escalation.
+ *
+ * Open complaints with a deadline sit in a DelayQueue ordered by the moment their
+ * deadline day starts (same rule as the dashboards). One worker thread sleeps until
+ * the earliest deadline passes, drains everything else that is due, and escalates
+ * the batch with a single UPDATE – no periodic table rescans.
+ *
+ * Rescheduling is lazy: {@link #current} holds the live fire time per complaint and
+ * queue entries that no longer match it are skipped when they surface.
+ */
+@Service
+public class EscalationScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(EscalationScheduler.class);
+
+    private static final int MAX_BATCH = 500;
+    private static final long RETRY_DELAY_MS = 30_000;
+
+    private final ComplaintRepository complaintRepository;
+    private final ComplaintCache complaintCache;
+    private final ComplaintOutbox outbox;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final DelayQueue<Entry> queue = new DelayQueue<>();
+    private final Map<Integer, Long> current = new ConcurrentHashMap<>();
+
+    private volatile Thread worker;
+
+    public EscalationScheduler(ComplaintRepository complaintRepository, ComplaintCache complaintCache,
+                               ComplaintOutbox outbox) {
+        this.complaintRepository = complaintRepository;
+        this.complaintCache = complaintCache;
+        this.outbox = outbox;
+    }
+
+    /* ==========================================================
+       Timer entry: one complaint, one fire time
+    ========================================================== */
+    record Entry(Integer id, long fireAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(fireAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(fireAt, ((Entry) other).fireAt);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            for (Object[] row : complaintRepository.findEscalationCandidates()) {
+                schedule((Integer) row[0], (LocalDate) row[1]);
+            }
+            log.info("Escalation scheduler seeded with {} open deadlines", current.size());
+        } catch (DataAccessException ex) {
+            // keep running: create/update/assign will still feed the queue
+            log.warn("Could not seed escalation scheduler: {}", ex.getMessage());
+        }
+
+        Thread t = new Thread(this::run, "escalation-scheduler");
+        t.setDaemon(true);
+        worker = t;
+        t.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread t = worker;
+        worker = null;
+        if (t != null) {
+            t.interrupt();
+        }
+    }
+
+    // Call after any change that can move or clear a deadline (update / assign).
+    public void reschedule(Complaint c) {
+        boolean open = !"Resolved".equals(c.getStatus());
+        boolean escalated = Boolean.TRUE.equals(c.getIsEscalated());
+
+        if (open && !escalated && c.getDeadlineIso() != null) {
+            schedule(c.getId(), c.getDeadlineIso());
+        } else {
+            cancel(c.getId());
+        }
+    }
+
+    public void cancel(Integer id) {
+        current.remove(id);
+    }
+
+    // number of complaints currently waiting on a deadline
+    public int pending() {
+        return current.size();
+    }
+
+    private void schedule(Integer id, LocalDate deadline) {
+        long fireAt = deadline.atStartOfDay(zone).toInstant().toEpochMilli();
+        Long previous = current.put(id, fireAt);
+        if (previous == null || previous != fireAt) {
+            queue.put(new Entry(id, fireAt));
+        }
+    }
+
+    private void run() {
+        List<Entry> due = new ArrayList<>(MAX_BATCH);
+
+        while (worker == Thread.currentThread()) {
+            try {
+                due.add(queue.take());
+                queue.drainTo(due, MAX_BATCH - 1);
+                escalate(due);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                due.clear();
+            }
+        }
+    }
+
+    private void escalate(List<Entry> due) {
+        List<Integer> ids = new ArrayList<>(due.size());
+        for (Entry e : due) {
+            // skip entries superseded by a reschedule or cancel
+            if (current.remove(e.id(), e.fireAt())) {
+                ids.add(e.id());
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        try {
+            // the ESCALATED events (history) are written in the same transaction
+            List<Integer> escalated = outbox.markEscalated(ids, LocalDate.now(zone));
+            complaintCache.onUpdatedInBulk(ids);
+            log.info("Escalated {} complaint(s) past their deadline", escalated.size());
+        } catch (DataAccessException ex) {
+            log.warn("Escalation batch of {} failed, retrying in {} ms: {}",
+                    ids.size(), RETRY_DELAY_MS, ex.getMessage());
+            retryLater(ids);
+        } catch (RuntimeException ex) {
+            // anything else (cache) must not end the worker thread; markEscalated
+            // re-checks every row, so running the batch again is harmless
+            log.error("Escalation batch of {} failed, retrying in {} ms", ids.size(), RETRY_DELAY_MS, ex);
+            retryLater(ids);
+        }
+    }
+
+    private void retryLater(List<Integer> ids) {
+        long retryAt = System.currentTimeMillis() + RETRY_DELAY_MS;
+        for (Integer id : ids) {
+            if (current.putIfAbsent(id, retryAt) == null) {
+                queue.put(new Entry(id, retryAt));
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.dto.Notification;
+import com.resolveit.resolveit_backend.model.User;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Server-Sent Events fan-out for complaint notifications.
+ *
+ * Every open stream subscribes to its role topic ("role:OFFICER") and to its user
+ * topic ("user:ravi", by username, lower-cased). Not by display name: that is free
+ * text chosen at sign-up and not unique, so anyone could pick somebody else's. Streams are servlet async requests, so an idle connection
+ * holds no thread – only its emitter and a small buffer.
+ *
+ * Publishing never blocks the caller: the event is offered to each subscriber's
+ * bounded buffer (oldest entry dropped when full) and a shared sender pool drains
+ * it. At most one drain task is queued per subscriber, so the pool's work queue is
+ * bounded by the number of connections.
+ */
+@Service
+public class NotificationHub {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationHub.class);
+
+    static final int BUFFER_SIZE = 32;
+
+    private static final long STREAM_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(30);
+    private static final long HEARTBEAT_SECONDS = 25;
+    private static final int SENDER_THREADS = 4;
+
+    private final Map<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    private final ExecutorService senders = Executors.newFixedThreadPool(SENDER_THREADS, daemon("notification-sender"));
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(daemon("notification-heartbeat"));
+
+    public NotificationHub() {
+        // comment lines keep proxies from closing idle streams and surface dead clients
+        heartbeat.scheduleAtFixedRate(this::heartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /* ==========================================================
+       Topics
+    ========================================================== */
+    public static String roleTopic(String role) {
+        return "role:" + role.trim().toUpperCase(Locale.ROOT);
+    }
+
+    // null for blank names and the "Not assigned" placeholder, which nobody listens on
+    public static String userTopic(String name) {
+        if (name == null || name.isBlank() || "Not assigned".equalsIgnoreCase(name.trim())) {
+            return null;
+        }
+        return "user:" + name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> topicsFor(User user) {
+        Set<String> result = new LinkedHashSet<>();
+        String role = user.getRole();
+        result.add(roleTopic(role == null || role.isBlank() ? "CITIZEN" : role));
+
+        String topic = userTopic(user.getUsername());
+        if (topic != null) {
+            result.add(topic);
+        }
+        return result;
+    }
+
+    /* ==========================================================
+       Subscribe
+    ========================================================== */
+    public SseEmitter subscribe(User user) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        register(emitter, topicsFor(user));
+        return emitter;
+    }
+
+    Subscriber register(SseEmitter emitter, Set<String> topicNames) {
+        Subscriber s = new Subscriber(emitter, topicNames);
+
+        emitter.onCompletion(() -> remove(s));
+        emitter.onError(ex -> remove(s));
+        emitter.onTimeout(() -> {
+            // EventSource reconnects on its own after a clean close
+            remove(s);
+            emitter.complete();
+        });
+
+        subscribers.add(s);
+        for (String topic : topicNames) {
+            topics.computeIfAbsent(topic, t -> ConcurrentHashMap.newKeySet()).add(s);
+        }
+        return s;
+    }
+
+    private void remove(Subscriber s) {
+        if (!s.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.remove(s);
+        for (String topic : s.topics) {
+            topics.computeIfPresent(topic, (t, set) -> {
+                set.remove(s);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        s.buffer.clear();
+    }
+
+    /* ==========================================================
+       Publish
+    ========================================================== */
+
+    // null topics are ignored; a subscriber on several of the topics gets the event once
+    public void publish(String type, Integer complaintId, String message, String... topicNames) {
+        Set<Subscriber> targets = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (String topic : topicNames) {
+            if (topic != null) {
+                targets.addAll(topics.getOrDefault(topic, Set.of()));
+            }
+        }
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        Notification n = new Notification(sequence.incrementAndGet(), type, complaintId, message, LocalDateTime.now());
+        for (Subscriber s : targets) {
+            while (!s.buffer.offer(n)) {
+                // slow consumer: keep the newest events, count what we lose
+                if (s.buffer.poll() != null) {
+                    dropped.increment();
+                }
+            }
+            schedule(s);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    /* ==========================================================
+       Delivery
+    ========================================================== */
+    private void schedule(Subscriber s) {
+        if (!s.closed.get() && s.scheduled.compareAndSet(false, true)) {
+            senders.execute(() -> drain(s));
+        }
+    }
+
+    private void drain(Subscriber s) {
+        try {
+            Notification n;
+            while (!s.closed.get() && (n = s.buffer.poll()) != null) {
+                s.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(n.getId()))
+                        .name("notification")
+                        .data(n, MediaType.APPLICATION_JSON));
+            }
+            if (s.heartbeatDue.getAndSet(false) && !s.closed.get()) {
+                s.emitter.send(SseEmitter.event().comment("ping"));
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // client went away or the emitter already completed
+            log.debug("Dropping notification stream: {}", ex.getMessage());
+            remove(s);
+        } finally {
+            s.scheduled.set(false);
+            if (!s.buffer.isEmpty() || s.heartbeatDue.get()) {
+                schedule(s);
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber s : subscribers) {
+            s.heartbeatDue.set(true);
+            schedule(s);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeat.shutdownNow();
+        senders.shutdownNow();
+        for (Subscriber s : subscribers) {
+            remove(s);
+            s.emitter.complete();
+        }
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /* ==========================================================
+       One open stream
+    ========================================================== */
+    static final class Subscriber {
+
+        final SseEmitter emitter;
+        final Set<String> topics;
+        final ArrayBlockingQueue<Notification> buffer = new ArrayBlockingQueue<>(BUFFER_SIZE);
+
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, Set<String> topics) {
+            this.emitter = emitter;
+            this.topics = topics;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.dto.OfficerLoad;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.model.User;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import com.resolveit.resolveit_backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Live per-officer workload and the auto-assignment of new complaints.
+ *
+ * Seeded from the officer roster (users with role OFFICER) and the same GROUP BY
+ * as the dashboard stats, then kept current through the same hooks as
+ * ComplaintStatsService. Officers sit in sorted sets, one per category they take
+ * plus one for officers who take any category, ordered by AssignmentPolicy score:
+ * picking the least loaded candidate and re-sorting them afterwards is O(log n).
+ *
+ * Loads are kept for every assignee, officer or not, so an officer who signs up
+ * after complaints were already assigned to their username starts with those.
+ */
+@Service
+public class OfficerWorkloadIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(OfficerWorkloadIndex.class);
+
+    public static final String UNASSIGNED = "Not assigned";
+    static final String OFFICER = "OFFICER";
+
+    private static final Comparator<Officer> BY_SCORE =
+            Comparator.comparingLong((Officer o) -> o.score).thenComparing(o -> o.username);
+
+    private final ComplaintRepository complaintRepository;
+    private final UserRepository userRepository;
+    private final AssignmentPolicy policy;
+    private final boolean autoAssign;
+
+    private final Map<String, Officer> byUsername = new HashMap<>();
+    // lower-cased category -> officers taking it; officers without categories take any
+    private final Map<String, TreeSet<Officer>> specialists = new HashMap<>();
+    private final TreeSet<Officer> generalists = new TreeSet<>(BY_SCORE);
+
+    // overdue counts (and so the scores) are per day
+    private LocalDate scoredOn;
+    private boolean loaded;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public OfficerWorkloadIndex(ComplaintRepository complaintRepository,
+                                UserRepository userRepository,
+                                AssignmentPolicy policy,
+                                @Value("${resolveit.assign.auto:false}") boolean autoAssign) {
+        this.complaintRepository = complaintRepository;
+        this.userRepository = userRepository;
+        this.policy = policy;
+        this.autoAssign = autoAssign;
+    }
+
+    /* ==========================================================
+       One assignee: open complaints by priority and by deadline day
+    ========================================================== */
+    private static final class Officer {
+
+        final String username;
+        List<String> categories = List.of();
+        boolean eligible;           // a user with role OFFICER
+
+        int high;
+        int medium;
+        int low;
+        final TreeMap<LocalDate, Integer> openByDeadline = new TreeMap<>();
+        long score;
+
+        Officer(String username) {
+            this.username = username;
+        }
+
+        void add(ComplaintStatsService.Key key, int delta) {
+            switch (key.priority() != null ? key.priority() : "") {
+                case "High" -> high += delta;
+                case "Low" -> low += delta;
+                default -> medium += delta;
+            }
+            if (key.deadlineIso() != null) {
+                openByDeadline.merge(key.deadlineIso(), delta, (a, b) -> a + b == 0 ? null : a + b);
+            }
+        }
+
+        OfficerLoad load(LocalDate today) {
+            int overdue = 0;
+            for (int n : openByDeadline.headMap(today, true).values()) {
+                overdue += n;
+            }
+            return new OfficerLoad(username, categories, high + medium + low, high, medium, low, overdue);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        try {
+            rebuild();
+        } catch (DataAccessException ex) {
+            // DB not reachable yet – the first assignment retries
+            log.warn("Could not seed officer workloads at startup: {}", ex.getMessage());
+        }
+    }
+
+    public void rebuild() {
+        lock.lock();
+        try {
+            List<User> officers = userRepository.findByRole(OFFICER);
+            List<Object[]> rows = complaintRepository.countByStatsKey();
+
+            byUsername.clear();
+            specialists.clear();
+            generalists.clear();
+            scoredOn = LocalDate.now();
+
+            for (Object[] row : rows) {
+                ComplaintStatsService.Key key = new ComplaintStatsService.Key((String) row[0], (String) row[1],
+                        (String) row[2], (String) row[3], (LocalDate) row[4]);
+                if (key.isOpen() && key.assignee() != null) {
+                    officer(key.assignee()).add(key, ((Long) row[5]).intValue());
+                }
+            }
+            for (User user : officers) {
+                Officer o = officer(user.getUsername());
+                o.eligible = true;
+                o.categories = parseCategories(user.getCategories());
+            }
+            for (Officer o : byUsername.values()) {
+                o.score = policy.score(o.load(scoredOn));
+                enlist(o);
+            }
+            loaded = true;
+            log.info("Officer workload index: {} officer(s), {} assignee(s)", officers.size(), byUsername.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* ==========================================================
+       Auto-assignment
+    ========================================================== */
+
+    // Sets the assignee of a new (unsaved) complaint and counts it against them.
+    // false = auto-assignment is off or nobody takes the category; the complaint stays unassigned.
+    // If the complaint is then not saved, hand it back with onDeleted(Key.of(c)).
+    public boolean assign(Complaint c) {
+        lock.lock();
+        try {
+            if (!autoAssign) {
+                return false;
+            }
+            prepare();
+
+            Officer best = leastLoaded(c.getCategory());
+            if (best == null) {
+                return false;
+            }
+            c.setAssignedStaff(best.username);
+            apply(ComplaintStatsService.Key.of(c), 1);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Officer leastLoaded(String category) {
+        Officer best = generalists.isEmpty() ? null : generalists.first();
+        TreeSet<Officer> pool = category != null ? specialists.get(normalise(category)) : null;
+        if (pool != null && !pool.isEmpty()) {
+            Officer specialist = pool.first();
+            if (best == null || BY_SCORE.compare(specialist, best) < 0) {
+                best = specialist;
+            }
+        }
+        return best;
+    }
+
+    /* ==========================================================
+       Hooks (same call sites as ComplaintStatsService)
+    ========================================================== */
+
+    public void onChanged(ComplaintStatsService.Key before, Complaint after) {
+        lock.lock();
+        try {
+            ComplaintStatsService.Key now = ComplaintStatsService.Key.of(after);
+            if (!now.equals(before)) {
+                apply(before, -1);
+                apply(now, 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void onDeleted(ComplaintStatsService.Key before) {
+        lock.lock();
+        try {
+            apply(before, -1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // sign-up or change of an officer: (re)enter the pools of their categories
+    public void onUserSaved(User user) {
+        lock.lock();
+        try {
+            if (!loaded || !OFFICER.equals(user.getRole())) {
+                return;
+            }
+            Officer o = officer(user.getUsername());
+            delist(o);
+            o.eligible = true;
+            o.categories = parseCategories(user.getCategories());
+            enlist(o);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // officers in assignment order (least loaded first)
+    public List<OfficerLoad> snapshot() {
+        lock.lock();
+        try {
+            prepare();
+            TreeSet<Officer> sorted = new TreeSet<>(BY_SCORE);
+            for (Officer o : byUsername.values()) {
+                if (o.eligible) {
+                    sorted.add(o);
+                }
+            }
+            List<OfficerLoad> loads = new ArrayList<>(sorted.size());
+            for (Officer o : sorted) {
+                loads.add(o.load(scoredOn));
+            }
+            return loads;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* ==========================================================
+       Internal bookkeeping (callers hold the lock)
+    ========================================================== */
+
+    private void prepare() {
+        if (!loaded) {
+            rebuild();
+            return;
+        }
+        // deadlines that passed overnight change the scores: re-sort everybody once a day
+        LocalDate today = LocalDate.now();
+        if (!today.equals(scoredOn)) {
+            scoredOn = today;
+            for (Officer o : byUsername.values()) {
+                delist(o);
+                o.score = policy.score(o.load(today));
+                enlist(o);
+            }
+        }
+    }
+
+    private void apply(ComplaintStatsService.Key key, int delta) {
+        if (!loaded || !key.isOpen() || key.assignee() == null || UNASSIGNED.equals(key.assignee())) {
+            return;
+        }
+        Officer o = officer(key.assignee());
+        delist(o);
+        o.add(key, delta);
+        o.score = policy.score(o.load(scoredOn));
+        enlist(o);
+    }
+
+    private Officer officer(String username) {
+        return byUsername.computeIfAbsent(username, Officer::new);
+    }
+
+    // the score is part of the sort key: leave the sets before changing it
+    private void delist(Officer o) {
+        if (!o.eligible) {
+            return;
+        }
+        if (o.categories.isEmpty()) {
+            generalists.remove(o);
+        }
+        for (String category : o.categories) {
+            specialists.get(category).remove(o);
+        }
+    }
+
+    private void enlist(Officer o) {
+        if (!o.eligible) {
+            return;
+        }
+        if (o.categories.isEmpty()) {
+            generalists.add(o);
+        }
+        for (String category : o.categories) {
+            specialists.computeIfAbsent(category, k -> new TreeSet<>(BY_SCORE)).add(o);
+        }
+    }
+
+    static List<String> parseCategories(String categories) {
+        if (categories == null || categories.isBlank()) {
+            return List.of();
+        }
+        Set<String> parsed = new LinkedHashSet<>();
+        Arrays.stream(categories.split(","))
+                .map(OfficerWorkloadIndex::normalise)
+                .filter(s -> !s.isEmpty())
+                .forEach(parsed::add);
+        return List.copyOf(parsed);
+    }
+
+    private static String normalise(String category) {
+        return category.trim().toLowerCase(Locale.ROOT);
+    }
+}
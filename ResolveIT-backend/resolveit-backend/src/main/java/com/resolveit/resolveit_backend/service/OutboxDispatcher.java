@@ -0,0 +1,259 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resolveit.resolveit_backend.dto.LifecycleEvent;
+import com.resolveit.resolveit_backend.model.OutboxEvent;
+import com.resolveit.resolveit_backend.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers the events ComplaintOutbox wrote to every ComplaintLifecycleListener bean.
+ *
+ * One worker thread reads the outbox in id order, batchSize rows per SELECT, hands
+ * each event to the listeners, then deletes the delivered rows and stores the failed
+ * ones in one transaction per batch. It is woken right after a commit that wrote
+ * events and otherwise polls every pollMs.
+ *
+ * At least once, in order per complaint only: ids are assigned on insert, not on
+ * commit, so two complaints' events can commit out of id order, but the complaint's
+ * row lock keeps one complaint's writers in line. A row is only deleted after every
+ * listener took it, so a crash in between delivers it again. An event that fails is
+ * retried with exponential backoff and holds back the later events of its complaint
+ * (and only those) until then; after maxAttempts it is marked failed (kept in the table, logged) and the
+ * complaint's events flow again.
+ *
+ * Meant for a single dispatching instance; several would each deliver every event,
+ * so the others run with resolveit.outbox.dispatch=false.
+ */
+@Service
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final TypeReference<Map<String, Object>> PAYLOAD = new TypeReference<>() {
+    };
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectProvider<ComplaintLifecycleListener> listenerProvider;
+    private final ObjectMapper mapper;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final long pollMs;
+    private final int maxAttempts;
+    private final long retryMs;
+    private final boolean enabled;
+
+    private final Map<LifecycleEvent.Type, Timer> deliveryLag = new EnumMap<>(LifecycleEvent.Type.class);
+    private final Counter retries;
+    private final Counter failed;
+
+    private final Semaphore wakeUp = new Semaphore(0);
+    private volatile List<ComplaintLifecycleListener> listeners = List.of();
+    private volatile Thread worker;
+
+    public OutboxDispatcher(OutboxRepository outboxRepository,
+                            ObjectProvider<ComplaintLifecycleListener> listenerProvider,
+                            ObjectMapper mapper,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry registry,
+                            @Value("${resolveit.outbox.batch-size:100}") int batchSize,
+                            @Value("${resolveit.outbox.poll-ms:1000}") long pollMs,
+                            @Value("${resolveit.outbox.max-attempts:8}") int maxAttempts,
+                            @Value("${resolveit.outbox.retry-ms:1000}") long retryMs,
+                            @Value("${resolveit.outbox.dispatch:true}") boolean enabled) {
+        this.outboxRepository = outboxRepository;
+        this.listenerProvider = listenerProvider;
+        this.mapper = mapper;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pollMs = pollMs;
+        this.maxAttempts = maxAttempts;
+        this.retryMs = retryMs;
+        this.enabled = enabled;
+
+        for (LifecycleEvent.Type type : LifecycleEvent.Type.values()) {
+            deliveryLag.put(type, Timer.builder("resolveit.outbox.delivery.lag")
+                    .description("Time from commit to delivery to all listeners")
+                    .tag("type", type.name())
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        this.retries = Counter.builder("resolveit.outbox.retries")
+                .description("Deliveries that failed and were rescheduled").register(registry);
+        this.failed = Counter.builder("resolveit.outbox.failed")
+                .description("Events given up on after the last attempt").register(registry);
+        Gauge.builder("resolveit.outbox.lag.seconds", this, d -> d.lagSeconds())
+                .description("Age of the oldest event not delivered yet").register(registry);
+        Gauge.builder("resolveit.outbox.pending", outboxRepository, r -> r.countByFailedAtIsNull())
+                .description("Events waiting for delivery").register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        listeners = listenerProvider.orderedStream().toList();
+        if (!enabled) {
+            // another instance dispatches (or tests call dispatchBatch themselves)
+            log.info("Outbox dispatch is off (resolveit.outbox.dispatch=false)");
+            return;
+        }
+        log.info("Outbox dispatcher started with {} listener(s)", listeners.size());
+
+        Thread t = new Thread(this::run, "outbox-dispatcher");
+        t.setDaemon(true);
+        worker = t;
+        t.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread t = worker;
+        worker = null;
+        if (t != null) {
+            t.interrupt();
+        }
+    }
+
+    // called after a commit that wrote events
+    public void wake() {
+        if (wakeUp.availablePermits() == 0) {
+            wakeUp.release();
+        }
+    }
+
+    private void run() {
+        while (worker == Thread.currentThread()) {
+            int delivered = 0;
+            try {
+                delivered = dispatchBatch();
+            } catch (DataAccessException | TransactionException ex) {
+                // DB unavailable: the rows are still there, try again on the next poll
+                log.warn("Outbox dispatch failed: {}", ex.getMessage());
+            } catch (RuntimeException ex) {
+                // never let one bad batch end the worker thread
+                log.error("Outbox dispatch failed", ex);
+            }
+            if (delivered == batchSize) {
+                continue;
+            }
+            try {
+                wakeUp.tryAcquire(pollMs, TimeUnit.MILLISECONDS);
+                wakeUp.drainPermits();
+            } catch (InterruptedException ex) {
+                return;
+            }
+        }
+    }
+
+    /* ==========================================================
+       One batch
+    ========================================================== */
+
+    // number of events delivered
+    public synchronized int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        // complaints waiting for a retry are not in it (see OutboxRepository.findDue)
+        List<OutboxEvent> batch = outboxRepository.findDue(now, Limit.of(batchSize));
+
+        List<Long> delivered = new ArrayList<>();
+        List<OutboxEvent> rescheduled = new ArrayList<>();
+        // complaints with an event that failed in this batch: the rest of theirs waits
+        Set<Integer> held = new HashSet<>();
+
+        for (OutboxEvent row : batch) {
+            if (held.contains(row.getComplaintId())) {
+                continue;
+            }
+
+            try {
+                // inside the try: a row that cannot be read (unknown type, bad payload) is
+                // retried and dead-lettered like any other failure
+                LifecycleEvent.Type type = LifecycleEvent.Type.valueOf(row.getEventType());
+                deliver(new LifecycleEvent(row.getId(), row.getComplaintId(), type, row.getCreatedAt(),
+                        row.getAttempts() + 1, mapper.readValue(row.getPayload(), PAYLOAD)));
+                delivered.add(row.getId());
+                deliveryLag.get(type).record(Duration.between(row.getCreatedAt(), LocalDateTime.now()));
+            } catch (Exception ex) {
+                if (reschedule(row, ex, now)) {
+                    held.add(row.getComplaintId());
+                }
+                rescheduled.add(row);
+            }
+        }
+
+        if (!delivered.isEmpty() || !rescheduled.isEmpty()) {
+            tx.executeWithoutResult(status -> {
+                outboxRepository.saveAll(rescheduled);
+                outboxRepository.deleteAllByIdInBatch(delivered);
+            });
+        }
+        return delivered.size();
+    }
+
+    private void deliver(LifecycleEvent event) throws Exception {
+        for (ComplaintLifecycleListener listener : listeners) {
+            listener.onEvent(event);
+        }
+    }
+
+    // true = will be retried, false = out of attempts
+    private boolean reschedule(OutboxEvent row, Exception ex, LocalDateTime now) {
+        int attempts = row.getAttempts() + 1;
+        row.setAttempts(attempts);
+        String error = String.valueOf(ex);
+        row.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+
+        if (attempts >= maxAttempts) {
+            row.setFailedAt(now);
+            failed.increment();
+            log.error("Giving up on {} event {} of complaint {} after {} attempts",
+                    row.getEventType(), row.getId(), row.getComplaintId(), attempts, ex);
+            return false;
+        }
+        Duration backoff = Duration.ofMillis(retryMs << Math.min(attempts - 1, 20));
+        row.setNextAttemptAt(now.plus(backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff));
+        retries.increment();
+        log.warn("{} event {} of complaint {} failed (attempt {}), retrying at {}: {}",
+                row.getEventType(), row.getId(), row.getComplaintId(), attempts, row.getNextAttemptAt(), error);
+        return true;
+    }
+
+    private double lagSeconds() {
+        LocalDateTime oldest = outboxRepository.findOldestPendingCreatedAt();
+        if (oldest == null) {
+            return 0;
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        return Math.max(0, System.currentTimeMillis() - oldest.atZone(zone).toInstant().toEpochMilli()) / 1000.0;
+    }
+}
@@ -0,0 +1,108 @@
+package com.resolveit.resolveit_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Password storage: PBKDF2-HMAC-SHA256 with a random salt per password and a
+ * tunable iteration count (resolveit.auth.hash-iterations), stored as
+ *
+ *   pbkdf2-sha256$<iterations>$<salt>$<hash>     (base64, no padding)
+ *
+ * so every stored value carries the cost it was made with. Raising the setting
+ * makes new hashes slower; existing ones are upgraded on their owner's next
+ * successful login (needsRehash). Accounts created before hashing still hold their
+ * password in plain text: they are accepted once and rehashed the same way.
+ */
+@Service
+public class PasswordHasher {
+
+    static final String SCHEME = "pbkdf2-sha256";
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    private static final Base64.Encoder B64 = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder B64_DECODER = Base64.getDecoder();
+
+    private final SecureRandom random = new SecureRandom();
+    private final int iterations;
+    // compared against when the username does not exist, so both answers take as long
+    private final String decoy;
+
+    public PasswordHasher(@Value("${resolveit.auth.hash-iterations:210000}") int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("resolveit.auth.hash-iterations must be positive");
+        }
+        this.iterations = iterations;
+        this.decoy = hash("decoy password");
+    }
+
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        return SCHEME + "$" + iterations + "$" + B64.encodeToString(salt) + "$"
+                + B64.encodeToString(pbkdf2(password, salt, iterations));
+    }
+
+    public boolean matches(String password, String stored) {
+        if (password == null || stored == null) {
+            return false;
+        }
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4 || !SCHEME.equals(parts[0])) {
+            // legacy plain-text password
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8),
+                    stored.getBytes(StandardCharsets.UTF_8));
+        }
+        try {
+            byte[] salt = B64_DECODER.decode(parts[2]);
+            byte[] expected = B64_DECODER.decode(parts[3]);
+            return MessageDigest.isEqual(expected, pbkdf2(password, salt, Integer.parseInt(parts[1])));
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    // burns the same time as a real check; for logins with an unknown username
+    public void matchDecoy(String password) {
+        matches(password, decoy);
+    }
+
+    // plain text, or hashed with fewer iterations than configured now
+    public boolean needsRehash(String stored) {
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4 || !SCHEME.equals(parts[0])) {
+            return true;
+        }
+        try {
+            return Integer.parseInt(parts[1]) < iterations;
+        } catch (NumberFormatException ex) {
+            return true;
+        }
+    }
+
+    public int iterations() {
+        return iterations;
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ALGORITHM + " is not available", ex);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per caller and endpoint class: every class has its own budget
+ * (burst capacity + refill rate), and every caller (user or IP, see RateLimitFilter)
+ * its own bucket per class, so a client looping on the CSV export runs dry there
+ * without losing its budget for ordinary reads.
+ *
+ * A bucket is a single AtomicLong – the time at which it would be full again
+ * (GCRA, the "virtual scheduling" form of a token bucket). Taking a token is one
+ * compare-and-set; no locks, nothing to refill in the background.
+ *
+ * Buckets live in a Caffeine cache bounded by maxKeys and dropped after idle
+ * without a request. idle is never shorter than the slowest refill, so a dropped
+ * bucket was full anyway and forgetting it changes nothing.
+ */
+public class RateLimiter {
+
+    public enum Endpoint {
+        // whole-table work: CSV export, bulk updates, search reindex
+        EXPORT,
+        // the admin listing (GET /api/complaints pages) and search
+        LIST,
+        // image uploads and queued ingestion
+        UPLOAD,
+        // sign-up and login: each one runs a password hash
+        LOGIN,
+        // everything else
+        DEFAULT;
+
+        public String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    // capacity = burst size; perSecond = sustained rate
+    public record Budget(int capacity, double perSecond) {
+
+        public Budget {
+            if (capacity < 1 || !(perSecond > 0)) {
+                throw new IllegalArgumentException("A rate limit needs a capacity >= 1 and a positive rate");
+            }
+        }
+
+        long intervalNanos() {
+            return Math.max(1, Math.round(1_000_000_000d / perSecond));
+        }
+
+        Duration refillTime() {
+            return Duration.ofNanos(intervalNanos() * capacity);
+        }
+    }
+
+    private record Key(Endpoint endpoint, String caller) {
+    }
+
+    private final Map<Endpoint, Budget> budgets;
+    private final Cache<Key, Bucket> buckets;
+    private final Ticker ticker;
+
+    private final Map<Endpoint, Counter> allowed = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Counter> rejected = new EnumMap<>(Endpoint.class);
+
+    public RateLimiter(Map<Endpoint, Budget> budgets, long maxKeys, Duration idle, MeterRegistry registry) {
+        this(budgets, maxKeys, idle, registry, Ticker.systemTicker());
+    }
+
+    RateLimiter(Map<Endpoint, Budget> budgets, long maxKeys, Duration idle, MeterRegistry registry, Ticker ticker) {
+        for (Endpoint endpoint : Endpoint.values()) {
+            if (!budgets.containsKey(endpoint)) {
+                throw new IllegalArgumentException("No rate limit for " + endpoint);
+            }
+        }
+        this.budgets = new EnumMap<>(budgets);
+        this.ticker = ticker;
+
+        Duration keep = idle;
+        for (Budget budget : budgets.values()) {
+            if (budget.refillTime().compareTo(keep) > 0) {
+                keep = budget.refillTime();
+            }
+        }
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(keep)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            allowed.put(endpoint, Counter.builder("resolveit.ratelimit.requests")
+                    .description("Requests checked against the rate limits")
+                    .tag("endpoint", endpoint.tag()).tag("outcome", "allowed")
+                    .register(registry));
+            rejected.put(endpoint, Counter.builder("resolveit.ratelimit.requests")
+                    .description("Requests checked against the rate limits")
+                    .tag("endpoint", endpoint.tag()).tag("outcome", "rejected")
+                    .register(registry));
+        }
+        Gauge.builder("resolveit.ratelimit.keys", buckets, Cache::estimatedSize)
+                .description("Caller / endpoint buckets held in memory").register(registry);
+        FunctionCounter.builder("resolveit.ratelimit.evictions", buckets, c -> c.stats().evictionCount())
+                .description("Buckets dropped for being idle or over the key limit").register(registry);
+    }
+
+    /**
+     * Takes a token from the caller's bucket for this endpoint class.
+     * Returns 0 when the request may go ahead, otherwise the nanoseconds until it would.
+     */
+    public long tryAcquire(Endpoint endpoint, String caller) {
+        Budget budget = budgets.get(endpoint);
+        long now = ticker.read();
+        Bucket bucket = buckets.get(new Key(endpoint, caller), k -> new Bucket(now));
+        long wait = bucket.take(now, budget.intervalNanos(), budget.capacity());
+        (wait == 0 ? allowed : rejected).get(endpoint).increment();
+        return wait;
+    }
+
+    // Caffeine expires lazily and in the background; tests want it done now
+    void cleanUp() {
+        buckets.cleanUp();
+    }
+
+    static final class Bucket {
+
+        // when the bucket is full again; "now" or earlier = full
+        private final AtomicLong fullAt;
+
+        Bucket(long now) {
+            this.fullAt = new AtomicLong(now);
+        }
+
+        long take(long now, long interval, int capacity) {
+            long burst = interval * capacity;
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current, now) + interval;
+                long over = next - now - burst;
+                if (over > 0) {
+                    return over;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.storage.ImageStore;
+import com.resolveit.resolveit_backend.storage.StoredImage;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Downscaled JPEG renditions of complaint / resolution images.
+ *
+ * Uploads queue their renditions on a small bounded background pool right after
+ * they are stored (dropped when the queue is full). A request for a rendition that
+ * does not exist yet – older files, or a dropped job – renders it on the request
+ * thread when one of ON_DEMAND_PERMITS is free, and queues it on the pool otherwise;
+ * concurrent requests for the same rendition share one job. A request thread never
+ * waits longer than WAIT_MS for someone else's job.
+ *
+ * Sources that cannot be thumbnailed (not decodable, already small) are served as
+ * the original for good, and that is remembered. A rendition that is merely not
+ * there yet – busy, timed out, or failed on an I/O error – is served as the original
+ * for now ({@link Rendition#temporary()}) and tried again on the next request.
+ */
+@Service
+public class ThumbnailService {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailService.class);
+
+    private static final int WORKERS = 2;
+    private static final int QUEUE_SIZE = 64;
+    private static final int ON_DEMAND_PERMITS = 2;
+    private static final long WAIT_MS = 1_000;
+    private static final int INDEX_SIZE = 20_000;
+    private static final float JPEG_QUALITY = 0.8f;
+
+    public enum Size {
+        THUMB(240),
+        MEDIUM(800);
+
+        final int maxEdge;
+
+        Size(int maxEdge) {
+            this.maxEdge = maxEdge;
+        }
+
+        // "original" (or nothing) -> null; unknown names -> IllegalArgumentException
+        public static Size parse(String value) {
+            if (value == null || value.isBlank() || "original".equalsIgnoreCase(value)) {
+                return null;
+            }
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+
+        String variant() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * What to serve for a ?size= request.
+     *
+     * @param image     the rendition, or the original in its place (ETag tagged with the variant)
+     * @param temporary true when the original only stands in until the rendition exists:
+     *                  not to be cached for long
+     */
+    public record Rendition(StoredImage image, boolean temporary) {
+    }
+
+    private final ImageStore imageStore;
+
+    // each job decodes a full image, so memory scales with WORKERS + ON_DEMAND_PERMITS
+    private final ThreadPoolExecutor workers;
+    private final Semaphore onDemand = new Semaphore(ON_DEMAND_PERMITS);
+
+    private final Map<String, CompletableFuture<Optional<StoredImage>>> inFlight = new ConcurrentHashMap<>();
+
+    // rendition key -> result, including "no rendition" (Optional.empty) for unsupported sources;
+    // failures are not kept
+    private final Map<String, Optional<StoredImage>> done = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Optional<StoredImage>> eldest) {
+                    return size() > INDEX_SIZE;
+                }
+            });
+
+    public ThumbnailService(ImageStore imageStore) {
+        this.imageStore = imageStore;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(WORKERS, WORKERS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_SIZE), r -> {
+                    Thread t = new Thread(r, "thumbnail-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    // after an upload: produce every rendition in the background
+    public void generateAsync(StoredImage source) {
+        for (Size size : Size.values()) {
+            String key = keyOf(source, size);
+            if (done.containsKey(key)) {
+                continue;
+            }
+
+            CompletableFuture<Optional<StoredImage>> job = new CompletableFuture<>();
+            if (inFlight.putIfAbsent(key, job) == null) {
+                // dropped when the queue is full: the first request for it renders it then
+                submit(job, source, size, key);
+            }
+        }
+    }
+
+    // what to serve for a request; never blocks for more than WAIT_MS
+    public Rendition rendition(StoredImage source, Size size) {
+        String key = keyOf(source, size);
+
+        Optional<StoredImage> known = done.get(key);
+        if (known != null) {
+            return settled(known, source, size);
+        }
+
+        CompletableFuture<Optional<StoredImage>> job = new CompletableFuture<>();
+        CompletableFuture<Optional<StoredImage>> running = inFlight.putIfAbsent(key, job);
+        if (running == null) {
+            running = job;
+            if (onDemand.tryAcquire()) {
+                try {
+                    run(job, source, size, key);
+                } finally {
+                    onDemand.release();
+                }
+            } else if (!submit(job, source, size, key)) {
+                return stopGap(source, size);
+            }
+        }
+
+        try {
+            return settled(running.get(WAIT_MS, TimeUnit.MILLISECONDS), source, size);
+        } catch (TimeoutException | ExecutionException ex) {
+            return stopGap(source, size);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return stopGap(source, size);
+        }
+    }
+
+    // false when the queue is full; the job is then dropped (completed as failed)
+    private boolean submit(CompletableFuture<Optional<StoredImage>> job, StoredImage source, Size size, String key) {
+        try {
+            workers.execute(() -> run(job, source, size, key));
+            return true;
+        } catch (RejectedExecutionException ex) {
+            log.debug("Thumbnail queue full, skipping {}", key);
+            inFlight.remove(key, job);
+            job.completeExceptionally(ex);
+            return false;
+        }
+    }
+
+    private void run(CompletableFuture<Optional<StoredImage>> job, StoredImage source, Size size, String key) {
+        try {
+            Optional<StoredImage> result = generate(source, size, key);
+            done.put(key, result);
+            job.complete(result);
+        } catch (IOException | RuntimeException ex) {
+            // not remembered: the next request for it tries again
+            log.warn("Thumbnail {} failed: {}", key, ex.getMessage());
+            job.completeExceptionally(ex);
+        } finally {
+            inFlight.remove(key, job);
+        }
+    }
+
+    // empty = the source cannot be thumbnailed
+    private Optional<StoredImage> generate(StoredImage source, Size size, String key) throws IOException {
+        // rendered before (earlier run, or the same file uploaded again)
+        Optional<StoredImage> existing = imageStore.find(key, "image/jpeg");
+        if (existing.isPresent()) {
+            return existing;
+        }
+
+        byte[] jpeg = render(source, size.maxEdge);
+        if (jpeg == null) {
+            return Optional.empty();
+        }
+        return Optional.of(imageStore.put(key, jpeg, "image/jpeg"));
+    }
+
+    // the rendition, or the original for good
+    private static Rendition settled(Optional<StoredImage> rendition, StoredImage source, Size size) {
+        return rendition.map(r -> new Rendition(r, false))
+                .orElseGet(() -> new Rendition(standIn(source, size), false));
+    }
+
+    // the original until the rendition exists
+    private static Rendition stopGap(StoredImage source, Size size) {
+        return new Rendition(standIn(source, size), true);
+    }
+
+    // the original's bytes under an ETag of its own, so caches never mix it up with the rendition
+    private static StoredImage standIn(StoredImage source, Size size) {
+        return new StoredImage(source.key(), source.contentType(), source.size(),
+                source.etag() + "-" + size.variant() + "-original", source.resource());
+    }
+
+    // null when the source is not decodable or is already small enough;
+    // IOException only for trouble reading the stored file
+    static byte[] render(StoredImage source, int maxEdge) throws IOException {
+        try (InputStream in = source.resource().getInputStream();
+             ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            if (iis == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            BufferedImage decoded;
+            try {
+                reader.setInput(iis, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (Math.max(width, height) <= maxEdge) {
+                    return null;
+                }
+
+                // let the decoder skip pixels first: never hold much more than 2x the target
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, Math.max(width, height) / (maxEdge * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                decoded = reader.read(0, param);
+            } catch (IIOException ex) {
+                // the decoder gave up on the content: corrupt or unsupported variant
+                return null;
+            } finally {
+                reader.dispose();
+            }
+
+            return encodeJpeg(scale(decoded, maxEdge));
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage src, int maxEdge) {
+        double ratio = (double) maxEdge / Math.max(src.getWidth(), src.getHeight());
+        int w = Math.max(1, (int) Math.round(src.getWidth() * Math.min(1.0, ratio)));
+        int h = Math.max(1, (int) Math.round(src.getHeight() * Math.min(1.0, ratio)));
+
+        BufferedImage out = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            // JPEG has no alpha: flatten transparent PNG / GIF onto white
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, w, h);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(src, 0, 0, w, h, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    // renditions hang off the source's content hash, so re-uploads of the same file share them
+    static String keyOf(StoredImage source, Size size) {
+        return source.etag() + "-" + size.variant() + ".jpg";
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,261 @@
+package com.resolveit.resolveit_backend.storage;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Images on the local disk under ${resolveit.images.dir} (default "uploads").
+ *
+ * New uploads are streamed to a staging file while being hashed, then moved to
+ * {@code <root>/<first 2 hex>/<sha256>.<ext>}. Keys that are not hashes are the
+ * timestamp / resolution_<id> names written before this store existed; they are
+ * still served from their old location.
+ */
+@Component
+public class FileSystemImageStore implements ImageStore {
+
+    // <sha256>.<ext> for uploads, <sha256>-<variant>.<ext> for renditions derived from them
+    private static final Pattern HASHED_KEY = Pattern.compile("[0-9a-f]{64}(-[a-z0-9]+)?\\.[a-z0-9]+");
+
+    static final String OCTET_STREAM = "application/octet-stream";
+
+    // raster types only – anything else (svg, html, ...) is never served as active content
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/gif", "gif",
+            "image/webp", "webp",
+            "image/bmp", "bmp",
+            OCTET_STREAM, "bin"
+    );
+
+    private final Path root;
+    private final Path staging;
+
+    // bytes written per image and time spent on the disk, by kind (upload / rendition)
+    private final DistributionSummary uploadBytes;
+    private final DistributionSummary renditionBytes;
+    private final Timer uploadWrites;
+    private final Timer renditionWrites;
+    private final Timer lookups;
+
+    public FileSystemImageStore(String dir) throws IOException {
+        this(dir, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public FileSystemImageStore(@Value("${resolveit.images.dir:uploads}") String dir, MeterRegistry registry) throws IOException {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        this.staging = root.resolve(".staging");
+        Files.createDirectories(staging);
+
+        this.uploadBytes = bytes(registry, "upload");
+        this.renditionBytes = bytes(registry, "rendition");
+        this.uploadWrites = diskTimer(registry, "write", "upload");
+        this.renditionWrites = diskTimer(registry, "write", "rendition");
+        this.lookups = diskTimer(registry, "lookup", "any");
+    }
+
+    private static DistributionSummary bytes(MeterRegistry registry, String kind) {
+        return DistributionSummary.builder("resolveit.images.stored")
+                .description("Size of images written to disk")
+                .baseUnit("bytes")
+                .tag("kind", kind)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1_024.0)
+                .maximumExpectedValue(16.0 * 1024 * 1024)
+                .register(registry);
+    }
+
+    private static Timer diskTimer(MeterRegistry registry, String operation, String kind) {
+        return Timer.builder("resolveit.images.disk")
+                .description("Time spent on image files: streaming, hashing and moving into place, or stat on lookup")
+                .tag("operation", operation)
+                .tag("kind", kind)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    public StoredImage save(InputStream in, String contentType) throws IOException {
+        long start = System.nanoTime();
+        StoredImage stored = store(in, contentType);
+        uploadWrites.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        uploadBytes.record(stored.size());
+        return stored;
+    }
+
+    private StoredImage store(InputStream in, String contentType) throws IOException {
+        String type = normalise(contentType);
+        MessageDigest sha256 = sha256();
+
+        Path tmp = Files.createTempFile(staging, "upload-", ".part");
+        try {
+            long size;
+            try (InputStream digesting = new DigestInputStream(in, sha256)) {
+                size = Files.copy(digesting, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String hash = HexFormat.of().formatHex(sha256.digest());
+            String key = hash + "." + EXTENSIONS.get(type);
+            Path target = hashedPath(key);
+
+            // same bytes already stored: keep the existing file
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException ex) {
+                    Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            return new StoredImage(key, type, size, hash, new FileSystemResource(target));
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public StoredImage put(String key, byte[] data, String contentType) throws IOException {
+        if (!HASHED_KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Not a content key: " + key);
+        }
+
+        long start = System.nanoTime();
+        Path target = hashedPath(key);
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(staging, "rendition-", ".part");
+        try {
+            Files.write(tmp, data);
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        renditionWrites.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        renditionBytes.record(data.length);
+        return new StoredImage(key, contentType, data.length, etagOf(key), new FileSystemResource(target));
+    }
+
+    @Override
+    public Optional<StoredImage> find(String key, String contentType) throws IOException {
+        if (key == null || key.isBlank()) {
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        try {
+            boolean hashed = HASHED_KEY.matcher(key).matches();
+            Path file = hashed ? hashedPath(key) : legacyPath(key);
+            if (file == null || !Files.isRegularFile(file)) {
+                return Optional.empty();
+            }
+
+            String type = contentType != null ? contentType : detect(file);
+            String etag = hashed ? etagOf(key) : hash(file);
+            return Optional.of(new StoredImage(key, type, Files.size(file), etag, new FileSystemResource(file)));
+        } finally {
+            lookups.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // the key without its extension: the upload's hash, plus the variant for renditions
+    private static String etagOf(String key) {
+        return key.substring(0, key.lastIndexOf('.'));
+    }
+
+    private Path hashedPath(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    // old names are relative to the root; never let a key escape it
+    private Path legacyPath(String key) {
+        Path file = root.resolve(key).normalize();
+        return file.startsWith(root) && !file.startsWith(staging) ? file : null;
+    }
+
+    static String normalise(String contentType) {
+        if (contentType == null) {
+            return OCTET_STREAM;
+        }
+        String type = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        if ("image/jpg".equals(type) || "image/pjpeg".equals(type)) {
+            type = "image/jpeg";
+        }
+        return EXTENSIONS.containsKey(type) ? type : OCTET_STREAM;
+    }
+
+    // legacy files only: by name first, then by magic number
+    private static String detect(Path file) throws IOException {
+        String probed = Files.probeContentType(file);
+        if (probed != null && !OCTET_STREAM.equals(normalise(probed))) {
+            return normalise(probed);
+        }
+
+        byte[] head = new byte[12];
+        int n;
+        try (InputStream in = Files.newInputStream(file)) {
+            n = in.readNBytes(head, 0, head.length);
+        }
+        if (n >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (n >= 4 && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G') {
+            return "image/png";
+        }
+        if (n >= 4 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8') {
+            return "image/gif";
+        }
+        if (n >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return "image/webp";
+        }
+        if (n >= 2 && head[0] == 'B' && head[1] == 'M') {
+            return "image/bmp";
+        }
+        return OCTET_STREAM;
+    }
+
+    private static String hash(Path file) throws IOException {
+        MessageDigest sha256 = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), sha256)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
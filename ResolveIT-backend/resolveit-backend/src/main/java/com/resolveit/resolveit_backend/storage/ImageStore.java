@@ -0,0 +1,21 @@
+package com.resolveit.resolveit_backend.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Where complaint and resolution images live.
+ * Keys are content addressed, so saving the same bytes twice stores them once.
+ */
+public interface ImageStore {
+
+    // contentType as sent by the client; anything that is not a known image type is stored as octet-stream
+    StoredImage save(InputStream in, String contentType) throws IOException;
+
+    // derived renditions (thumbnails): key must be "<sha256>-<variant>.<ext>"
+    StoredImage put(String key, byte[] data, String contentType) throws IOException;
+
+    // contentType = value recorded at upload, or null to detect it
+    Optional<StoredImage> find(String key, String contentType) throws IOException;
+}
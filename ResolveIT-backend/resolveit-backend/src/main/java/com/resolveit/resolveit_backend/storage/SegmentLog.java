@@ -0,0 +1,308 @@
+package com.resolveit.resolveit_backend.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of newline-terminated records (JSON lines) in numbered segment
+ * files: {@code <prefix>-000001.jsonl}, {@code <prefix>-000002.jsonl}, ...
+ *
+ * Appends are one positional write at the end of the open segment; nothing is ever
+ * rewritten. {@link #force()} makes everything appended so far durable and is meant
+ * to be called periodically (group commit) rather than per record. A record cut off
+ * by a crash is dropped when the log is reopened.
+ *
+ * A record is addressed by a position: segment number in the high bits, byte
+ * offset in the low {@value #OFFSET_BITS}.
+ *
+ * FileChannels close themselves when a thread is interrupted inside an operation
+ * (worker pools shut down with shutdownNow do that); every operation runs with the
+ * interrupt flag cleared and reopens the segments once if it finds them closed.
+ */
+public final class SegmentLog implements Closeable {
+
+    private static final int OFFSET_BITS = 40;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+    private static final int READ_CHUNK = 4096;
+
+    @FunctionalInterface
+    public interface Visitor {
+        void record(long position, byte[] record) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Io<T> {
+        T run() throws IOException;
+    }
+
+    private final Path dir;
+    private final String prefix;
+    private final long segmentBytes;
+
+    // index = segment number - 1; only the last one is written to
+    private final List<Path> files = new ArrayList<>();
+    private final List<FileChannel> segments = new ArrayList<>();
+    private long size;              // of the last segment
+    private boolean dirty;
+    private volatile boolean closed;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public SegmentLog(Path dir, String prefix, long segmentBytes) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.prefix = prefix;
+        this.segmentBytes = segmentBytes;
+
+        List<Path> existing;
+        try (Stream<Path> files = Files.list(dir)) {
+            existing = files.filter(p -> p.getFileName().toString().matches(prefix + "-\\d{6}\\.jsonl"))
+                    .sorted()
+                    .toList();
+        }
+        for (Path file : existing) {
+            files.add(file);
+            segments.add(FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        }
+        if (segments.isEmpty()) {
+            roll();
+        } else {
+            FileChannel last = segments.get(segments.size() - 1);
+            size = lastCompleteRecordEnd(last);
+            last.truncate(size);
+        }
+    }
+
+    // returns the position of the record; the record must not contain '\n'
+    public long append(byte[] record) throws IOException {
+        lock.lock();
+        try {
+            if (size > 0 && size + record.length + 1 > segmentBytes) {
+                io(this::roll);
+            }
+            long offset = size;
+            io(() -> {
+                ByteBuffer buffer = ByteBuffer.allocate(record.length + 1).put(record).put((byte) '\n').flip();
+                FileChannel channel = segments.get(segments.size() - 1);
+                long at = offset;
+                while (buffer.hasRemaining()) {
+                    at += channel.write(buffer, at);
+                }
+                size = at;
+                return null;
+            });
+            dirty = true;
+            return ((long) segments.size() << OFFSET_BITS) | offset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public byte[] read(long position) throws IOException {
+        return io(() -> readAt(position));
+    }
+
+    private byte[] readAt(long position) throws IOException {
+        FileChannel channel = channel((int) (position >>> OFFSET_BITS));
+        long offset = position & OFFSET_MASK;
+        ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+        ByteBuffer chunk = ByteBuffer.allocate(READ_CHUNK);
+        while (true) {
+            chunk.clear();
+            int n = channel.read(chunk, offset);
+            if (n <= 0) {
+                throw new IOException("Truncated record at " + position);
+            }
+            for (int i = 0; i < n; i++) {
+                if (chunk.get(i) == '\n') {
+                    record.write(chunk.array(), 0, i);
+                    return record.toByteArray();
+                }
+            }
+            record.write(chunk.array(), 0, n);
+            offset += n;
+        }
+    }
+
+    // every complete record, oldest first
+    public void scan(Visitor visitor) throws IOException {
+        int count = segmentCount();
+        for (int s = 1; s <= count; s++) {
+            int segment = s;
+            long end;
+            lock.lock();
+            try {
+                end = s == segments.size() ? size : segments.get(s - 1).size();
+            } finally {
+                lock.unlock();
+            }
+            io(() -> {
+                scanSegment(segment, channel(segment), end, visitor);
+                return null;
+            });
+        }
+    }
+
+    // group commit: one fsync for everything appended since the last call.
+    // dirty is cleared before the fsync so appends made during it set it again;
+    // a failed fsync sets it back, and the next call retries.
+    public void force() throws IOException {
+        lock.lock();
+        try {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            io(() -> {
+                channel(segmentCount()).force(false);
+                return null;
+            });
+        } catch (IOException | RuntimeException ex) {
+            lock.lock();
+            try {
+                dirty = true;
+            } finally {
+                lock.unlock();
+            }
+            throw ex;
+        }
+    }
+
+    public int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            for (FileChannel channel : segments) {
+                if (channel.isOpen()) {
+                    channel.force(false);
+                    channel.close();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private FileChannel channel(int segment) {
+        lock.lock();
+        try {
+            return segments.get(segment - 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // callers hold the lock
+    private Void roll() throws IOException {
+        if (!segments.isEmpty()) {
+            segments.get(segments.size() - 1).force(false);
+        }
+        Path file = dir.resolve(String.format("%s-%06d.jsonl", prefix, segments.size() + 1));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        files.add(file);
+        segments.add(channel);
+        size = 0;
+        return null;
+    }
+
+    private <T> T io(Io<T> operation) throws IOException {
+        boolean interrupted = Thread.interrupted();
+        try {
+            return operation.run();
+        } catch (ClosedChannelException ex) {
+            if (closed) {
+                throw ex;
+            }
+            reopen();
+            return operation.run();
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void reopen() throws IOException {
+        lock.lock();
+        try {
+            for (int i = 0; i < segments.size(); i++) {
+                if (!segments.get(i).isOpen()) {
+                    segments.set(i, FileChannel.open(files.get(i), StandardOpenOption.READ, StandardOpenOption.WRITE));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void scanSegment(int segment, FileChannel channel, long end, Visitor visitor) throws IOException {
+        ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+        ByteBuffer chunk = ByteBuffer.allocate(64 * 1024);
+        long offset = 0;
+        long recordStart = 0;
+        while (offset < end) {
+            chunk.clear();
+            chunk.limit((int) Math.min(chunk.capacity(), end - offset));
+            int n = channel.read(chunk, offset);
+            if (n <= 0) {
+                break;
+            }
+            int from = 0;
+            for (int i = 0; i < n; i++) {
+                if (chunk.get(i) == '\n') {
+                    record.write(chunk.array(), from, i - from);
+                    visitor.record(((long) segment << OFFSET_BITS) | recordStart, record.toByteArray());
+                    record.reset();
+                    from = i + 1;
+                    recordStart = offset + i + 1;
+                }
+            }
+            record.write(chunk.array(), from, n - from);
+            offset += n;
+        }
+    }
+
+    // a crash can leave half a record at the end: everything after the last '\n' goes
+    private static long lastCompleteRecordEnd(FileChannel channel) throws IOException {
+        long end = channel.size();
+        ByteBuffer chunk = ByteBuffer.allocate(READ_CHUNK);
+        while (end > 0) {
+            long from = Math.max(0, end - READ_CHUNK);
+            chunk.clear();
+            chunk.limit((int) (end - from));
+            channel.read(chunk, from);
+            for (int i = chunk.position() - 1; i >= 0; i--) {
+                if (chunk.get(i) == '\n') {
+                    return from + i + 1;
+                }
+            }
+            end = from;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,15 @@
+package com.resolveit.resolveit_backend.storage;
+
+import org.springframework.core.io.Resource;
+
+/**
+ * An image held by an {@link ImageStore}.
+ *
+ * @param key         what the complaint row stores (image_path / resolution_image_path)
+ * @param contentType MIME type recorded at upload (or detected once for legacy files)
+ * @param size        length in bytes
+ * @param etag        strong validator – the SHA-256 of the content
+ * @param resource    the bytes; opened only when a body is actually written
+ */
+public record StoredImage(String key, String contentType, long size, String etag, Resource resource) {
+}
@@ -0,0 +1,51 @@
+-- Schema as it existed before migrations were introduced.
+-- Existing databases are baselined at V1 and skip this script;
+-- it only runs on an empty schema.
+
+CREATE TABLE IF NOT EXISTS users (
+    idusers  INT          NOT NULL AUTO_INCREMENT,
+    name     VARCHAR(255) NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    email    VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role     VARCHAR(255) NOT NULL,
+    PRIMARY KEY (idusers),
+    UNIQUE KEY uk_users_username (username),
+    UNIQUE KEY uk_users_email (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS complaints (
+    idcomplaint           INT          NOT NULL AUTO_INCREMENT,
+    image_path            VARCHAR(255),
+    image_data            LONGTEXT,
+    resolution_image_path VARCHAR(255),
+    resolution_image_data LONGTEXT,
+    subject               VARCHAR(255) NOT NULL,
+    description           TEXT         NOT NULL,
+    category              VARCHAR(255),
+    priority              VARCHAR(255),
+    citizen_name          VARCHAR(255),
+    status                VARCHAR(255),
+    created_at            VARCHAR(255),
+    updated_at            VARCHAR(255),
+    assigned_staff        VARCHAR(255),
+    deadline              VARCHAR(255),
+    deadline_iso          VARCHAR(255),
+    admin_comments        TEXT,
+    internal_notes        TEXT,
+    alert_message         TEXT,
+    last_alert_at         VARCHAR(255),
+    is_escalated          BIT,
+    officer_notes         TEXT,
+    PRIMARY KEY (idcomplaint)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS feedback (
+    id           INT          NOT NULL AUTO_INCREMENT,
+    complaint_id INT          NOT NULL,
+    citizen_name VARCHAR(255),
+    rating       INT,
+    comments     TEXT,
+    created_at   VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
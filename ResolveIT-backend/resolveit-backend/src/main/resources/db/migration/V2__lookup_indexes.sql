@@ -0,0 +1,10 @@
+-- Indexes for the citizen / officer / feedback lookups (mirrors @Table(indexes) on the entities).
+-- Without them every dashboard load is a full table scan.
+
+CREATE INDEX idx_complaints_citizen_created ON complaints (citizen_name, created_at);
+
+CREATE INDEX idx_complaints_staff_status ON complaints (assigned_staff, status);
+
+CREATE INDEX idx_feedback_complaint ON feedback (complaint_id);
+
+CREATE INDEX idx_users_role ON users (role);
@@ -0,0 +1,56 @@
+-- created_at / updated_at / deadline_iso / last_alert_at (and feedback.created_at) were VARCHAR
+-- filled from LocalDateTime.toString() / toISOString(). Convert them to native temporal types
+-- so range queries ("created between", "overdue") can use index range scans.
+--
+-- Values that do not look like an ISO date/time become NULL instead of failing the migration.
+--   created_at / updated_at : 2025-12-02T10:15:30.123456789 -> DATETIME(6) (truncated to micros)
+--   deadline_iso            : 2025-12-10 (or '')            -> DATE
+--   last_alert_at           : 2025-12-08T10:15:30.123Z      -> DATETIME(6), UTC
+
+-- ---------- complaints ----------
+ALTER TABLE complaints
+    ADD COLUMN created_at_tmp    DATETIME(6) NULL,
+    ADD COLUMN updated_at_tmp    DATETIME(6) NULL,
+    ADD COLUMN deadline_iso_tmp  DATE        NULL,
+    ADD COLUMN last_alert_at_tmp DATETIME(6) NULL;
+
+UPDATE complaints
+SET created_at_tmp    = CASE WHEN created_at REGEXP '^[0-9]{4}-[0-9]{2}-[0-9]{2}T[0-9]{2}:[0-9]{2}'
+                             THEN CAST(REPLACE(LEFT(created_at, 26), 'T', ' ') AS DATETIME(6)) END,
+    updated_at_tmp    = CASE WHEN updated_at REGEXP '^[0-9]{4}-[0-9]{2}-[0-9]{2}T[0-9]{2}:[0-9]{2}'
+                             THEN CAST(REPLACE(LEFT(updated_at, 26), 'T', ' ') AS DATETIME(6)) END,
+    deadline_iso_tmp  = CASE WHEN deadline_iso REGEXP '^[0-9]{4}-[0-9]{2}-[0-9]{2}'
+                             THEN CAST(LEFT(deadline_iso, 10) AS DATE) END,
+    last_alert_at_tmp = CASE WHEN last_alert_at REGEXP '^[0-9]{4}-[0-9]{2}-[0-9]{2}T[0-9]{2}:[0-9]{2}'
+                             THEN CAST(REPLACE(REPLACE(LEFT(last_alert_at, 26), 'T', ' '), 'Z', '') AS DATETIME(6)) END;
+
+-- created_at is part of this index; rebuild it once the column is swapped
+DROP INDEX idx_complaints_citizen_created ON complaints;
+
+ALTER TABLE complaints
+    DROP COLUMN created_at,
+    DROP COLUMN updated_at,
+    DROP COLUMN deadline_iso,
+    DROP COLUMN last_alert_at,
+    RENAME COLUMN created_at_tmp TO created_at,
+    RENAME COLUMN updated_at_tmp TO updated_at,
+    RENAME COLUMN deadline_iso_tmp TO deadline_iso,
+    RENAME COLUMN last_alert_at_tmp TO last_alert_at;
+
+CREATE INDEX idx_complaints_citizen_created ON complaints (citizen_name, created_at);
+
+CREATE INDEX idx_complaints_created ON complaints (created_at);
+
+CREATE INDEX idx_complaints_deadline_status ON complaints (deadline_iso, status);
+
+-- ---------- feedback ----------
+ALTER TABLE feedback
+    ADD COLUMN created_at_tmp DATETIME(6) NULL;
+
+UPDATE feedback
+SET created_at_tmp = CASE WHEN created_at REGEXP '^[0-9]{4}-[0-9]{2}-[0-9]{2}T[0-9]{2}:[0-9]{2}'
+                          THEN CAST(REPLACE(LEFT(created_at, 26), 'T', ' ') AS DATETIME(6)) END;
+
+ALTER TABLE feedback
+    DROP COLUMN created_at,
+    RENAME COLUMN created_at_tmp TO created_at;
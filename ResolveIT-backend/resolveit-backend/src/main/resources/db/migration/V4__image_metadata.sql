@@ -0,0 +1,7 @@
+-- Content type captured at upload time, so serving an image never has to probe the file.
+-- image_path / resolution_image_path now hold content-hash keys from the ImageStore;
+-- older rows keep their timestamp file names and stay NULL here (detected once on first read).
+
+ALTER TABLE complaints
+    ADD COLUMN image_content_type            VARCHAR(100) NULL,
+    ADD COLUMN resolution_image_content_type VARCHAR(100) NULL;
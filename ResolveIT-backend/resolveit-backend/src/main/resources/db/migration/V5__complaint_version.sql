@@ -0,0 +1,5 @@
+-- Optimistic locking for complaint edits (Complaint.version, served as the ETag of GET /api/complaints/{id}).
+-- Existing rows start at 0; every write increments it.
+
+ALTER TABLE complaints
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+-- Categories an officer takes complaints for (comma-separated, e.g. "Roads,Water"),
+-- read by the auto-assignment (OfficerWorkloadIndex). NULL = any category.
+
+ALTER TABLE users
+    ADD COLUMN categories VARCHAR(255) NULL;
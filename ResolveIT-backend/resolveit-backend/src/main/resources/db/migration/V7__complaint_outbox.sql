@@ -0,0 +1,17 @@
+-- Transactional outbox: complaint lifecycle events, inserted in the same transaction as
+-- the change they describe and deleted once OutboxDispatcher has delivered them.
+-- failed_at is set when an event ran out of attempts (kept for inspection, no longer retried).
+
+CREATE TABLE complaint_outbox (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    complaint_id    INT          NOT NULL,
+    event_type      VARCHAR(32)  NOT NULL,
+    payload         TEXT         NOT NULL,
+    created_at      DATETIME(6)  NOT NULL,
+    attempts        INT          NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6)  NULL,
+    last_error      VARCHAR(500) NULL,
+    failed_at       DATETIME(6)  NULL,
+    PRIMARY KEY (id),
+    INDEX idx_outbox_pending (failed_at, id)
+);
@@ -0,0 +1,5 @@
+-- Lifecycle events now carry the complaint's history entry, and a CREATED entry holds
+-- the full description / notes (TEXT each): the payload needs more than TEXT's 64 KB.
+
+ALTER TABLE complaint_outbox
+    MODIFY payload MEDIUMTEXT NOT NULL;
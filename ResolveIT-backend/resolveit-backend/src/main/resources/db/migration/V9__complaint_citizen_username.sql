@@ -0,0 +1,6 @@
+-- Username of the signed-in citizen who filed the complaint (from the session token).
+-- citizen_name is free text anyone can type; notifications go by this instead.
+-- NULL for complaints filed without a token and for those filed before this column existed.
+
+ALTER TABLE complaints
+    ADD COLUMN citizen_username VARCHAR(255) NULL;
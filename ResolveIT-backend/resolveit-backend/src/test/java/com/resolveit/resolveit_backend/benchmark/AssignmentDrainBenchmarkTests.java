@@ -0,0 +1,241 @@
+package com.resolveit.resolveit_backend.benchmark;
+
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.model.User;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import com.resolveit.resolveit_backend.repository.UserRepository;
+import com.resolveit.resolveit_backend.service.AssignmentPolicy;
+import com.resolveit.resolveit_backend.service.ComplaintStatsService;
+import com.resolveit.resolveit_backend.service.OfficerWorkloadIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Queue drain simulation: a surge of complaints arrives, officers work through what
+ * is assigned to them one at a time, and the report shows when the last one is
+ * resolved and how long complaints waited from submission to resolution.
+ *
+ *   MANUAL      one admin assigns in arrival order, ADMIN_SECONDS per complaint,
+ *               to any officer taking the category (loads are not visible on the list)
+ *   RANDOM      instant, random officer taking the category
+ *   LEAST_OPEN  instant, OfficerWorkloadIndex with AssignmentPolicy.leastOpen()
+ *   WEIGHTED    instant, OfficerWorkloadIndex with the default weighted policy
+ *
+ * Discrete-event simulation in simulated minutes: runs in well under a second and
+ * the auto modes go through the real index (repositories are stubs).
+ *
+ * Opt-in, not part of the normal build:
+ *   mvn test -Dgroups=benchmark -Dsurefire.excludedGroups=none -Dtest=AssignmentDrainBenchmarkTests
+ * Tunables: -Dsim.officers=40  -Dsim.complaints=2000  -Dsim.surgeHours=8  -Dsim.adminSeconds=120
+ */
+@Tag("benchmark")
+class AssignmentDrainBenchmarkTests {
+
+	private static final int OFFICERS = Integer.getInteger("sim.officers", 40);
+	private static final int COMPLAINTS = Integer.getInteger("sim.complaints", 2_000);
+	private static final double SURGE_MINUTES = Integer.getInteger("sim.surgeHours", 8) * 60.0;
+	private static final double ADMIN_MINUTES = Integer.getInteger("sim.adminSeconds", 120) / 60.0;
+
+	private static final String[] CATEGORIES = {"Roads", "Water", "Electricity", "Sanitation", "Other"};
+	// share of complaints per category, in the order above
+	private static final double[] CATEGORY_SHARE = {0.35, 0.25, 0.2, 0.15, 0.05};
+	private static final String[] PRIORITIES = {"High", "Medium", "Low"};
+	// mean minutes of work per complaint, by priority
+	private static final double[] WORK_MINUTES = {120, 60, 30};
+
+	enum Mode {
+		MANUAL, RANDOM, LEAST_OPEN, WEIGHTED
+	}
+
+	record Result(double drainHours, double meanHours, double p95Hours, int maxOpen) {
+	}
+
+	@Test
+	void autoAssignmentDrainsTheSurgeFasterThanManualTriage() {
+		List<User> officers = roster(new Random(7));
+		Map<Mode, Result> results = new HashMap<>();
+
+		System.out.printf("%n%d complaints over %.0f h, %d officers, admin %.0f s per assignment%n",
+				COMPLAINTS, SURGE_MINUTES / 60, OFFICERS, ADMIN_MINUTES * 60);
+		System.out.printf("%-11s %10s %12s %11s %9s%n", "mode", "drain (h)", "mean wait", "p95 wait", "max open");
+		for (Mode mode : Mode.values()) {
+			Result r = new Simulation(mode, officers).run();
+			results.put(mode, r);
+			System.out.printf("%-11s %10.1f %10.1f h %9.1f h %9d%n",
+					mode, r.drainHours(), r.meanHours(), r.p95Hours(), r.maxOpen());
+		}
+
+		assertThat(results.get(Mode.WEIGHTED).drainHours()).isLessThan(results.get(Mode.MANUAL).drainHours());
+		assertThat(results.get(Mode.WEIGHTED).p95Hours()).isLessThan(results.get(Mode.RANDOM).p95Hours());
+	}
+
+	// a third generalists, the rest take one or two categories
+	private static List<User> roster(Random random) {
+		List<User> officers = new ArrayList<>();
+		for (int i = 0; i < OFFICERS; i++) {
+			User u = new User();
+			u.setUsername("officer" + i);
+			u.setRole("OFFICER");
+			if (i % 3 != 0) {
+				String first = CATEGORIES[i % CATEGORIES.length];
+				u.setCategories(random.nextBoolean() ? first : first + "," + CATEGORIES[random.nextInt(CATEGORIES.length)]);
+			}
+			officers.add(u);
+		}
+		return officers;
+	}
+
+	/* ==========================================================
+       One run: the same arrivals and work times for every mode
+    ========================================================== */
+	private static final class Simulation {
+
+		private final Mode mode;
+		private final List<User> officers;
+		private final Random random = new Random(42);
+		private final Random picker = new Random(11);
+		private final OfficerWorkloadIndex index;
+
+		// officer -> assigned, not yet finished (head = in progress)
+		private final Map<String, ArrayDeque<Job>> queues = new HashMap<>();
+		private final PriorityQueue<Event> events = new PriorityQueue<>();
+		private final List<Double> waits = new ArrayList<>();
+		private int maxOpen;
+		private double now;
+
+		record Job(Complaint complaint, double arrivedAt, double work) {
+		}
+
+		record Event(double at, int order, Job job, String officer) implements Comparable<Event> {
+			@Override
+			public int compareTo(Event o) {
+				int c = Double.compare(at, o.at);
+				return c != 0 ? c : Integer.compare(order, o.order);
+			}
+		}
+
+		Simulation(Mode mode, List<User> officers) {
+			this.mode = mode;
+			this.officers = officers;
+			AssignmentPolicy policy = mode == Mode.LEAST_OPEN
+					? AssignmentPolicy.leastOpen() : AssignmentPolicy.weighted(3, 2, 1, 4);
+			this.index = new OfficerWorkloadIndex(stub(ComplaintRepository.class, List.of()),
+					stub(UserRepository.class, officers), policy, true);
+			index.rebuild();
+			for (User u : officers) {
+				queues.put(u.getUsername(), new ArrayDeque<>());
+			}
+		}
+
+		Result run() {
+			List<Job> arrivals = arrivals();
+			int order = 0;
+			double adminFreeAt = 0;
+			for (Job job : arrivals) {
+				double assignedAt = job.arrivedAt();
+				if (mode == Mode.MANUAL) {
+					adminFreeAt = Math.max(adminFreeAt, job.arrivedAt()) + ADMIN_MINUTES;
+					assignedAt = adminFreeAt;
+				}
+				// null officer = assignment event
+				events.add(new Event(assignedAt, order++, job, null));
+			}
+
+			while (!events.isEmpty()) {
+				Event e = events.poll();
+				now = e.at();
+				if (e.officer() == null) {
+					String officer = assign(e.job().complaint());
+					ArrayDeque<Job> queue = queues.get(officer);
+					queue.add(e.job());
+					maxOpen = Math.max(maxOpen, queue.size());
+					if (queue.size() == 1) {
+						events.add(new Event(now + e.job().work(), order++, e.job(), officer));
+					}
+				} else {
+					finish(e.officer(), e.job());
+					ArrayDeque<Job> queue = queues.get(e.officer());
+					if (!queue.isEmpty()) {
+						events.add(new Event(now + queue.peek().work(), order++, queue.peek(), e.officer()));
+					}
+				}
+			}
+
+			double[] sorted = waits.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+			double mean = Arrays.stream(sorted).average().orElse(0);
+			double p95 = sorted[(int) Math.min(sorted.length - 1, Math.ceil(sorted.length * 0.95) - 1)];
+			return new Result(now / 60, mean / 60, p95 / 60, maxOpen);
+		}
+
+		private String assign(Complaint c) {
+			if (mode == Mode.LEAST_OPEN || mode == Mode.WEIGHTED) {
+				assertThat(index.assign(c)).isTrue();
+				return c.getAssignedStaff();
+			}
+			List<User> candidates = officers.stream()
+					.filter(u -> u.getCategories() == null || u.getCategories().contains(c.getCategory()))
+					.toList();
+			String officer = candidates.get(picker.nextInt(candidates.size())).getUsername();
+			c.setAssignedStaff(officer);
+			return officer;
+		}
+
+		private void finish(String officer, Job job) {
+			queues.get(officer).poll();
+			Complaint c = job.complaint();
+			var before = ComplaintStatsService.Key.of(c);
+			c.setStatus("Resolved");
+			index.onChanged(before, c);
+			waits.add(now - job.arrivedAt());
+		}
+
+		// uniform over the surge window, category by share, priority 20/50/30
+		private List<Job> arrivals() {
+			List<Job> jobs = new ArrayList<>(COMPLAINTS);
+			for (int i = 0; i < COMPLAINTS; i++) {
+				double at = random.nextDouble() * SURGE_MINUTES;
+				double roll = random.nextDouble();
+				int category = 0;
+				while (category < CATEGORIES.length - 1 && roll >= CATEGORY_SHARE[category]) {
+					roll -= CATEGORY_SHARE[category];
+					category++;
+				}
+				double p = random.nextDouble();
+				int priority = p < 0.2 ? 0 : p < 0.7 ? 1 : 2;
+				double work = -Math.log(1 - random.nextDouble()) * WORK_MINUTES[priority];
+
+				Complaint c = new Complaint();
+				c.setCategory(CATEGORIES[category]);
+				c.setPriority(PRIORITIES[priority]);
+				c.setStatus("Under Review");
+				c.setAssignedStaff(OfficerWorkloadIndex.UNASSIGNED);
+				jobs.add(new Job(c, at, work));
+			}
+			jobs.sort((a, b) -> Double.compare(a.arrivedAt(), b.arrivedAt()));
+			return jobs;
+		}
+
+		// findByRole / countByStatsKey are the only calls the index makes
+		@SuppressWarnings("unchecked")
+		private static <T> T stub(Class<T> type, List<?> rows) {
+			return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+					(proxy, method, args) -> switch (method.getName()) {
+						case "findByRole", "countByStatsKey" -> rows;
+						default -> throw new UnsupportedOperationException(method.getName());
+					});
+		}
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.resolveit.resolveit_backend.benchmark;
+
+import java.util.Locale;
+
+/**
+ * JDBC target of the benchmarks that boot the application with ddl-auto=create-drop:
+ * the in-memory default, or an external database given on the command line. Those
+ * runs drop and recreate every table of the schema, so an external one has to be
+ * a dedicated database whose name contains "bench" (e.g. jdbc:mysql://host/resolveit_bench);
+ * anything else is refused before a connection is opened.
+ */
+public final class BenchmarkDatabase {
+
+	private BenchmarkDatabase() {
+	}
+
+	public static String url(String property, String inMemoryDefault) {
+		String url = System.getProperty(property);
+		if (url == null || url.isBlank()) {
+			return inMemoryDefault;
+		}
+		if (url.startsWith("jdbc:h2:mem:") || databaseName(url).toLowerCase(Locale.ROOT).contains("bench")) {
+			return url;
+		}
+		throw new IllegalArgumentException("-D" + property + "=" + url + " is not a scratch database: its schema "
+				+ "would be dropped. Point it at a dedicated database whose name contains \"bench\".");
+	}
+
+	// last path element before any ?params / ;params: jdbc:mysql://host:3306/name?x=y -> name
+	static String databaseName(String url) {
+		String rest = url;
+		for (char c : new char[] {'?', ';'}) {
+			int cut = rest.indexOf(c);
+			if (cut >= 0) {
+				rest = rest.substring(0, cut);
+			}
+		}
+		return rest.substring(Math.max(rest.lastIndexOf('/'), rest.lastIndexOf(':')) + 1);
+	}
+}
@@ -0,0 +1,48 @@
+package com.resolveit.resolveit_backend.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// the guard itself runs in the normal build; the benchmarks using it do not
+class BenchmarkDatabaseTests {
+
+	private static final String PROPERTY = "bench.guard.url";
+
+	@AfterEach
+	void clear() {
+		System.clearProperty(PROPERTY);
+	}
+
+	@Test
+	void withoutAnExternalUrlTheInMemoryDefaultIsUsed() {
+		assertThat(BenchmarkDatabase.url(PROPERTY, "jdbc:h2:mem:x")).isEqualTo("jdbc:h2:mem:x");
+	}
+
+	@Test
+	void onlyDedicatedBenchDatabasesAreAccepted() {
+		accepts("jdbc:mysql://db.internal:3306/resolveit_bench?rewriteBatchedStatements=true");
+		accepts("jdbc:postgresql://localhost/BENCH_2");
+		accepts("jdbc:h2:mem:anything;MODE=MySQL");
+
+		refuses("jdbc:mysql://localhost:3306/resolveit_db");
+		refuses("jdbc:mysql://localhost:3306/resolveit_db?tag=bench");
+		refuses("jdbc:mysql://bench-host:3306/resolveit_db");
+		refuses("jdbc:mysql://localhost:3306");
+		refuses("jdbc:h2:file:./data/resolveit");
+	}
+
+	private static void accepts(String url) {
+		System.setProperty(PROPERTY, url);
+		assertThat(BenchmarkDatabase.url(PROPERTY, "jdbc:h2:mem:x")).isEqualTo(url);
+	}
+
+	private static void refuses(String url) {
+		System.setProperty(PROPERTY, url);
+		assertThatThrownBy(() -> BenchmarkDatabase.url(PROPERTY, "jdbc:h2:mem:x"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("bench");
+	}
+}
@@ -0,0 +1,149 @@
+package com.resolveit.resolveit_backend.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Scan vs index latency for the citizen / officer dashboard lookups (V2__lookup_indexes.sql).
+ *
+ * Opt-in, not part of the normal build:
+ *   mvn test -Dgroups=benchmark -Dsurefire.excludedGroups=none
+ * Tunables: -Dbench.rows=1000000  -Dbench.url=jdbc:mysql://...  -Dbench.user=..  -Dbench.password=..
+ * The default target is an in-memory H2 database in MySQL mode. Against another database
+ * the benchmark only creates, fills and drops its own scratch table, bench_complaints;
+ * it never touches the application's complaints table.
+ */
+@Tag("benchmark")
+class LookupIndexBenchmarkTests {
+
+	private static final int ROWS = Integer.getInteger("bench.rows", 1_000_000);
+	private static final int CITIZENS = Math.max(1, ROWS / 100);
+	private static final int OFFICERS = 50;
+	private static final String[] STATUSES = {"Under Review", "In Progress", "Completed", "Resolved"};
+
+	// same columns as complaints, under a name no schema of the application uses
+	private static final String TABLE = "bench_complaints";
+
+	private static final String CITIZEN_QUERY =
+			"SELECT idcomplaint, subject, status FROM " + TABLE + " WHERE citizen_name = ? ORDER BY created_at";
+	private static final String OFFICER_QUERY =
+			"SELECT idcomplaint, subject, status FROM " + TABLE + " WHERE assigned_staff = ? AND status = ?";
+
+	@Test
+	void indexedLookupsBeatFullScans() throws SQLException {
+		String url = System.getProperty("bench.url", "jdbc:h2:mem:lookup_bench;MODE=MySQL;DB_CLOSE_DELAY=-1");
+		try (Connection conn = DriverManager.getConnection(url,
+				System.getProperty("bench.user", "sa"), System.getProperty("bench.password", ""))) {
+
+			createAndFill(conn);
+
+			long[] citizenScan = time(conn, CITIZEN_QUERY, 30, true);
+			long[] officerScan = time(conn, OFFICER_QUERY, 30, false);
+
+			try (Statement st = conn.createStatement()) {
+				st.execute("CREATE INDEX idx_bench_citizen_created ON " + TABLE + " (citizen_name, created_at)");
+				st.execute("CREATE INDEX idx_bench_staff_status ON " + TABLE + " (assigned_staff, status)");
+			}
+
+			long[] citizenIndexed = time(conn, CITIZEN_QUERY, 500, true);
+			long[] officerIndexed = time(conn, OFFICER_QUERY, 500, false);
+
+			System.out.printf("%n%,d rows%n", ROWS);
+			report("citizen  scan   ", citizenScan);
+			report("citizen  indexed", citizenIndexed);
+			report("officer  scan   ", officerScan);
+			report("officer  indexed", officerIndexed);
+
+			assertThat(percentile(citizenIndexed, 50)).isLessThan(percentile(citizenScan, 50));
+			assertThat(percentile(officerIndexed, 50)).isLessThan(percentile(officerScan, 50));
+
+			try (Statement st = conn.createStatement()) {
+				st.execute("DROP TABLE " + TABLE);
+			}
+		}
+	}
+
+	private static void createAndFill(Connection conn) throws SQLException {
+		try (Statement st = conn.createStatement()) {
+			st.execute("DROP TABLE IF EXISTS " + TABLE);
+			st.execute("""
+					CREATE TABLE %s (
+					    idcomplaint    INT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+					    subject        VARCHAR(255) NOT NULL,
+					    citizen_name   VARCHAR(255),
+					    assigned_staff VARCHAR(255),
+					    status         VARCHAR(255),
+					    created_at     VARCHAR(255)
+					)""".formatted(TABLE));
+		}
+
+		Random random = new Random(42);
+		boolean autoCommit = conn.getAutoCommit();
+		conn.setAutoCommit(false);
+		try (PreparedStatement ps = conn.prepareStatement(
+				"INSERT INTO " + TABLE + " (subject, citizen_name, assigned_staff, status, created_at) VALUES (?, ?, ?, ?, ?)")) {
+			for (int i = 0; i < ROWS; i++) {
+				ps.setString(1, "Complaint " + i);
+				ps.setString(2, "citizen" + random.nextInt(CITIZENS));
+				ps.setString(3, "officer" + random.nextInt(OFFICERS));
+				ps.setString(4, STATUSES[random.nextInt(STATUSES.length)]);
+				ps.setString(5, "2025-%02d-%02dT10:00:00".formatted(1 + random.nextInt(12), 1 + random.nextInt(28)));
+				ps.addBatch();
+				if (i % 5_000 == 4_999) {
+					ps.executeBatch();
+					conn.commit();
+				}
+			}
+			ps.executeBatch();
+			conn.commit();
+		} finally {
+			conn.setAutoCommit(autoCommit);
+		}
+	}
+
+	private static long[] time(Connection conn, String sql, int iterations, boolean citizen) throws SQLException {
+		Random random = new Random(7);
+		long[] nanos = new long[iterations];
+		try (PreparedStatement ps = conn.prepareStatement(sql)) {
+			for (int i = 0; i < iterations; i++) {
+				if (citizen) {
+					ps.setString(1, "citizen" + random.nextInt(CITIZENS));
+				} else {
+					ps.setString(1, "officer" + random.nextInt(OFFICERS));
+					ps.setString(2, STATUSES[random.nextInt(STATUSES.length)]);
+				}
+				long start = System.nanoTime();
+				try (ResultSet rs = ps.executeQuery()) {
+					while (rs.next()) {
+						rs.getInt(1);
+					}
+				}
+				nanos[i] = System.nanoTime() - start;
+			}
+		}
+		Arrays.sort(nanos);
+		return nanos;
+	}
+
+	private static long percentile(long[] sorted, int p) {
+		int idx = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(0, idx)];
+	}
+
+	private static void report(String label, long[] sorted) {
+		System.out.printf("%s  p50 %8.3f ms   p99 %8.3f ms%n", label,
+				percentile(sorted, 50) / 1e6, percentile(sorted, 99) / 1e6);
+	}
+
+}
@@ -0,0 +1,152 @@
+package com.resolveit.resolveit_backend.benchmark;
+
+import com.resolveit.resolveit_backend.ResolveitBackendApplication;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Complaints/sec through the JPA stack with the old persistence settings
+ * (Hikari defaults, show-sql on, no batching) and with the "prod" profile.
+ *
+ * Each worker files complaints one transaction at a time (like POST /api/complaints),
+ * then an officer pass re-reads them and updates their status in one flush.
+ *
+ * Opt-in, not part of the normal build:
+ *   mvn test -Dgroups=benchmark -Dsurefire.excludedGroups=none -Dtest=PersistenceProfileBenchmarkTests
+ * Tunables: -Dbench.complaints=20000  -Dbench.threads=8 (default: 2 per core, at least 4)
+ *           -Dbench.url=jdbc:mysql://host/resolveit_bench  -Dbench.user=..  -Dbench.password=..
+ * The default target is an in-memory H2 database (not in MySQL mode: H2 hands out
+ * duplicate identity values to concurrent inserts there); the Connector/J
+ * statement cache and batch rewriting only show up against a real MySQL server.
+ * The target schema is dropped and recreated by each run, so an external database
+ * has to be a dedicated one with "bench" in its name (BenchmarkDatabase refuses others).
+ */
+@Tag("benchmark")
+class PersistenceProfileBenchmarkTests {
+
+	private static final int COMPLAINTS = Integer.getInteger("bench.complaints", 20_000);
+	private static final int THREADS = Integer.getInteger("bench.threads",
+			Math.max(4, 2 * Runtime.getRuntime().availableProcessors()));
+	private static final int UPDATE_CHUNK = 200;
+
+	@TempDir
+	Path images;
+
+	@Test
+	void prodProfileFilesComplaintsFaster() throws Exception {
+		// warm-up: JIT, class loading and Hibernate bootstrap costs out of the measured runs
+		run("warm-up", false, COMPLAINTS / 10);
+
+		double before = run("defaults", false, COMPLAINTS);
+		double after = run("prod", true, COMPLAINTS);
+
+		System.out.printf("%nprod / defaults: %.2fx%n", after / before);
+		assertThat(after).isGreaterThan(before);
+	}
+
+	// complaints/sec (inserts + updates) for one application context
+	private double run(String label, boolean prod, int complaints) throws Exception {
+		String url = BenchmarkDatabase.url("bench.url",
+				"jdbc:h2:mem:persistence_bench_" + label.replace("-", "_") + ";DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+
+		// command-line arguments: they win over the test application.properties
+		List<String> args = new ArrayList<>(List.of(
+				"--spring.datasource.url=" + url,
+				"--spring.datasource.username=" + System.getProperty("bench.user", "sa"),
+				"--spring.datasource.password=" + System.getProperty("bench.password", ""),
+				"--spring.jpa.properties.hibernate.dialect=" + (url.startsWith("jdbc:mysql:")
+						? "org.hibernate.dialect.MySQLDialect" : "org.hibernate.dialect.H2Dialect"),
+				"--spring.jpa.hibernate.ddl-auto=create-drop",
+				"--spring.flyway.enabled=false",
+				"--resolveit.images.dir=" + images,
+				"--resolveit.search.dir="));
+		if (prod) {
+			args.add("--spring.profiles.active=prod");
+		} else {
+			// what application.properties shipped with before the prod profile existed
+			args.add("--spring.jpa.show-sql=true");
+		}
+
+		SpringApplicationBuilder app = new SpringApplicationBuilder(ResolveitBackendApplication.class)
+				.web(WebApplicationType.NONE);
+		try (ConfigurableApplicationContext ctx = app.run(args.toArray(String[]::new))) {
+			ComplaintRepository repository = ctx.getBean(ComplaintRepository.class);
+			TransactionTemplate tx = new TransactionTemplate(ctx.getBean(PlatformTransactionManager.class));
+
+			ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+			try {
+				long start = System.nanoTime();
+
+				List<Future<List<Integer>>> filed = new ArrayList<>();
+				for (int t = 0; t < THREADS; t++) {
+					int worker = t;
+					filed.add(pool.submit(() -> file(repository, worker, complaints / THREADS)));
+				}
+				List<Future<?>> updated = new ArrayList<>();
+				for (Future<List<Integer>> f : filed) {
+					List<Integer> ids = f.get();
+					updated.add(pool.submit(() -> triage(repository, tx, ids)));
+				}
+				for (Future<?> f : updated) {
+					f.get();
+				}
+
+				double seconds = (System.nanoTime() - start) / 1e9;
+				int total = (complaints / THREADS) * THREADS;
+				assertThat(repository.count()).isEqualTo(total);
+
+				double rate = total / seconds;
+				System.out.printf("%-8s %,7d complaints  %6.2f s  %,10.0f complaints/s%n", label, total, seconds, rate);
+				return rate;
+			} finally {
+				pool.shutdownNow();
+			}
+		}
+	}
+
+	private static List<Integer> file(ComplaintRepository repository, int worker, int count) {
+		List<Integer> ids = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			Complaint c = new Complaint();
+			c.setSubject("Streetlight out #" + i);
+			c.setDescription("Reported by worker " + worker);
+			c.setCategory("Electricity");
+			c.setPriority("Medium");
+			c.setCitizenName("citizen" + (worker * 1_000 + i % 1_000));
+			c.setStatus("Under Review");
+			c.setAssignedStaff("Not assigned");
+			c.setCreatedAt(LocalDateTime.now());
+			ids.add(repository.save(c).getId());
+		}
+		return ids;
+	}
+
+	private static void triage(ComplaintRepository repository, TransactionTemplate tx, List<Integer> ids) {
+		for (int from = 0; from < ids.size(); from += UPDATE_CHUNK) {
+			List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + UPDATE_CHUNK));
+			tx.executeWithoutResult(status -> repository.findAllById(chunk).forEach(c -> {
+				c.setStatus("In Progress");
+				c.setAssignedStaff("officer" + (c.getId() % 50));
+			}));
+		}
+	}
+
+}
@@ -0,0 +1,143 @@
+package com.resolveit.resolveit_backend.benchmark;
+
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import com.resolveit.resolveit_backend.service.ComplaintSearchIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Search latency of the embedded complaint index at table scale.
+ *
+ * Indexes synthetic complaints (Zipf-distributed vocabulary, like real text) into an
+ * on-disk index, then times a mix of one-, two- and three-word queries, half of them
+ * with a status / category filter. Only the index is measured: the repository is a
+ * mock, so loading the page of summaries is not part of the numbers.
+ *
+ * Opt-in, not part of the normal build:
+ *   mvn test -Dgroups=benchmark -Dsurefire.excludedGroups=none -Dtest=SearchIndexBenchmarkTests
+ * Tunables: -Dbench.rows=1000000  -Dbench.queries=2000
+ */
+@Tag("benchmark")
+class SearchIndexBenchmarkTests {
+
+	private static final int ROWS = Integer.getInteger("bench.rows", 1_000_000);
+	private static final int QUERIES = Integer.getInteger("bench.queries", 2_000);
+	private static final int VOCABULARY = 5_000;
+	private static final String[] STATUSES = {"Under Review", "In Progress", "Completed", "Resolved"};
+	private static final String[] STOP_WORDS = {"the", "a", "and", "of", "to", "in", "is", "on", "at", "for"};
+	private static final String[] CATEGORIES = {"Roads", "Water", "Electricity", "Sanitation", "Parks", "Other"};
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void p99StaysUnderFiftyMillis() throws Exception {
+		ComplaintSearchIndex index = new ComplaintSearchIndex(mock(ComplaintRepository.class),
+				mock(PlatformTransactionManager.class), dir.toString());
+		try {
+			Random random = new Random(42);
+			long start = System.nanoTime();
+			for (int i = 1; i <= ROWS; i++) {
+				index.onSaved(complaint(i, random));
+			}
+			refresh(index);
+			Thread.sleep(Long.getLong("bench.settle", 0));
+			System.out.printf("%n%,d complaints indexed in %.1f s%n", ROWS, (System.nanoTime() - start) / 1e9);
+
+			// warm-up, then measure
+			run(index, new Random(1), QUERIES / 4);
+			long[] nanos = run(index, new Random(7), QUERIES);
+
+			System.out.printf("search  p50 %7.3f ms   p95 %7.3f ms   p99 %7.3f ms   max %7.3f ms%n",
+					percentile(nanos, 50) / 1e6, percentile(nanos, 95) / 1e6,
+					percentile(nanos, 99) / 1e6, nanos[nanos.length - 1] / 1e6);
+
+			assertThat(percentile(nanos, 99)).isLessThan(50_000_000L);
+		} finally {
+			index.stop();
+		}
+	}
+
+	private static long[] run(ComplaintSearchIndex index, Random random, int queries) throws IOException {
+		long[] nanos = new long[queries];
+		for (int i = 0; i < queries; i++) {
+			StringBuilder q = new StringBuilder(word(random));
+			for (int words = random.nextInt(3); words > 0; words--) {
+				q.append(' ').append(word(random));
+			}
+			ComplaintSearchIndex.Filter filter = random.nextBoolean()
+					? new ComplaintSearchIndex.Filter(STATUSES[random.nextInt(STATUSES.length)],
+					CATEGORIES[random.nextInt(CATEGORIES.length)], null, null, null, null)
+					: null;
+
+			long t = System.nanoTime();
+			index.search(q.toString(), filter, random.nextInt(3), 20);
+			nanos[i] = System.nanoTime() - t;
+		}
+		Arrays.sort(nanos);
+		return nanos;
+	}
+
+	private static Complaint complaint(int id, Random random) {
+		Complaint c = new Complaint();
+		c.setId(id);
+		c.setSubject(sentence(random, 4 + random.nextInt(5)));
+		c.setDescription(sentence(random, 20 + random.nextInt(60)));
+		if (random.nextInt(4) == 0) {
+			c.setAdminComments(sentence(random, 10));
+		}
+		if (random.nextInt(3) == 0) {
+			c.setOfficerNotes(sentence(random, 15));
+		}
+		c.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+		c.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+		c.setPriority(random.nextBoolean() ? "High" : "Low");
+		c.setAssignedStaff("officer" + random.nextInt(50));
+		c.setCreatedAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(random.nextInt(525_600)));
+		return c;
+	}
+
+	private static String sentence(Random random, int words) {
+		StringBuilder s = new StringBuilder();
+		for (int i = 0; i < words; i++) {
+			s.append(word(random)).append(' ');
+		}
+		return s.toString();
+	}
+
+	// Zipf-like: low ranks are common, high ranks rare. As in real text the most
+	// common ranks are function words, which the analyzer drops as stop words.
+	private static String word(Random random) {
+		int rank = (int) Math.floor(Math.pow(VOCABULARY, random.nextDouble()));
+		if (rank <= STOP_WORDS.length) {
+			return STOP_WORDS[rank - 1];
+		}
+		return "w" + Integer.toString(rank, 36);
+	}
+
+	// ComplaintSearchIndex.refresh() is package-private; the benchmark lives outside the package
+	private static void refresh(ComplaintSearchIndex index) throws Exception {
+		Method refresh = ComplaintSearchIndex.class.getDeclaredMethod("refresh");
+		refresh.setAccessible(true);
+		refresh.invoke(index);
+	}
+
+	private static long percentile(long[] sorted, int p) {
+		int idx = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(0, idx)];
+	}
+
+}
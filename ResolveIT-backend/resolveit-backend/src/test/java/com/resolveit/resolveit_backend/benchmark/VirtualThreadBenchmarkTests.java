@@ -0,0 +1,210 @@
+package com.resolveit.resolveit_backend.benchmark;
+
+import com.resolveit.resolveit_backend.ResolveitBackendApplication;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Same HTTP workload against the platform-thread pool (Tomcat defaults, 200 threads)
+ * and the "virtual" profile, both with the prod-sized Hikari pool of 20.
+ *
+ * Traffic mix per request: DB_SHARE of them page through the admin listing (needs a
+ * connection, held for bench.latencyMs to stand in for the MySQL round trip); the rest
+ * are dashboard reads served from memory (stats, cached complaint detail). With
+ * platform threads the slow requests tie up every Tomcat thread waiting on the pool
+ * and the cheap ones queue behind them; with virtual threads only the slow ones wait.
+ *
+ * Needs Java 21+ (skipped otherwise). Opt-in, not part of the normal build:
+ *   mvn test -Dgroups=benchmark -Dsurefire.excludedGroups=none -Dtest=VirtualThreadBenchmarkTests
+ * Tunables: -Dbench.requests=40000  -Dbench.clients=1000  -Dbench.latencyMs=20
+ *           -Dbench.url=jdbc:mysql://host/resolveit_bench  -Dbench.user=..  -Dbench.password=..  (then latencyMs=0)
+ * The schema is dropped and recreated, so an external database has to be a dedicated
+ * one with "bench" in its name (BenchmarkDatabase refuses others).
+ */
+@Tag("benchmark")
+class VirtualThreadBenchmarkTests {
+
+	private static final int REQUESTS = Integer.getInteger("bench.requests", 40_000);
+	private static final int CLIENTS = Integer.getInteger("bench.clients", 1_000);
+	private static final int LATENCY_MS = Integer.getInteger("bench.latencyMs", 20);
+	private static final int SEED = 2_000;
+	private static final double DB_SHARE = 0.2;
+
+	@TempDir
+	Path images;
+
+	record Result(double throughput, long cheapP99Ms, long dbP99Ms, int errors) {
+	}
+
+	@Test
+	void virtualThreadsKeepCheapRequestsFastWhileThePoolIsSaturated() throws Exception {
+		assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21+");
+
+		run("warm-up", false, REQUESTS / 10);
+		Result platform = run("platform", false, REQUESTS);
+		Result virtual = run("virtual", true, REQUESTS);
+
+		System.out.printf("%nvirtual / platform throughput: %.2fx   cheap p99: %d ms -> %d ms%n",
+				virtual.throughput() / platform.throughput(), platform.cheapP99Ms(), virtual.cheapP99Ms());
+		assertThat(virtual.errors()).isZero();
+		assertThat(virtual.cheapP99Ms()).isLessThan(platform.cheapP99Ms());
+	}
+
+	private Result run(String label, boolean virtual, int requests) throws Exception {
+		String url = BenchmarkDatabase.url("bench.url",
+				"jdbc:h2:mem:threads_bench_" + label.replace("-", "_") + ";DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+
+		// command-line arguments: they win over the test application.properties
+		List<String> args = new ArrayList<>(List.of(
+				"--server.port=0",
+				"--spring.datasource.url=" + url,
+				"--spring.datasource.username=" + System.getProperty("bench.user", "sa"),
+				"--spring.datasource.password=" + System.getProperty("bench.password", ""),
+				"--spring.jpa.properties.hibernate.dialect=" + (url.startsWith("jdbc:mysql:")
+						? "org.hibernate.dialect.MySQLDialect" : "org.hibernate.dialect.H2Dialect"),
+				"--spring.jpa.hibernate.ddl-auto=create-drop",
+				"--spring.flyway.enabled=false",
+				"--spring.datasource.hikari.maximum-pool-size=20",
+				"--spring.datasource.hikari.connection-timeout=30000",
+				"--resolveit.images.dir=" + images.resolve("images"),
+				"--resolveit.ingest.dir=" + images.resolve("ingest"),
+				"--resolveit.search.dir="));
+		if (virtual) {
+			args.add("--spring.profiles.active=virtual");
+		}
+
+		SpringApplicationBuilder app = new SpringApplicationBuilder(ResolveitBackendApplication.class)
+				.initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new SlowConnections()));
+		try (ConfigurableApplicationContext ctx = app.run(args.toArray(String[]::new))) {
+			ComplaintRepository repository = ctx.getBean(ComplaintRepository.class);
+			List<Integer> ids = seed(repository);
+			int port = ((WebServerApplicationContext) ctx).getWebServer().getPort();
+
+			HttpClient client = HttpClient.newBuilder()
+					.version(HttpClient.Version.HTTP_1_1)
+					.connectTimeout(Duration.ofSeconds(10))
+					.build();
+			String base = "http://localhost:" + port + "/api/complaints";
+
+			// the detail reads below are answered from the complaint cache from here on
+			for (Integer id : ids.subList(0, 100)) {
+				client.send(HttpRequest.newBuilder(URI.create(base + "/" + id)).build(), HttpResponse.BodyHandlers.discarding());
+			}
+
+			ConcurrentLinkedQueue<Long> cheap = new ConcurrentLinkedQueue<>();
+			ConcurrentLinkedQueue<Long> db = new ConcurrentLinkedQueue<>();
+			AtomicInteger errors = new AtomicInteger();
+			Semaphore inFlight = new Semaphore(CLIENTS);
+			List<CompletableFuture<?>> all = new ArrayList<>(requests);
+
+			long start = System.nanoTime();
+			for (int i = 0; i < requests; i++) {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				boolean slow = random.nextDouble() < DB_SHARE;
+				String path = slow
+						? "?afterId=" + ids.get(random.nextInt(ids.size())) + "&limit=20"
+						: random.nextBoolean() ? "/stats" : "/" + ids.get(random.nextInt(100));
+
+				inFlight.acquire();
+				long sent = System.nanoTime();
+				all.add(client.sendAsync(HttpRequest.newBuilder(URI.create(base + path)).build(),
+								HttpResponse.BodyHandlers.discarding())
+						.whenComplete((response, ex) -> {
+							inFlight.release();
+							if (ex != null || response.statusCode() != 200) {
+								errors.incrementAndGet();
+								return;
+							}
+							(slow ? db : cheap).add((System.nanoTime() - sent) / 1_000_000);
+						}));
+			}
+			CompletableFuture.allOf(all.toArray(CompletableFuture[]::new)).exceptionally(ex -> null).join();
+			double seconds = (System.nanoTime() - start) / 1e9;
+
+			Result result = new Result(requests / seconds, p99(cheap), p99(db), errors.get());
+			System.out.printf("%-8s %,7d requests  %6.2f s  %,8.0f req/s   cheap p99 %5d ms   db p99 %5d ms   errors %d%n",
+					label, requests, seconds, result.throughput(), result.cheapP99Ms(), result.dbP99Ms(), result.errors());
+			return result;
+		}
+	}
+
+	private static List<Integer> seed(ComplaintRepository repository) {
+		List<Complaint> batch = new ArrayList<>(SEED);
+		for (int i = 0; i < SEED; i++) {
+			Complaint c = new Complaint();
+			c.setSubject("Streetlight out #" + i);
+			c.setDescription("Seeded for the thread benchmark");
+			c.setCategory("Electricity");
+			c.setPriority("Medium");
+			c.setCitizenName("citizen" + i % 500);
+			c.setStatus("Under Review");
+			c.setAssignedStaff("Not assigned");
+			c.setCreatedAt(LocalDateTime.now());
+			batch.add(c);
+		}
+		return repository.saveAll(batch).stream().map(Complaint::getId).toList();
+	}
+
+	private static long p99(ConcurrentLinkedQueue<Long> samples) {
+		long[] sorted = samples.stream().mapToLong(Long::longValue).toArray();
+		if (sorted.length == 0) {
+			return 0;
+		}
+		Arrays.sort(sorted);
+		return sorted[(int) Math.min(sorted.length - 1, Math.ceil(sorted.length * 0.99) - 1)];
+	}
+
+	// every checkout holds its connection for LATENCY_MS first: a stand-in for the network round trip
+	static class SlowConnections implements BeanPostProcessor {
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			if (!(bean instanceof DataSource dataSource) || LATENCY_MS == 0) {
+				return bean;
+			}
+			return new DelegatingDataSource(dataSource) {
+				@Override
+				public Connection getConnection() throws SQLException {
+					Connection connection = super.getConnection();
+					try {
+						Thread.sleep(LATENCY_MS);
+					} catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+					}
+					return connection;
+				}
+			};
+		}
+	}
+
+}
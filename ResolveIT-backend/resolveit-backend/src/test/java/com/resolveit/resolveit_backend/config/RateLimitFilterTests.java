@@ -0,0 +1,95 @@
+package com.resolveit.resolveit_backend.config;
+
+import com.resolveit.resolveit_backend.service.AuthTokens;
+import com.resolveit.resolveit_backend.service.RateLimiter;
+import com.resolveit.resolveit_backend.service.RateLimiter.Budget;
+import com.resolveit.resolveit_backend.service.RateLimiter.Endpoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTests {
+
+	@Test
+	void requestsAreSortedIntoEndpointClasses() {
+		assertThat(RateLimitFilter.classify(request("GET", "/api/complaints/export/csv"))).isEqualTo(Endpoint.EXPORT);
+		assertThat(RateLimitFilter.classify(request("PUT", "/api/complaints/bulk"))).isEqualTo(Endpoint.EXPORT);
+		assertThat(RateLimitFilter.classify(request("POST", "/api/complaints/bulk/delete"))).isEqualTo(Endpoint.EXPORT);
+		assertThat(RateLimitFilter.classify(request("GET", "/api/complaints"))).isEqualTo(Endpoint.LIST);
+		assertThat(RateLimitFilter.classify(request("GET", "/api/complaints/search"))).isEqualTo(Endpoint.LIST);
+		assertThat(RateLimitFilter.classify(request("POST", "/api/complaints"))).isEqualTo(Endpoint.UPLOAD);
+		assertThat(RateLimitFilter.classify(request("POST", "/api/complaints/ingest"))).isEqualTo(Endpoint.UPLOAD);
+		assertThat(RateLimitFilter.classify(request("POST", "/api/complaints/12/resolution-image"))).isEqualTo(Endpoint.UPLOAD);
+		assertThat(RateLimitFilter.classify(request("POST", "/api/users/login"))).isEqualTo(Endpoint.LOGIN);
+		assertThat(RateLimitFilter.classify(request("GET", "/api/complaints/12"))).isEqualTo(Endpoint.DEFAULT);
+		assertThat(RateLimitFilter.classify(request("GET", "/api/complaints/12/image"))).isEqualTo(Endpoint.DEFAULT);
+		assertThat(RateLimitFilter.classify(request("GET", "/api/users/me"))).isEqualTo(Endpoint.DEFAULT);
+	}
+
+	@Test
+	void overBudgetIsAnswered429WithRetryAfter() throws Exception {
+		RateLimitFilter filter = new RateLimitFilter(limiter());
+
+		for (int i = 0; i < 2; i++) {
+			MockHttpServletResponse ok = run(filter, request("GET", "/api/complaints/export/csv"));
+			assertThat(ok.getStatus()).isEqualTo(200);
+		}
+		MockHttpServletRequest third = request("GET", "/api/complaints/export/csv");
+		third.addHeader("Origin", "http://localhost:5500");
+		MockHttpServletResponse rejected = run(filter, third);
+		assertThat(rejected.getStatus()).isEqualTo(429);
+		// one token per 10 s
+		assertThat(rejected.getHeader("Retry-After")).isIn("9", "10");
+		assertThat(rejected.getHeader("Access-Control-Expose-Headers")).isEqualTo("Retry-After");
+
+		// same IP, other class: still has its budget
+		assertThat(run(filter, request("GET", "/api/complaints/3")).getStatus()).isEqualTo(200);
+		// CORS preflights are never counted
+		assertThat(run(filter, request("OPTIONS", "/api/complaints/export/csv")).getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	void tokenHoldersAreLimitedPerUserNotPerAddress() throws Exception {
+		RateLimitFilter filter = new RateLimitFilter(limiter());
+		for (int i = 0; i < 2; i++) {
+			run(filter, request("GET", "/api/complaints/export/csv"));
+		}
+
+		MockHttpServletRequest signedIn = request("GET", "/api/complaints/export/csv");
+		signedIn.setAttribute(TokenAuthFilter.PRINCIPAL,
+				new AuthTokens.Principal(7, "meena.k", "Meena K", "ADMIN", Instant.now().plusSeconds(60)));
+		assertThat(RateLimitFilter.caller(signedIn)).isEqualTo("user:7");
+		assertThat(run(filter, signedIn).getStatus()).isEqualTo(200);
+	}
+
+	private static RateLimiter limiter() {
+		Map<Endpoint, Budget> budgets = new EnumMap<>(Endpoint.class);
+		budgets.put(Endpoint.EXPORT, new Budget(2, 0.1));
+		budgets.put(Endpoint.LIST, new Budget(10, 1));
+		budgets.put(Endpoint.UPLOAD, new Budget(10, 1));
+		budgets.put(Endpoint.LOGIN, new Budget(10, 1));
+		budgets.put(Endpoint.DEFAULT, new Budget(10, 1));
+		return new RateLimiter(budgets, 1_000, Duration.ofMinutes(1), new SimpleMeterRegistry());
+	}
+
+	private static MockHttpServletRequest request(String method, String uri) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+		request.setRemoteAddr("192.0.2.10");
+		return request;
+	}
+
+	private static MockHttpServletResponse run(RateLimitFilter filter, MockHttpServletRequest request) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+}
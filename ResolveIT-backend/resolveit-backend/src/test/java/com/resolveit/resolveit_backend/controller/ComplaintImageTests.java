@@ -0,0 +1,153 @@
+package com.resolveit.resolveit_backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs on the real embedded Tomcat so the sendfile path is exercised
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ComplaintImageTests {
+
+	@TempDir
+	static Path images;
+
+	@DynamicPropertySource
+	static void imageDir(DynamicPropertyRegistry registry) {
+		registry.add("resolveit.images.dir", () -> images.toString());
+	}
+
+	@Autowired
+	private TestRestTemplate rest;
+
+	@Test
+	void servesUploadedImageWithValidatorsAndRanges() {
+		byte[] jpeg = new byte[100_000];
+		Arrays.fill(jpeg, (byte) 7);
+		jpeg[0] = (byte) 0xFF;
+		jpeg[1] = (byte) 0xD8;
+		jpeg[2] = (byte) 0xFF;
+
+		Integer id = create(jpeg);
+		String url = "/api/complaints/" + id + "/image";
+
+		ResponseEntity<byte[]> full = rest.getForEntity(url, byte[].class);
+		assertThat(full.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(full.getBody()).isEqualTo(jpeg);
+		assertThat(full.getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_JPEG);
+		assertThat(full.getHeaders().getCacheControl()).contains("max-age=31536000", "private").doesNotContain("public");
+		String etag = full.getHeaders().getETag();
+		assertThat(etag).isNotBlank();
+
+		HttpHeaders conditional = new HttpHeaders();
+		conditional.setIfNoneMatch(etag);
+		ResponseEntity<byte[]> notModified = rest.exchange(url, HttpMethod.GET, new HttpEntity<>(conditional), byte[].class);
+		assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(notModified.getBody()).isNull();
+
+		HttpHeaders range = new HttpHeaders();
+		range.set(HttpHeaders.RANGE, "bytes=0-2");
+		ResponseEntity<byte[]> partial = rest.exchange(url, HttpMethod.GET, new HttpEntity<>(range), byte[].class);
+		assertThat(partial.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+		assertThat(partial.getBody()).containsExactly(0xFF, 0xD8, 0xFF);
+	}
+
+	@Test
+	void resolutionImageIsRevalidatedAndReplaceable() {
+		Integer id = create(null);
+		String url = "/api/complaints/" + id + "/resolution-image";
+
+		assertThat(rest.getForEntity(url, byte[].class).getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+		upload(url, new byte[]{(byte) 0x89, 'P', 'N', 'G', 1});
+		ResponseEntity<byte[]> first = rest.getForEntity(url, byte[].class);
+		assertThat(first.getHeaders().getCacheControl()).contains("no-cache", "private");
+
+		upload(url, new byte[]{(byte) 0x89, 'P', 'N', 'G', 2});
+		HttpHeaders conditional = new HttpHeaders();
+		conditional.setIfNoneMatch(first.getHeaders().getETag());
+		ResponseEntity<byte[]> second = rest.exchange(url, HttpMethod.GET, new HttpEntity<>(conditional), byte[].class);
+		assertThat(second.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(second.getBody()).containsExactly(0x89, 'P', 'N', 'G', 2);
+	}
+
+	@Test
+	void servesThumbnailsForDashboards() throws Exception {
+		BufferedImage photo = new BufferedImage(1200, 800, BufferedImage.TYPE_INT_RGB);
+		ByteArrayOutputStream png = new ByteArrayOutputStream();
+		ImageIO.write(photo, "png", png);
+
+		Integer id = create(png.toByteArray());
+		String url = "/api/complaints/" + id + "/image";
+
+		ResponseEntity<byte[]> thumb = rest.getForEntity(url + "?size=thumb", byte[].class);
+		assertThat(thumb.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(thumb.getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_JPEG);
+		assertThat(ImageIO.read(new ByteArrayInputStream(thumb.getBody())).getWidth()).isEqualTo(240);
+		assertThat(thumb.getHeaders().getETag()).endsWith("-thumb\"");
+
+		assertThat(rest.getForEntity(url + "?size=huge", byte[].class).getStatusCode())
+				.isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Integer create(byte[] image) {
+		MultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
+		form.add("subject", "Broken pipe");
+		form.add("description", "Water everywhere");
+		form.add("category", "Water");
+		form.add("priority", "High");
+		form.add("citizenName", "asha");
+		if (image != null) {
+			form.add("image", part(image, "photo.jpg", MediaType.IMAGE_JPEG));
+		}
+		Map<String, Object> body = rest.postForObject("/api/complaints", multipart(form), Map.class);
+		return (Integer) body.get("id");
+	}
+
+	private void upload(String url, byte[] png) {
+		MultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
+		form.add("file", part(png, "proof.png", MediaType.IMAGE_PNG));
+		assertThat(rest.postForEntity(url, multipart(form), Void.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+	}
+
+	private static HttpEntity<MultiValueMap<String, Object>> multipart(MultiValueMap<String, Object> form) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+		return new HttpEntity<>(form, headers);
+	}
+
+	private static HttpEntity<ByteArrayResource> part(byte[] bytes, String name, MediaType type) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(type);
+		return new HttpEntity<>(new ByteArrayResource(bytes) {
+			@Override
+			public String getFilename() {
+				return name;
+			}
+		}, headers);
+	}
+
+}
@@ -0,0 +1,125 @@
+package com.resolveit.resolveit_backend.controller;
+
+import com.resolveit.resolveit_backend.dto.BulkRequest;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.service.ComplaintBulkService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ComplaintVersioningTests {
+
+	@Autowired
+	private ComplaintController controller;
+
+	@Autowired
+	private ComplaintBulkService bulkService;
+
+	@Test
+	void detailCarriesTheVersionAsETagAndRevalidates() {
+		Complaint c = create("etag-citizen");
+
+		ResponseEntity<Complaint> first = controller.getComplaintById(c.getId(), null);
+		assertThat(first.getHeaders().getETag()).isEqualTo("\"0\"");
+
+		ResponseEntity<Complaint> revalidated = controller.getComplaintById(c.getId(), "\"0\"");
+		assertThat(revalidated.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(revalidated.getBody()).isNull();
+
+		assertThat(controller.getComplaintById(c.getId(), "W/\"7\"").getStatusCode()).isEqualTo(HttpStatus.OK);
+	}
+
+	@Test
+	void staleIfMatchIsRejectedWithTheCurrentTag() {
+		Complaint c = create("if-match-citizen");
+
+		Complaint first = new Complaint();
+		first.setStatus("In Progress");
+		ResponseEntity<Complaint> ok = controller.updateComplaint(c.getId(), "\"0\"", first);
+		assertThat(ok.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(ok.getHeaders().getETag()).isEqualTo("\"1\"");
+
+		// second writer still holds version 0
+		Complaint second = new Complaint();
+		second.setStatus("Resolved");
+		ResponseEntity<Complaint> stale = controller.updateComplaint(c.getId(), "\"0\"", second);
+		assertThat(stale.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+		assertThat(stale.getHeaders().getETag()).isEqualTo("\"1\"");
+
+		Complaint assign = new Complaint();
+		assign.setAssignedStaff("officer-v");
+		assertThat(controller.assignOfficer(c.getId(), "\"0\"", assign).getStatusCode())
+				.isEqualTo(HttpStatus.PRECONDITION_FAILED);
+		assertThat(controller.assignOfficer(c.getId(), "*", assign).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+		assertThat(controller.getComplaintById(c.getId(), null).getBody().getStatus()).isEqualTo("In Progress");
+	}
+
+	@Test
+	void bulkUpdateMovesTheVersionOn() {
+		Complaint c = create("bulk-version-citizen");
+
+		BulkRequest request = new BulkRequest();
+		request.setIds(List.of(c.getId()));
+		request.setPriority("High");
+		bulkService.update(request);
+
+		assertThat(controller.getComplaintById(c.getId(), null).getHeaders().getETag()).isEqualTo("\"1\"");
+
+		Complaint change = new Complaint();
+		change.setStatus("In Progress");
+		assertThat(controller.updateComplaint(c.getId(), "\"0\"", change).getStatusCode())
+				.isEqualTo(HttpStatus.PRECONDITION_FAILED);
+	}
+
+	@Test
+	void writesWithoutIfMatchMergeOverConcurrentWriters() throws Exception {
+		Complaint c = create("no-if-match-citizen");
+		List<Consumer<Complaint>> changes = List.of(
+				u -> u.setAdminComments("From the admin"),
+				u -> u.setOfficerNotes("From the officer"),
+				u -> u.setPriority("High"));
+
+		// each retry means another writer committed: with three writers, three attempts always do
+		CountDownLatch go = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(changes.size());
+		try {
+			List<Future<ResponseEntity<Complaint>>> results = changes.stream().map(change -> pool.submit(() -> {
+				Complaint update = new Complaint();
+				change.accept(update);
+				go.await();
+				return controller.updateComplaint(c.getId(), null, update);
+			})).toList();
+			go.countDown();
+			for (Future<ResponseEntity<Complaint>> result : results) {
+				assertThat(result.get().getStatusCode()).isEqualTo(HttpStatus.OK);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		Complaint merged = controller.getComplaintById(c.getId(), null).getBody();
+		assertThat(merged.getAdminComments()).isEqualTo("From the admin");
+		assertThat(merged.getOfficerNotes()).isEqualTo("From the officer");
+		assertThat(merged.getPriority()).isEqualTo("High");
+		assertThat(merged.getVersion()).isEqualTo(3L);
+	}
+
+	private Complaint create(String citizen) {
+		return controller.createComplaint("Subject", "Description", "Roads", "Low", citizen, null, new MockHttpServletRequest()).getBody();
+	}
+
+}
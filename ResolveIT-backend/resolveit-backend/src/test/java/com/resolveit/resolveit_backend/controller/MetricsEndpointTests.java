@@ -0,0 +1,68 @@
+package com.resolveit.resolveit_backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Metrics export is off in tests unless asked for
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class MetricsEndpointTests {
+
+	@Autowired
+	private TestRestTemplate rest;
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void prometheusScrapeCoversRequestsPoolHibernateAndUploads() {
+		MultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
+		form.add("subject", "Pothole");
+		form.add("description", "Deep one");
+		form.add("category", "Roads");
+		form.add("priority", "High");
+		form.add("citizenName", "metrics-citizen");
+		HttpHeaders partHeaders = new HttpHeaders();
+		partHeaders.setContentType(MediaType.IMAGE_JPEG);
+		form.add("image", new HttpEntity<>(new ByteArrayResource(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 1}) {
+			@Override
+			public String getFilename() {
+				return "photo.jpg";
+			}
+		}, partHeaders));
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+		Map<String, Object> created = rest.postForObject("/api/complaints", new HttpEntity<>(form, headers), Map.class);
+
+		assertThat(rest.getForEntity("/api/complaints/" + created.get("id"), String.class).getStatusCode())
+				.isEqualTo(HttpStatus.OK);
+
+		ResponseEntity<String> scrape = rest.getForEntity("/actuator/prometheus", String.class);
+		assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(scrape.getBody())
+				.contains("http_server_requests_seconds_bucket{")
+				.contains("uri=\"/api/complaints/{id}\"")
+				.contains("hikaricp_connections_active")
+				.contains("hibernate_entities_loads_total")
+				.contains("resolveit_jdbc_statements_seconds_count{")
+				.contains("resolveit_db_statements_per_request_count{")
+				.contains("resolveit_db_entities_per_request_count{")
+				.contains("resolveit_images_stored_bytes_count{kind=\"upload\"")
+				.contains("resolveit_images_disk_seconds_count{")
+				.contains("resolveit_ingest_capacity");
+	}
+
+}
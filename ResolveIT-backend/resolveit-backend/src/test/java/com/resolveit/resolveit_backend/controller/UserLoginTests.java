@@ -0,0 +1,103 @@
+package com.resolveit.resolveit_backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.resolveit.resolveit_backend.model.User;
+import com.resolveit.resolveit_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// through the real servlet stack, so TokenAuthFilter runs
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UserLoginTests {
+
+	@Autowired
+	private TestRestTemplate rest;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private UserController controller;
+
+	@Test
+	void signUpStoresAHashAndLoginAnswersATokenButNeverThePassword() {
+		ResponseEntity<JsonNode> created = rest.postForEntity("/api/users",
+				Map.of("username", "login-citizen", "password", "s3cret!"), JsonNode.class);
+		assertThat(created.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(created.getBody().has("password")).isFalse();
+		assertThat(userRepository.findByUsername("login-citizen").getPassword()).startsWith("pbkdf2-sha256$");
+
+		// the JDK client cannot read a 401 answer to a POST, so these go to the controller directly
+		assertThat(controller.login(credentials("login-citizen", "wrong")).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+		assertThat(controller.login(credentials("nobody-here", "s3cret!")).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+
+		ResponseEntity<JsonNode> ok = login("login-citizen", "s3cret!");
+		assertThat(ok.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(ok.getBody().has("password")).isFalse();
+		assertThat(ok.getBody().get("role").asText()).isEqualTo("CITIZEN");
+		String token = ok.getBody().get("token").asText();
+
+		ResponseEntity<JsonNode> me = me(token);
+		assertThat(me.getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(me.getBody().get("username").asText()).isEqualTo("login-citizen");
+		assertThat(me.getBody().get("role").asText()).isEqualTo("CITIZEN");
+
+		assertThat(me(token.substring(0, token.length() - 2) + "xx").getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+		assertThat(rest.getForEntity("/api/users/me", String.class).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+		// a token in the URL only counts for the notification stream
+		assertThat(rest.getForEntity("/api/users/me?access_token=" + token, String.class).getStatusCode())
+				.isEqualTo(HttpStatus.UNAUTHORIZED);
+	}
+
+	@Test
+	void aPlainTextPasswordFromBeforeHashingIsUpgradedOnLogin() {
+		User legacy = new User();
+		legacy.setUsername("login-legacy");
+		legacy.setName("Legacy");
+		legacy.setEmail("login-legacy@resolveit.local");
+		legacy.setRole("OFFICER");
+		legacy.setPassword("old-password");
+		userRepository.save(legacy);
+
+		assertThat(login("login-legacy", "old-password").getStatusCode()).isEqualTo(HttpStatus.OK);
+		String stored = userRepository.findByUsername("login-legacy").getPassword();
+		assertThat(stored).startsWith("pbkdf2-sha256$1000$");
+
+		assertThat(login("login-legacy", "old-password").getStatusCode()).isEqualTo(HttpStatus.OK);
+		assertThat(userRepository.findByUsername("login-legacy").getPassword()).isEqualTo(stored);
+	}
+
+	@Test
+	void notificationStreamsNeedASessionToken() {
+		assertThat(rest.getForEntity("/api/notifications/stream?username=admin", String.class).getStatusCode())
+				.isEqualTo(HttpStatus.UNAUTHORIZED);
+	}
+
+	private ResponseEntity<JsonNode> login(String username, String password) {
+		return rest.postForEntity("/api/users/login", Map.of("username", username, "password", password), JsonNode.class);
+	}
+
+	private static User credentials(String username, String password) {
+		User u = new User();
+		u.setUsername(username);
+		u.setPassword(password);
+		return u;
+	}
+
+	private ResponseEntity<JsonNode> me(String token) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setBearerAuth(token);
+		return rest.exchange("/api/users/me", HttpMethod.GET, new HttpEntity<>(headers), JsonNode.class);
+	}
+}
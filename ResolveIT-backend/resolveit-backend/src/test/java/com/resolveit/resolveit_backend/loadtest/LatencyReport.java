@@ -0,0 +1,72 @@
+package com.resolveit.resolveit_backend.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-label latency samples (microseconds) and error counts, printed as one table:
+ * count, throughput over the measured window, p50 / p95 / p99 / max in milliseconds.
+ */
+class LatencyReport {
+
+	private static final class Samples {
+
+		private long[] values = new long[1024];
+		private int size;
+		private final AtomicLong errors = new AtomicLong();
+
+		synchronized void add(long micros) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = micros;
+		}
+
+		synchronized long[] sorted() {
+			long[] copy = Arrays.copyOf(values, size);
+			Arrays.sort(copy);
+			return copy;
+		}
+	}
+
+	private final Map<String, Samples> byLabel = new ConcurrentHashMap<>();
+
+	void record(String label, long micros, boolean ok) {
+		Samples samples = byLabel.computeIfAbsent(label, l -> new Samples());
+		if (ok) {
+			samples.add(micros);
+		} else {
+			samples.errors.incrementAndGet();
+		}
+	}
+
+	long errors() {
+		return byLabel.values().stream().mapToLong(s -> s.errors.get()).sum();
+	}
+
+	void print(String title, double seconds) {
+		System.out.printf("%n%s (%.1f s)%n", title, seconds);
+		System.out.printf("%-40s %8s %9s %9s %9s %9s %9s %7s%n",
+				"", "count", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+		for (Map.Entry<String, Samples> e : new TreeMap<>(byLabel).entrySet()) {
+			long[] sorted = e.getValue().sorted();
+			System.out.printf("%-40s %8d %9.1f %9.1f %9.1f %9.1f %9.1f %7d%n",
+					e.getKey(), sorted.length, sorted.length / seconds,
+					percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+					sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000.0, e.getValue().errors.get());
+		}
+	}
+
+	// nearest-rank, in milliseconds
+	static double percentile(long[] sorted, double p) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(p * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(sorted.length - 1, rank))] / 1000.0;
+	}
+
+}
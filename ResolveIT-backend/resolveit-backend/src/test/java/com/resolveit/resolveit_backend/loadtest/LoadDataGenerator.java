@@ -0,0 +1,197 @@
+package com.resolveit.resolveit_backend.loadtest;
+
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.model.Feedback;
+import com.resolveit.resolveit_backend.model.User;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import com.resolveit.resolveit_backend.repository.FeedbackRepository;
+import com.resolveit.resolveit_backend.repository.UserRepository;
+import com.resolveit.resolveit_backend.storage.ImageStore;
+import com.resolveit.resolveit_backend.storage.StoredImage;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic but plausible ResolveIT data, written through the real repositories
+ * (and the image store) so every column, index and cache sees production-like rows.
+ *
+ * Distributions: a few busy citizens file most complaints (Zipf-like), officers share
+ * the assigned ones evenly, about 40% are resolved and most of those carry feedback.
+ * The generator is seeded, so the same settings produce the same data set.
+ */
+class LoadDataGenerator {
+
+	static final String[] CATEGORIES = {"Roads", "Water", "Electricity", "Sanitation", "Public Safety", "Other"};
+	static final String[] PRIORITIES = {"Low", "Medium", "High"};
+	static final String[] STATUSES = {"Under Review", "In Progress", "Resolved"};
+
+	private static final String[] SUBJECTS = {
+			"Streetlight not working", "Pothole on main road", "No water supply since morning",
+			"Garbage not collected", "Open manhole near school", "Power cut every evening",
+			"Sewage overflow on street", "Broken footpath tiles", "Illegal dumping behind market",
+			"Water pipe leaking", "Traffic signal stuck on red", "Stray dogs near park"};
+	private static final int IMAGE_VARIANTS = 16;
+
+	record Settings(int citizens, int officers, int complaints, double imageShare, long seed) {
+	}
+
+	// what the traffic replay needs to pick realistic targets
+	record Seeded(List<String> citizens, List<String> officers, List<Integer> complaintIds,
+				  List<Integer> withImage, List<Integer> resolved) {
+	}
+
+	private final UserRepository users;
+	private final ComplaintRepository complaints;
+	private final FeedbackRepository feedback;
+	private final ImageStore images;
+
+	LoadDataGenerator(UserRepository users, ComplaintRepository complaints,
+					  FeedbackRepository feedback, ImageStore images) {
+		this.users = users;
+		this.complaints = complaints;
+		this.feedback = feedback;
+		this.images = images;
+	}
+
+	Seeded seed(Settings s) throws IOException {
+		Random random = new Random(s.seed());
+
+		List<String> citizens = new ArrayList<>();
+		List<String> officers = new ArrayList<>();
+		List<User> accounts = new ArrayList<>();
+		for (int i = 0; i < s.citizens(); i++) {
+			citizens.add("citizen" + i);
+			accounts.add(user("citizen" + i, "CITIZEN"));
+		}
+		for (int i = 0; i < s.officers(); i++) {
+			officers.add("officer" + i);
+			accounts.add(user("officer" + i, "OFFICER"));
+		}
+		accounts.add(user("admin", "ADMIN"));
+		users.saveAll(accounts);
+
+		List<StoredImage> pictures = new ArrayList<>();
+		for (int i = 0; i < IMAGE_VARIANTS; i++) {
+			pictures.add(images.save(new ByteArrayInputStream(photo(random)), "image/jpeg"));
+		}
+
+		List<Integer> ids = new ArrayList<>();
+		List<Integer> withImage = new ArrayList<>();
+		List<Integer> resolved = new ArrayList<>();
+		LocalDateTime now = LocalDateTime.now();
+		List<Complaint> batch = new ArrayList<>();
+		for (int i = 0; i < s.complaints(); i++) {
+			Complaint c = new Complaint();
+			c.setSubject(SUBJECTS[random.nextInt(SUBJECTS.length)] + " #" + i);
+			c.setDescription("Reported through the load-test generator. Ward " + random.nextInt(60)
+					+ ", near landmark " + random.nextInt(500) + ".");
+			c.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+			c.setPriority(PRIORITIES[random.nextInt(PRIORITIES.length)]);
+			c.setCitizenName(citizens.get(zipf(random, citizens.size())));
+
+			String status = STATUSES[random.nextInt(10) < 4 ? 2 : random.nextInt(2)];
+			c.setStatus(status);
+			boolean assigned = !"Under Review".equals(status) || random.nextBoolean();
+			c.setAssignedStaff(assigned ? officers.get(random.nextInt(officers.size())) : "Not assigned");
+			if (assigned) {
+				LocalDate deadline = now.toLocalDate().plusDays(random.nextInt(30) - 5);
+				c.setDeadlineIso(deadline);
+				c.setDeadline(deadline.toString());
+			}
+
+			LocalDateTime created = now.minusMinutes(random.nextInt(60 * 24 * 180));
+			c.setCreatedAt(created);
+			c.setUpdatedAt(created.plusMinutes(random.nextInt(60 * 24)));
+
+			if (random.nextDouble() < s.imageShare()) {
+				StoredImage picture = pictures.get(random.nextInt(pictures.size()));
+				c.setImagePath(picture.key());
+				c.setImageContentType(picture.contentType());
+			}
+			batch.add(c);
+
+			if (batch.size() == 500 || i == s.complaints() - 1) {
+				for (Complaint saved : complaints.saveAll(batch)) {
+					ids.add(saved.getId());
+					if (saved.getImagePath() != null) {
+						withImage.add(saved.getId());
+					}
+					if ("Resolved".equals(saved.getStatus())) {
+						resolved.add(saved.getId());
+					}
+				}
+				batch.clear();
+			}
+		}
+
+		List<Feedback> ratings = new ArrayList<>();
+		for (Integer id : resolved) {
+			if (random.nextInt(10) < 7) {
+				Feedback f = new Feedback();
+				f.setComplaintId(id);
+				f.setCitizenName(citizens.get(random.nextInt(citizens.size())));
+				f.setRating(1 + random.nextInt(5));
+				f.setComments("Generated rating");
+				f.setCreatedAt(now);
+				ratings.add(f);
+			}
+		}
+		feedback.saveAll(ratings);
+
+		return new Seeded(citizens, officers, ids, withImage, resolved);
+	}
+
+	private static User user(String username, String role) {
+		User u = new User();
+		u.setUsername(username);
+		u.setName(username);
+		u.setEmail(username + "@resolveit.local");
+		u.setPassword("password");
+		u.setRole(role);
+		return u;
+	}
+
+	// rank 0 is the busiest; P(rank) ~ 1 / (rank + 1)
+	static int zipf(Random random, int n) {
+		double harmonic = Math.log(n) + 0.5772;
+		double target = random.nextDouble() * harmonic;
+		double sum = 0;
+		for (int rank = 0; rank < n; rank++) {
+			sum += 1.0 / (rank + 1);
+			if (sum >= target) {
+				return rank;
+			}
+		}
+		return n - 1;
+	}
+
+	// a phone-camera-sized JPEG (1600x1200), distinct per call
+	private static byte[] photo(Random random) throws IOException {
+		BufferedImage img = new BufferedImage(1600, 1200, BufferedImage.TYPE_INT_RGB);
+		Graphics2D g = img.createGraphics();
+		g.setPaint(new GradientPaint(0, 0, new Color(random.nextInt(0xFFFFFF)),
+				1600, 1200, new Color(random.nextInt(0xFFFFFF))));
+		g.fillRect(0, 0, 1600, 1200);
+		for (int i = 0; i < 200; i++) {
+			g.setColor(new Color(random.nextInt(0xFFFFFF)));
+			g.fillOval(random.nextInt(1600), random.nextInt(1200), 20 + random.nextInt(120), 20 + random.nextInt(120));
+		}
+		g.dispose();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(img, "jpg", out);
+		return out.toByteArray();
+	}
+
+}
@@ -0,0 +1,288 @@
+package com.resolveit.resolveit_backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resolveit.resolveit_backend.ResolveitBackendApplication;
+import com.resolveit.resolveit_backend.benchmark.BenchmarkDatabase;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import com.resolveit.resolveit_backend.repository.FeedbackRepository;
+import com.resolveit.resolveit_backend.repository.UserRepository;
+import com.resolveit.resolveit_backend.service.ComplaintStatsService;
+import com.resolveit.resolveit_backend.storage.ImageStore;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test: boots the application on a random port over an in-memory
+ * H2 database in MySQL mode, seeds it with LoadDataGenerator and replays the page
+ * loads of the three dashboards, the detail pages and the write actions with a fixed
+ * number of concurrent users (closed model, no think time).
+ *
+ * Each scenario issues the same requests as the corresponding page in the frontend;
+ * the report has one row per endpoint and one per scenario (a whole page load).
+ *
+ * Opt-in, not part of the normal build:
+ *   mvn test -Dgroups=benchmark -Dsurefire.excludedGroups=none -Dtest=LoadTestHarnessTests
+ * Tunables: -Dload.users=16 (concurrent)  -Dload.seconds=60  -Dload.warmupSeconds=10
+ *           -Dload.citizens=2000  -Dload.officers=40  -Dload.complaints=20000  -Dload.imageShare=0.3
+ *           -Dload.url=jdbc:mysql://host/resolveit_bench  -Dload.user=..  -Dload.password=..
+ * The schema is dropped and recreated, so an external database has to be a dedicated
+ * one with "bench" in its name (BenchmarkDatabase refuses others).
+ */
+@Tag("benchmark")
+class LoadTestHarnessTests {
+
+	private static final int USERS = Integer.getInteger("load.users", 16);
+	private static final int SECONDS = Integer.getInteger("load.seconds", 60);
+	private static final int WARMUP_SECONDS = Integer.getInteger("load.warmupSeconds", 10);
+	private static final LoadDataGenerator.Settings DATA = new LoadDataGenerator.Settings(
+			Integer.getInteger("load.citizens", 2_000),
+			Integer.getInteger("load.officers", 40),
+			Integer.getInteger("load.complaints", 20_000),
+			Double.parseDouble(System.getProperty("load.imageShare", "0.3")),
+			42L);
+
+	private static final ObjectMapper JSON = new ObjectMapper();
+
+	// share of page loads; sums to 100
+	enum Scenario {
+		CITIZEN_DASHBOARD(10),
+		MY_COMPLAINTS(20),
+		OFFICER_DASHBOARD(15),
+		ADMIN_DASHBOARD(5),
+		DETAIL_VIEW(35),
+		ASSIGN(5),
+		FEEDBACK(10);
+
+		final int weight;
+
+		Scenario(int weight) {
+			this.weight = weight;
+		}
+
+		static Scenario pick(Random random) {
+			int roll = random.nextInt(100);
+			for (Scenario s : values()) {
+				roll -= s.weight;
+				if (roll < 0) {
+					return s;
+				}
+			}
+			return DETAIL_VIEW;
+		}
+	}
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void replayTrafficMix() throws Exception {
+		String url = BenchmarkDatabase.url("load.url",
+				"jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+
+		// command-line arguments: they win over the test application.properties
+		String[] args = {
+				"--server.port=0",
+				"--spring.datasource.url=" + url,
+				"--spring.datasource.username=" + System.getProperty("load.user", "sa"),
+				"--spring.datasource.password=" + System.getProperty("load.password", ""),
+				"--spring.jpa.properties.hibernate.dialect=" + (url.startsWith("jdbc:mysql:")
+						? "org.hibernate.dialect.MySQLDialect" : "org.hibernate.dialect.H2Dialect"),
+				"--spring.jpa.hibernate.ddl-auto=create-drop",
+				"--spring.flyway.enabled=false",
+				"--resolveit.images.dir=" + dir.resolve("images"),
+				"--resolveit.ingest.dir=" + dir.resolve("ingest"),
+				"--resolveit.history.dir=" + dir.resolve("history"),
+				"--resolveit.search.dir="};
+
+		try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(ResolveitBackendApplication.class).run(args)) {
+			long seedStart = System.nanoTime();
+			LoadDataGenerator.Seeded data = new LoadDataGenerator(ctx.getBean(UserRepository.class),
+					ctx.getBean(ComplaintRepository.class), ctx.getBean(FeedbackRepository.class),
+					ctx.getBean(ImageStore.class)).seed(DATA);
+			// the counters were built from the empty table at startup
+			ctx.getBean(ComplaintStatsService.class).rebuild();
+			System.out.printf("Seeded %s in %.1f s%n", DATA, (System.nanoTime() - seedStart) / 1e9);
+
+			String base = "http://localhost:" + ((WebServerApplicationContext) ctx).getWebServer().getPort();
+			run(base, data, WARMUP_SECONDS, new LatencyReport());
+
+			LatencyReport report = new LatencyReport();
+			double seconds = run(base, data, SECONDS, report);
+			report.print("Load test: " + USERS + " concurrent users", seconds);
+
+			assertThat(report.errors()).isZero();
+		}
+	}
+
+	// wall-clock seconds actually measured
+	private double run(String base, LoadDataGenerator.Seeded data, int seconds, LatencyReport report) throws Exception {
+		HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(10))
+				.build();
+		long start = System.nanoTime();
+		long end = start + Duration.ofSeconds(seconds).toNanos();
+
+		ExecutorService pool = Executors.newFixedThreadPool(USERS);
+		try {
+			List<Future<?>> users = new ArrayList<>();
+			for (int u = 0; u < USERS; u++) {
+				VirtualUser user = new VirtualUser(client, base, data, report, new Random(1_000L + u));
+				users.add(pool.submit(() -> {
+					while (System.nanoTime() < end) {
+						user.next();
+					}
+					return null;
+				}));
+			}
+			for (Future<?> f : users) {
+				f.get();
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		return (System.nanoTime() - start) / 1e9;
+	}
+
+	/* ==========================================================
+       One simulated browser: picks a page, issues its requests
+    ========================================================== */
+	private static final class VirtualUser {
+
+		private final HttpClient client;
+		private final String base;
+		private final LoadDataGenerator.Seeded data;
+		private final LatencyReport report;
+		private final Random random;
+
+		VirtualUser(HttpClient client, String base, LoadDataGenerator.Seeded data, LatencyReport report, Random random) {
+			this.client = client;
+			this.base = base;
+			this.data = data;
+			this.report = report;
+			this.random = random;
+		}
+
+		void next() throws Exception {
+			Scenario scenario = Scenario.pick(random);
+			long start = System.nanoTime();
+			boolean ok = switch (scenario) {
+				case CITIZEN_DASHBOARD -> walkAllPages();
+				case MY_COMPLAINTS -> get("GET /api/complaints/citizen/{name}",
+						"/api/complaints/citizen/" + encode(pick(data.citizens(), true))) != null;
+				case OFFICER_DASHBOARD -> get("GET /api/complaints/officer/{name}",
+						"/api/complaints/officer/" + encode(pick(data.officers(), false))) != null;
+				case ADMIN_DASHBOARD -> walkAllPages()
+						&& get("GET /api/complaints/stats", "/api/complaints/stats") != null;
+				case DETAIL_VIEW -> detailView();
+				case ASSIGN -> assign();
+				case FEEDBACK -> feedback();
+			};
+			report.record("page " + scenario.name().toLowerCase().replace('_', '-'),
+					(System.nanoTime() - start) / 1_000, ok);
+		}
+
+		// dashboard.js / admin-dashboard.js: fetchComplaintPages() with limit 200
+		private boolean walkAllPages() throws Exception {
+			String afterId = "0";
+			while (afterId != null) {
+				JsonNode page = get("GET /api/complaints?afterId&limit", "/api/complaints?afterId=" + afterId + "&limit=200");
+				if (page == null) {
+					return false;
+				}
+				JsonNode next = page.get("nextAfterId");
+				afterId = next == null || next.isNull() ? null : next.asText();
+			}
+			return true;
+		}
+
+		// complaint-detail.js: the complaint, its thumbnail, its feedback
+		private boolean detailView() throws Exception {
+			boolean image = !data.withImage().isEmpty() && random.nextInt(10) < 4;
+			Integer id = image ? pick(data.withImage(), false) : pick(data.complaintIds(), false);
+			boolean ok = get("GET /api/complaints/{id}", "/api/complaints/" + id) != null;
+			if (image) {
+				ok &= send("GET /api/complaints/{id}/image?size=medium",
+						HttpRequest.newBuilder(uri("/api/complaints/" + id + "/image?size=medium")).build()) != null;
+			}
+			return ok && get("GET /api/feedback/{id}", "/api/feedback/" + id) != null;
+		}
+
+		// admin-complaint-detail.js: open the complaint, then reassign it
+		private boolean assign() throws Exception {
+			Integer id = pick(data.complaintIds(), false);
+			if (get("GET /api/complaints/{id}", "/api/complaints/" + id) == null) {
+				return false;
+			}
+			String body = "{\"assignedStaff\":\"" + pick(data.officers(), false) + "\"}";
+			return send("PUT /api/complaints/{id}/assign", HttpRequest.newBuilder(uri("/api/complaints/" + id + "/assign"))
+					.header("Content-Type", "application/json")
+					.PUT(HttpRequest.BodyPublishers.ofString(body))
+					.build()) != null;
+		}
+
+		// complaint-detail.js: rate a resolved complaint
+		private boolean feedback() throws Exception {
+			if (data.resolved().isEmpty()) {
+				return true;
+			}
+			Integer id = pick(data.resolved(), false);
+			String body = "{\"citizenName\":\"" + pick(data.citizens(), true) + "\",\"rating\":" + (1 + random.nextInt(5))
+					+ ",\"comments\":\"Load test rating\"}";
+			return send("POST /api/feedback/{id}", HttpRequest.newBuilder(uri("/api/feedback/" + id))
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(body))
+					.build()) != null;
+		}
+
+		private JsonNode get(String label, String path) throws Exception {
+			byte[] body = send(label, HttpRequest.newBuilder(uri(path)).build());
+			return body == null ? null : JSON.readTree(body);
+		}
+
+		// null on a non-2xx answer
+		private byte[] send(String label, HttpRequest request) throws Exception {
+			long start = System.nanoTime();
+			HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+			boolean ok = response.statusCode() / 100 == 2;
+			report.record(label, (System.nanoTime() - start) / 1_000, ok);
+			return ok ? response.body() : null;
+		}
+
+		private URI uri(String path) {
+			return URI.create(base + path);
+		}
+
+		// citizens are picked with the same skew they filed complaints with
+		private <T> T pick(List<T> from, boolean skewed) {
+			return from.get(skewed ? LoadDataGenerator.zipf(random, from.size()) : random.nextInt(from.size()));
+		}
+
+		private static String encode(String s) {
+			return URLEncoder.encode(s, StandardCharsets.UTF_8);
+		}
+	}
+
+}
@@ -0,0 +1,136 @@
+package com.resolveit.resolveit_backend.repository;
+
+import com.resolveit.resolveit_backend.dto.ComplaintSummary;
+import com.resolveit.resolveit_backend.model.Complaint;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class ComplaintRepositoryTests {
+
+	@Autowired
+	private ComplaintRepository complaintRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@BeforeEach
+	void seed() {
+		complaintRepository.save(complaint("Water leak", "Water", "High", "Under Review", "officer1", LocalDateTime.parse("2025-12-01T09:00:00")));
+		complaintRepository.save(complaint("Pothole", "Roads", "Low", "In Progress", "officer2", LocalDateTime.parse("2025-12-02T10:30:00")));
+		complaintRepository.save(complaint("Street light", "Electricity", "High", "Resolved", "officer1", LocalDateTime.parse("2025-12-03T18:45:00")));
+		complaintRepository.save(complaint("Garbage", "Sanitation", "Medium", "Under Review", "Not assigned", LocalDateTime.parse("2025-12-04T08:15:00")));
+	}
+
+	@Test
+	void keysetPagesWalkTheTableInIdOrder() {
+		List<ComplaintSummary> first = complaintRepository.findPageAfter(0, null, null, null, null, null, null, Limit.of(2));
+		assertThat(first).extracting(ComplaintSummary::getSubject).containsExactly("Water leak", "Pothole");
+
+		Integer afterId = first.get(1).getId();
+		List<ComplaintSummary> second = complaintRepository.findPageAfter(afterId, null, null, null, null, null, null, Limit.of(2));
+		assertThat(second).extracting(ComplaintSummary::getSubject).containsExactly("Street light", "Garbage");
+
+		List<ComplaintSummary> third = complaintRepository.findPageAfter(second.get(1).getId(), null, null, null, null, null, null, Limit.of(2));
+		assertThat(third).isEmpty();
+	}
+
+	@Test
+	void filtersAreAppliedOnTheServer() {
+		assertThat(complaintRepository.findPageAfter(0, null, null, "High", "officer1", null, null, Limit.of(10)))
+				.extracting(ComplaintSummary::getSubject)
+				.containsExactly("Water leak", "Street light");
+
+		assertThat(complaintRepository.findPageAfter(0, "Under Review", null, null, null, null, null, Limit.of(10)))
+				.extracting(ComplaintSummary::getSubject)
+				.containsExactly("Water leak", "Garbage");
+
+		assertThat(complaintRepository.findPageAfter(0, null, null, null, null, LocalDateTime.parse("2025-12-02T00:00"), LocalDateTime.parse("2025-12-04T00:00"), Limit.of(10)))
+				.extracting(ComplaintSummary::getSubject)
+				.containsExactly("Pothole", "Street light");
+	}
+
+	@Test
+	void imageColumnsAreOnlyLoadedWhenAccessed() {
+		Complaint withImage = complaint("Broken pipe", "Water", "High", "Under Review", "officer1", LocalDateTime.parse("2025-12-05T11:00:00"));
+		withImage.setImageData("base64-payload");
+		Integer id = complaintRepository.save(withImage).getId();
+		entityManager.flush();
+		entityManager.clear();
+
+		Complaint loaded = complaintRepository.findById(id).orElseThrow();
+		assertThat(Hibernate.isPropertyInitialized(loaded, "subject")).isTrue();
+		assertThat(Hibernate.isPropertyInitialized(loaded, "imageData")).isFalse();
+
+		assertThat(loaded.getImageData()).isEqualTo("base64-payload");
+	}
+
+	@Test
+	void createdBetweenAndOverdueAreRangeQueries() {
+		assertThat(complaintRepository.findCreatedBetween(
+				LocalDateTime.parse("2025-12-02T00:00"), LocalDateTime.parse("2025-12-04T00:00"), Limit.of(10)))
+				.extracting(ComplaintSummary::getSubject)
+				.containsExactly("Pothole", "Street light");
+
+		List<ComplaintSummary> all = complaintRepository.findPageAfter(0, null, null, null, null, null, null, Limit.of(10));
+		setDeadline(all.get(0).getId(), LocalDate.of(2025, 12, 10));   // open, overdue
+		setDeadline(all.get(1).getId(), LocalDate.of(2025, 12, 20));   // open, not yet due
+		setDeadline(all.get(2).getId(), LocalDate.of(2025, 12, 1));    // resolved
+
+		LocalDate today = LocalDate.of(2025, 12, 15);
+		assertThat(complaintRepository.findOverdue(today, Limit.of(10)))
+				.extracting(ComplaintSummary::getSubject)
+				.containsExactly("Water leak");
+		assertThat(complaintRepository.countOverdue(today)).isEqualTo(1);
+	}
+
+	@Test
+	void markEscalatedRechecksTheRuleInTheUpdate() {
+		List<ComplaintSummary> all = complaintRepository.findPageAfter(0, null, null, null, null, null, null, Limit.of(10));
+		setDeadline(all.get(0).getId(), LocalDate.of(2025, 12, 10));   // open, overdue
+		setDeadline(all.get(1).getId(), LocalDate.of(2025, 12, 20));   // open, extended meanwhile
+		setDeadline(all.get(2).getId(), LocalDate.of(2025, 12, 1));    // resolved
+
+		int updated = complaintRepository.markEscalated(
+				all.stream().map(ComplaintSummary::getId).toList(), LocalDate.of(2025, 12, 15));
+		entityManager.clear();
+
+		assertThat(updated).isEqualTo(1);
+		assertThat(complaintRepository.findEscalationCandidates())
+				.extracting(row -> row[0])
+				.containsExactly(all.get(1).getId());
+	}
+
+	private void setDeadline(Integer id, LocalDate deadline) {
+		Complaint c = complaintRepository.findById(id).orElseThrow();
+		c.setDeadlineIso(deadline);
+		complaintRepository.saveAndFlush(c);
+	}
+
+	private static Complaint complaint(String subject, String category, String priority,
+									   String status, String assignedStaff, LocalDateTime createdAt) {
+		Complaint c = new Complaint();
+		c.setSubject(subject);
+		c.setDescription(subject + " description");
+		c.setCategory(category);
+		c.setPriority(priority);
+		c.setStatus(status);
+		c.setCitizenName("citizen");
+		c.setAssignedStaff(assignedStaff);
+		c.setCreatedAt(createdAt);
+		c.setUpdatedAt(createdAt);
+		return c;
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthTokensTests {
+
+	private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+	private static final Instant NOW = Instant.parse("2026-03-01T09:00:00Z");
+
+	@Test
+	void aTokenCarriesTheCallerUntilItExpires() {
+		String token = tokens(NOW).issue(user()).token();
+
+		AuthTokens.Principal p = tokens(NOW.plusSeconds(3_599)).verify(token).orElseThrow();
+		assertThat(p.userId()).isEqualTo(7);
+		assertThat(p.username()).isEqualTo("meena.k");
+		assertThat(p.name()).isEqualTo("Meena K");
+		assertThat(p.role()).isEqualTo("OFFICER");
+		assertThat(p.expiresAt()).isEqualTo(NOW.plusSeconds(3_600));
+
+		assertThat(tokens(NOW.plusSeconds(3_600)).verify(token)).isEmpty();
+	}
+
+	@Test
+	void forgedOrMangledTokensAreRejected() {
+		String token = tokens(NOW).issue(user()).token();
+		String otherKey = Base64.getEncoder().encodeToString(new byte[] {
+				1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32});
+		AuthTokens verifier = tokens(NOW);
+
+		assertThat(new AuthTokens(otherKey, Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC)).verify(token)).isEmpty();
+		// payload swapped for another user's, signature kept
+		User admin = user();
+		admin.setRole("ADMIN");
+		String adminPayload = tokens(NOW).issue(admin).token().split("\\.")[0];
+		assertThat(verifier.verify(adminPayload + "." + token.split("\\.")[1])).isEmpty();
+
+		assertThat(verifier.verify("")).isEmpty();
+		assertThat(verifier.verify("abc")).isEmpty();
+		assertThat(verifier.verify("abc.")).isEmpty();
+		assertThat(verifier.verify("!!.??")).isEmpty();
+	}
+
+	private static AuthTokens tokens(Instant now) {
+		return new AuthTokens(SECRET, Duration.ofHours(1), Clock.fixed(now, ZoneOffset.UTC));
+	}
+
+	private static User user() {
+		User u = new User();
+		u.setId(7);
+		u.setUsername("meena.k");
+		u.setName("Meena K");
+		u.setRole("OFFICER");
+		return u;
+	}
+}
@@ -0,0 +1,168 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.controller.ComplaintController;
+import com.resolveit.resolveit_backend.dto.BulkRequest;
+import com.resolveit.resolveit_backend.dto.BulkResult;
+import com.resolveit.resolveit_backend.dto.ComplaintSummary;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ComplaintBulkServiceTests {
+
+	@Autowired
+	private ComplaintBulkService bulkService;
+
+	@Autowired
+	private ComplaintController controller;
+
+	@Autowired
+	private ComplaintRepository complaintRepository;
+
+	@Autowired
+	private ComplaintStatsService statsService;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void assignsByIdAndReportsEveryItem() {
+		Complaint a = create("bulk-citizen-a", "Roads");
+		Complaint b = create("bulk-citizen-b", "Roads");
+
+		// warm the caches that the change must evict
+		assertThat(controller.getByOfficer("bulk-officer")).isEmpty();
+		assertThat(controller.getByCitizen("bulk-citizen-a")).singleElement()
+				.extracting(ComplaintSummary::getAssignedStaff).isEqualTo("Not assigned");
+		long assignedBefore = statsService.snapshot().getByAssignee().getOrDefault("bulk-officer", 0L);
+
+		BulkRequest request = new BulkRequest();
+		request.setIds(List.of(a.getId(), b.getId(), a.getId(), 999_999));
+		request.setAssignedStaff("bulk-officer");
+		request.setDeadlineIso(LocalDate.now().plusDays(3));
+		BulkResult result = bulkService.update(request);
+
+		assertThat(result.getRequested()).isEqualTo(3);
+		assertThat(result.getSucceeded()).isEqualTo(2);
+		assertThat(result.getItems()).extracting(BulkResult.Item::getOutcome).containsExactly(
+				BulkResult.Outcome.UPDATED, BulkResult.Outcome.UPDATED, BulkResult.Outcome.NOT_FOUND);
+
+		assertThat(controller.getByOfficer("bulk-officer")).hasSize(2);
+		assertThat(controller.getByCitizen("bulk-citizen-a")).singleElement()
+				.extracting(ComplaintSummary::getAssignedStaff).isEqualTo("bulk-officer");
+		assertThat(controller.getComplaintById(b.getId(), null).getBody().getDeadlineIso())
+				.isEqualTo(LocalDate.now().plusDays(3));
+		assertThat(statsService.snapshot().getByAssignee().get("bulk-officer")).isEqualTo(assignedBefore + 2);
+	}
+
+	@Test
+	void filterWalksEveryChunkAndKeepsStatsInStep() {
+		List<Complaint> seeded = new ArrayList<>();
+		for (int i = 0; i < ComplaintBulkService.CHUNK_SIZE * 2 + 7; i++) {
+			Complaint c = new Complaint();
+			c.setSubject("Seeded " + i);
+			c.setDescription("Seeded for the chunking test");
+			c.setCategory("BulkChunk");
+			c.setPriority("Low");
+			c.setStatus("Under Review");
+			c.setCitizenName("bulk-seed");
+			c.setAssignedStaff("Not assigned");
+			c.setCreatedAt(LocalDateTime.now());
+			seeded.add(c);
+		}
+		complaintRepository.saveAll(seeded);
+		statsService.rebuild();
+		long total = statsService.snapshot().getTotal();
+
+		BulkRequest filter = new BulkRequest();
+		filter.setFilter(new BulkRequest.Filter());
+		filter.getFilter().setCategory("BulkChunk");
+		filter.getFilter().setStatus("Under Review");
+		filter.setStatus("In Progress");
+
+		BulkResult updated = bulkService.update(filter);
+		assertThat(updated.getSucceeded()).isEqualTo(seeded.size());
+		assertThat(controller.getByCitizen("bulk-seed"))
+				.allSatisfy(s -> assertThat(s.getStatus()).isEqualTo("In Progress"));
+
+		filter.getFilter().setStatus(null);
+		BulkResult deleted = bulkService.delete(filter);
+		assertThat(deleted.getItems()).hasSize(seeded.size())
+				.allSatisfy(item -> assertThat(item.getOutcome()).isEqualTo(BulkResult.Outcome.DELETED));
+		assertThat(controller.getByCitizen("bulk-seed")).isEmpty();
+		assertThat(statsService.snapshot().getTotal()).isEqualTo(total - seeded.size());
+	}
+
+	@Test
+	void rejectsRequestsWithoutTargetsOrChanges() {
+		BulkRequest everything = new BulkRequest();
+		everything.setFilter(new BulkRequest.Filter());
+		everything.setStatus("Resolved");
+		assertThatThrownBy(() -> bulkService.update(everything)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> bulkService.delete(everything)).isInstanceOf(IllegalArgumentException.class);
+
+		BulkRequest noChange = new BulkRequest();
+		noChange.setIds(List.of(1));
+		assertThatThrownBy(() -> bulkService.update(noChange)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void thePreviousStateIsReadUnderRowLocks() throws Exception {
+		Complaint c = create("bulk-lock-citizen", "Roads");
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			// a chunk between its SELECT and its UPDATE
+			Future<?> chunk = pool.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+				complaintRepository.findSummariesForUpdate(List.of(c.getId()));
+				locked.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+			assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+			Complaint change = new Complaint();
+			change.setStatus("In Progress");
+			Future<ResponseEntity<Complaint>> put = pool.submit(() -> controller.updateComplaint(c.getId(), null, change));
+			Thread.sleep(300);
+			assertThat(put.isDone()).isFalse();
+
+			release.countDown();
+			chunk.get(5, TimeUnit.SECONDS);
+			assertThat(put.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+		} finally {
+			release.countDown();
+			pool.shutdownNow();
+		}
+	}
+
+	private Complaint create(String citizen, String category) {
+		return controller.createComplaint("Subject", "Description", category, "Low", citizen, null, new MockHttpServletRequest()).getBody();
+	}
+
+}
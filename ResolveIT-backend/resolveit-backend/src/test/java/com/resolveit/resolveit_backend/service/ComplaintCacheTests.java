@@ -0,0 +1,94 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.config.CacheConfig;
+import com.resolveit.resolveit_backend.controller.ComplaintController;
+import com.resolveit.resolveit_backend.dto.ComplaintSummary;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Full context: the caches only exist behind the Spring proxies
+@SpringBootTest
+class ComplaintCacheTests {
+
+	@Autowired
+	private ComplaintController controller;
+
+	@Autowired
+	private ComplaintRepository complaintRepository;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@BeforeEach
+	void clearCaches() {
+		cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+	}
+
+	@Test
+	void detailReadsAreServedFromTheCacheUntilTheComplaintChanges() {
+		Complaint c = createFor("meena");
+
+		Complaint first = controller.getComplaintById(c.getId(), null).getBody();
+		Complaint second = controller.getComplaintById(c.getId(), null).getBody();
+		assertThat(second).isSameAs(first);
+
+		Complaint change = new Complaint();
+		change.setStatus("In Progress");
+		controller.updateComplaint(c.getId(), null, change);
+
+		Complaint third = controller.getComplaintById(c.getId(), null).getBody();
+		assertThat(third).isNotSameAs(first);
+		assertThat(third.getStatus()).isEqualTo("In Progress");
+	}
+
+	@Test
+	void assignEvictsOnlyTheListsTheComplaintIsIn() {
+		Complaint mine = createFor("kiran");
+		createFor("other");
+
+		List<ComplaintSummary> kiran = controller.getByCitizen("kiran");
+		List<ComplaintSummary> other = controller.getByCitizen("other");
+		List<ComplaintSummary> officerBefore = controller.getByOfficer("officer7");
+		assertThat(officerBefore).isEmpty();
+
+		Complaint assign = new Complaint();
+		assign.setAssignedStaff("officer7");
+		controller.assignOfficer(mine.getId(), null, assign);
+
+		// untouched citizen still cached, the affected lists are reloaded
+		assertThat(controller.getByCitizen("other")).isSameAs(other);
+		assertThat(controller.getByCitizen("kiran")).isNotSameAs(kiran)
+				.singleElement().extracting(ComplaintSummary::getAssignedStaff).isEqualTo("officer7");
+		assertThat(controller.getByOfficer("officer7")).hasSize(1);
+		assertThat(cacheManager.getCache(CacheConfig.COMPLAINTS_BY_OFFICER).get("Not assigned")).isNull();
+	}
+
+	@Test
+	void deleteEvictsTheDetailAndTheLists() {
+		Complaint c = createFor("ravi");
+		controller.getComplaintById(c.getId(), null);
+		assertThat(controller.getByCitizen("ravi")).hasSize(1);
+
+		controller.deleteComplaint(c.getId());
+
+		assertThat(controller.getComplaintById(c.getId(), null).getStatusCode().value()).isEqualTo(404);
+		assertThat(controller.getByCitizen("ravi")).isEmpty();
+	}
+
+	private Complaint createFor(String citizen) {
+		complaintRepository.findByCitizenName(citizen).forEach(s -> complaintRepository.deleteById(s.getId()));
+		cacheManager.getCache(CacheConfig.COMPLAINTS_BY_CITIZEN).evict(citizen);
+		return controller.createComplaint("Subject", "Description", "Roads", "Low", citizen, null, new MockHttpServletRequest()).getBody();
+	}
+
+}
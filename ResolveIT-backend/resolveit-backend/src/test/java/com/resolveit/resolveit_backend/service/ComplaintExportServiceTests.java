@@ -0,0 +1,75 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import(ComplaintExportService.class)
+class ComplaintExportServiceTests {
+
+	@Autowired
+	private ComplaintRepository complaintRepository;
+
+	@Autowired
+	private ComplaintExportService exportService;
+
+	@BeforeEach
+	void seed() {
+		complaintRepository.save(complaint("Water \"urgent\" leak", "Under Review", LocalDateTime.parse("2025-12-01T09:00:00")));
+		complaintRepository.save(complaint("Pothole", "Resolved", LocalDateTime.parse("2025-12-02T10:30:00")));
+		complaintRepository.save(complaint("Street light", "Resolved", LocalDateTime.parse("2025-12-05T18:45:00")));
+	}
+
+	@Test
+	void streamsEveryRowWithEscapedValues() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.writeCsv(out, null, null, null, ComplaintCsvWriter.parseColumns(null), false);
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertThat(lines).hasSize(4);
+		assertThat(lines[0]).isEqualTo("ID,Subject,Category,Priority,Status,Citizen,AssignedStaff,CreatedAt,UpdatedAt,Deadline");
+		assertThat(lines[1]).contains("\"Water \"\"urgent\"\" leak\"");
+	}
+
+	@Test
+	void appliesFiltersColumnsAndGzip() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.writeCsv(out, "Resolved", null, LocalDateTime.parse("2025-12-03T00:00"),
+				ComplaintCsvWriter.parseColumns("subject,status"), true);
+
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+			String csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+			assertThat(csv).isEqualTo("Subject,Status\n\"Pothole\",\"Resolved\"\n");
+		}
+	}
+
+	@Test
+	void rejectsUnknownColumns() {
+		assertThatThrownBy(() -> ComplaintCsvWriter.parseColumns("id,password"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static Complaint complaint(String subject, String status, LocalDateTime createdAt) {
+		Complaint c = new Complaint();
+		c.setSubject(subject);
+		c.setDescription(subject);
+		c.setStatus(status);
+		c.setCreatedAt(createdAt);
+		return c;
+	}
+
+}
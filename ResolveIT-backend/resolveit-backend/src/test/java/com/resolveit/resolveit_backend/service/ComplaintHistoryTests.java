@@ -0,0 +1,193 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resolveit.resolveit_backend.controller.ComplaintController;
+import com.resolveit.resolveit_backend.dto.ComplaintEvent;
+import com.resolveit.resolveit_backend.dto.LifecycleEvent;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.model.OutboxEvent;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import com.resolveit.resolveit_backend.repository.OutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+
+// the history is written by the outbox listener; the context's dispatcher is off, so tests deliver
+@SpringBootTest
+class ComplaintHistoryTests {
+
+	@Autowired
+	private ComplaintController controller;
+
+	@Autowired
+	private ComplaintHistory history;
+
+	@Autowired
+	private OutboxDispatcher dispatcher;
+
+	@Autowired
+	private OutboxRepository outboxRepository;
+
+	@Autowired
+	private ComplaintOutbox outbox;
+
+	@Autowired
+	private ComplaintRepository complaintRepository;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Test
+	void everyChangeIsRecordedAndPastStatesCanBeRebuilt() throws Exception {
+		LocalDateTime beforeCreate = LocalDateTime.now();
+		Thread.sleep(5);
+		Complaint c = controller.createComplaint("Leaking main", "Water on the road", "Water", "High",
+				"history-citizen", null, new MockHttpServletRequest()).getBody();
+		Integer id = c.getId();
+
+		Complaint progress = new Complaint();
+		progress.setStatus("In Progress");
+		progress.setAdminComments("Crew on the way");
+		controller.updateComplaint(id, null, progress);
+		Thread.sleep(5);
+		LocalDateTime inProgress = LocalDateTime.now();
+		Thread.sleep(5);
+
+		Complaint assign = new Complaint();
+		assign.setAssignedStaff("history-officer");
+		controller.assignOfficer(id, null, assign);
+
+		// a PUT that changes nothing leaves no trace
+		Complaint same = new Complaint();
+		same.setStatus("In Progress");
+		controller.updateComplaint(id, null, same);
+		deliver();
+
+		List<ComplaintEvent> events = controller.getHistory(id).getBody();
+		assertThat(events).extracting(ComplaintEvent::getType).containsExactly(
+				ComplaintEvent.Type.CREATED, ComplaintEvent.Type.UPDATED, ComplaintEvent.Type.ASSIGNED);
+		assertThat(events).extracting(ComplaintEvent::getVersion).containsExactly(0L, 1L, 2L);
+		assertThat(events.get(1).getChanges()).containsOnlyKeys("status", "adminComments");
+		assertThat(events.get(2).getChanges()).containsEntry("assignedStaff", "history-officer");
+
+		assertThat(controller.getStateAt(id, beforeCreate).getStatusCode().value()).isEqualTo(404);
+		Complaint then = controller.getStateAt(id, inProgress).getBody();
+		assertThat(then.getStatus()).isEqualTo("In Progress");
+		assertThat(then.getAdminComments()).isEqualTo("Crew on the way");
+		assertThat(then.getAssignedStaff()).isEqualTo("Not assigned");
+		assertThat(then.getVersion()).isEqualTo(1L);
+		assertThat(then.getSubject()).isEqualTo("Leaking main");
+
+		controller.deleteComplaint(id);
+		deliver();
+		assertThat(history.events(id)).last().extracting(ComplaintEvent::getType).isEqualTo(ComplaintEvent.Type.DELETED);
+		assertThat(history.stateAt(id, LocalDateTime.now())).isEmpty();
+		assertThat(history.stateAt(id, inProgress)).isPresent();
+	}
+
+	@Test
+	void aRedeliveredEventIsRecordedOnce() throws Exception {
+		Integer id = controller.createComplaint("Fallen tree", "Blocking the lane", "Roads", "Medium",
+				"history-redelivery", null, new MockHttpServletRequest()).getBody().getId();
+		Complaint update = new Complaint();
+		update.setPriority("Low");
+		controller.updateComplaint(id, null, update);
+
+		List<OutboxEvent> rows = outboxRepository.findAll().stream()
+				.filter(e -> id.equals(e.getComplaintId()))
+				.toList();
+		deliver();
+
+		// a crash after delivery but before the rows were deleted: the same events once more
+		for (OutboxEvent row : rows) {
+			history.onEvent(new LifecycleEvent(row.getId(), id, LifecycleEvent.Type.valueOf(row.getEventType()),
+					row.getCreatedAt(), 2, mapper.readValue(row.getPayload(), new TypeReference<Map<String, Object>>() {
+					})));
+		}
+		assertThat(history.events(id)).extracting(ComplaintEvent::getType, ComplaintEvent::getVersion)
+				.containsExactly(tuple(ComplaintEvent.Type.CREATED, 0L), tuple(ComplaintEvent.Type.UPDATED, 1L));
+	}
+
+	@Test
+	void reconcileLeavesComplaintsWithPendingEventsToTheOutbox() throws Exception {
+		Integer id = controller.createComplaint("Blocked drain", "Flooding at the corner", "Water", "Medium",
+				"history-pending", null, new MockHttpServletRequest()).getBody().getId();
+		Complaint update = new Complaint();
+		update.setStatus("In Progress");
+		controller.updateComplaint(id, null, update);
+
+		// a restart while the dispatcher was still behind (or backing off)
+		history.reconcile();
+		deliver();
+
+		assertThat(history.events(id)).extracting(ComplaintEvent::getType, ComplaintEvent::getVersion)
+				.containsExactly(tuple(ComplaintEvent.Type.CREATED, 0L), tuple(ComplaintEvent.Type.UPDATED, 1L));
+	}
+
+	@Test
+	void escalationsComeThroughTheOutboxInVersionOrder() throws Exception {
+		Integer id = controller.createComplaint("Pothole", "Deep one", "Roads", "High",
+				"history-escalation", null, new MockHttpServletRequest()).getBody().getId();
+		Complaint overdue = new Complaint();
+		overdue.setDeadlineIso(LocalDate.now().minusDays(3));
+		controller.updateComplaint(id, null, overdue);
+
+		// EscalationScheduler picks the past deadline up straight away
+		await().atMost(5, TimeUnit.SECONDS).until(() -> outboxRepository.findAll().stream()
+				.anyMatch(e -> id.equals(e.getComplaintId()) && "ESCALATED".equals(e.getEventType())));
+		deliver();
+
+		List<ComplaintEvent> events = history.events(id);
+		assertThat(events).extracting(ComplaintEvent::getType, ComplaintEvent::getVersion).containsExactly(
+				tuple(ComplaintEvent.Type.CREATED, 0L),
+				tuple(ComplaintEvent.Type.UPDATED, 1L),
+				tuple(ComplaintEvent.Type.ESCALATED, 2L));
+		assertThat(events.get(2).getChanges()).containsEntry("isEscalated", true);
+	}
+
+	@Test
+	void onlyTheRowsABatchEscalatesGetAnEvent() throws Exception {
+		// escalated already: by the admin, or by another instance's timer
+		Integer flagged = controller.createComplaint("Open manhole", "Near the market", "Roads", "High",
+				"history-flagged", null, new MockHttpServletRequest()).getBody().getId();
+		Complaint escalate = new Complaint();
+		escalate.setIsEscalated(true);
+		escalate.setDeadlineIso(LocalDate.now().minusDays(1));
+		controller.updateComplaint(flagged, null, escalate);
+
+		// overdue, but written straight to the table so no timer of this instance has it
+		Integer overdue = controller.createComplaint("Broken signal", "At the junction", "Roads", "High",
+				"history-overdue", null, new MockHttpServletRequest()).getBody().getId();
+		Complaint row = complaintRepository.findById(overdue).orElseThrow();
+		row.setDeadlineIso(LocalDate.now().minusDays(1));
+		complaintRepository.save(row);
+
+		assertThat(outbox.markEscalated(List.of(flagged, overdue), LocalDate.now())).containsExactly(overdue);
+		deliver();
+
+		assertThat(history.events(flagged)).extracting(ComplaintEvent::getType)
+				.containsExactly(ComplaintEvent.Type.CREATED, ComplaintEvent.Type.UPDATED);
+		assertThat(history.events(overdue)).extracting(ComplaintEvent::getType, ComplaintEvent::getVersion)
+				.endsWith(tuple(ComplaintEvent.Type.ESCALATED, 2L));
+	}
+
+	// the other tests leave their events behind: deliver everything there is
+	private void deliver() {
+		while (dispatcher.dispatchBatch() == 100) {
+			// next batch
+		}
+	}
+
+}
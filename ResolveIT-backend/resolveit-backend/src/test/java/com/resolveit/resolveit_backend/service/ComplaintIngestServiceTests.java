@@ -0,0 +1,209 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.dto.IngestStatus;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@SpringBootTest
+class ComplaintIngestServiceTests {
+
+	@Autowired
+	private ComplaintIngestService ingestService;
+
+	@Autowired
+	private ComplaintRepository complaintRepository;
+
+	@Autowired
+	private ComplaintImageService imageService;
+
+	@Autowired
+	private ComplaintStatsService statsService;
+
+	@Autowired
+	private ComplaintCache complaintCache;
+
+	@Autowired
+	private ComplaintSearchIndex searchIndex;
+
+	@Autowired
+	private OfficerWorkloadIndex workloadIndex;
+
+	@Autowired
+	private ComplaintOutbox outbox;
+
+	@Autowired
+	private NotificationHub hub;
+
+	@TempDir
+	Path staging;
+
+	@Test
+	void queuedSubmissionEndsUpAsAComplaintWithItsImage() throws Exception {
+		MockMultipartFile image = new MockMultipartFile("image", "pothole.png", "image/png", new byte[] {1, 2, 3, 4});
+
+		IngestStatus accepted = ingestService.submit(submission("ingest-citizen"), image).orElseThrow();
+		assertThat(accepted.getState()).isEqualTo(IngestStatus.State.QUEUED);
+
+		IngestStatus done = awaitFinished(ingestService, accepted.getTicket());
+		assertThat(done.getState()).isEqualTo(IngestStatus.State.DONE);
+
+		Complaint saved = complaintRepository.findById(done.getComplaintId()).orElseThrow();
+		assertThat(saved.getCitizenName()).isEqualTo("ingest-citizen");
+		assertThat(saved.getImagePath()).isNotNull();
+		assertThat(saved.getImageContentType()).isEqualTo("image/png");
+		assertThat(saved.getCreatedAt()).isCloseTo(accepted.getAcceptedAt(), within(1, ChronoUnit.MILLIS));
+	}
+
+	@Test
+	void refusesWhenEverySlotIsTaken() throws Exception {
+		Gate gate = new Gate(hub);
+		ComplaintIngestService service = service(gate, 1, 1);
+		try {
+			IngestStatus first = service.submit(submission("ingest-full"), null).orElseThrow();
+			IngestStatus second = service.submit(submission("ingest-full"), null).orElseThrow();
+			assertThat(service.submit(submission("ingest-full"), null)).isEmpty();
+			assertThat(service.stats().getRejected()).isEqualTo(1);
+			assertThat(service.stats().getQueued() + service.stats().getProcessing()).isEqualTo(2);
+
+			gate.open.countDown();
+			assertThat(awaitFinished(service, first.getTicket()).getState()).isEqualTo(IngestStatus.State.DONE);
+			assertThat(awaitFinished(service, second.getTicket()).getState()).isEqualTo(IngestStatus.State.DONE);
+			assertThat(service.submit(submission("ingest-full"), null)).isPresent();
+		} finally {
+			gate.open.countDown();
+			service.stop();
+		}
+	}
+
+	@Test
+	void submissionsLeftOnDiskAreResumedOnTheNextStart() throws Exception {
+		Gate gate = new Gate(hub);
+		ComplaintIngestService before = service(gate, 1, 4);
+		IngestStatus running = before.submit(submission("ingest-resume"), null).orElseThrow();
+		IngestStatus waiting = before.submit(submission("ingest-resume"), null).orElseThrow();
+		while (before.stats().getProcessing() == 0) {
+			Thread.sleep(10);
+		}
+
+		// shutdown drops the queued job; its spool files stay behind
+		before.stop();
+		assertThat(awaitFinished(before, running.getTicket()).getState()).isEqualTo(IngestStatus.State.DONE);
+		assertThat(before.status(waiting.getTicket()).orElseThrow().getState()).isEqualTo(IngestStatus.State.QUEUED);
+		assertThat(spooled()).isEqualTo(1);
+
+		Gate reopened = new Gate(hub);
+		reopened.open.countDown();
+		ComplaintIngestService after = service(reopened, 1, 4);
+		try {
+			after.resume();
+			assertThat(awaitFinished(after, waiting.getTicket()).getState()).isEqualTo(IngestStatus.State.DONE);
+			assertThat(spooled()).isZero();
+			assertThat(complaintRepository.findByCitizenName("ingest-resume")).hasSize(2);
+		} finally {
+			after.stop();
+		}
+	}
+
+	@Test
+	void aBacklogLargerThanTheCapacityDoesNotHoldUpStartup() throws Exception {
+		Gate gate = new Gate(hub);
+		ComplaintIngestService before = service(gate, 1, 3);
+		List<IngestStatus> spooledBefore = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			spooledBefore.add(before.submit(submission("ingest-backlog"), null).orElseThrow());
+		}
+		while (before.stats().getProcessing() == 0) {
+			Thread.sleep(10);
+		}
+		before.stop();
+		gate.open.countDown();
+		awaitFinished(before, spooledBefore.get(0).getTicket());
+		assertThat(spooled()).isEqualTo(3);
+
+		// three spooled submissions, room for one: resume returns at once, the rest wait for slots
+		Gate reopened = new Gate(hub);
+		ComplaintIngestService after = service(reopened, 1, 0);
+		try {
+			assertTimeoutPreemptively(Duration.ofSeconds(5), after::resume);
+			assertThat(after.stats().getQueued() + after.stats().getProcessing()).isEqualTo(3);
+			// the resume thread takes the slot in the background
+			while (after.stats().getProcessing() == 0) {
+				Thread.sleep(10);
+			}
+			assertThat(after.submit(submission("ingest-backlog"), null)).isEmpty();
+
+			reopened.open.countDown();
+			for (IngestStatus s : spooledBefore.subList(1, 4)) {
+				assertThat(awaitFinished(after, s.getTicket()).getState()).isEqualTo(IngestStatus.State.DONE);
+			}
+			assertThat(spooled()).isZero();
+		} finally {
+			after.stop();
+		}
+	}
+
+	private ComplaintIngestService service(ComplaintNotifier notifier, int workers, int queue) throws IOException {
+		return new ComplaintIngestService(imageService, statsService, complaintCache,
+				searchIndex, notifier, workloadIndex, outbox, staging.toString(), workers, queue);
+	}
+
+	private long spooled() throws IOException {
+		try (Stream<Path> files = Files.list(staging)) {
+			return files.filter(p -> p.toString().endsWith(".properties")).count();
+		}
+	}
+
+	private static ComplaintIngestService.Submission submission(String citizen) {
+		return new ComplaintIngestService.Submission("Streetlight out", "Dark since Monday", "Electricity", "Medium", citizen, citizen);
+	}
+
+	private static IngestStatus awaitFinished(ComplaintIngestService service, String ticket) throws InterruptedException {
+		for (int i = 0; i < 500; i++) {
+			IngestStatus status = service.status(ticket).orElseThrow();
+			if (status.getState() == IngestStatus.State.DONE || status.getState() == IngestStatus.State.FAILED) {
+				return status;
+			}
+			Thread.sleep(20);
+		}
+		throw new AssertionError("ticket " + ticket + " still in flight");
+	}
+
+	// holds every worker inside the last step of creation until opened
+	static class Gate extends ComplaintNotifier {
+
+		final CountDownLatch open = new CountDownLatch(1);
+
+		Gate(NotificationHub hub) {
+			super(hub);
+		}
+
+		@Override
+		public void onCreated(Complaint c) {
+			try {
+				open.await();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+}
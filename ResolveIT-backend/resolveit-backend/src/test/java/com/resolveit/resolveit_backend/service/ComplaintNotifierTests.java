@@ -0,0 +1,75 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.config.TokenAuthFilter;
+import com.resolveit.resolveit_backend.controller.ComplaintController;
+import com.resolveit.resolveit_backend.dto.Notification;
+import com.resolveit.resolveit_backend.model.Complaint;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+class ComplaintNotifierTests {
+
+	@Autowired
+	private ComplaintController controller;
+
+	@Autowired
+	private NotificationHub hub;
+
+	@Test
+	void theCitizenIsFoundByTheUsernameOfTheirToken() {
+		NotificationHubTests.RecordingEmitter citizen = new NotificationHubTests.RecordingEmitter(null);
+		NotificationHubTests.RecordingEmitter namesake = new NotificationHubTests.RecordingEmitter(null);
+		hub.register(citizen, Set.of(NotificationHub.userTopic("asha")));
+		hub.register(namesake, Set.of(NotificationHub.userTopic("Asha K")));
+
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setAttribute(TokenAuthFilter.PRINCIPAL,
+				new AuthTokens.Principal(1, "asha", "Asha K", "CITIZEN", Instant.now().plusSeconds(60)));
+		Complaint c = controller.createComplaint("Broken pipe", "Near the school", "Water", "Low",
+				"Asha K", null, request).getBody();
+		assertThat(c.getCitizenUsername()).isEqualTo("asha");
+
+		await().atMost(2, TimeUnit.SECONDS).until(() -> citizen.received.size() == 1);
+		assertThat(citizen.received.get(0).getType()).isEqualTo("CREATED");
+		assertThat(namesake.received).isEmpty();
+	}
+
+	@Test
+	void anEchoedAlertTimeIsNotAnotherAlert() {
+		NotificationHubTests.RecordingEmitter officer = new NotificationHubTests.RecordingEmitter(null);
+		hub.register(officer, Set.of(NotificationHub.userTopic("alert-officer")));
+
+		Integer id = controller.createComplaint("No water", "Since yesterday", "Water", "High",
+				"alert-citizen", null, new MockHttpServletRequest()).getBody().getId();
+		Complaint assign = new Complaint();
+		assign.setAssignedStaff("alert-officer");
+		controller.assignOfficer(id, null, assign);
+
+		Complaint alert = new Complaint();
+		alert.setAlertMessage("Deadline missed");
+		alert.setLastAlertAt(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+		controller.updateComplaint(id, null, alert);
+
+		// the officer page saves its notes and sends the complaint's lastAlertAt along
+		Complaint notes = new Complaint();
+		notes.setOfficerNotes("Crew on site");
+		notes.setLastAlertAt(controller.getComplaintById(id, null).getBody().getLastAlertAt());
+		controller.updateComplaint(id, null, notes);
+
+		await().atMost(2, TimeUnit.SECONDS).until(() -> officer.received.size() >= 3);
+		assertThat(officer.received).extracting(Notification::getType)
+				.containsExactly("ASSIGNED", "ESCALATED", "UPDATED");
+	}
+
+}
@@ -0,0 +1,141 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.controller.ComplaintController;
+import com.resolveit.resolveit_backend.dto.BulkRequest;
+import com.resolveit.resolveit_backend.dto.ComplaintSummary;
+import com.resolveit.resolveit_backend.dto.SearchPage;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ComplaintSearchIndexTests {
+
+	@Autowired
+	private ComplaintSearchIndex searchIndex;
+
+	@Autowired
+	private ComplaintController controller;
+
+	@Autowired
+	private ComplaintBulkService bulkService;
+
+	@Autowired
+	private ComplaintRepository complaintRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void subjectMatchesRankAboveDescriptionMatchesAndWordsAreStemmed() throws IOException {
+		Complaint inDescription = create("Road damage", "Several zorblat potholes near the market", "Roads");
+		Complaint inSubject = create("Zorblat pothole on Main Street", "Deep hole, cars swerving", "Roads");
+		create("Streetlight out", "Dark corner by the zorblat bakery", "Electricity");
+		searchIndex.refresh();
+
+		SearchPage page = search("zorblat pothole", null);
+
+		assertThat(page.getItems()).extracting(ComplaintSummary::getId)
+				.containsExactly(inSubject.getId(), inDescription.getId());
+		assertThat(page.getTotal()).isEqualTo(2);
+		assertThat(page.isTotalExact()).isTrue();
+	}
+
+	@Test
+	void filtersAndPaginationNarrowTheHits() throws IOException {
+		for (int i = 0; i < 5; i++) {
+			create("Quillmoss leak " + i, "Water everywhere", i % 2 == 0 ? "Water" : "Roads");
+		}
+		searchIndex.refresh();
+
+		var waterOnly = new ComplaintSearchIndex.Filter(null, "Water", null, null, null, null);
+		assertThat(search("quillmoss", waterOnly).getItems()).hasSize(3);
+
+		SearchPage first = searchIndex.search("quillmoss", null, 0, 2);
+		SearchPage third = searchIndex.search("quillmoss", null, 2, 2);
+		assertThat(first.getItems()).hasSize(2);
+		assertThat(third.getItems()).hasSize(1);
+		assertThat(first.getTotal()).isEqualTo(5);
+
+		assertThatThrownBy(() -> searchIndex.search("quillmoss", null, ComplaintSearchIndex.MAX_RESULT_WINDOW, 20))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void writesThroughTheApiKeepTheIndexInStep() throws IOException {
+		Complaint c = create("Broken bench", "Park bench split in half", "Parks");
+		searchIndex.refresh();
+		assertThat(search("vexwort", null).getItems()).isEmpty();
+
+		Complaint notes = new Complaint();
+		notes.setOfficerNotes("Vexwort crew scheduled for Monday");
+		controller.updateComplaint(c.getId(), null, notes);
+		searchIndex.refresh();
+		assertThat(search("vexwort", null).getItems()).extracting(ComplaintSummary::getId).containsExactly(c.getId());
+
+		BulkRequest resolve = new BulkRequest();
+		resolve.setIds(List.of(c.getId()));
+		resolve.setStatus("Resolved");
+		bulkService.update(resolve);
+		searchIndex.refresh();
+		var resolvedOnly = new ComplaintSearchIndex.Filter("Resolved", null, null, null, null, null);
+		assertThat(search("vexwort", resolvedOnly).getItems()).hasSize(1);
+
+		controller.deleteComplaint(c.getId());
+		searchIndex.refresh();
+		assertThat(search("vexwort", null).getItems()).isEmpty();
+	}
+
+	@Test
+	void rebuildRestoresTheIndexFromTheTable() throws IOException {
+		Complaint c = create("Graffiti on wall", "Plinthor mural tags", "Vandalism");
+		searchIndex.rebuild();
+		searchIndex.refresh();
+
+		assertThat(search("plinthor", null).getItems()).extracting(ComplaintSummary::getId).containsExactly(c.getId());
+	}
+
+	@Test
+	void restartCatchesUpOnChangesTheLastCommitMissed(@TempDir Path dir) throws IOException {
+		Complaint c = create("Cracked pavement", "Trip hazard", "Roads");
+		ComplaintSearchIndex onDisk = new ComplaintSearchIndex(complaintRepository, transactionManager, dir.toString());
+		onDisk.rebuild();
+		onDisk.stop();
+
+		// written while that index was down: same number of rows, so only the watermark tells
+		Complaint notes = new Complaint();
+		notes.setOfficerNotes("Grumbleton paving crew booked");
+		controller.updateComplaint(c.getId(), null, notes);
+
+		ComplaintSearchIndex restarted = new ComplaintSearchIndex(complaintRepository, transactionManager, dir.toString());
+		try {
+			restarted.check();
+			restarted.refresh();
+			assertThat(restarted.search("grumbleton", null, 0, 20).getItems())
+					.extracting(ComplaintSummary::getId).containsExactly(c.getId());
+		} finally {
+			restarted.stop();
+		}
+	}
+
+	private SearchPage search(String q, ComplaintSearchIndex.Filter filter) throws IOException {
+		return searchIndex.search(q, filter, 0, 20);
+	}
+
+	private Complaint create(String subject, String description, String category) {
+		return controller.createComplaint(subject, description, category, "Low", "search-citizen", null, new MockHttpServletRequest()).getBody();
+	}
+
+}
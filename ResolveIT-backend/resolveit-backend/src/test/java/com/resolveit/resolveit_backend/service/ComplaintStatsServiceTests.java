@@ -0,0 +1,89 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.dto.ComplaintStats;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ComplaintStatsServiceTests {
+
+	private final LocalDate yesterday = LocalDate.now().minusDays(1);
+	private final LocalDate nextWeek = LocalDate.now().plusDays(7);
+
+	private ComplaintStatsService stats;
+
+	@BeforeEach
+	void seed() {
+		ComplaintRepository repository = mock(ComplaintRepository.class);
+		when(repository.countByStatsKey()).thenReturn(List.of(
+				new Object[]{"Under Review", "Water", "High", "Not assigned", null, 3L},
+				new Object[]{"In Progress", "Roads", "Low", "officer1", yesterday, 2L},
+				new Object[]{"Resolved", "Roads", "Low", "officer1", yesterday, 1L},
+				new Object[]{"In Progress", "Water", "Medium", "officer2", null, 1L}
+		));
+
+		stats = new ComplaintStatsService(repository);
+		stats.rebuild();
+	}
+
+	@Test
+	void seedsCountsFromTheAggregateQuery() {
+		ComplaintStats s = stats.snapshot();
+
+		assertThat(s.getTotal()).isEqualTo(7);
+		assertThat(s.getResolved()).isEqualTo(1);
+		assertThat(s.getPending()).isEqualTo(6);
+		assertThat(s.getOverdue()).isEqualTo(2);     // resolved and missing deadlines do not count
+		assertThat(s.getByCategory()).containsEntry("Water", 4L).containsEntry("Roads", 3L);
+		assertThat(s.getByAssignee()).containsEntry("officer1", 3L);
+	}
+
+	@Test
+	void appliesIncrementalChanges() {
+		Complaint c = complaint("Under Review", "Water", "High", "Not assigned", null);
+		stats.onCreated(c);
+		assertThat(stats.snapshot().getTotal()).isEqualTo(8);
+
+		var before = ComplaintStatsService.Key.of(c);
+		c.setAssignedStaff("officer2");
+		c.setStatus("In Progress");
+		c.setDeadlineIso(yesterday);
+		stats.onChanged(before, c);
+
+		ComplaintStats s = stats.snapshot();
+		assertThat(s.getByAssignee()).containsEntry("Not assigned", 3L).containsEntry("officer2", 2L);
+		assertThat(s.getByStatus()).containsEntry("Under Review", 3L).containsEntry("In Progress", 4L);
+		assertThat(s.getOverdue()).isEqualTo(3);
+
+		before = ComplaintStatsService.Key.of(c);
+		c.setDeadlineIso(nextWeek);
+		stats.onChanged(before, c);
+		assertThat(stats.snapshot().getOverdue()).isEqualTo(2);
+
+		stats.onDeleted(ComplaintStatsService.Key.of(c));
+		s = stats.snapshot();
+		assertThat(s.getTotal()).isEqualTo(7);
+		assertThat(s.getByAssignee()).containsEntry("officer2", 1L);
+		assertThat(s.getByStatus()).containsEntry("In Progress", 3L);
+	}
+
+	private static Complaint complaint(String status, String category, String priority,
+									   String assignee, LocalDate deadlineIso) {
+		Complaint c = new Complaint();
+		c.setStatus(status);
+		c.setCategory(category);
+		c.setPriority(priority);
+		c.setAssignedStaff(assignee);
+		c.setDeadlineIso(deadlineIso);
+		return c;
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EscalationSchedulerTests {
+
+	private final LocalDate lastWeek = LocalDate.now().minusDays(7);
+	private final LocalDate nextWeek = LocalDate.now().plusDays(7);
+
+	private ComplaintRepository repository;
+	private ComplaintCache cache;
+	private ComplaintOutbox outbox;
+	private EscalationScheduler scheduler;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(ComplaintRepository.class);
+		cache = mock(ComplaintCache.class);
+		outbox = mock(ComplaintOutbox.class);
+		scheduler = new EscalationScheduler(repository, cache, outbox);
+	}
+
+	@AfterEach
+	void tearDown() {
+		scheduler.stop();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void escalatesSeededDeadlinesThatAlreadyPassedInOneBatch() {
+		when(repository.findEscalationCandidates()).thenReturn(List.of(
+				new Object[]{1, lastWeek},
+				new Object[]{2, lastWeek.plusDays(1)},
+				new Object[]{3, nextWeek}
+		));
+
+		scheduler.start();
+
+		ArgumentCaptor<List<Integer>> ids = ArgumentCaptor.forClass(List.class);
+		verify(outbox, timeout(2_000)).markEscalated(ids.capture(), any());
+		assertThat(ids.getValue()).containsExactlyInAnyOrder(1, 2);
+		assertThat(scheduler.pending()).isEqualTo(1);
+	}
+
+	@Test
+	void rescheduleAndCancelSupersedeEarlierEntries() {
+		when(repository.findEscalationCandidates()).thenReturn(List.of());
+		scheduler.start();
+
+		// deadline extended into the future before the worker sees it
+		Complaint extended = complaint(10, "In Progress", nextWeek);
+		scheduler.reschedule(extended);
+
+		// resolved complaints are dropped from the queue
+		Complaint resolved = complaint(11, "In Progress", nextWeek);
+		scheduler.reschedule(resolved);
+		resolved.setStatus("Resolved");
+		scheduler.reschedule(resolved);
+
+		assertThat(scheduler.pending()).isEqualTo(1);
+		verify(outbox, after(300).never()).markEscalated(any(), any());
+
+		// moving the deadline into the past fires it
+		extended.setDeadlineIso(lastWeek);
+		scheduler.reschedule(extended);
+		verify(outbox, timeout(2_000)).markEscalated(List.of(10), LocalDate.now());
+		assertThat(scheduler.pending()).isZero();
+	}
+
+	@Test
+	void anUnexpectedFailureRequeuesTheBatchAndKeepsTheWorkerRunning() {
+		when(repository.findEscalationCandidates()).thenReturn(List.of());
+		doThrow(new IllegalStateException("cache down")).doNothing().when(cache).onUpdatedInBulk(any());
+		scheduler.start();
+
+		scheduler.reschedule(complaint(20, "In Progress", lastWeek));
+		verify(outbox, timeout(2_000)).markEscalated(List.of(20), LocalDate.now());
+		// back in the queue for a later retry
+		await().atMost(2, TimeUnit.SECONDS).until(() -> scheduler.pending() == 1);
+
+		scheduler.reschedule(complaint(21, "In Progress", lastWeek));
+		verify(outbox, timeout(2_000)).markEscalated(List.of(21), LocalDate.now());
+	}
+
+	private static Complaint complaint(Integer id, String status, LocalDate deadline) {
+		Complaint c = new Complaint();
+		c.setId(id);
+		c.setStatus(status);
+		c.setDeadlineIso(deadline);
+		return c;
+	}
+
+}
@@ -0,0 +1,123 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.dto.Notification;
+import com.resolveit.resolveit_backend.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class NotificationHubTests {
+
+	private final NotificationHub hub = new NotificationHub();
+
+	@AfterEach
+	void tearDown() {
+		hub.stop();
+	}
+
+	@Test
+	void topicsComeFromRoleAndUsername() {
+		User user = new User();
+		user.setUsername("Ravi");
+		user.setName("Ravi Kumar");
+		user.setRole("officer");
+
+		// not the display name: anybody can sign up as "Ravi Kumar"
+		assertThat(NotificationHub.topicsFor(user))
+				.containsExactly("role:OFFICER", "user:ravi");
+		assertThat(NotificationHub.userTopic("Not assigned")).isNull();
+	}
+
+	@Test
+	void deliversOncePerSubscriberAcrossMatchingTopics() {
+		RecordingEmitter admin = new RecordingEmitter(null);
+		RecordingEmitter citizen = new RecordingEmitter(null);
+		hub.register(admin, Set.of("role:ADMIN", "user:admin"));
+		hub.register(citizen, Set.of("role:CITIZEN", "user:asha"));
+
+		hub.publish("CREATED", 7, "New complaint #7", "role:ADMIN", "user:admin", null);
+
+		await().atMost(2, TimeUnit.SECONDS).until(() -> admin.received.size() == 1);
+		assertThat(admin.received.get(0).getComplaintId()).isEqualTo(7);
+		assertThat(citizen.received).isEmpty();
+	}
+
+	@Test
+	void slowSubscriberKeepsOnlyTheNewestEvents() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingEmitter slow = new RecordingEmitter(release);
+		hub.register(slow, Set.of("user:slow"));
+
+		// first event blocks the sender inside send(), the rest pile up in the buffer
+		hub.publish("UPDATED", 0, "m0", "user:slow");
+		await().atMost(2, TimeUnit.SECONDS).until(() -> slow.sending);
+		for (int i = 1; i <= 40; i++) {
+			hub.publish("UPDATED", i, "m" + i, "user:slow");
+		}
+		release.countDown();
+
+		int expected = 1 + NotificationHub.BUFFER_SIZE;
+		await().atMost(2, TimeUnit.SECONDS).until(() -> slow.received.size() == expected);
+		assertThat(slow.received.get(0).getComplaintId()).isZero();
+		assertThat(slow.received.get(1).getComplaintId()).isEqualTo(40 - NotificationHub.BUFFER_SIZE + 1);
+		assertThat(slow.received.get(expected - 1).getComplaintId()).isEqualTo(40);
+		assertThat(hub.droppedCount()).isEqualTo(40 - NotificationHub.BUFFER_SIZE);
+	}
+
+	@Test
+	void brokenStreamsAreUnsubscribed() {
+		RecordingEmitter broken = new RecordingEmitter(null);
+		broken.fail = true;
+		hub.register(broken, Set.of("role:OFFICER"));
+		assertThat(hub.subscriberCount()).isEqualTo(1);
+
+		hub.publish("ASSIGNED", 3, "Assigned", "role:OFFICER");
+
+		await().atMost(2, TimeUnit.SECONDS).until(() -> hub.subscriberCount() == 0);
+	}
+
+	// captures notifications instead of writing to a response
+	static class RecordingEmitter extends SseEmitter {
+
+		final List<Notification> received = new CopyOnWriteArrayList<>();
+		final CountDownLatch release;
+		volatile boolean sending;
+		volatile boolean fail;
+
+		RecordingEmitter(CountDownLatch release) {
+			this.release = release;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			if (fail) {
+				throw new IOException("client gone");
+			}
+			sending = true;
+			if (release != null) {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+				if (part.getData() instanceof Notification n) {
+					received.add(n);
+				}
+			}
+		}
+	}
+
+}
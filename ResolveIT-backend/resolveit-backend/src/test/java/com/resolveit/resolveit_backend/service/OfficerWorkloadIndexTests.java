@@ -0,0 +1,153 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.dto.OfficerLoad;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.model.User;
+import com.resolveit.resolveit_backend.repository.ComplaintRepository;
+import com.resolveit.resolveit_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Own index instances with auto-assignment on; the shared context keeps it off
+@SpringBootTest
+class OfficerWorkloadIndexTests {
+
+	@Autowired
+	private ComplaintRepository complaintRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Test
+	void newComplaintsGoToTheLeastLoadedOfficerTakingTheCategory() {
+		officer("wl-roads-a", "Roads");
+		officer("wl-roads-b", "roads, Water");
+		officer("wl-water", "Water");
+		// already carries two open High complaints
+		saveAssigned("wl-roads-a", "High", null);
+		saveAssigned("wl-roads-a", "High", null);
+
+		OfficerWorkloadIndex index = index(AssignmentPolicy.weighted(3, 2, 1, 4));
+
+		assertThat(assign(index, "Roads", "Low")).isEqualTo("wl-roads-b");
+		assertThat(assign(index, "Roads", "Low")).isEqualTo("wl-roads-b");
+		assertThat(assign(index, "Roads", "Low")).isEqualTo("wl-roads-b");
+		// b at 3, a at 6
+		assertThat(assign(index, "Roads", "High")).isEqualTo("wl-roads-b");
+		assertThat(assign(index, "Roads", "Medium")).isEqualTo("wl-roads-a");
+
+		// none of them takes Sanitation: only an officer without categories may get it
+		Complaint other = complaint("Sanitation", "Low");
+		if (index.assign(other)) {
+			assertThat(load(index, other.getAssignedStaff()).getCategories()).isEmpty();
+		} else {
+			assertThat(other.getAssignedStaff()).isEqualTo("Not assigned");
+		}
+	}
+
+	@Test
+	void changesAndDeletesMoveTheLoad() {
+		officer("wl-move-a", "Lighting");
+		officer("wl-move-b", "Lighting");
+		Complaint overdue = saveAssigned("wl-move-a", "Medium", LocalDate.now().minusDays(1));
+
+		OfficerWorkloadIndex index = index(AssignmentPolicy.weighted(3, 2, 1, 4));
+		assertThat(load(index, "wl-move-a").getOverdue()).isEqualTo(1);
+		assertThat(assign(index, "Lighting", "Low")).isEqualTo("wl-move-b");
+
+		var before = ComplaintStatsService.Key.of(overdue);
+		overdue.setStatus("Resolved");
+		index.onChanged(before, overdue);
+		assertThat(load(index, "wl-move-a").getOpen()).isZero();
+		assertThat(load(index, "wl-move-a").getOverdue()).isZero();
+		assertThat(assign(index, "Lighting", "Low")).isEqualTo("wl-move-a");
+
+		Complaint moved = complaint("Lighting", "High");
+		moved.setAssignedStaff("wl-move-b");
+		index.onChanged(new ComplaintStatsService.Key("Under Review", "Lighting", "High", "Not assigned", null), moved);
+		assertThat(load(index, "wl-move-b").getOpenHigh()).isEqualTo(1);
+		index.onDeleted(ComplaintStatsService.Key.of(moved));
+		assertThat(load(index, "wl-move-b").getOpenHigh()).isZero();
+	}
+
+	@Test
+	void officersSigningUpLaterJoinThePool() {
+		OfficerWorkloadIndex index = index(AssignmentPolicy.leastOpen());
+		assertThat(index.snapshot()).noneMatch(l -> l.getUsername().equals("wl-late"));
+
+		index.onUserSaved(officer("wl-late", "Parks"));
+
+		assertThat(assign(index, "Parks", "Medium")).isEqualTo("wl-late");
+		assertThat(load(index, "wl-late").getCategories()).containsExactly("parks");
+	}
+
+	@Test
+	void disabledIndexLeavesComplaintsUnassigned() {
+		officer("wl-off", "Noise");
+		OfficerWorkloadIndex index = new OfficerWorkloadIndex(complaintRepository, userRepository,
+				AssignmentPolicy.leastOpen(), false);
+
+		Complaint c = complaint("Noise", "Low");
+		assertThat(index.assign(c)).isFalse();
+		assertThat(c.getAssignedStaff()).isEqualTo("Not assigned");
+	}
+
+	private OfficerWorkloadIndex index(AssignmentPolicy policy) {
+		OfficerWorkloadIndex index = new OfficerWorkloadIndex(complaintRepository, userRepository, policy, true);
+		index.rebuild();
+		return index;
+	}
+
+	private static String assign(OfficerWorkloadIndex index, String category, String priority) {
+		Complaint c = complaint(category, priority);
+		assertThat(index.assign(c)).isTrue();
+		return c.getAssignedStaff();
+	}
+
+	private static OfficerLoad load(OfficerWorkloadIndex index, String username) {
+		List<OfficerLoad> loads = index.snapshot();
+		return loads.stream().filter(l -> l.getUsername().equals(username)).findFirst().orElseThrow();
+	}
+
+	private User officer(String username, String categories) {
+		User u = userRepository.findByUsername(username);
+		if (u == null) {
+			u = new User();
+			u.setUsername(username);
+			u.setName(username);
+			u.setEmail(username + "@resolveit.local");
+			u.setPassword("secret");
+			u.setRole("OFFICER");
+		}
+		u.setCategories(categories);
+		return userRepository.save(u);
+	}
+
+	private Complaint saveAssigned(String officer, String priority, LocalDate deadline) {
+		Complaint c = complaint("Roads", priority);
+		c.setAssignedStaff(officer);
+		c.setDeadlineIso(deadline);
+		return complaintRepository.save(c);
+	}
+
+	private static Complaint complaint(String category, String priority) {
+		Complaint c = new Complaint();
+		c.setSubject("Workload");
+		c.setDescription("Auto-assignment test");
+		c.setCategory(category);
+		c.setPriority(priority);
+		c.setCitizenName("wl-citizen");
+		c.setStatus("Under Review");
+		c.setAssignedStaff("Not assigned");
+		c.setCreatedAt(LocalDateTime.now());
+		return c;
+	}
+
+}
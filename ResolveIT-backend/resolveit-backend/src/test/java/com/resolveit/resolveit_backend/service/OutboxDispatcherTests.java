@@ -0,0 +1,230 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resolveit.resolveit_backend.controller.ComplaintController;
+import com.resolveit.resolveit_backend.controller.FeedbackController;
+import com.resolveit.resolveit_backend.dto.LifecycleEvent;
+import com.resolveit.resolveit_backend.model.Complaint;
+import com.resolveit.resolveit_backend.model.Feedback;
+import com.resolveit.resolveit_backend.model.OutboxEvent;
+import com.resolveit.resolveit_backend.repository.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// the context's own dispatcher is off (resolveit.outbox.dispatch=false); each test drives one of its own
+@SpringBootTest
+class OutboxDispatcherTests {
+
+	@Autowired
+	private ComplaintController controller;
+
+	@Autowired
+	private FeedbackController feedbackController;
+
+	@Autowired
+	private OutboxRepository outboxRepository;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void everyLifecycleStepIsDeliveredInCommitOrder() {
+		Integer id = create("outbox-citizen");
+
+		Complaint assign = new Complaint();
+		assign.setAssignedStaff("outbox-officer");
+		controller.assignOfficer(id, null, assign);
+
+		Complaint resolve = new Complaint();
+		resolve.setStatus("Resolved");
+		controller.updateComplaint(id, null, resolve);
+
+		Feedback feedback = new Feedback();
+		feedback.setCitizenName("outbox-citizen");
+		feedback.setRating(4);
+		feedbackController.addFeedback(id, feedback);
+
+		controller.deleteComplaint(id);
+
+		List<LifecycleEvent> received = new CopyOnWriteArrayList<>();
+		drain(dispatcher(received::add, 8));
+
+		List<LifecycleEvent> mine = received.stream().filter(e -> id.equals(e.getComplaintId())).toList();
+		assertThat(mine).extracting(LifecycleEvent::getType).containsExactly(
+				LifecycleEvent.Type.CREATED, LifecycleEvent.Type.ASSIGNED, LifecycleEvent.Type.UPDATED,
+				LifecycleEvent.Type.RESOLVED, LifecycleEvent.Type.FEEDBACK_ADDED, LifecycleEvent.Type.DELETED);
+		assertThat(mine.get(1).getPayload()).containsEntry("assignedStaff", "outbox-officer");
+		assertThat(mine.get(4).getPayload()).containsEntry("rating", 4);
+		assertThat(outboxRepository.countByFailedAtIsNull()).isZero();
+	}
+
+	@Test
+	void aFailedEventIsRetriedBeforeTheComplaintsLaterEvents() throws Exception {
+		Integer id = create("outbox-retry");
+		Complaint update = new Complaint();
+		update.setPriority("Low");
+		controller.updateComplaint(id, null, update);
+
+		List<LifecycleEvent> received = new CopyOnWriteArrayList<>();
+		OutboxDispatcher dispatcher = dispatcher(event -> {
+			if (id.equals(event.getComplaintId()) && event.getType() == LifecycleEvent.Type.CREATED
+					&& event.getAttempt() == 1) {
+				throw new IllegalStateException("listener down");
+			}
+			received.add(event);
+		}, 8);
+
+		drain(dispatcher);
+		assertThat(received).noneMatch(e -> id.equals(e.getComplaintId()));
+		assertThat(pending(id)).hasSize(2);
+
+		// retry-ms is 1 here
+		Thread.sleep(5);
+		drain(dispatcher);
+		assertThat(received.stream().filter(e -> id.equals(e.getComplaintId())))
+				.extracting(LifecycleEvent::getType, LifecycleEvent::getAttempt)
+				.containsExactly(
+						tuple(LifecycleEvent.Type.CREATED, 2),
+						tuple(LifecycleEvent.Type.UPDATED, 1));
+		assertThat(pending(id)).isEmpty();
+	}
+
+	@Test
+	void aComplaintWaitingForItsRetryDoesNotHoldUpTheOthers() {
+		drain(dispatcher(event -> { }, 8));
+		Integer held = create("outbox-held");
+		Complaint update = new Complaint();
+		update.setPriority("Low");
+		controller.updateComplaint(held, null, update);
+		Integer other = create("outbox-other");
+
+		List<LifecycleEvent> received = new CopyOnWriteArrayList<>();
+		// two rows per batch: exactly the held complaint's two events
+		OutboxDispatcher dispatcher = dispatcher(event -> {
+			if (held.equals(event.getComplaintId())) {
+				throw new IllegalStateException("listener down");
+			}
+			received.add(event);
+		}, 8, 2, 60_000);
+
+		dispatcher.dispatchBatch();
+		dispatcher.dispatchBatch();
+		assertThat(received).extracting(LifecycleEvent::getComplaintId).containsExactly(other);
+		assertThat(pending(held)).hasSize(2);
+
+		// let the held events go so the other tests find the outbox empty
+		List<OutboxEvent> rows = pending(held);
+		rows.forEach(e -> e.setNextAttemptAt(null));
+		outboxRepository.saveAll(rows);
+		drain(dispatcher(event -> { }, 8));
+	}
+
+	@Test
+	void anEventOutOfAttemptsIsKeptAsFailedAndNoLongerHoldsTheOthersBack() throws Exception {
+		Integer id = create("outbox-poison");
+		List<LifecycleEvent> received = new CopyOnWriteArrayList<>();
+		OutboxDispatcher dispatcher = dispatcher(event -> {
+			if (id.equals(event.getComplaintId()) && event.getType() == LifecycleEvent.Type.CREATED) {
+				throw new IllegalStateException("cannot handle this one");
+			}
+			received.add(event);
+		}, 2);
+
+		drain(dispatcher);
+		Thread.sleep(5);
+		drain(dispatcher);
+
+		OutboxEvent failed = outboxRepository.findAll().stream()
+				.filter(e -> id.equals(e.getComplaintId()))
+				.findFirst().orElseThrow();
+		assertThat(failed.getFailedAt()).isNotNull();
+		assertThat(failed.getAttempts()).isEqualTo(2);
+		assertThat(failed.getLastError()).contains("cannot handle this one");
+
+		controller.deleteComplaint(id);
+		drain(dispatcher);
+		assertThat(received).anyMatch(e -> id.equals(e.getComplaintId()) && e.getType() == LifecycleEvent.Type.DELETED);
+	}
+
+	@Test
+	void aRowThatCannotBeReadIsDeadLetteredInsteadOfStoppingDelivery() {
+		Integer id = create("outbox-unreadable");
+		OutboxEvent bogus = new OutboxEvent();
+		bogus.setComplaintId(id);
+		bogus.setEventType("ARCHIVED");
+		bogus.setPayload("{}");
+		bogus.setCreatedAt(LocalDateTime.now());
+		outboxRepository.save(bogus);
+		controller.deleteComplaint(id);
+
+		List<LifecycleEvent> received = new CopyOnWriteArrayList<>();
+		drain(dispatcher(received::add, 1));
+
+		OutboxEvent failed = outboxRepository.findById(bogus.getId()).orElseThrow();
+		assertThat(failed.getFailedAt()).isNotNull();
+		assertThat(failed.getLastError()).contains("ARCHIVED");
+		assertThat(received.stream().filter(e -> id.equals(e.getComplaintId())))
+				.extracting(LifecycleEvent::getType)
+				.containsExactly(LifecycleEvent.Type.CREATED, LifecycleEvent.Type.DELETED);
+	}
+
+	@Test
+	void aRejectedUpdateWritesNoEvent() {
+		Integer id = create("outbox-stale");
+		long before = pending(id).size();
+
+		Complaint update = new Complaint();
+		update.setStatus("In Progress");
+		// If-Match with a version that is not the current one -> 412, nothing committed
+		assertThat(controller.updateComplaint(id, "\"41\"", update).getStatusCode().value()).isEqualTo(412);
+
+		assertThat(pending(id)).hasSize((int) before);
+	}
+
+	private Integer create(String citizen) {
+		return controller.createComplaint("Broken bench", "In the park", "Other", "Medium", citizen, null, new MockHttpServletRequest())
+				.getBody().getId();
+	}
+
+	private List<OutboxEvent> pending(Integer complaintId) {
+		return outboxRepository.findAll().stream()
+				.filter(e -> complaintId.equals(e.getComplaintId()) && e.getFailedAt() == null)
+				.toList();
+	}
+
+	private OutboxDispatcher dispatcher(ComplaintLifecycleListener listener, int maxAttempts) {
+		return dispatcher(listener, maxAttempts, 100, 1);
+	}
+
+	private OutboxDispatcher dispatcher(ComplaintLifecycleListener listener, int maxAttempts, int batchSize, long retryMs) {
+		StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("listener", listener));
+		OutboxDispatcher dispatcher = new OutboxDispatcher(outboxRepository,
+				beans.getBeanProvider(ComplaintLifecycleListener.class), mapper, transactionManager,
+				new SimpleMeterRegistry(), batchSize, 1000, maxAttempts, retryMs, false);
+		dispatcher.start();
+		return dispatcher;
+	}
+
+	// the other tests leave their events behind: deliver everything there is
+	private static void drain(OutboxDispatcher dispatcher) {
+		while (dispatcher.dispatchBatch() == 100) {
+			// next batch
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package com.resolveit.resolveit_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHasherTests {
+
+	private final PasswordHasher hasher = new PasswordHasher(1_000);
+
+	@Test
+	void hashesAreSaltedAndVerify() {
+		String first = hasher.hash("correct horse");
+		String second = hasher.hash("correct horse");
+
+		assertThat(first).startsWith("pbkdf2-sha256$1000$").doesNotContain("correct horse");
+		assertThat(first).isNotEqualTo(second);
+		assertThat(hasher.matches("correct horse", first)).isTrue();
+		assertThat(hasher.matches("correct horse", second)).isTrue();
+		assertThat(hasher.matches("correct hors", first)).isFalse();
+		assertThat(hasher.needsRehash(first)).isFalse();
+	}
+
+	@Test
+	void legacyAndCheaperHashesAreAcceptedButNeedARehash() {
+		assertThat(hasher.matches("plain", "plain")).isTrue();
+		assertThat(hasher.matches("plain", "other")).isFalse();
+		assertThat(hasher.needsRehash("plain")).isTrue();
+
+		String cheap = new PasswordHasher(10).hash("secret");
+		assertThat(hasher.matches("secret", cheap)).isTrue();
+		assertThat(hasher.needsRehash(cheap)).isTrue();
+		assertThat(new PasswordHasher(10).needsRehash(hasher.hash("secret"))).isFalse();
+	}
+
+	@Test
+	void damagedHashesNeverMatch() {
+		String hash = hasher.hash("secret");
+		String[] parts = hash.split("\\$");
+
+		assertThat(hasher.matches("secret", parts[0] + "$x$" + parts[2] + "$" + parts[3])).isFalse();
+		assertThat(hasher.matches("secret", parts[0] + "$0$" + parts[2] + "$" + parts[3])).isFalse();
+		assertThat(hasher.matches("secret", parts[0] + "$1000$" + parts[2] + "$" + parts[2])).isFalse();
+		assertThat(hasher.matches("secret", null)).isFalse();
+	}
+}
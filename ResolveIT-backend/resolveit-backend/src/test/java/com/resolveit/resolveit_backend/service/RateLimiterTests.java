@@ -0,0 +1,132 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.service.RateLimiter.Budget;
+import com.resolveit.resolveit_backend.service.RateLimiter.Endpoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTests {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private final AtomicLong now = new AtomicLong(1_000 * SECOND);
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	void aBurstUpToTheCapacityThenOneTokenPerInterval() {
+		RateLimiter limiter = limiter(Duration.ofMinutes(10));
+
+		// export: 3 at once, then one every 5 s
+		for (int i = 0; i < 3; i++) {
+			assertThat(limiter.tryAcquire(Endpoint.EXPORT, "ip:10.0.0.1")).isZero();
+		}
+		assertThat(limiter.tryAcquire(Endpoint.EXPORT, "ip:10.0.0.1")).isEqualTo(5 * SECOND);
+
+		now.addAndGet(2 * SECOND);
+		assertThat(limiter.tryAcquire(Endpoint.EXPORT, "ip:10.0.0.1")).isEqualTo(3 * SECOND);
+
+		now.addAndGet(3 * SECOND);
+		assertThat(limiter.tryAcquire(Endpoint.EXPORT, "ip:10.0.0.1")).isZero();
+		assertThat(limiter.tryAcquire(Endpoint.EXPORT, "ip:10.0.0.1")).isPositive();
+
+		// a long pause refills up to the capacity, not beyond
+		now.addAndGet(60 * SECOND);
+		for (int i = 0; i < 3; i++) {
+			assertThat(limiter.tryAcquire(Endpoint.EXPORT, "ip:10.0.0.1")).isZero();
+		}
+		assertThat(limiter.tryAcquire(Endpoint.EXPORT, "ip:10.0.0.1")).isPositive();
+
+		assertThat(registry.get("resolveit.ratelimit.requests").tags("endpoint", "export", "outcome", "allowed")
+				.counter().count()).isEqualTo(7);
+		assertThat(registry.get("resolveit.ratelimit.requests").tags("endpoint", "export", "outcome", "rejected")
+				.counter().count()).isEqualTo(4);
+	}
+
+	@Test
+	void callersAndEndpointClassesHaveTheirOwnBuckets() {
+		RateLimiter limiter = limiter(Duration.ofMinutes(10));
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire(Endpoint.EXPORT, "user:1");
+		}
+
+		assertThat(limiter.tryAcquire(Endpoint.EXPORT, "user:1")).isPositive();
+		assertThat(limiter.tryAcquire(Endpoint.EXPORT, "user:2")).isZero();
+		assertThat(limiter.tryAcquire(Endpoint.DEFAULT, "user:1")).isZero();
+		assertThat(limiter.tryAcquire(Endpoint.LIST, "user:1")).isZero();
+	}
+
+	@Test
+	void idleBucketsAreDroppedButNotBeforeTheyRefilled() {
+		// idle shorter than the export refill (3 x 5 s): kept for 15 s instead
+		RateLimiter limiter = limiter(Duration.ofSeconds(1));
+		for (int i = 0; i < 100; i++) {
+			limiter.tryAcquire(Endpoint.EXPORT, "ip:10.0.1." + i);
+		}
+		assertThat(registry.get("resolveit.ratelimit.keys").gauge().value()).isEqualTo(100);
+
+		now.addAndGet(10 * SECOND);
+		assertThat(keys(limiter)).isEqualTo(100);
+
+		now.addAndGet(6 * SECOND);
+		assertThat(keys(limiter)).isZero();
+		assertThat(registry.get("resolveit.ratelimit.evictions").functionCounter().count()).isEqualTo(100);
+	}
+
+	@Test
+	void concurrentCallersNeverGetMoreThanTheCapacity() throws Exception {
+		RateLimiter limiter = limiter(Duration.ofMinutes(10));
+		AtomicInteger granted = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException ex) {
+					return;
+				}
+				for (int i = 0; i < 1_000; i++) {
+					if (limiter.tryAcquire(Endpoint.LIST, "ip:10.0.0.9") == 0) {
+						granted.incrementAndGet();
+					}
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		// the clock stands still: exactly the burst
+		assertThat(granted.get()).isEqualTo(50);
+	}
+
+	private RateLimiter limiter(Duration idle) {
+		Map<Endpoint, Budget> budgets = new EnumMap<>(Endpoint.class);
+		budgets.put(Endpoint.EXPORT, new Budget(3, 0.2));
+		budgets.put(Endpoint.LIST, new Budget(50, 10));
+		budgets.put(Endpoint.UPLOAD, new Budget(10, 1));
+		budgets.put(Endpoint.LOGIN, new Budget(5, 1));
+		budgets.put(Endpoint.DEFAULT, new Budget(100, 50));
+		return new RateLimiter(budgets, 10_000, idle, registry, now::get);
+	}
+
+	private long keys(RateLimiter limiter) {
+		limiter.cleanUp();
+		return (long) registry.get("resolveit.ratelimit.keys").gauge().value();
+	}
+}
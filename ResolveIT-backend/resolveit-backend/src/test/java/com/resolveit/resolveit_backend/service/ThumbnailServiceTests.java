@@ -0,0 +1,179 @@
+package com.resolveit.resolveit_backend.service;
+
+import com.resolveit.resolveit_backend.storage.FileSystemImageStore;
+import com.resolveit.resolveit_backend.storage.StoredImage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class ThumbnailServiceTests {
+
+	@TempDir
+	Path root;
+
+	private FileSystemImageStore store;
+	private ThumbnailService thumbnails;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		store = new FileSystemImageStore(root.toString());
+		thumbnails = new ThumbnailService(store);
+	}
+
+	@AfterEach
+	void tearDown() {
+		thumbnails.stop();
+	}
+
+	@Test
+	void uploadsGetRenditionsInTheBackground() throws Exception {
+		StoredImage source = store.save(new ByteArrayInputStream(png(1600, 1200)), "image/png");
+
+		thumbnails.generateAsync(source);
+
+		String key = ThumbnailService.keyOf(source, ThumbnailService.Size.THUMB);
+		await().atMost(10, TimeUnit.SECONDS).until(() -> store.find(key, "image/jpeg").isPresent());
+
+		ThumbnailService.Rendition rendition = thumbnails.rendition(source, ThumbnailService.Size.THUMB);
+		assertThat(rendition.temporary()).isFalse();
+		StoredImage thumb = rendition.image();
+		BufferedImage decoded = ImageIO.read(thumb.resource().getInputStream());
+		assertThat(decoded.getWidth()).isEqualTo(240);
+		assertThat(decoded.getHeight()).isEqualTo(180);
+		assertThat(thumb.contentType()).isEqualTo("image/jpeg");
+		assertThat(thumb.etag()).isEqualTo(source.etag() + "-thumb");
+		assertThat(thumb.size()).isLessThan(source.size() / 10);
+	}
+
+	@Test
+	void existingFilesAreRenderedOnDemand() throws Exception {
+		StoredImage source = store.save(new ByteArrayInputStream(png(1000, 2000)), "image/png");
+
+		StoredImage medium = thumbnails.rendition(source, ThumbnailService.Size.MEDIUM).image();
+
+		BufferedImage decoded = ImageIO.read(medium.resource().getInputStream());
+		assertThat(decoded.getHeight()).isEqualTo(800);
+		assertThat(decoded.getWidth()).isEqualTo(400);
+	}
+
+	@Test
+	void smallOrUndecodableSourcesFallBackToTheOriginal() throws Exception {
+		StoredImage small = store.save(new ByteArrayInputStream(png(200, 100)), "image/png");
+		StoredImage junk = store.save(new ByteArrayInputStream(new byte[]{1, 2, 3}), "image/jpeg");
+
+		for (StoredImage source : new StoredImage[]{small, junk}) {
+			ThumbnailService.Rendition rendition = thumbnails.rendition(source, ThumbnailService.Size.THUMB);
+			assertThat(rendition.temporary()).isFalse();
+			assertThat(rendition.image().key()).isEqualTo(source.key());
+			assertThat(rendition.image().etag()).isEqualTo(source.etag() + "-thumb-original");
+		}
+	}
+
+	@Test
+	void aFailedRenditionIsTriedAgainOnTheNextRequest() throws Exception {
+		AtomicInteger failuresLeft = new AtomicInteger(1);
+		FileSystemImageStore flaky = new FileSystemImageStore(root.resolve("flaky").toString()) {
+			@Override
+			public StoredImage put(String key, byte[] data, String contentType) throws IOException {
+				if (failuresLeft.getAndDecrement() > 0) {
+					throw new IOException("disk full");
+				}
+				return super.put(key, data, contentType);
+			}
+		};
+		ThumbnailService service = new ThumbnailService(flaky);
+		try {
+			StoredImage source = flaky.save(new ByteArrayInputStream(png(1600, 1200)), "image/png");
+
+			ThumbnailService.Rendition first = service.rendition(source, ThumbnailService.Size.THUMB);
+			assertThat(first.temporary()).isTrue();
+			assertThat(first.image().etag()).isEqualTo(source.etag() + "-thumb-original");
+
+			ThumbnailService.Rendition second = service.rendition(source, ThumbnailService.Size.THUMB);
+			assertThat(second.temporary()).isFalse();
+			assertThat(second.image().etag()).isEqualTo(source.etag() + "-thumb");
+		} finally {
+			service.stop();
+		}
+	}
+
+	@Test
+	void requestsDoNotWaitLongForABusyRenderer() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		FileSystemImageStore slow = new FileSystemImageStore(root.resolve("slow").toString()) {
+			@Override
+			public Optional<StoredImage> find(String key, String contentType) throws IOException {
+				try {
+					release.await();
+				} catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				return super.find(key, contentType);
+			}
+		};
+		ThumbnailService service = new ThumbnailService(slow);
+		ExecutorService callers = Executors.newFixedThreadPool(2);
+		try {
+			StoredImage source = slow.save(new ByteArrayInputStream(png(1600, 1200)), "image/png");
+			StoredImage other = slow.save(new ByteArrayInputStream(png(1200, 1600)), "image/png");
+
+			// both on-demand slots stuck in a slow store
+			callers.submit(() -> service.rendition(other, ThumbnailService.Size.THUMB));
+			callers.submit(() -> service.rendition(other, ThumbnailService.Size.MEDIUM));
+			Thread.sleep(200);
+
+			long start = System.nanoTime();
+			ThumbnailService.Rendition busy = service.rendition(source, ThumbnailService.Size.THUMB);
+			assertThat(busy.temporary()).isTrue();
+			assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start)).isLessThan(5);
+
+			// the job went to the background pool and finishes once the store answers
+			release.countDown();
+			await().atMost(10, TimeUnit.SECONDS)
+					.until(() -> !service.rendition(source, ThumbnailService.Size.THUMB).temporary());
+		} finally {
+			release.countDown();
+			callers.shutdownNow();
+			service.stop();
+		}
+	}
+
+	@Test
+	void parsesSizeNames() {
+		assertThat(ThumbnailService.Size.parse(null)).isNull();
+		assertThat(ThumbnailService.Size.parse("original")).isNull();
+		assertThat(ThumbnailService.Size.parse("Thumb")).isEqualTo(ThumbnailService.Size.THUMB);
+		assertThatThrownBy(() -> ThumbnailService.Size.parse("huge")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	static byte[] png(int width, int height) throws IOException {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				image.setRGB(x, y, (x * 255 / width) << 16 | (y * 255 / height) << 8 | ((x ^ y) & 0xFF));
+			}
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ImageIO.write(image, "png", out);
+		return out.toByteArray();
+	}
+
+}
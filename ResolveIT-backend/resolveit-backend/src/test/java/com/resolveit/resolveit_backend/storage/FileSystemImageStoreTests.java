@@ -0,0 +1,62 @@
+package com.resolveit.resolveit_backend.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileSystemImageStoreTests {
+
+	private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 1, 2, 3, 4};
+
+	@TempDir
+	Path root;
+
+	@Test
+	void identicalUploadsAreStoredOnce() throws Exception {
+		FileSystemImageStore store = new FileSystemImageStore(root.toString());
+
+		StoredImage first = store.save(new ByteArrayInputStream(PNG), "image/png");
+		StoredImage second = store.save(new ByteArrayInputStream(PNG), "IMAGE/PNG; charset=binary");
+
+		assertThat(second.key()).isEqualTo(first.key()).matches("[0-9a-f]{64}\\.png");
+		assertThat(first.etag()).isEqualTo(first.key().substring(0, 64));
+		assertThat(first.size()).isEqualTo(PNG.length);
+		try (Stream<Path> files = Files.walk(root)) {
+			assertThat(files.filter(Files::isRegularFile)).hasSize(1);
+		}
+
+		StoredImage found = store.find(first.key(), "image/png").orElseThrow();
+		assertThat(found.resource().getContentAsByteArray()).isEqualTo(PNG);
+	}
+
+	@Test
+	void activeContentIsNotTrusted() throws Exception {
+		FileSystemImageStore store = new FileSystemImageStore(root.toString());
+
+		StoredImage svg = store.save(new ByteArrayInputStream("<svg/>".getBytes()), "image/svg+xml");
+
+		assertThat(svg.contentType()).isEqualTo("application/octet-stream");
+		assertThat(svg.key()).endsWith(".bin");
+	}
+
+	@Test
+	void servesLegacyFilesButNothingOutsideTheRoot() throws Exception {
+		Files.createDirectories(root.resolve("resolution"));
+		Files.write(root.resolve("resolution").resolve("resolution_7"), PNG);
+		FileSystemImageStore store = new FileSystemImageStore(root.toString());
+
+		StoredImage legacy = store.find("resolution/resolution_7", null).orElseThrow();
+		assertThat(legacy.contentType()).isEqualTo("image/png");
+		assertThat(legacy.etag()).hasSize(64);
+
+		assertThat(store.find("../outside.png", null)).isEmpty();
+		assertThat(store.find("missing.jpg", null)).isEmpty();
+	}
+
+}
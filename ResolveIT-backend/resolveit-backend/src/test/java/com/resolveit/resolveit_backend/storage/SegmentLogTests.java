@@ -0,0 +1,70 @@
+package com.resolveit.resolveit_backend.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SegmentLogTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void rollsSegmentsAndReadsEveryRecordBack() throws Exception {
+		List<Long> positions = new ArrayList<>();
+		try (SegmentLog log = new SegmentLog(dir, "events", 64)) {
+			for (int i = 0; i < 10; i++) {
+				positions.add(log.append(("{\"n\":" + i + ",\"pad\":\"xxxxxxxxxx\"}").getBytes(StandardCharsets.UTF_8)));
+			}
+			log.force();
+
+			assertThat(log.segmentCount()).isGreaterThan(1);
+			assertThat(text(log.read(positions.get(7)))).isEqualTo("{\"n\":7,\"pad\":\"xxxxxxxxxx\"}");
+		}
+
+		// reopened: the same records in the same order, appends continue after them
+		try (SegmentLog log = new SegmentLog(dir, "events", 64)) {
+			List<Long> scanned = new ArrayList<>();
+			List<String> records = new ArrayList<>();
+			log.scan((position, record) -> {
+				scanned.add(position);
+				records.add(text(record));
+			});
+			assertThat(scanned).isEqualTo(positions);
+			assertThat(records.get(0)).startsWith("{\"n\":0,");
+
+			long next = log.append("{\"n\":10}".getBytes(StandardCharsets.UTF_8));
+			assertThat(text(log.read(next))).isEqualTo("{\"n\":10}");
+		}
+	}
+
+	@Test
+	void dropsARecordCutOffByACrash() throws Exception {
+		try (SegmentLog log = new SegmentLog(dir, "events", 1024)) {
+			log.append("{\"n\":1}".getBytes(StandardCharsets.UTF_8));
+		}
+		Files.writeString(dir.resolve("events-000001.jsonl"), "{\"n\":2,\"tor", StandardOpenOption.APPEND);
+
+		try (SegmentLog log = new SegmentLog(dir, "events", 1024)) {
+			List<String> records = new ArrayList<>();
+			log.scan((position, record) -> records.add(text(record)));
+			assertThat(records).containsExactly("{\"n\":1}");
+
+			log.append("{\"n\":3}".getBytes(StandardCharsets.UTF_8));
+		}
+		assertThat(Files.readString(dir.resolve("events-000001.jsonl"))).isEqualTo("{\"n\":1}\n{\"n\":3}\n");
+	}
+
+	private static String text(byte[] record) {
+		return new String(record, StandardCharsets.UTF_8);
+	}
+
+}
@@ -186,19 +186,13 @@ async function saveChanges() {
     try {
         const res = await apiFetch(`/api/complaints/${complaint.id}`, {
             method: "PUT",
-            headers: { "Content-Type": "application/json" },
+            headers: { "Content-Type": "application/json", ...ifMatch(complaint) },
             body: JSON.stringify(body)
         });
+        if (reloadIfStale(res)) return;
 
         if (res.ok) {
-            if (body.assignedStaff && body.assignedStaff.trim() !== "") {
-                addNotification(
-                    "officer",
-                    body.assignedStaff.trim().toLowerCase(),
-                    complaint.id,
-                    `A new complaint #${complaint.id} has been assigned to you.`
-                );
-            }
+            // officer / citizen notifications are pushed by the server
             alert("Updated successfully.");
 
             complaint = await res.json();
@@ -277,9 +271,10 @@ async function submitEscalation() {
     try {
         const res = await apiFetch(`/api/complaints/${complaint.id}`, {
             method: "PUT",
-            headers: { "Content-Type": "application/json" },
+            headers: { "Content-Type": "application/json", ...ifMatch(complaint) },
             body: JSON.stringify(body)
         });
+        if (reloadIfStale(res)) return;
 
         if (!res.ok) {
             alert("Failed to submit escalation.");
@@ -290,33 +285,7 @@ async function submitEscalation() {
         complaint = await res.json();
         fillDetails();
 
-        // =========================================
-        // 🔔 NOTIFICATIONS FOR ESCALATION
-        // =========================================
-
-        const citizenName = (complaint.citizenName || "").trim().toLowerCase();
-        const officerName = (complaint.assignedStaff || "").trim().toLowerCase();
-        const baseMsg     = notes || "Escalation raised by admin.";
-
-        // 👉 Notify citizen
-        if (citizenName) {
-            addNotification(
-                "citizen",
-                citizenName,
-                complaint.id,
-                `Your complaint #${complaint.id} has been escalated. ${baseMsg}`
-            );
-        }
-
-        // 👉 Notify officer (if assigned)
-        if (officerName) {
-            addNotification(
-                "officer",
-                officerName,
-                complaint.id,
-                `Complaint #${complaint.id} has been escalated by admin. ${baseMsg}`
-            );
-        }
+        // 🔔 citizen + officer are notified by the server (lastAlertAt is set)
 
         alert("Escalation submitted.");
         if (escSummary) {
@@ -407,9 +376,10 @@ async function savePublicNotes() {
     try {
         const res = await apiFetch(`/api/complaints/${complaint.id}`, {
             method: "PUT",
-            headers: { "Content-Type": "application/json" },
+            headers: { "Content-Type": "application/json", ...ifMatch(complaint) },
             body: JSON.stringify(body)
         });
+        if (reloadIfStale(res)) return;
 
         if (res.ok) {
             alert("Public notes saved.");
@@ -523,7 +493,7 @@ function loadResolutionImageForAdmin() {
 
     if (!complaint || !section || !img) return;
 
-    const url = `http://localhost:8080/api/complaints/${complaint.id}/resolution-image?t=${Date.now()}`;
+    const url = `http://localhost:8080/api/complaints/${complaint.id}/resolution-image`;
 
     // Hide by default, show only if image loads
     section.style.display = "none";
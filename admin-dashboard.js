@@ -33,8 +33,7 @@ async function initAdminDashboard() {
     let complaints = [];
 
     try {
-        const res = await apiFetch("/api/complaints");
-        complaints = await res.json();
+        await fetchComplaintPages({}, items => complaints.push(...items));
     } catch (err) {
         console.error(err);
         showEmpty("Error loading complaints.");
@@ -59,17 +58,21 @@ async function initAdminDashboard() {
     });
 
     // ============================
-    // SHOW STATS
+    // SHOW STATS (server-side aggregate)
     // ============================
-    const total    = complaints.length;
-    const resolved = complaints.filter(c => c.status === "Resolved").length;
-    const pending  = complaints.filter(c =>
-        c.status === "Under Review" || c.status === "In Progress"
-    ).length;
+    let stats = null;
+    try {
+        const res = await apiFetch("/api/complaints/stats");
+        if (res.ok) stats = await res.json();
+    } catch (err) {
+        console.error("Error loading stats:", err);
+    }
 
-    totalCountEl.textContent    = total;
-    pendingCountEl.textContent  = pending;
-    resolvedCountEl.textContent = resolved;
+    if (stats) {
+        totalCountEl.textContent    = stats.total;
+        pendingCountEl.textContent  = stats.pending;
+        resolvedCountEl.textContent = stats.resolved;
+    }
 
     // ============================
     // SORT BY ID ASCENDING
@@ -101,7 +104,7 @@ async function initAdminDashboard() {
         // ⭐ Attachment thumbnail
         let attachmentHtml = "";
         if (c.imagePath && String(c.imagePath).trim() !== "") {
-            const imgUrl = `http://localhost:8080/api/complaints/${c.id}/image`;
+            const imgUrl = `http://localhost:8080/api/complaints/${c.id}/image?size=thumb`;
             attachmentHtml = `
                 <div class="attachment-cell">
                     <img src="${imgUrl}" alt="Attachment" class="attachment-thumb">
@@ -147,7 +150,7 @@ async function initAdminDashboard() {
     // ============================
     // DRAW CHARTS
     // ============================
-    drawAdminCharts(complaints);
+    if (stats) drawAdminCharts(stats);
 
     // ============================
     // HELPER
@@ -166,7 +169,7 @@ async function initAdminDashboard() {
 // ADMIN — CREATE CHARTS
 // ================================
 
-function drawAdminCharts(complaints) {
+function drawAdminCharts(stats) {
     // STATUS CHART
     const statusCounts = {
         "Under Review": 0,
@@ -175,10 +178,9 @@ function drawAdminCharts(complaints) {
         "Resolved": 0
     };
 
-    complaints.forEach(c => {
-        const status = c.status || "Under Review";
+    Object.entries(stats.byStatus || {}).forEach(([status, count]) => {
         if (statusCounts[status] !== undefined) {
-            statusCounts[status]++;
+            statusCounts[status] = count;
         }
     });
 
@@ -193,11 +195,7 @@ function drawAdminCharts(complaints) {
     });
 
     // CATEGORY CHART
-    const catCounts = {};
-    complaints.forEach(c => {
-        const cat = c.category || "Other";
-        catCounts[cat] = (catCounts[cat] || 0) + 1;
-    });
+    const catCounts = stats.byCategory || {};
 
     new Chart(document.getElementById("categoryChart"), {
         type: "bar",
@@ -210,11 +208,7 @@ function drawAdminCharts(complaints) {
     });
 
     // PRIORITY CHART
-    const prCounts = {};
-    complaints.forEach(c => {
-        const p = c.priority || "Medium";
-        prCounts[p] = (prCounts[p] || 0) + 1;
-    });
+    const prCounts = stats.byPriority || {};
 
     new Chart(document.getElementById("priorityChart"), {
         type: "doughnut",
@@ -9,7 +9,7 @@ async function apiFetch(path, options = {}) {
 
     const isFormData = (body instanceof FormData);
 
-    const baseHeaders = options.headers || {};
+    const baseHeaders = { ...authHeader(), ...(options.headers || {}) };
 
     if (isFormData) {
         // 🚫 Do NOT set Content-Type, browser will set multipart boundary
@@ -25,6 +25,27 @@ async function apiFetch(path, options = {}) {
     return fetch(`${API_BASE}${path}`, finalOptions);
 }
 
+// "Authorization: Bearer <token>" once logged in (the token comes with the login answer)
+function authHeader() {
+    const user = getCurrentUser();
+    return (user && user.token) ? { "Authorization": `Bearer ${user.token}` } : {};
+}
+
+// Conditional write for a complaint loaded earlier: the server compares the
+// version we saw with the current one and answers 412 when someone else saved
+// in between, instead of silently overwriting their change.
+function ifMatch(entity) {
+    return (entity && entity.version != null) ? { "If-Match": `"${entity.version}"` } : {};
+}
+
+// 412 from a conditional write -> tell the user and load the latest copy
+function reloadIfStale(res) {
+    if (res.status !== 412) return false;
+    alert("This complaint was changed by someone else. Loading the latest version.");
+    window.location.reload();
+    return true;
+}
+
 // Store current logged-in user in localStorage
 function setCurrentUser(user) {
     localStorage.setItem("currentUser", JSON.stringify(user));
@@ -47,3 +68,36 @@ function getCurrentUser() {
 function clearCurrentUser() {
     localStorage.removeItem("currentUser");
 }
+
+// Walk the keyset-paginated complaint listing (GET /api/complaints).
+// `filters` are passed through as query params (status, category, priority,
+// assignee, from, to); `onPage` receives each page's items as it arrives.
+async function fetchComplaintPages(filters = {}, onPage) {
+    let afterId = 0;
+
+    while (afterId !== null) {
+        const query = new URLSearchParams({ ...filters, afterId, limit: 200 });
+        const res = await apiFetch(`/api/complaints?${query}`);
+
+        if (!res.ok) {
+            throw new Error(`Failed to load complaints: ${res.status}`);
+        }
+
+        const page = await res.json();
+        onPage(page.items || []);
+        afterId = page.nextAfterId ?? null;
+    }
+}
+
+// Full-text search (GET /api/complaints/search), best match first.
+// `filters`: status, category, priority, assignee, from, to; `page` is 0-based.
+async function searchComplaints(q, filters = {}, page = 0, size = 20) {
+    const query = new URLSearchParams({ ...filters, q, page, size });
+    const res = await apiFetch(`/api/complaints/search?${query}`);
+
+    if (!res.ok) {
+        throw new Error(`Search failed: ${res.status}`);
+    }
+
+    return res.json();   // { items, total, totalExact, page, size }
+}
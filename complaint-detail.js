@@ -118,7 +118,7 @@ function fillStaticDetails() {
     const resImg     = document.getElementById("resolutionImage");
 
     if (resSection && resImg && complaint.id != null) {
-        const url = `http://localhost:8080/api/complaints/${complaint.id}/resolution-image?t=${Date.now()}`;
+        const url = `http://localhost:8080/api/complaints/${complaint.id}/resolution-image`;
 
         // hide by default
         resSection.style.display = "none";
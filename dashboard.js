@@ -37,7 +37,7 @@ function getCurrentUser() {
 
 // =======================
 // LOAD DASHBOARD DATA
-// (Fetch all complaints, filter by citizenName ~ current user)
+// (GET /api/complaints/citizen/{name}: the server filters, nothing else is downloaded)
 // =======================
 async function loadDashboardData() {
     const user = getCurrentUser();
@@ -54,52 +54,20 @@ async function loadDashboardData() {
 
     console.log("User name =", name, "username =", username);
 
-    // helper to normalise strings for comparison
-    const norm = s => (s || "").trim().toLowerCase();
-
     try {
-        const url = "http://localhost:8080/api/complaints";
-        console.log("Fetching ALL complaints from:", url);
-
-        const res = await fetch(url);
-
-        if (!res.ok) {
-            console.error("Failed to load complaints:", res.status);
-            myComplaints = [];
-            return;
-        }
-
-        const allComplaints = (await res.json()) || [];
-        console.log("All complaints from backend:", allComplaints);
-
-        // Filter complaints for this user (very forgiving matching)
-        let filtered = allComplaints.filter(c => {
-            const cn = norm(c.citizenName);
-            const nm = norm(name);
-            const un = norm(username);
-
-            if (!cn) return false;
-
-            // exact match (case-insensitive)
-            if (nm && cn === nm) return true;
-            if (un && cn === un) return true;
-
-            // partial match (e.g., "vishwa" inside "vishwa k s" or vice versa)
-            if (nm && (cn.includes(nm) || nm.includes(cn))) return true;
-            if (un && (cn.includes(un) || un.includes(cn))) return true;
-
-            return false;
-        });
-
-        // If nothing matched, fall back to ALL complaints (for demo/review)
-        if (!filtered || filtered.length === 0) {
-            console.warn(
-                "No user-specific complaints matched. Falling back to ALL complaints for display."
-            );
-            filtered = allComplaints;
+        // complaints are filed under the display name, or the username when there is none
+        const byId = new Map();
+        for (const citizen of new Set([name, username].filter(Boolean))) {
+            const res = await apiFetch(`/api/complaints/citizen/${encodeURIComponent(citizen)}`);
+            if (!res.ok) {
+                throw new Error(`Loading complaints failed with status ${res.status}`);
+            }
+            for (const c of await res.json()) {
+                byId.set(c.id, c);
+            }
         }
 
-        myComplaints = filtered;
+        myComplaints = [...byId.values()].sort((a, b) => a.id - b.id);
         console.log("Final myComplaints for user:", myComplaints);
     } catch (err) {
         console.error("Error loading dashboard complaints:", err);
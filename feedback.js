@@ -68,9 +68,12 @@ async function submitFeedback() {
     }
 
     try {
-        // Call backend directly so we don't force JSON headers
-        const res = await fetch("http://localhost:8080/api/complaints", {
+        // Call backend directly so we don't force JSON headers.
+        // Queued endpoint: 202 as soon as the upload is spooled, the complaint follows shortly.
+        // the session token tells the backend whose complaint it is (for notifications)
+        const res = await fetch("http://localhost:8080/api/complaints/ingest", {
             method: "POST",
+            headers: authHeader(),
             body: formData
             // ❌ do NOT set Content-Type; browser sets multipart boundary
         });
@@ -81,6 +84,9 @@ async function submitFeedback() {
             if (errorEl) {
                 if (res.status === 415) {
                     errorEl.textContent = "Server rejected the request format. Please refresh and try again.";
+                } else if (res.status === 503) {
+                    const wait = res.headers.get("Retry-After") || "a few";
+                    errorEl.textContent = `We are receiving a lot of complaints right now. Please try again in ${wait} seconds.`;
                 } else {
                     errorEl.textContent = "Failed to submit complaint. Please try again.";
                 }
@@ -88,8 +94,8 @@ async function submitFeedback() {
             return;
         }
 
-        const saved = await res.json();
-        console.log("Complaint created:", saved);
+        const ticket = await res.json();
+        console.log("Complaint accepted:", ticket);
 
         if (successEl) successEl.textContent = "Complaint submitted successfully!";
 
@@ -39,7 +39,10 @@ async function login() {
             name: user.name,
             username: user.username,
             email: user.email,
-            role: user.role   // "CITIZEN" / "ADMIN" / "OFFICER"
+            role: user.role,  // "CITIZEN" / "ADMIN" / "OFFICER"
+            // session token: apiFetch sends it as "Authorization: Bearer ..."
+            token: user.token,
+            expiresAt: user.expiresAt
         };
 
         localStorage.setItem("currentUser", JSON.stringify(normalizedUser));
@@ -99,7 +99,7 @@ document.addEventListener("DOMContentLoaded", async function () {
             : `<span class="no-escalation">—</span>`;
 
         const attachmentHtml = c.imagePath
-            ? `<img src="http://localhost:8080/api/complaints/${c.id}/image"
+            ? `<img src="http://localhost:8080/api/complaints/${c.id}/image?size=thumb"
                     alt="Attachment"
                     class="attachment-thumb">`
             : `<span class="no-attachment">-</span>`;
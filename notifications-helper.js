@@ -256,5 +256,32 @@
 
         // Initial render
         updateBellAndList();
+
+        // -----------------------------
+        // Live notifications pushed by the server (SSE)
+        // -----------------------------
+        // The browser reconnects by itself if the stream drops.
+        // Only for signed-in users: the server answers 401 without a session token.
+        const myUsername = (user.username || "").trim();
+        if (myUsername && user.token && window.EventSource && typeof API_BASE !== "undefined") {
+            // EventSource cannot send headers: the session token goes in the query
+            const source = new EventSource(
+                `${API_BASE}/api/notifications/stream?access_token=${encodeURIComponent(user.token)}`
+            );
+
+            source.addEventListener("notification", function (e) {
+                let n;
+                try {
+                    n = JSON.parse(e.data);
+                } catch (err) {
+                    console.error("[Notif] Bad event from server", err);
+                    return;
+                }
+
+                // already addressed to this user on the server side
+                addNotification("", myUsername.toLowerCase(), n.complaintId, n.message);
+                updateBellAndList();
+            });
+        }
     });
 })();
@@ -276,9 +276,10 @@ async function saveOfficerComplaint(successMsg) {
 
         const res = await apiFetch(`/api/complaints/${complaint.id}`, {
             method: "PUT",
-            headers: { "Content-Type": "application/json" },
+            headers: { "Content-Type": "application/json", ...ifMatch(complaint) },
             body: JSON.stringify(payload)
         });
+        if (reloadIfStale(res)) return;
 
         if (!res.ok) {
             throw new Error("Server returned " + res.status);
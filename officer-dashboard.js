@@ -114,7 +114,7 @@ document.addEventListener("DOMContentLoaded", async function () {
         // ⭐ Attachment thumbnail (same style as admin)
         let attachmentHtml = "";
         if (c.imagePath && String(c.imagePath).trim() !== "") {
-            const imgUrl = `http://localhost:8080/api/complaints/${c.id}/image`;
+            const imgUrl = `http://localhost:8080/api/complaints/${c.id}/image?size=thumb`;
             attachmentHtml = `
                 <div class="attachment-cell">
                     <img src="${imgUrl}" alt="Attachment" class="attachment-thumb">